@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.catalog;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.storage.StorageConstants;
+import org.apache.tajo.util.KeyValueSet;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BucketSpec describes how the rows of a bucketed table are clustered into a fixed number of buckets.
+ * A row belongs to the bucket given by the hash of its bucket columns, which is the same hash as the one of
+ * a hash shuffle. It is kept in the table properties, and each data file carries the bucket id in its name.
+ */
+public class BucketSpec {
+  // part-<ExecutionBlockId.seq>-<TaskId.seq>_b<BucketId>-<Sequence>
+  private static final String BUCKET_ID_PREFIX = "_b";
+  private static final Pattern BUCKET_ID_PATTERN = Pattern.compile(BUCKET_ID_PREFIX + "([0-9]+)-[0-9]+$");
+
+  private final String [] columns;
+  private final int bucketNum;
+  private final String [] sortColumns;
+
+  public BucketSpec(String [] columns, int bucketNum, String [] sortColumns) {
+    Preconditions.checkArgument(columns.length > 0, "Bucket columns must be specified");
+    Preconditions.checkArgument(bucketNum > 0, "The number of buckets must be positive: " + bucketNum);
+    this.columns = columns;
+    this.bucketNum = bucketNum;
+    this.sortColumns = sortColumns == null ? new String[0] : sortColumns;
+  }
+
+  public static boolean isBucketed(KeyValueSet properties) {
+    return properties.containsKey(StorageConstants.BUCKET_COLUMNS)
+        && properties.containsKey(StorageConstants.BUCKET_NUM);
+  }
+
+  /**
+   * @return The bucket spec kept in the given table properties, or null if they are not of a bucketed table
+   */
+  public static BucketSpec get(KeyValueSet properties) {
+    if (!isBucketed(properties)) {
+      return null;
+    }
+
+    String sortColumns = properties.get(StorageConstants.BUCKET_SORT_COLUMNS, "");
+    return new BucketSpec(
+        splitColumns(properties.get(StorageConstants.BUCKET_COLUMNS)),
+        Integer.parseInt(properties.get(StorageConstants.BUCKET_NUM)),
+        sortColumns.isEmpty() ? null : splitColumns(sortColumns));
+  }
+
+  public static BucketSpec get(TableMeta meta) {
+    return get(meta.getPropertySet());
+  }
+
+  private static String [] splitColumns(String columns) {
+    return Iterables.toArray(Splitter.on(',').trimResults().omitEmptyStrings().split(columns), String.class);
+  }
+
+  public void putTo(KeyValueSet properties) {
+    properties.set(StorageConstants.BUCKET_COLUMNS, Joiner.on(",").join(columns));
+    properties.set(StorageConstants.BUCKET_NUM, Integer.toString(bucketNum));
+    if (hasSortColumns()) {
+      properties.set(StorageConstants.BUCKET_SORT_COLUMNS, Joiner.on(",").join(sortColumns));
+    }
+  }
+
+  public String [] getColumns() {
+    return columns;
+  }
+
+  public int getBucketNum() {
+    return bucketNum;
+  }
+
+  public boolean hasSortColumns() {
+    return sortColumns.length > 0;
+  }
+
+  public String [] getSortColumns() {
+    return sortColumns;
+  }
+
+  /**
+   * @return The ids of the bucket columns in the given schema, in the order of the bucket columns
+   */
+  public int [] getColumnIds(Schema schema) {
+    int [] ids = new int[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      ids[i] = schema.getColumnIdByName(columns[i]);
+      if (ids[i] < 0) {
+        throw new IllegalArgumentException("No such bucket column in the table: " + columns[i]);
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Rows in two bucketed tables can be processed bucket by bucket without any shuffle
+   * only if both tables have the same number of buckets.
+   */
+  public boolean isCompatibleWith(BucketSpec other) {
+    return other != null && bucketNum == other.bucketNum && columns.length == other.columns.length;
+  }
+
+  /**
+   * Attach a bucket id to a task output file. The id is attached to the task id part of the file name,
+   * so the file name keeps the form of part-ss-nnnnnn-sss, of which the sequence can be replaced.
+   */
+  public static Path getBucketFilePath(Path outputPath, int bucketId) {
+    String name = outputPath.getName();
+    int seqIdx = name.lastIndexOf('-');
+    Preconditions.checkArgument(seqIdx > 0, "Wrong output file name: " + outputPath);
+    return new Path(outputPath.getParent(),
+        name.substring(0, seqIdx) + BUCKET_ID_PREFIX + String.format("%05d", bucketId) + name.substring(seqIdx));
+  }
+
+  /**
+   * @return The bucket id of a data file, or -1 if the file is not written as a bucket
+   */
+  public static int getBucketId(Path path) {
+    Matcher matcher = BUCKET_ID_PATTERN.matcher(path.getName());
+    return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof BucketSpec) {
+      BucketSpec other = (BucketSpec) obj;
+      return Arrays.equals(columns, other.columns) && bucketNum == other.bucketNum &&
+          Arrays.equals(sortColumns, other.sortColumns);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(Arrays.hashCode(columns), bucketNum, Arrays.hashCode(sortColumns));
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("CLUSTERED BY (").append(Joiner.on(", ").join(columns)).append(")");
+    if (hasSortColumns()) {
+      sb.append(" SORTED BY (").append(Joiner.on(", ").join(sortColumns)).append(")");
+    }
+    return sb.append(" INTO ").append(bucketNum).append(" BUCKETS").toString();
+  }
+}
@@ -45,6 +45,7 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
   @Expose private Integer numShuffleOutputs = null; // optional
   @Expose private Long avgRows = null; // optional
   @Expose private Long readBytes = null; //optional
+  @Expose private Long skippedBytes = null; //optional
   @Expose private List<ColumnStats> columnStatses = null; // repeated
 
   public TableStats() {
@@ -58,6 +59,7 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     numShuffleOutputs = 0;
     avgRows = 0l;
     readBytes = 0l;
+    skippedBytes = 0l;
     columnStatses = new ArrayList<>();
   }
 
@@ -85,6 +87,11 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     } else {
       this.readBytes = 0l;
     }
+    if (proto.hasSkippedBytes()) {
+      this.skippedBytes = proto.getSkippedBytes();
+    } else {
+      this.skippedBytes = 0l;
+    }
 
     this.columnStatses = new ArrayList<>();
     for (CatalogProtos.ColumnStatsProto colProto : proto.getColStatList()) {
@@ -147,6 +154,17 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     this.readBytes = readBytes;
   }
 
+  /**
+   * @return The number of bytes which a scanner did not need to read by using statistics or indexes of the data
+   */
+  public Long getSkippedBytes() {
+    return skippedBytes;
+  }
+
+  public void setSkippedBytes(long skippedBytes) {
+    this.skippedBytes = skippedBytes;
+  }
+
   public List<ColumnStats> getColumnStats() {
     return this.columnStatses;
   }
@@ -169,6 +187,7 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
       eq = eq && TUtil.checkEquals(this.numShuffleOutputs, other.numShuffleOutputs);
       eq = eq && TUtil.checkEquals(this.avgRows, other.avgRows);
       eq = eq && TUtil.checkEquals(this.readBytes, other.readBytes);
+      eq = eq && TUtil.checkEquals(this.skippedBytes, other.skippedBytes);
       eq = eq && TUtil.checkEquals(this.columnStatses, other.columnStatses);
       return eq;
     } else {
@@ -189,6 +208,7 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     stat.numShuffleOutputs = numShuffleOutputs != null ? numShuffleOutputs : null;
     stat.avgRows = avgRows != null ? avgRows : null;
     stat.readBytes = readBytes != null ? readBytes : null;
+    stat.skippedBytes = skippedBytes != null ? skippedBytes : null;
 
     stat.columnStatses = new ArrayList<>(this.columnStatses);
 
@@ -218,6 +238,9 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     if (stat.readBytes != null) {
       readBytes += stat.readBytes;
     }
+    if (stat.skippedBytes != null) {
+      skippedBytes = skippedBytes != null ? skippedBytes + stat.skippedBytes : stat.skippedBytes;
+    }
   }
 
   public void setValues(TableStats stat) {
@@ -231,6 +254,7 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     numShuffleOutputs = stat.numShuffleOutputs != null ? stat.numShuffleOutputs : 0;
     avgRows = stat.avgRows != null ? stat.avgRows : 0;
     readBytes = stat.readBytes != null ? stat.readBytes : 0;
+    skippedBytes = stat.skippedBytes != null ? stat.skippedBytes : 0;
   }
 
   public String toString() {
@@ -262,6 +286,9 @@ public class TableStats implements ProtoObject<TableStatsProto>, Cloneable, Gson
     if (this.readBytes != null) {
       builder.setReadBytes(this.readBytes);
     }
+    if (this.skippedBytes != null) {
+      builder.setSkippedBytes(this.skippedBytes);
+    }
     if (this.columnStatses != null) {
       for (ColumnStats colStat : columnStatses) {
         builder.addColStat(colStat.getProto());
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.catalog;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.storage.StorageConstants;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestBucketSpec {
+
+  @Test
+  public void testGetFromTableMeta() {
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.TEXT, new TajoConf());
+    assertNull(BucketSpec.get(meta));
+
+    meta.putProperty(StorageConstants.BUCKET_COLUMNS, "id, name");
+    meta.putProperty(StorageConstants.BUCKET_NUM, "8");
+    BucketSpec spec = BucketSpec.get(meta);
+    assertArrayEquals(new String[]{"id", "name"}, spec.getColumns());
+    assertEquals(8, spec.getBucketNum());
+    assertFalse(spec.hasSortColumns());
+
+    meta.putProperty(StorageConstants.BUCKET_SORT_COLUMNS, "age");
+    spec = BucketSpec.get(meta);
+    assertArrayEquals(new String[]{"age"}, spec.getSortColumns());
+
+    TableMeta meta2 = CatalogUtil.newTableMeta(BuiltinStorages.TEXT, new TajoConf());
+    spec.putTo(meta2.getPropertySet());
+    assertEquals(spec, BucketSpec.get(meta2));
+    assertTrue(spec.isCompatibleWith(new BucketSpec(new String[]{"key", "value"}, 8, null)));
+    assertFalse(spec.isCompatibleWith(new BucketSpec(new String[]{"key", "value"}, 4, null)));
+  }
+
+  @Test
+  public void testGetColumnIds() {
+    Schema schema = SchemaBuilder.builder()
+        .add("name", Type.TEXT)
+        .add("age", Type.INT4)
+        .add("id", Type.INT8)
+        .build();
+    BucketSpec spec = new BucketSpec(new String[]{"id", "name"}, 4, null);
+    assertArrayEquals(new int[]{2, 0}, spec.getColumnIds(schema));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBucketNum() {
+    new BucketSpec(new String[]{"id"}, 0, null);
+  }
+
+  @Test
+  public void testBucketFilePath() {
+    Path output = new Path("/tmp/staging/RESULT/part-01-000003-000");
+    Path bucketFile = BucketSpec.getBucketFilePath(output, 12);
+    assertEquals("part-01-000003_b00012-000", bucketFile.getName());
+    assertEquals(output.getParent(), bucketFile.getParent());
+    assertEquals(12, BucketSpec.getBucketId(bucketFile));
+
+    // the sequence of a file is replaced when it is moved into the table directory
+    assertEquals(12, BucketSpec.getBucketId(new Path("/warehouse/t1/part-01-000003_b00012-005")));
+    assertEquals(-1, BucketSpec.getBucketId(output));
+  }
+}
@@ -24,6 +24,7 @@ public class BuiltinStorages {
   public static final String REGEX = "REGEX";
   public static final String RAW = "RAW";
   public static final String DRAW = "DRAW";
+  public static final String CRAW = "CRAW";
   public static final String RCFILE = "RCFILE";
   public static final String ROW = "ROW";
   public static final String PARQUET = "PARQUET";
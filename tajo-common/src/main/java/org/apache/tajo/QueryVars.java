@@ -31,6 +31,9 @@ public enum QueryVars implements ConfigKey {
   OUTPUT_OVERWRITE,
   OUTPUT_AS_DIRECTORY,
   OUTPUT_PER_FILE_SIZE,
+  COMPACT_TABLE,
+  COMPACT_FILE_NUM_BEFORE,
+  COMPACT_FILE_NUM_AFTER,
   ;
 
   QueryVars() {
@@ -125,6 +125,8 @@ public enum SessionVars implements ConfigKey {
       Integer.class, Validators.min("0")),
   HASH_SHUFFLE_BUFFER_SIZE(ConfVars.$EXECUTOR_HASH_SHUFFLE_BUFFER_SIZE, "hash-shuffle buffer size for local disk I/O (mb)"
       , DEFAULT, Integer.class, Validators.min("1")),
+  SHUFFLE_FILE_FORMAT(ConfVars.$SHUFFLE_FILE_FORMAT, "file format of intermediate data for shuffles (RAW or CRAW)",
+      DEFAULT),
   HASH_JOIN_SIZE_LIMIT(ConfVars.$EXECUTOR_HASH_JOIN_SIZE_THRESHOLD, "limited size for hash join (mb)", DEFAULT,
       Long.class, Validators.min("0")),
   INNER_HASH_JOIN_SIZE_LIMIT(ConfVars.$EXECUTOR_INNER_HASH_JOIN_SIZE_THRESHOLD,
@@ -135,6 +137,8 @@ public enum SessionVars implements ConfigKey {
       DEFAULT, Long.class, Validators.min("0")),
   MAX_OUTPUT_FILE_SIZE(ConfVars.$MAX_OUTPUT_FILE_SIZE, "Maximum per-output file size (mb). 0 means infinite.", DEFAULT,
       Long.class, Validators.min("0")),
+  COMPACTION_TARGET_FILE_SIZE(ConfVars.$COMPACTION_TARGET_FILE_SIZE, "Target file size of table compaction (mb)",
+      DEFAULT, Long.class, Validators.min("1")),
   NULL_CHAR(ConfVars.$TEXT_NULL, "Null char of text file output. " +
       "This value is used when the table property 'text.null' is not specified.", DEFAULT),
   CODEGEN(ConfVars.$CODEGEN, "Runtime code generation enabled (experiment)", DEFAULT),
@@ -152,6 +156,9 @@ public enum SessionVars implements ConfigKey {
   PARTITION_NO_RESULT_OVERWRITE_ENABLED(ConfVars.$PARTITION_NO_RESULT_OVERWRITE_ENABLED,
     "If true, a partitioned table is overwritten even if a sub query leads to no result. "
     + "Otherwise, the table data will be kept if there is no result", DEFAULT),
+  OUTPUT_DIRECT_COMMIT_ENABLED(ConfVars.$OUTPUT_DIRECT_COMMIT_ENABLED,
+    "If true, INSERT INTO writes files directly into the table without the staging directory. "
+    + "It is faster on file systems where rename is expensive, but a failed query may leave partial output", DEFAULT),
 
   // Behavior Control ---------------------------------------------------------
   ARITHABORT(ConfVars.$BEHAVIOR_ARITHMETIC_ABORT,
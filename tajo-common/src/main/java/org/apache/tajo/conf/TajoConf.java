@@ -213,7 +213,6 @@ public class TajoConf extends Configuration {
         Validators.min("1")),
     YARN_SHUFFLE_SERVICE_ENABLED("tajo.shuffle.yarn-service.enabled", false, Validators.bool()),
     SHUFFLE_SSL_ENABLED_KEY("tajo.pullserver.ssl.enabled", false, Validators.bool()),
-    SHUFFLE_FILE_FORMAT("tajo.shuffle.file-format", BuiltinStorages.RAW, Validators.javaString()),
     SHUFFLE_FETCHER_PARALLEL_EXECUTION_MAX_NUM("tajo.shuffle.fetcher.parallel-execution.max-num",
         2, Validators.min("1")),
     SHUFFLE_FETCHER_CHUNK_MAX_SIZE("tajo.shuffle.fetcher.chunk.max-size",  8192),
@@ -229,6 +228,17 @@ public class TajoConf extends Configuration {
     // Storage Configuration --------------------------------------------------
     ROWFILE_SYNC_INTERVAL("rowfile.sync.interval", 100),
     MINIMUM_SPLIT_SIZE("tajo.min.split.size", 32 * StorageUnit.MB, Validators.min("1")),
+    SPLIT_GENERATION_THREAD_NUM("tajo.storage.split-generation.thread-num", 16, Validators.min("1")),
+    OUTPUT_COMMIT_THREAD_NUM("tajo.storage.output-commit.thread-num", 16, Validators.min("1")),
+    METADATA_CACHE_ENABLED("tajo.storage.metadata-cache.enabled", true, Validators.bool()),
+    // file systems of which directory modification times are reliable. For example, S3 reports none of them.
+    METADATA_CACHE_SCHEMES("tajo.storage.metadata-cache.schemes", "hdfs,file", Validators.javaString()),
+    METADATA_CACHE_MAX_FILES("tajo.storage.metadata-cache.max-files", 1000000, Validators.min("0")),
+    // a cached listing is used without checking its directory again within this interval
+    METADATA_CACHE_VALIDATION_INTERVAL("tajo.storage.metadata-cache.validation-interval-ms", 0L,
+        Validators.min("0")),
+    // footers of ORC and Parquet files cached in each worker. Zero disables the cache.
+    FOOTER_CACHE_MAX_SIZE("tajo.storage.footer-cache.max-bytes", 256L * StorageUnit.MB, Validators.min("0")),
     // for RCFile
     HIVEUSEEXPLICITRCFILEHEADER("tajo.exec.rcfile.use.explicit.header", true, Validators.bool()),
 
@@ -359,7 +369,9 @@ public class TajoConf extends Configuration {
     $EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD("tajo.executor.groupby.in-memory-hash-threshold-mb", 64l,
         Validators.min("0")),
     $EXECUTOR_HASH_SHUFFLE_BUFFER_SIZE("tajo.executor.hash-shuffle.buffer-mb", 100, Validators.min("1")),
+    $SHUFFLE_FILE_FORMAT("tajo.shuffle.file-format", BuiltinStorages.RAW, Validators.javaString()),
     $MAX_OUTPUT_FILE_SIZE("tajo.query.max-outfile-size-mb", 0), // zero means infinite
+    $COMPACTION_TARGET_FILE_SIZE("tajo.compaction.target-file-size-mb", 256),
     $CODEGEN("tajo.executor.codegen.enabled", false), // Runtime code generation (todo this is broken)
     $AGG_HASH_TABLE_SIZE("tajo.executor.aggregate.hash-table.size", 10000),
     $SORT_LIST_SIZE("tajo.executor.sort.list.size", 100000),
@@ -406,6 +418,10 @@ public class TajoConf extends Configuration {
     // Otherwise, the table data will be kept if there is no result
     $PARTITION_NO_RESULT_OVERWRITE_ENABLED("tajo.partition.overwrite.even-if-no-result", false),
 
+    // If true, INSERT INTO writes its output directly into the table directory instead of the staging directory.
+    // It avoids renaming files on file systems where rename is expensive, but the output is not atomically committed.
+    $OUTPUT_DIRECT_COMMIT_ENABLED("tajo.query.output.direct-commit.enabled", false),
+
       // ResultSet ---------------------------------------------------------
     $RESULT_SET_FETCH_ROWNUM("tajo.resultset.fetch.rownum", 200),
     $RESULT_SET_BLOCK_WAIT("tajo.resultset.block.wait", true),
@@ -141,6 +141,10 @@ public abstract class Datum implements Comparable<Datum>, GsonObject {
     abortWhenDivideByZero = tajoConf.getBoolVar(ConfVars.$BEHAVIOR_ARITHMETIC_ABORT);
   }
 
+  public static boolean isAbortWhenDivideByZero() {
+    return abortWhenDivideByZero;
+  }
+
   public abstract int size();
 
   // belows should be extracted out of datum
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FileMetadataCache keeps the listings of directories across queries, so the same table or partition directories
+ * are not listed again by every query. A listing is keyed by the path and the modification time of its directory.
+ * Adding, removing or renaming a file in a directory changes its modification time, so such a listing is
+ * listed again. Listings can also carry data derived from them, such as the splits of their files.
+ *
+ * Files appended in place do not change the modification time of their directory, so they are not detected.
+ * Tajo never appends to a file, and changes made through Tajo invalidate the affected paths explicitly.
+ * Such an invalidation only reaches the cache of the process which makes the change. The caches of other processes,
+ * such as query masters, find the change through the modification time of the directory.
+ *
+ * The cache is used only for the file systems of which directory modification times are reliable,
+ * given by 'tajo.storage.metadata-cache.schemes'. Object stores like S3 do not keep them, so their listings
+ * could never be revalidated.
+ */
+public class FileMetadataCache {
+  private static final Log LOG = LogFactory.getLog(FileMetadataCache.class);
+
+  /**
+   * A directory modified within this time is not cached, because it may be modified again without changing
+   * its modification time of a coarse granularity.
+   */
+  private static final long MIN_UNMODIFIED_TIME = 2000;
+
+  private static FileMetadataCache instance;
+
+  private final Cache<Path, Listing> listings;
+  private final long validationInterval;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  /**
+   * @return The metadata cache of this process, or null if the cache is disabled
+   */
+  public static synchronized @Nullable FileMetadataCache get(TajoConf conf) {
+    if (!conf.getBoolVar(ConfVars.METADATA_CACHE_ENABLED)) {
+      return null;
+    }
+    if (instance == null) {
+      instance = new FileMetadataCache(conf.getIntVar(ConfVars.METADATA_CACHE_MAX_FILES),
+          conf.getLongVar(ConfVars.METADATA_CACHE_VALIDATION_INTERVAL));
+    }
+    return instance;
+  }
+
+  /**
+   * @return The metadata cache of this process for a file system,
+   *         or null if the cache is disabled or the file system does not keep directory modification times
+   */
+  public static @Nullable FileMetadataCache get(TajoConf conf, FileSystem fs) {
+    String scheme = fs.getUri().getScheme();
+    for (String eachScheme : conf.getVar(ConfVars.METADATA_CACHE_SCHEMES).split(",")) {
+      if (eachScheme.trim().equalsIgnoreCase(scheme)) {
+        return get(conf);
+      }
+    }
+    return null;
+  }
+
+  public FileMetadataCache(long maxFiles, long validationInterval) {
+    this.listings = CacheBuilder.newBuilder()
+        .maximumWeight(maxFiles)
+        .weigher(new Weigher<Path, Listing>() {
+          @Override
+          public int weigh(Path key, Listing value) {
+            return value.getFiles().size() + 1;
+          }
+        })
+        .build();
+    this.validationInterval = validationInterval;
+  }
+
+  /**
+   * The files in a directory
+   */
+  public static class Listing {
+    private final long modificationTime;
+    private final List<FileStatus> files;
+    private final ConcurrentMap<String, Object> derived = new ConcurrentHashMap<>();
+    private volatile long validatedTime;
+    private volatile boolean cached;
+
+    public Listing(long modificationTime, List<FileStatus> files) {
+      this.modificationTime = modificationTime;
+      this.files = Collections.unmodifiableList(files);
+      this.validatedTime = System.currentTimeMillis();
+    }
+
+    public long getModificationTime() {
+      return modificationTime;
+    }
+
+    public List<FileStatus> getFiles() {
+      return files;
+    }
+
+    /**
+     * @return True if this listing is kept in the cache. Data derived from other listings are not reused.
+     */
+    public boolean isCached() {
+      return cached;
+    }
+
+    /**
+     * @return The data derived from this listing, or null if it is not computed yet
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable <T> T getDerived(String key) {
+      return (T) derived.get(key);
+    }
+
+    public void putDerived(String key, Object value) {
+      derived.put(key, value);
+    }
+  }
+
+  /**
+   * @return The cached listing if it is not validated recently. Such a listing may be out of date.
+   */
+  public @Nullable Listing getIfRecentlyValidated(Path dir) {
+    Listing listing = listings.getIfPresent(dir);
+    if (listing != null && validationInterval > 0
+        && System.currentTimeMillis() - listing.validatedTime < validationInterval) {
+      hitCount.incrementAndGet();
+      return listing;
+    }
+    return null;
+  }
+
+  /**
+   * @param dir A directory
+   * @param modificationTime The current modification time of the directory
+   * @return The cached listing of the directory, or null if it is not cached or out of date
+   */
+  public @Nullable Listing get(Path dir, long modificationTime) {
+    Listing listing = listings.getIfPresent(dir);
+    if (listing != null && listing.modificationTime == modificationTime) {
+      listing.validatedTime = System.currentTimeMillis();
+      hitCount.incrementAndGet();
+      return listing;
+    }
+
+    if (listing != null) {
+      listings.invalidate(dir);
+    }
+    missCount.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Lists a directory through the cache. As FileTablespace lists a directory, hidden files are excluded and
+   * the files are sorted by their paths, so a cached listing can be shared by both.
+   */
+  public Listing list(FileSystem fs, Path dir) throws IOException {
+    Path qualified = fs.makeQualified(dir);
+    Listing listing = getIfRecentlyValidated(qualified);
+    if (listing != null) {
+      return listing;
+    }
+
+    long modificationTime = fs.getFileStatus(qualified).getModificationTime();
+    listing = get(qualified, modificationTime);
+    if (listing == null) {
+      List<FileStatus> files = Arrays.asList(fs.listStatus(qualified, HIDDEN_FILE_FILTER));
+      Collections.sort(files);
+      listing = put(qualified, modificationTime, files);
+    }
+    return listing;
+  }
+
+  private static final PathFilter HIDDEN_FILE_FILTER = new PathFilter() {
+    public boolean accept(Path p) {
+      String name = p.getName();
+      return !name.startsWith("_") && !name.startsWith(".");
+    }
+  };
+
+  /**
+   * Caches the listing of a directory unless the directory is modified just now.
+   *
+   * @return The listing of the directory
+   */
+  public Listing put(Path dir, long modificationTime, List<FileStatus> files) {
+    Listing listing = new Listing(modificationTime, files);
+    if (System.currentTimeMillis() - modificationTime >= MIN_UNMODIFIED_TIME) {
+      listing.cached = true;
+      listings.put(dir, listing);
+    }
+    return listing;
+  }
+
+  /**
+   * Invalidates the listings of a path, its parent and all its descendants.
+   */
+  public void invalidate(Path path) {
+    String prefix = path.toUri().getPath();
+    String dirPrefix = prefix.endsWith(Path.SEPARATOR) ? prefix : prefix + Path.SEPARATOR;
+    String parent = path.getParent() != null ? path.getParent().toUri().getPath() : null;
+
+    int invalidated = 0;
+    for (Path cached : listings.asMap().keySet()) {
+      String cachedPath = cached.toUri().getPath();
+      if (cachedPath.equals(prefix) || cachedPath.startsWith(dirPrefix) || cachedPath.equals(parent)) {
+        listings.invalidate(cached);
+        invalidated++;
+      }
+    }
+    if (invalidated > 0) {
+      invalidationCount.addAndGet(invalidated);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Invalidated " + invalidated + " cached listings under " + path);
+      }
+    }
+  }
+
+  public void invalidateAll() {
+    listings.invalidateAll();
+  }
+
+  public long size() {
+    return listings.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return "FileMetadataCache{listings: " + size() + ", hits: " + getHitCount() + ", misses: " + getMissCount()
+        + ", invalidations: " + getInvalidationCount() + "}";
+  }
+}
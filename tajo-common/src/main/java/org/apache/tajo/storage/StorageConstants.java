@@ -34,6 +34,11 @@ public class StorageConstants {
   // time zone
   public static final String TIMEZONE = "timezone";
 
+  // Bucketing
+  public static final String BUCKET_COLUMNS = "bucket.columns";
+  public static final String BUCKET_NUM = "bucket.num";
+  public static final String BUCKET_SORT_COLUMNS = "bucket.sort.columns";
+
   // compression
   public static final String COMPRESSION_CODEC = "compression.codec";
   public static final String COMPRESSION_TYPE = "compression.type";
@@ -104,6 +109,22 @@ public class StorageConstants {
   public static final String ORC_ROW_INDEX_STRIDE = "orc.rowindex.stride";
   public static final String DEFAULT_ORC_ROW_INDEX_STRIDE = "10000";
 
+  // Read ORC files into column batches instead of row tuples
+  public static final String ORC_VECTORIZED_READ = "orc.vectorized.read";
+  public static final String DEFAULT_ORC_VECTORIZED_READ = "true";
+
+  // Zone map properties for TEXT, JSON and RAW files -----------------------------
+  // Write a sidecar file keeping min/max values and null counts per column for every zone of rows
+  public static final String ZONEMAP_ENABLED = "zonemap.enabled";
+  public static final String DEFAULT_ZONEMAP_ENABLED = "false";
+  public static final String ZONEMAP_ROWS = "zonemap.rows";
+  public static final String DEFAULT_ZONEMAP_ROWS = "10000";
+
+  // CRAW file properties -------------------------------------------------
+  // Compression codec of column-oriented blocks, either 'snappy' or 'none'
+  public static final String CRAW_COMPRESSION_CODEC = "craw.compression.codec";
+  public static final String DEFAULT_CRAW_COMPRESSION_CODEC = "snappy";
+
   // Parquet file properties -------------------------------------------------
   public static final String PARQUET_DEFAULT_BLOCK_SIZE;
   public static final String PARQUET_DEFAULT_PAGE_SIZE;
@@ -114,6 +135,19 @@ public class StorageConstants {
   public static final int DEFAULT_BLOCK_SIZE = 128 * 1024 * 1024;
   public static final int DEFAULT_PAGE_SIZE = 1 * 1024 * 1024;
 
+  // Read flat Parquet files into column batches instead of assembling records
+  public static final String PARQUET_VECTORIZED_READ = "parquet.vectorized.read";
+  public static final String DEFAULT_PARQUET_VECTORIZED_READ = "true";
+
+  // Comma-separated columns whose bloom filters are written for every row group.
+  // They drop row groups for equality and IN predicates. ORC tables use 'orc.bloom.filter.columns' instead.
+  public static final String PARQUET_BLOOM_FILTER_COLUMNS = "parquet.bloom.filter.columns";
+  public static final String PARQUET_BLOOM_FILTER_FPP = "parquet.bloom.filter.fpp";
+  public static final String DEFAULT_PARQUET_BLOOM_FILTER_FPP = "0.05";
+  // A row group having more distinct values in a column is written without the bloom filter of the column
+  public static final String PARQUET_BLOOM_FILTER_MAX_VALUES = "parquet.bloom.filter.max-values";
+  public static final String DEFAULT_PARQUET_BLOOM_FILTER_MAX_VALUES = "1000000";
+
 
   // Avro file properties -------------------------------------------------
   public static final String AVRO_SCHEMA_LITERAL = "avro.schema.literal";
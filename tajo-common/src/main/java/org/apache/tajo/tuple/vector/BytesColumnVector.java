@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.tuple.vector;
+
+/**
+ * A column vector of variable-length values, such as TEXT, CHAR, BLOB and PROTOBUF.
+ *
+ * The value of a row is the range [start[row], start[row] + length[row]) of vector[row]. A value can either
+ * refer to an external byte array without copy, such as an entry of a dictionary, or be copied into the buffer
+ * owned by this vector.
+ */
+public class BytesColumnVector extends ColumnVector {
+  private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+  public final byte[][] vector;
+  public final int[] start;
+  public final int[] length;
+
+  private byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+  private int bufferUsed;
+
+  public BytesColumnVector(int capacity) {
+    super(capacity);
+    this.vector = new byte[capacity][];
+    this.start = new int[capacity];
+    this.length = new int[capacity];
+  }
+
+  /**
+   * Set a reference to the given bytes. The bytes should not be changed until this vector is reset.
+   */
+  public void setRef(int row, byte[] bytes, int offset, int len) {
+    vector[row] = bytes;
+    start[row] = offset;
+    length[row] = len;
+  }
+
+  /**
+   * Copy the given bytes into the buffer of this vector.
+   */
+  public void setVal(int row, byte[] bytes, int offset, int len) {
+    if (bufferUsed + len > buffer.length) {
+      // Values already set keep referring to the old buffer, so it is not copied.
+      buffer = new byte[Math.max(buffer.length * 2, len)];
+      bufferUsed = 0;
+    }
+    System.arraycopy(bytes, offset, buffer, bufferUsed, len);
+    setRef(row, buffer, bufferUsed, len);
+    bufferUsed += len;
+  }
+
+  public byte[] getBytes(int row) {
+    byte[] bytes = new byte[length[row]];
+    System.arraycopy(vector[row], start[row], bytes, 0, length[row]);
+    return bytes;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    bufferUsed = 0;
+  }
+}
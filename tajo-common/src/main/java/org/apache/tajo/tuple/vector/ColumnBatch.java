@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.tuple.vector;
+
+import com.google.common.base.Preconditions;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * ColumnBatch is a set of rows stored column by column in {@link ColumnVector}s.
+ *
+ * If a selection is in use, only the rows whose ids are in selected[0, size) are valid.
+ * Otherwise, the rows [0, size) are valid. Rows can be read through a reusable {@link Tuple} view,
+ * and the view is valid only until the batch is refilled.
+ */
+public class ColumnBatch {
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final DataType[] types;
+  private final ColumnVector[] columns;
+  private final int capacity;
+  private final int[] selected;
+  private boolean selectedInUse;
+  private int size;
+  private final ColumnBatchTuple row;
+
+  public ColumnBatch(DataType[] types) {
+    this(types, DEFAULT_CAPACITY);
+  }
+
+  public ColumnBatch(DataType[] types, int capacity) {
+    this.types = types;
+    this.capacity = capacity;
+    this.columns = new ColumnVector[types.length];
+    for (int i = 0; i < types.length; i++) {
+      columns[i] = createColumnVector(types[i], capacity);
+    }
+    this.selected = new int[capacity];
+    this.row = new ColumnBatchTuple(this);
+  }
+
+  /**
+   * @return True if values of the type can be kept in a column vector
+   */
+  public static boolean isSupported(DataType type) {
+    switch (type.getType()) {
+    case BOOLEAN:
+    case BIT:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+    case FLOAT4:
+    case FLOAT8:
+    case CHAR:
+    case TEXT:
+    case BLOB:
+    case PROTOBUF:
+    case NULL_TYPE:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  private static ColumnVector createColumnVector(DataType type, int capacity) {
+    switch (type.getType()) {
+    case BOOLEAN:
+    case BIT:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return new LongColumnVector(capacity);
+    case FLOAT4:
+    case FLOAT8:
+      return new DoubleColumnVector(capacity);
+    case CHAR:
+    case TEXT:
+    case BLOB:
+    case PROTOBUF:
+      return new BytesColumnVector(capacity);
+    case NULL_TYPE:
+      // every value is null, so no vector is needed
+      return null;
+    default:
+      throw new IllegalArgumentException("Column vector does not support " + type.getType().name());
+    }
+  }
+
+  public DataType[] getTypes() {
+    return types;
+  }
+
+  public int getColumnNum() {
+    return columns.length;
+  }
+
+  /**
+   * @return The column vector of the column, or null if the column is NULL_TYPE
+   */
+  public ColumnVector getColumn(int columnId) {
+    return columns[columnId];
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return The number of valid rows
+   */
+  public int size() {
+    return size;
+  }
+
+  public void setSize(int size) {
+    Preconditions.checkArgument(size <= capacity, "Batch size cannot exceed its capacity");
+    this.size = size;
+  }
+
+  public boolean isSelectedInUse() {
+    return selectedInUse;
+  }
+
+  public void setSelectedInUse(boolean selectedInUse) {
+    this.selectedInUse = selectedInUse;
+  }
+
+  public int[] getSelected() {
+    return selected;
+  }
+
+  /**
+   * @param i The index of a valid row, which is less than size()
+   * @return The id of the i-th valid row
+   */
+  public int getRowId(int i) {
+    return selectedInUse ? selected[i] : i;
+  }
+
+  /**
+   * @param rowId The id of a row
+   * @return A reusable tuple view of the row. It is valid only until this method is called again or
+   * this batch is reset.
+   */
+  public Tuple getRow(int rowId) {
+    row.setRowId(rowId);
+    return row;
+  }
+
+  /**
+   * Clears all rows so that this batch can be filled again.
+   */
+  public void reset() {
+    for (ColumnVector column : columns) {
+      if (column != null) {
+        column.reset();
+      }
+    }
+    selectedInUse = false;
+    size = 0;
+  }
+}
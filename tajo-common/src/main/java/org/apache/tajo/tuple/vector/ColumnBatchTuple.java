@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.tuple.vector;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.datum.*;
+import org.apache.tajo.exception.TajoRuntimeException;
+import org.apache.tajo.exception.UnsupportedException;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.StringUtils;
+import org.apache.tajo.util.datetime.TimeMeta;
+
+import java.util.Arrays;
+
+/**
+ * A read-only tuple view of a row in a {@link ColumnBatch}. Primitive getters read column vectors directly,
+ * and a Datum is created only when it is requested by {@link #asDatum(int)}.
+ */
+public class ColumnBatchTuple implements Tuple, Cloneable {
+  private final ColumnBatch batch;
+  private final DataType[] types;
+  private int rowId;
+
+  ColumnBatchTuple(ColumnBatch batch) {
+    this.batch = batch;
+    this.types = batch.getTypes();
+  }
+
+  void setRowId(int rowId) {
+    this.rowId = rowId;
+  }
+
+  public int getRowId() {
+    return rowId;
+  }
+
+  private long longValue(int fieldId) {
+    ColumnVector column = batch.getColumn(fieldId);
+    if (column instanceof LongColumnVector) {
+      return ((LongColumnVector) column).vector[rowId];
+    } else if (column instanceof DoubleColumnVector) {
+      return (long) ((DoubleColumnVector) column).vector[rowId];
+    }
+    return asDatum(fieldId).asInt8();
+  }
+
+  private double doubleValue(int fieldId) {
+    ColumnVector column = batch.getColumn(fieldId);
+    if (column instanceof DoubleColumnVector) {
+      return ((DoubleColumnVector) column).vector[rowId];
+    } else if (column instanceof LongColumnVector) {
+      return ((LongColumnVector) column).vector[rowId];
+    }
+    return asDatum(fieldId).asFloat8();
+  }
+
+  @Override
+  public int size() {
+    return types.length;
+  }
+
+  @Override
+  public boolean contains(int fieldid) {
+    return !isBlankOrNull(fieldid);
+  }
+
+  @Override
+  public boolean isBlank(int fieldid) {
+    return false;
+  }
+
+  @Override
+  public boolean isBlankOrNull(int fieldid) {
+    ColumnVector column = batch.getColumn(fieldid);
+    return column == null || column.isNullAt(rowId);
+  }
+
+  @Override
+  public void insertTuple(int fieldId, Tuple tuple) {
+    throw new TajoRuntimeException(new UnsupportedException());
+  }
+
+  @Override
+  public void put(int fieldId, Datum value) {
+    throw new TajoRuntimeException(new UnsupportedException());
+  }
+
+  @Override
+  public void put(Datum[] values) {
+    throw new TajoRuntimeException(new UnsupportedException());
+  }
+
+  @Override
+  public void clear() {
+    // nothing to do
+  }
+
+  @Override
+  public Datum asDatum(int fieldId) {
+    if (isBlankOrNull(fieldId)) {
+      return NullDatum.get();
+    }
+
+    ColumnVector column = batch.getColumn(fieldId);
+    switch (types[fieldId].getType()) {
+    case BOOLEAN:
+      return DatumFactory.createBool(getBool(fieldId));
+    case BIT:
+      return DatumFactory.createBit(getByte(fieldId));
+    case INT1:
+    case INT2:
+      return DatumFactory.createInt2(getInt2(fieldId));
+    case INT4:
+      return DatumFactory.createInt4(getInt4(fieldId));
+    case INT8:
+      return DatumFactory.createInt8(getInt8(fieldId));
+    case FLOAT4:
+      return DatumFactory.createFloat4(getFloat4(fieldId));
+    case FLOAT8:
+      return DatumFactory.createFloat8(getFloat8(fieldId));
+    case DATE:
+      return DatumFactory.createDate(getInt4(fieldId));
+    case TIME:
+      return DatumFactory.createTime(getInt8(fieldId));
+    case TIMESTAMP:
+      return DatumFactory.createTimestamp(getInt8(fieldId));
+    case CHAR:
+      return DatumFactory.createChar(getBytes(fieldId));
+    case TEXT:
+      return DatumFactory.createText(getBytes(fieldId));
+    case BLOB:
+      return DatumFactory.createBlob(getBytes(fieldId));
+    case PROTOBUF:
+      return getProtobufDatum(fieldId);
+    default:
+      throw new TajoRuntimeException(new UnsupportedException("data type '" + types[fieldId] + "'"));
+    }
+  }
+
+  @Override
+  public TajoDataTypes.Type type(int fieldId) {
+    return types[fieldId].getType();
+  }
+
+  @Override
+  public int size(int fieldId) {
+    ColumnVector column = batch.getColumn(fieldId);
+    if (column instanceof BytesColumnVector) {
+      return ((BytesColumnVector) column).length[rowId];
+    }
+    return asDatum(fieldId).size();
+  }
+
+  @Override
+  public void clearOffset() {
+  }
+
+  @Override
+  public void setOffset(long offset) {
+  }
+
+  @Override
+  public long getOffset() {
+    return 0;
+  }
+
+  @Override
+  public boolean getBool(int fieldId) {
+    return longValue(fieldId) != 0;
+  }
+
+  @Override
+  public byte getByte(int fieldId) {
+    return (byte) longValue(fieldId);
+  }
+
+  @Override
+  public char getChar(int fieldId) {
+    return asDatum(fieldId).asChar();
+  }
+
+  @Override
+  public byte[] getBytes(int fieldId) {
+    ColumnVector column = batch.getColumn(fieldId);
+    if (column instanceof BytesColumnVector) {
+      return ((BytesColumnVector) column).getBytes(rowId);
+    }
+    return asDatum(fieldId).asByteArray();
+  }
+
+  @Override
+  public byte[] getTextBytes(int fieldId) {
+    switch (types[fieldId].getType()) {
+    case CHAR:
+    case TEXT:
+      return getBytes(fieldId);
+    default:
+      return asDatum(fieldId).asTextBytes();
+    }
+  }
+
+  @Override
+  public short getInt2(int fieldId) {
+    return (short) longValue(fieldId);
+  }
+
+  @Override
+  public int getInt4(int fieldId) {
+    return (int) longValue(fieldId);
+  }
+
+  @Override
+  public long getInt8(int fieldId) {
+    return longValue(fieldId);
+  }
+
+  @Override
+  public float getFloat4(int fieldId) {
+    return (float) doubleValue(fieldId);
+  }
+
+  @Override
+  public double getFloat8(int fieldId) {
+    return doubleValue(fieldId);
+  }
+
+  @Override
+  public String getText(int fieldId) {
+    ColumnVector column = batch.getColumn(fieldId);
+    if (column instanceof BytesColumnVector) {
+      BytesColumnVector bytes = (BytesColumnVector) column;
+      return new String(bytes.vector[rowId], bytes.start[rowId], bytes.length[rowId], TextDatum.DEFAULT_CHARSET);
+    }
+    return asDatum(fieldId).asChars();
+  }
+
+  @Override
+  public TimeMeta getTimeDate(int fieldId) {
+    return asDatum(fieldId).asTimeMeta();
+  }
+
+  @Override
+  public Datum getProtobufDatum(int fieldId) {
+    ProtobufDatumFactory factory = ProtobufDatumFactory.get(types[fieldId].getCode());
+    Message.Builder builder = factory.newBuilder();
+    try {
+      builder.mergeFrom(getBytes(fieldId));
+    } catch (InvalidProtocolBufferException e) {
+      return NullDatum.get();
+    }
+    return new ProtobufDatum(builder.build());
+  }
+
+  @Override
+  public Datum getInterval(int fieldId) {
+    return asDatum(fieldId);
+  }
+
+  @Override
+  public char[] getUnicodeChars(int fieldId) {
+    return StringUtils.convertBytesToChars(getBytes(fieldId), TextDatum.DEFAULT_CHARSET);
+  }
+
+  @Override
+  public Datum[] getValues() {
+    Datum [] datums = new Datum[size()];
+    for (int i = 0; i < size(); i++) {
+      datums[i] = asDatum(i);
+    }
+    return datums;
+  }
+
+  /**
+   * @return A copy of the current row, which does not depend on the batch
+   */
+  @Override
+  public Tuple clone() throws CloneNotSupportedException {
+    return new VTuple(getValues());
+  }
+
+  @Override
+  public String toString() {
+    return VTuple.toDisplayString(getValues());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getValues());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof Tuple) {
+      Tuple other = (Tuple) obj;
+      return Arrays.equals(getValues(), other.getValues());
+    }
+    return false;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.tuple.vector;
+
+import java.util.Arrays;
+
+/**
+ * A column of values in a {@link ColumnBatch}. Values are kept in primitive arrays in subclasses,
+ * so they can be filled and read without any Datum allocation.
+ */
+public abstract class ColumnVector {
+  /** If noNulls is false, isNull[row] tells whether the value of the row is null. */
+  public final boolean[] isNull;
+  /** True if there is no null value in this vector */
+  public boolean noNulls;
+
+  protected ColumnVector(int capacity) {
+    this.isNull = new boolean[capacity];
+    this.noNulls = true;
+  }
+
+  public int capacity() {
+    return isNull.length;
+  }
+
+  public void setNull(int row) {
+    isNull[row] = true;
+    noNulls = false;
+  }
+
+  public boolean isNullAt(int row) {
+    return !noNulls && isNull[row];
+  }
+
+  /**
+   * Clears all values so that this vector can be filled again.
+   */
+  public void reset() {
+    if (!noNulls) {
+      Arrays.fill(isNull, false);
+      noNulls = true;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.tuple.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.datetime.DateTimeUtil;
+import org.junit.Test;
+
+import static org.apache.tajo.common.TajoDataTypes.Type.*;
+import static org.junit.Assert.*;
+
+public class TestColumnBatch {
+
+  private static DataType[] types(Type... types) {
+    DataType[] dataTypes = new DataType[types.length];
+    for (int i = 0; i < types.length; i++) {
+      dataTypes[i] = DataType.newBuilder().setType(types[i]).build();
+    }
+    return dataTypes;
+  }
+
+  @Test
+  public void testRowView() throws CloneNotSupportedException {
+    ColumnBatch batch = new ColumnBatch(types(INT4, FLOAT8, TEXT, DATE, NULL_TYPE), 4);
+    LongColumnVector ints = (LongColumnVector) batch.getColumn(0);
+    DoubleColumnVector doubles = (DoubleColumnVector) batch.getColumn(1);
+    BytesColumnVector texts = (BytesColumnVector) batch.getColumn(2);
+    LongColumnVector dates = (LongColumnVector) batch.getColumn(3);
+    assertNull(batch.getColumn(4));
+
+    for (int row = 0; row < 4; row++) {
+      ints.vector[row] = row;
+      doubles.vector[row] = row / 2.0;
+      byte[] text = ("text_" + row).getBytes();
+      texts.setVal(row, text, 0, text.length);
+      dates.vector[row] = DateTimeUtil.date2j(2016, 1, row + 1);
+    }
+    ints.setNull(2);
+    batch.setSize(4);
+
+    Tuple row = batch.getRow(1);
+    assertEquals(5, row.size());
+    assertEquals(1, row.getInt4(0));
+    assertEquals(0.5, row.getFloat8(1), 0);
+    assertEquals("text_1", row.getText(2));
+    assertEquals(DatumFactory.createDate(2016, 1, 2), row.asDatum(3));
+    assertTrue(row.isBlankOrNull(4));
+
+    Tuple copy = row.clone();
+    assertTrue(copy instanceof VTuple);
+
+    row = batch.getRow(2);
+    assertTrue(row.isBlankOrNull(0));
+    assertEquals(NullDatum.get(), row.asDatum(0));
+    assertEquals(DatumFactory.createText("text_2"), row.asDatum(2));
+    // a copy does not depend on the view
+    assertEquals(1, copy.getInt4(0));
+  }
+
+  @Test
+  public void testSelectionAndReset() {
+    ColumnBatch batch = new ColumnBatch(types(INT8), 8);
+    LongColumnVector longs = (LongColumnVector) batch.getColumn(0);
+    for (int row = 0; row < 8; row++) {
+      longs.vector[row] = row * 10;
+    }
+    longs.setNull(7);
+    batch.setSize(8);
+
+    batch.getSelected()[0] = 3;
+    batch.getSelected()[1] = 5;
+    batch.setSelectedInUse(true);
+    batch.setSize(2);
+    assertEquals(30, batch.getRow(batch.getRowId(0)).getInt8(0));
+    assertEquals(50, batch.getRow(batch.getRowId(1)).getInt8(0));
+
+    batch.reset();
+    assertEquals(0, batch.size());
+    assertFalse(batch.isSelectedInUse());
+    assertTrue(longs.noNulls);
+    assertFalse(longs.isNullAt(7));
+  }
+
+  @Test
+  public void testBytesVectorGrowth() {
+    ColumnBatch batch = new ColumnBatch(types(TEXT), 2);
+    BytesColumnVector texts = (BytesColumnVector) batch.getColumn(0);
+    byte[] small = "small".getBytes();
+    byte[] large = new byte[64 * 1024];
+    texts.setVal(0, small, 0, small.length);
+    texts.setVal(1, large, 0, large.length);
+    batch.setSize(2);
+
+    // a value set before the buffer grows is kept
+    assertEquals("small", batch.getRow(0).getText(0));
+    assertEquals(large.length, batch.getRow(1).size(0));
+  }
+}
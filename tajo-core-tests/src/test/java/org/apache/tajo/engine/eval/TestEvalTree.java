@@ -22,6 +22,7 @@ import org.apache.tajo.catalog.*;
 import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.plan.expr.*;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
@@ -280,6 +281,72 @@ public class TestEvalTree extends ExprTestBase {
     assertCloneEqual(expr);
   }
 
+  @Test
+  public final void testTypedEval() {
+    Schema schema = SchemaBuilder.builder()
+        .add("t.id", INT4)
+        .add("t.price", TajoDataTypes.Type.FLOAT8)
+        .add("t.qty", TajoDataTypes.Type.INT8)
+        .build();
+    FieldEval id = new FieldEval("t.id", CatalogUtil.newSimpleDataType(INT4));
+    FieldEval price = new FieldEval("t.price", CatalogUtil.newSimpleDataType(TajoDataTypes.Type.FLOAT8));
+    FieldEval qty = new FieldEval("t.qty", CatalogUtil.newSimpleDataType(TajoDataTypes.Type.INT8));
+
+    VTuple tuple = new VTuple(new Datum[] {
+        DatumFactory.createInt4(7), DatumFactory.createFloat8(2.5), DatumFactory.createInt8(4)});
+
+    // (id + qty) * price
+    BinaryEval expr = new BinaryEval(EvalType.MULTIPLY, new BinaryEval(EvalType.PLUS, id, qty), price);
+    expr.bind(null, schema);
+    assertEquals(27.5, expr.evalDouble(tuple), 0.0);
+    assertFalse(expr.wasNull());
+    assertEquals(27.5, expr.eval(tuple).asFloat8(), 0.0);
+
+    // id * qty > 27 AND price < 3
+    BinaryEval pred = new BinaryEval(EvalType.AND,
+        new BinaryEval(EvalType.GTH, new BinaryEval(EvalType.MULTIPLY, id, qty), new ConstEval(DatumFactory.createInt4(27))),
+        new BinaryEval(EvalType.LTH, price, new ConstEval(DatumFactory.createInt4(3))));
+    pred.bind(null, schema);
+    assertTrue(pred.evalBool(tuple));
+    assertTrue(pred.eval(tuple).isTrue());
+
+    // int4 arithmetic keeps the overflow semantics of Int4Datum
+    BinaryEval overflow = new BinaryEval(EvalType.PLUS, id, new ConstEval(DatumFactory.createInt4(Integer.MAX_VALUE)));
+    overflow.bind(null, schema);
+    assertEquals(Integer.MAX_VALUE + 7, overflow.evalLong(tuple));
+    assertEquals(Integer.MAX_VALUE + 7, overflow.eval(tuple).asInt4());
+
+    // NULL propagation
+    tuple.put(2, NullDatum.get());
+    assertEquals(0.0, expr.evalDouble(tuple), 0.0);
+    assertTrue(expr.wasNull());
+    assertTrue(expr.eval(tuple).isNull());
+
+    // NULL AND FALSE is FALSE, and NULL OR FALSE is NULL
+    BinaryEval nullGth = new BinaryEval(EvalType.GTH, qty, new ConstEval(DatumFactory.createInt4(1)));
+    BinaryEval falseLth = new BinaryEval(EvalType.LTH, price, new ConstEval(DatumFactory.createInt4(1)));
+    BinaryEval and = new BinaryEval(EvalType.AND, nullGth, falseLth);
+    and.bind(null, schema);
+    assertFalse(and.evalBool(tuple));
+    assertFalse(and.wasNull());
+    BinaryEval or = new BinaryEval(EvalType.OR, nullGth, falseLth);
+    or.bind(null, schema);
+    assertFalse(or.evalBool(tuple));
+    assertTrue(or.wasNull());
+    assertTrue(or.eval(tuple).isNull());
+    NotEval not = new NotEval(or);
+    not.bind(null, schema);
+    assertFalse(not.evalBool(tuple));
+    assertTrue(not.wasNull());
+
+    // division by zero results in NULL
+    BinaryEval divide = new BinaryEval(EvalType.DIVIDE, id, new ConstEval(DatumFactory.createInt4(0)));
+    divide.bind(null, schema);
+    divide.evalLong(tuple);
+    assertTrue(divide.wasNull());
+    assertTrue(divide.eval(tuple).isNull());
+  }
+
   @Test
   public final void testGetReturnType() {
     ConstEval e1;
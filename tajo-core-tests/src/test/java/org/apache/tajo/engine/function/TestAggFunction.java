@@ -23,10 +23,20 @@ import org.junit.Test;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.engine.function.builtin.AvgLong;
+import org.apache.tajo.engine.function.builtin.PercentileCont;
+import org.apache.tajo.engine.function.builtin.PercentileDisc;
+import org.apache.tajo.engine.function.sketch.ApproxMedian;
+import org.apache.tajo.engine.function.sketch.ApproxPercentile;
+import org.apache.tajo.engine.function.sketch.ApproxCountDistinct;
+import org.apache.tajo.engine.function.sketch.HllCardinality;
+import org.apache.tajo.engine.function.sketch.HllMerge;
+import org.apache.tajo.engine.function.sketch.HllSketch;
+import org.apache.tajo.engine.function.sketch.HyperLogLog;
+import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class TestAggFunction {
 
@@ -62,4 +72,139 @@ public class TestAggFunction {
     avg.merge(ctx, new VTuple(new Datum[] {avg.getPartialResult(ctx2)}));
     assertTrue((double)(15 + 55) / (5 + 10) == avg.terminate(ctx).asFloat8());
   }
+
+  private static void assertApproximate(long expected, long actual, double relativeError) {
+    assertTrue("expected " + expected + " but " + actual, Math.abs(expected - actual) <= expected * relativeError);
+  }
+
+  @Test
+  public void testApproxCountDistinct() {
+    ApproxCountDistinct countDistinct = new ApproxCountDistinct();
+
+    // small cardinality with duplicates and nulls
+    FunctionContext ctx = countDistinct.newContext();
+    for (int i = 0; i < 1000; i++) {
+      countDistinct.eval(ctx, new VTuple(new Datum[] {DatumFactory.createText("value" + (i % 100))}));
+      countDistinct.eval(ctx, new VTuple(new Datum[] {NullDatum.get()}));
+    }
+    assertApproximate(100, countDistinct.terminate(ctx).asInt8(), 0.02);
+
+    // large cardinality merged from overlapped partial results
+    FunctionContext ctx1 = countDistinct.newContext();
+    FunctionContext ctx2 = countDistinct.newContext();
+    for (long i = 0; i < 60000; i++) {
+      countDistinct.eval(ctx1, new VTuple(new Datum[] {DatumFactory.createInt8(i)}));
+      countDistinct.eval(ctx2, new VTuple(new Datum[] {DatumFactory.createInt8(i + 40000)}));
+    }
+    FunctionContext merged = countDistinct.newContext();
+    countDistinct.merge(merged, new VTuple(new Datum[] {countDistinct.getPartialResult(ctx1)}));
+    countDistinct.merge(merged, new VTuple(new Datum[] {countDistinct.getPartialResult(ctx2)}));
+    assertApproximate(100000, countDistinct.terminate(merged).asInt8(), 0.03);
+
+    // no input
+    assertEquals(0, countDistinct.terminate(countDistinct.newContext()).asInt8());
+  }
+
+  @Test
+  public void testHyperLogLogSketches() {
+    HllSketch sketch = new HllSketch();
+    HllMerge merge = new HllMerge();
+    HllCardinality cardinality = new HllCardinality();
+
+    // sketches of different precisions
+    FunctionContext ctx1 = sketch.newContext();
+    FunctionContext ctx2 = sketch.newContext();
+    for (int i = 0; i < 20000; i++) {
+      sketch.eval(ctx1, new VTuple(new Datum[] {DatumFactory.createInt4(i), DatumFactory.createInt4(14)}));
+      sketch.eval(ctx2, new VTuple(new Datum[] {DatumFactory.createInt4(i + 10000), DatumFactory.createInt4(12)}));
+    }
+    Datum sketch1 = sketch.terminate(ctx1);
+    Datum sketch2 = sketch.terminate(ctx2);
+    assertApproximate(20000, cardinality.eval(new VTuple(new Datum[] {sketch1})).asInt8(), 0.03);
+
+    FunctionContext mergeCtx = merge.newContext();
+    merge.eval(mergeCtx, new VTuple(new Datum[] {sketch1}));
+    merge.eval(mergeCtx, new VTuple(new Datum[] {NullDatum.get()}));
+    merge.eval(mergeCtx, new VTuple(new Datum[] {sketch2}));
+    Datum mergedSketch = merge.terminate(mergeCtx);
+    assertEquals(12, HyperLogLog.fromBytes(mergedSketch.asByteArray()).getPrecision());
+    assertApproximate(30000, cardinality.eval(new VTuple(new Datum[] {mergedSketch})).asInt8(), 0.05);
+
+    assertEquals(NullDatum.get(), sketch.terminate(sketch.newContext()));
+    assertEquals(NullDatum.get(), cardinality.eval(new VTuple(new Datum[] {NullDatum.get()})));
+  }
+
+  @Test
+  public void testHyperLogLogSerialization() {
+    HyperLogLog hll = new HyperLogLog(10);
+    for (int i = 0; i < 50; i++) {
+      hll.offer(DatumFactory.createInt4(i));
+    }
+    assertTrue(hll.isSparse());
+    HyperLogLog copy = HyperLogLog.fromBytes(hll.toBytes());
+    assertTrue(copy.isSparse());
+    assertEquals(hll.cardinality(), copy.cardinality());
+    // a sparse sketch is smaller than its registers
+    assertTrue(hll.toBytes().length < (1 << 10));
+
+    for (int i = 0; i < 5000; i++) {
+      hll.offer(DatumFactory.createInt4(i));
+    }
+    assertFalse(hll.isSparse());
+    copy = HyperLogLog.fromBytes(hll.toBytes());
+    assertFalse(copy.isSparse());
+    assertEquals(hll.cardinality(), copy.cardinality());
+  }
+
+  @Test
+  public void testApproxPercentile() {
+    ApproxPercentile percentile = new ApproxPercentile();
+    ApproxMedian median = new ApproxMedian();
+
+    FunctionContext ctx1 = percentile.newContext();
+    FunctionContext ctx2 = percentile.newContext();
+    FunctionContext medianCtx = median.newContext();
+    for (int i = 0; i < 100000; i++) {
+      Datum value = DatumFactory.createFloat8((i * 7919) % 100000);
+      percentile.eval(i % 2 == 0 ? ctx1 : ctx2, new VTuple(new Datum[] {value, DatumFactory.createFloat8(0.9)}));
+      median.eval(medianCtx, new VTuple(new Datum[] {value}));
+    }
+    percentile.eval(ctx1, new VTuple(new Datum[] {NullDatum.get(), DatumFactory.createFloat8(0.9)}));
+
+    // merge partial results as the final phase does
+    FunctionContext merged = percentile.newContext();
+    percentile.merge(merged, new VTuple(new Datum[] {percentile.getPartialResult(ctx1)}));
+    percentile.merge(merged, new VTuple(new Datum[] {percentile.getPartialResult(ctx2)}));
+    assertEquals(90000, percentile.terminate(merged).asFloat8(), 100000 * 0.01);
+    assertEquals(50000, median.terminate(medianCtx).asFloat8(), 100000 * 0.01);
+
+    assertEquals(NullDatum.get(), percentile.terminate(percentile.newContext()));
+  }
+
+  @Test
+  public void testPercentile() {
+    PercentileCont cont = new PercentileCont();
+    PercentileDisc disc = new PercentileDisc();
+
+    double [] values = {5, 1, 4, 2, 3, 10, 7, 6, 9, 8};
+    FunctionContext contCtx1 = cont.newContext();
+    FunctionContext contCtx2 = cont.newContext();
+    FunctionContext discCtx = disc.newContext();
+    for (int i = 0; i < values.length; i++) {
+      Datum value = DatumFactory.createFloat8(values[i]);
+      cont.eval(i < 5 ? contCtx1 : contCtx2, new VTuple(new Datum[] {value, DatumFactory.createFloat8(0.25)}));
+      disc.eval(discCtx, new VTuple(new Datum[] {value, DatumFactory.createFloat8(0.25)}));
+    }
+    disc.eval(discCtx, new VTuple(new Datum[] {NullDatum.get(), DatumFactory.createFloat8(0.25)}));
+
+    FunctionContext merged = cont.newContext();
+    cont.merge(merged, new VTuple(new Datum[] {cont.getPartialResult(contCtx1)}));
+    cont.merge(merged, new VTuple(new Datum[] {cont.getPartialResult(contCtx2)}));
+    // position = 0.25 * (10 - 1) = 2.25, which is between 3 and 4
+    assertEquals(3.25, cont.terminate(merged).asFloat8(), 0.0);
+    // the first value whose cumulative distribution is 0.25 or more
+    assertEquals(3.0, disc.terminate(discCtx).asFloat8(), 0.0);
+
+    assertEquals(NullDatum.get(), cont.terminate(cont.newContext()));
+  }
 }
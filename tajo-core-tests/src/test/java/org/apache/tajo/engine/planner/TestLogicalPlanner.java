@@ -1037,6 +1037,57 @@ public class TestLogicalPlanner {
     }
   }
 
+  static final String [] groupingSetQueries = {
+    "select name, deptname, sumtest(empid), grouping(name, deptname) from employee group by rollup(name, deptname)",
+    "select name, deptname, sumtest(empid), grouping(deptname) from employee group by cube(name, deptname)",
+    "select name, deptname, sumtest(empid) from employee group by name, rollup(deptname)",
+  };
+
+  private static Set<Integer> getGroupingIds(String query) throws TajoException {
+    QueryContext qc = createQueryContext();
+
+    Expr expr = sqlAnalyzer.parse(query);
+    LogicalNode plan = planner.createPlan(qc, expr).getRootBlock().getRoot();
+
+    GroupbyNode groupbyNode = PlannerUtil.findTopNode(plan, NodeType.GROUP_BY);
+    assertNotNull(groupbyNode);
+    assertTrue(groupbyNode.hasGroupingSets());
+
+    Column [] keys = groupbyNode.getGroupingColumns();
+    assertEquals(3, keys.length);
+    assertEquals(GroupbyNode.GROUPING_ID_COLUMN_NAME, keys[2].getSimpleName());
+    assertEquals(keys[2], groupbyNode.getGroupingIdColumn());
+
+    Set<Integer> groupingIds = new HashSet<>();
+    for (int groupingId : groupbyNode.getGroupingIds()) {
+      groupingIds.add(groupingId);
+    }
+    return groupingIds;
+  }
+
+  @Test
+  public final void testGroupingSets() throws TajoException {
+    // the bit of a grouping key is set if the key is excluded. (name, deptname) = 0, (name) = 1, () = 3
+    assertEquals(Sets.newHashSet(0, 1, 3), getGroupingIds(groupingSetQueries[0]));
+    assertEquals(Sets.newHashSet(0, 1, 2, 3), getGroupingIds(groupingSetQueries[1]));
+    assertEquals(Sets.newHashSet(0, 1), getGroupingIds(groupingSetQueries[2]));
+
+    // GROUPING() is rewritten to an expression over the grouping id column
+    QueryContext qc = createQueryContext();
+    Expr expr = sqlAnalyzer.parse(groupingSetQueries[0]);
+    LogicalNode plan = planner.createPlan(qc, expr).getRootBlock().getRoot();
+    ProjectionNode projectionNode = PlannerUtil.findTopNode(plan, NodeType.PROJECTION);
+    EvalNode grouping = projectionNode.getTargets().get(3).getEvalTree();
+    assertNotEquals(EvalType.CONST, grouping.getType());
+    assertTrue(EvalTreeUtil.findUniqueColumns(grouping).contains(
+        ((GroupbyNode) PlannerUtil.findTopNode(plan, NodeType.GROUP_BY)).getGroupingIdColumn()));
+
+    // A plain GROUP BY does not have grouping sets
+    expr = sqlAnalyzer.parse(QUERIES[7]);
+    plan = planner.createPlan(qc, expr).getRootBlock().getRoot();
+    assertFalse(((GroupbyNode) PlannerUtil.findTopNode(plan, NodeType.GROUP_BY)).hasGroupingSets());
+  }
+
   static final String setStatements [] = {
     "select deptName from employee where deptName like 'data%' union all select deptName from score where deptName like 'data%'",
   };
@@ -51,6 +51,7 @@ import java.io.IOException;
 import static org.apache.tajo.TajoConstants.DEFAULT_DATABASE_NAME;
 import static org.apache.tajo.TajoConstants.DEFAULT_TABLESPACE_NAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 // this is not a physical operator in itself, but it uses the HashLeftOuterJoinExec with switched inputs order
 public class TestRightOuterHashJoinExec {
@@ -354,4 +355,46 @@ public class TestRightOuterHashJoinExec {
        assertEquals(7, count);
     }
   }
+  @Test
+  public final void testRightOuter_HashJoinExec3() throws IOException, TajoException {
+    FileFragment[] emp3Frags = FileTablespace.splitNG(conf, EMP3_NAME, emp3.getMeta(), new Path(emp3.getUri()),
+        Integer.MAX_VALUE);
+    FileFragment[] job3Frags = FileTablespace.splitNG(conf, JOB3_NAME, job3.getMeta(), new Path(job3.getUri()),
+        Integer.MAX_VALUE);
+
+    FileFragment[] merged = TUtil.concat(job3Frags, emp3Frags);
+
+    Path workDir = CommonTestingUtil.getTestDir(TajoTestingCluster.DEFAULT_TEST_DIRECTORY + "/TestRightOuter_HashJoinExec3");
+    TaskAttemptContext ctx = new TaskAttemptContext(new QueryContext(conf),
+        LocalTajoTestingUtility.newTaskAttemptId(), merged, workDir);
+    ctx.setEnforcer(new Enforcer());
+    Expr expr = analyzer.parse(QUERIES[2]);
+    LogicalNode plan = planner.createPlan(defaultContext, expr).getRootBlock().getRoot();
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf);
+    PhysicalExec exec = phyPlanner.createPlan(ctx, plan);
+
+    // build the hash table on the preserved-row relation
+    ProjectionExec proj = (ProjectionExec) exec;
+    assertTrue(proj.getChild() instanceof HashLeftOuterJoinExec);
+    HashLeftOuterJoinExec swapped = proj.getChild();
+    proj.setChild(new HashRightOuterJoinExec(ctx, swapped.getPlan(), swapped.getRightChild(),
+        swapped.getLeftChild()));
+
+    exec.init();
+    int count = 0;
+    while (exec.next() != null) {
+      count++;
+    }
+    assertEquals(7, count);
+
+    // the matched rows must be forgotten after rescan
+    exec.rescan();
+    count = 0;
+    while (exec.next() != null) {
+      count++;
+    }
+    assertEquals(7, count);
+    exec.close();
+  }
 }
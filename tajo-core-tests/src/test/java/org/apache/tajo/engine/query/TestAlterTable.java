@@ -19,7 +19,9 @@
 package org.apache.tajo.engine.query;
 
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.tajo.IntegrationTest;
 import org.apache.tajo.QueryTestCaseBase;
 import org.apache.tajo.catalog.Column;
@@ -556,6 +558,96 @@ public class TestAlterTable extends QueryTestCaseBase {
     executeString("DROP TABLE " + canonicalTableName + " PURGE").close();
   }
 
+  @Test
+  public void testCompactTable() throws Exception {
+    String databaseName = getCurrentDatabase().toLowerCase();
+    String tableName = "testCompactTable".toLowerCase();
+    String canonicalTableName = IdentifierUtil.getCanonicalTableName(databaseName, tableName);
+
+    executeString("create table " + canonicalTableName + " (col1 int4, col2 int4, col3 float8)").close();
+    for (int i = 0; i < 3; i++) {
+      executeString("insert into " + canonicalTableName
+        + " select l_orderkey, l_partkey, l_quantity from default.lineitem").close();
+    }
+
+    TableDesc tableDesc = catalog.getTableDesc(databaseName, tableName);
+    Path tablePath = new Path(tableDesc.getUri());
+    FileSystem fs = tablePath.getFileSystem(conf);
+    int fileNumBefore = countDataFiles(fs, tablePath);
+    assertTrue(fileNumBefore >= 3);
+
+    ResultSet res = executeString("SELECT * FROM " + canonicalTableName + " ORDER BY col1, col2, col3");
+    String expectedResult = resultSetToString(res);
+    res.close();
+
+    executeString("ALTER TABLE " + canonicalTableName + " COMPACT").close();
+
+    res = executeString("SELECT * FROM " + canonicalTableName + " ORDER BY col1, col2, col3");
+    String result = resultSetToString(res);
+    res.close();
+    assertEquals(expectedResult, result);
+    assertTrue(countDataFiles(fs, tablePath) < fileNumBefore);
+
+    executeString("DROP TABLE " + canonicalTableName + " PURGE").close();
+  }
+
+  @Test
+  public void testCompactPartitionedTable() throws Exception {
+    String databaseName = getCurrentDatabase().toLowerCase();
+    String tableName = "testCompactPartitionedTable".toLowerCase();
+    String canonicalTableName = IdentifierUtil.getCanonicalTableName(databaseName, tableName);
+
+    executeString("create table " + canonicalTableName + " (col2 int4, col3 float8) "
+      + " partition by column(col1 int4)").close();
+    for (int i = 0; i < 3; i++) {
+      executeString("insert into " + canonicalTableName
+        + " select l_partkey, l_quantity, l_orderkey from default.lineitem").close();
+    }
+
+    TableDesc tableDesc = catalog.getTableDesc(databaseName, tableName);
+    Path tablePath = new Path(tableDesc.getUri());
+    Path partitionPath = new Path(tablePath, "col1=1");
+    FileSystem fs = tablePath.getFileSystem(conf);
+    int fileNumBefore = countDataFiles(fs, tablePath);
+    int partitionFileNumBefore = countDataFiles(fs, partitionPath);
+    assertTrue(partitionFileNumBefore >= 3);
+
+    ResultSet res = executeString("SELECT * FROM " + canonicalTableName + " ORDER BY col1, col2, col3");
+    String expectedResult = resultSetToString(res);
+    res.close();
+
+    // compact a single partition first, and then the whole table
+    executeString("ALTER TABLE " + canonicalTableName + " COMPACT PARTITION (col1 = 1)").close();
+
+    res = executeString("SELECT * FROM " + canonicalTableName + " ORDER BY col1, col2, col3");
+    String result = resultSetToString(res);
+    res.close();
+    assertEquals(expectedResult, result);
+    assertTrue(countDataFiles(fs, partitionPath) < partitionFileNumBefore);
+
+    executeString("ALTER TABLE " + canonicalTableName + " COMPACT").close();
+
+    res = executeString("SELECT * FROM " + canonicalTableName + " ORDER BY col1, col2, col3");
+    result = resultSetToString(res);
+    res.close();
+    assertEquals(expectedResult, result);
+    assertTrue(countDataFiles(fs, tablePath) < fileNumBefore);
+    verifyPartitionCount(databaseName, tableName, 4);
+
+    executeString("DROP TABLE " + canonicalTableName + " PURGE").close();
+  }
+
+  private int countDataFiles(FileSystem fs, Path path) throws Exception {
+    int count = 0;
+    RemoteIterator<LocatedFileStatus> files = fs.listFiles(path, true);
+    while (files.hasNext()) {
+      String name = files.next().getPath().getName();
+      if (!name.startsWith(".") && !name.startsWith("_")) {
+        count++;
+      }
+    }
+    return count;
+  }
 
   private void verifyPartitionCount(String databaseName, String tableName, int expectedCount)
     throws UndefinedDatabaseException, UndefinedTableException, UndefinedPartitionMethodException,
@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.query;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.IntegrationTest;
+import org.apache.tajo.QueryTestCaseBase;
+import org.apache.tajo.TajoConstants;
+import org.apache.tajo.annotation.NotThreadSafe;
+import org.apache.tajo.catalog.BucketSpec;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+@NotThreadSafe
+public class TestBucketedTables extends QueryTestCaseBase {
+
+  public TestBucketedTables() {
+    super(TajoConstants.DEFAULT_DATABASE_NAME);
+  }
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    // a broadcast join also avoids the shuffle, so it is disabled to see which join is planned
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$TEST_BROADCAST_JOIN_ENABLED.varname, "false");
+
+    client.executeQueryAndGetResult("create table if not exists bucketed_lineitem " +
+        "clustered by (l_orderkey) into 4 buckets as " +
+        "select l_orderkey, l_partkey, l_quantity from lineitem").close();
+    client.executeQueryAndGetResult("create table if not exists bucketed_orders " +
+        "clustered by (o_orderkey) into 4 buckets as " +
+        "select o_orderkey, o_custkey, o_orderstatus from orders").close();
+    client.executeQueryAndGetResult("create table if not exists bucketed_orders_8 " +
+        "clustered by (o_orderkey) into 8 buckets as " +
+        "select o_orderkey, o_custkey, o_orderstatus from orders").close();
+  }
+
+  @AfterClass
+  public static void classTearDown() throws Exception {
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$TEST_BROADCAST_JOIN_ENABLED.varname,
+        ConfVars.$TEST_BROADCAST_JOIN_ENABLED.defaultVal);
+
+    client.executeQuery("DROP TABLE IF EXISTS bucketed_lineitem PURGE");
+    client.executeQuery("DROP TABLE IF EXISTS bucketed_orders PURGE");
+    client.executeQuery("DROP TABLE IF EXISTS bucketed_orders_8 PURGE");
+  }
+
+  @Test
+  public final void testBucketJoin() throws Exception {
+    String query = "select l_orderkey, l_partkey, l_quantity, o_orderstatus " +
+        "from bucketed_lineitem join bucketed_orders on l_orderkey = o_orderkey";
+    assertNoShuffle(query);
+
+    ResultSet res = executeString(query + " order by l_orderkey, l_partkey, l_quantity");
+    String expected = "l_orderkey,l_partkey,l_quantity,o_orderstatus\n" +
+        "-------------------------------\n" +
+        "1,1,17.0,O\n" +
+        "1,1,36.0,O\n" +
+        "2,2,38.0,O\n" +
+        "3,2,45.0,F\n" +
+        "3,3,49.0,F\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
+
+  @Test
+  public final void testBucketLeftOuterJoin() throws Exception {
+    String query = "select o_orderkey, o_orderstatus, l_partkey, l_quantity " +
+        "from bucketed_orders left outer join bucketed_lineitem on o_orderkey = l_orderkey";
+    assertNoShuffle(query);
+
+    ResultSet res = executeString(query + " order by o_orderkey, l_partkey, l_quantity");
+    String expected = "o_orderkey,o_orderstatus,l_partkey,l_quantity\n" +
+        "-------------------------------\n" +
+        "1,O,1,17.0\n" +
+        "1,O,1,36.0\n" +
+        "2,O,2,38.0\n" +
+        "3,F,2,45.0\n" +
+        "3,F,3,49.0\n" +
+        "null,null,null,null\n" +
+        "null,null,null,null\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
+
+  @Test
+  public final void testBucketRightOuterJoin() throws Exception {
+    String query = "select o_orderkey, o_orderstatus, l_partkey, l_quantity " +
+        "from bucketed_lineitem right outer join bucketed_orders on l_orderkey = o_orderkey";
+    assertNoShuffle(query);
+
+    ResultSet res = executeString(query + " order by o_orderkey, l_partkey, l_quantity");
+    String expected = "o_orderkey,o_orderstatus,l_partkey,l_quantity\n" +
+        "-------------------------------\n" +
+        "1,O,1,17.0\n" +
+        "1,O,1,36.0\n" +
+        "2,O,2,38.0\n" +
+        "3,F,2,45.0\n" +
+        "3,F,3,49.0\n" +
+        "null,null,null,null\n" +
+        "null,null,null,null\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
+
+  @Test
+  public final void testBucketJoinWithDifferentBucketNum() throws Exception {
+    // the bucket ids of the two tables do not match, so the join falls back to a shuffle join
+    String query = "select l_orderkey, l_partkey, l_quantity, o_orderstatus " +
+        "from bucketed_lineitem join bucketed_orders_8 on l_orderkey = o_orderkey";
+    ResultSet res = executeString("explain global " + query);
+    String plan = resultSetToString(res);
+    res.close();
+    assertTrue(plan, plan.contains("HASH_SHUFFLE"));
+
+    res = executeString(query + " order by l_orderkey, l_partkey, l_quantity");
+    String expected = "l_orderkey,l_partkey,l_quantity,o_orderstatus\n" +
+        "-------------------------------\n" +
+        "1,1,17.0,O\n" +
+        "1,1,36.0,O\n" +
+        "2,2,38.0,O\n" +
+        "3,2,45.0,F\n" +
+        "3,3,49.0,F\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
+
+  @Test
+  public final void testGroupByBucketColumns() throws Exception {
+    String query = "select l_orderkey, count(*) as cnt, sum(l_quantity) as total " +
+        "from bucketed_lineitem group by l_orderkey";
+    assertNoShuffle(query);
+
+    ResultSet res = executeString(query + " order by l_orderkey");
+    String expected = "l_orderkey,cnt,total\n" +
+        "-------------------------------\n" +
+        "1,2,53.0\n" +
+        "2,1,38.0\n" +
+        "3,2,94.0\n" +
+        "null,3,null\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
+
+  @Test
+  public final void testGroupByNonBucketColumns() throws Exception {
+    // groups of l_partkey span several buckets, so the aggregation needs a shuffle
+    String query = "select l_partkey, count(*) as cnt from bucketed_lineitem group by l_partkey";
+    ResultSet res = executeString("explain global " + query);
+    String plan = resultSetToString(res);
+    res.close();
+    assertTrue(plan, plan.contains("HASH_SHUFFLE"));
+
+    res = executeString(query + " order by l_partkey");
+    String expected = "l_partkey,cnt\n" +
+        "-------------------------------\n" +
+        "1,2\n" +
+        "2,2\n" +
+        "3,1\n" +
+        "null,3\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
+
+  @Test
+  public final void testInsertIntoBucketedTable() throws Exception {
+    executeString("create table bucketed_insert (col1 int4, col2 int4, col3 float8) " +
+        "clustered by (col1) into 4 buckets").close();
+
+    try {
+      for (int i = 0; i < 2; i++) {
+        executeString("insert into bucketed_insert " +
+            "select l_orderkey, l_partkey, l_quantity from lineitem where l_orderkey is not null").close();
+      }
+
+      List<Path> dataFiles = listTableFiles("bucketed_insert");
+      assertFalse(dataFiles.isEmpty());
+      for (Path dataFile : dataFiles) {
+        assertTrue(dataFile.toString(), dataFile.getName().matches("part-[0-9]+-[0-9]+_b[0-9]{5}-[0-9]+"));
+        int bucketId = BucketSpec.getBucketId(dataFile);
+        assertTrue(dataFile.toString(), bucketId >= 0 && bucketId < 4);
+      }
+
+      // the rows of both inserts are read bucket by bucket
+      String query = "select col1, count(*) as cnt from bucketed_insert group by col1";
+      assertNoShuffle(query);
+
+      ResultSet res = executeString(query + " order by col1");
+      String expected = "col1,cnt\n" +
+          "-------------------------------\n" +
+          "1,4\n" +
+          "2,2\n" +
+          "3,4\n";
+      assertEquals(expected, resultSetToString(res));
+      res.close();
+    } finally {
+      executeString("DROP TABLE bucketed_insert PURGE").close();
+    }
+  }
+
+  private void assertNoShuffle(String query) throws Exception {
+    ResultSet res = executeString("explain global " + query);
+    String plan = resultSetToString(res);
+    res.close();
+    assertFalse(plan, plan.contains("SHUFFLE"));
+  }
+}
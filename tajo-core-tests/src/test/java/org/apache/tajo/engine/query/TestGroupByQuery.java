@@ -737,6 +737,51 @@ public class TestGroupByQuery extends QueryTestCaseBase {
     }
   }
 
+  @Test
+  public final void testGroupByRollup() throws Exception {
+    // subtotal rows have null keys, which are distinguished from null values of data by grouping()
+    ResultSet res = executeQuery();
+    assertResultSet(res);
+    cleanupQuery(res);
+  }
+
+  @Test
+  public final void testGroupByCube() throws Exception {
+    ResultSet res = executeQuery();
+    assertResultSet(res);
+    cleanupQuery(res);
+  }
+
+  @Test
+  public final void testGroupByRollupWithMultipleFiles() throws Exception {
+    Schema schema = SchemaBuilder.builder()
+        .add("id", Type.INT4)
+        .add("name", Type.TEXT)
+        .add("val", Type.INT4)
+        .build();
+    String[] data = new String[]{"1|a|10", "1|b|20", "2|a|30", "2|b|40", "3|a|50", "|a|60"};
+    TajoTestingCluster.createTable(conf, "testrollupwithmultiplefiles", schema, data, 3);
+
+    try {
+      // subtotals of each first phase task are merged by the second phase
+      ResultSet res = executeQuery();
+      assertResultSet(res);
+
+      QueryHistory queryHistory = testingCluster.getQueryHistory(getQueryId(res));
+      cleanupQuery(res);
+
+      int firstPhaseTasks = 0;
+      for (StageHistory stage : queryHistory.getStageHistories()) {
+        if (stage.getExecutionBlockId().endsWith("_000001")) {
+          firstPhaseTasks = stage.getTotalScheduledObjectsCount();
+        }
+      }
+      assertEquals(3, firstPhaseTasks);
+    } finally {
+      executeString("DROP TABLE testrollupwithmultiplefiles PURGE").close();
+    }
+  }
+
   @Test
   public final void testGroupbyWithLimit1() throws Exception {
     ResultSet res = executeQuery();
@@ -639,6 +639,127 @@ public class TestHBaseTable extends QueryTestCaseBase {
     assertEquals("059" + postFix, fragment2.getEndKey().toString());
   }
 
+  @Test
+  public void testColumnValueFilterPushdown() throws Exception {
+    String sql =
+        "CREATE TABLE hbase_mapped_table (rk text, col1 text, col2 text, col3 int4) " +
+        "TABLESPACE cluster1 USING hbase WITH ('table'='hbase_table', 'columns'=':key,col1:a,col2:,col3:b#b', " +
+        "'hbase.split.rowkeys'='010,040,060,080') ";
+    executeString(sql).close();
+
+    assertTableExists("hbase_mapped_table");
+
+    HTable htable = new HTable(testingCluster.getHBaseUtil().getConf(), "hbase_table");
+    try {
+      DecimalFormat df = new DecimalFormat("000");
+      for (int i = 0; i < 100; i++) {
+        Put put = new Put(String.valueOf(df.format(i)).getBytes());
+        put.add("col1".getBytes(), "a".getBytes(), ("a-" + i).getBytes());
+        put.add("col2".getBytes(), "k1".getBytes(), ("k1-" + i).getBytes());
+        if (i % 2 == 1) {
+          put.add("col3".getBytes(), "b".getBytes(), Bytes.toBytes(i % 10));
+        }
+        htable.put(put);
+      }
+
+      // both predicates are evaluated by region servers
+      ResultSet res = executeString(
+          "select rk, col1, col3 from hbase_mapped_table where col1 >= 'a-50' and col3 = 5 order by rk");
+      String expected = "rk,col1,col3\n" +
+          "-------------------------------\n" +
+          "055,a-55,5\n" +
+          "065,a-65,5\n" +
+          "075,a-75,5\n" +
+          "085,a-85,5\n" +
+          "095,a-95,5\n";
+
+      assertEquals(expected, resultSetToString(res));
+      res.close();
+
+      // rows without col3 do not match any comparison
+      res = executeString(
+          "select rk, col2 from hbase_mapped_table where col3 in (1, 2, 3) and rk < '030' order by rk");
+      expected = "rk,col2\n" +
+          "-------------------------------\n" +
+          "001,{\"k1\":\"k1-1\"}\n" +
+          "003,{\"k1\":\"k1-3\"}\n" +
+          "011,{\"k1\":\"k1-11\"}\n" +
+          "013,{\"k1\":\"k1-13\"}\n" +
+          "021,{\"k1\":\"k1-21\"}\n" +
+          "023,{\"k1\":\"k1-23\"}\n";
+
+      assertEquals(expected, resultSetToString(res));
+      res.close();
+
+      // a disjunction with a predicate which cannot be pushed is evaluated only by Tajo
+      res = executeString(
+          "select rk from hbase_mapped_table where col1 = 'a-7' or col3 + 1 = 10 order by rk limit 3");
+      expected = "rk\n" +
+          "-------------------------------\n" +
+          "007\n" +
+          "009\n" +
+          "019\n";
+
+      assertEquals(expected, resultSetToString(res));
+      res.close();
+    } finally {
+      executeString("DROP TABLE hbase_mapped_table PURGE").close();
+      htable.close();
+    }
+  }
+
+  @Test
+  public void testParallelRangeScan() throws Exception {
+    String sql =
+        "CREATE TABLE hbase_mapped_table (rk text, col1 text) " +
+        "TABLESPACE cluster1 USING hbase WITH ('table'='hbase_table', 'columns'=':key,col1:a', " +
+        "'hbase.split.rowkeys'='050') ";
+    executeString(sql).close();
+
+    assertTableExists("hbase_mapped_table");
+
+    HConnection hconn = ((HBaseTablespace) TablespaceManager.getByName("cluster1")).getConnection();
+    try (HTableInterface htable = hconn.getTable("hbase_table")) {
+      DecimalFormat df = new DecimalFormat("000");
+      for (int i = 0; i < 100; i++) {
+        Put put = new Put(String.valueOf(df.format(i)).getBytes());
+        put.add("col1".getBytes(), "a".getBytes(), ("a-" + i).getBytes());
+        htable.put(put);
+      }
+
+      // the first region is scanned with 4 sub-ranges, and the last one is inclusive
+      byte[][] boundaries = ParallelRangeScanner.split("000".getBytes(), "050".getBytes(), 4);
+      assertEquals(5, boundaries.length);
+      List<Scan> scans = new ArrayList<>();
+      for (int i = 0; i < boundaries.length - 1; i++) {
+        Scan scan = new Scan(boundaries[i]);
+        if (i < boundaries.length - 2) {
+          scan.setStopRow(boundaries[i + 1]);
+        } else {
+          scan.setFilter(new InclusiveStopFilter(boundaries[i + 1]));
+        }
+        scans.add(scan);
+      }
+
+      List<String> rows = new ArrayList<>();
+      try (ParallelRangeScanner scanner = new ParallelRangeScanner(hconn, "hbase_table", scans, 7)) {
+        Result[] results;
+        while ((results = scanner.next()) != null) {
+          for (Result result : results) {
+            rows.add(new String(result.getRow()));
+          }
+        }
+      }
+
+      assertEquals(51, rows.size());
+      for (int i = 0; i <= 50; i++) {
+        assertEquals(df.format(i), rows.get(i));
+      }
+    } finally {
+      executeString("DROP TABLE hbase_mapped_table PURGE").close();
+    }
+  }
+
   @Test
   public void testNonForwardQuery() throws Exception {
     executeString("CREATE TABLE hbase_mapped_table1 (rk text, col1 text, col2 text, col3 int) " +
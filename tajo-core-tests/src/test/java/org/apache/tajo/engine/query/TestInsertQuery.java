@@ -26,9 +26,12 @@ import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.io.compress.DeflateCodec;
 import org.apache.tajo.IntegrationTest;
 import org.apache.tajo.QueryTestCaseBase;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.BucketSpec;
 import org.apache.tajo.catalog.CatalogService;
 import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.schema.IdentifierUtil;
+import org.apache.tajo.storage.zonemap.ZoneMap;
 import org.apache.tajo.util.CommonTestingUtil;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -36,7 +39,7 @@ import org.junit.experimental.categories.Category;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.sql.ResultSet;
-import java.util.List;
+import java.util.*;
 
 import static org.junit.Assert.*;
 
@@ -964,4 +967,189 @@ public class TestInsertQuery extends QueryTestCaseBase {
     assertEquals(expected, resultDatas);
     executeString("DROP TABLE test1 PURGE");
   }
+
+  @Test
+  public final void testInsertIntoWithParallelCommit() throws Exception {
+    executeString("create table parallel_commit (col1 int4, col2 int4, col3 float8) " +
+        "using text with ('zonemap.enabled'='true')").close();
+
+    try {
+      // each insert writes a file per union branch
+      for (int i = 0; i < 2; i++) {
+        executeString("insert into parallel_commit " +
+            "select l_orderkey, l_partkey, l_quantity from default.lineitem where l_orderkey < 3 " +
+            "union all " +
+            "select l_orderkey, l_partkey, l_quantity from default.lineitem where l_orderkey >= 3").close();
+      }
+
+      assertRowCount("parallel_commit", 10);
+      assertFileSequencesAndZoneMaps("parallel_commit", 1);
+    } finally {
+      executeString("DROP TABLE parallel_commit PURGE").close();
+    }
+  }
+
+  @Test
+  public final void testInsertIntoMultiLevelPartitionedTableWithParallelCommit() throws Exception {
+    executeString("create table parallel_commit_partitioned (col3 float8) using text " +
+        "with ('zonemap.enabled'='true') partition by column(col1 int4, col2 int4)").close();
+
+    try {
+      for (int i = 0; i < 3; i++) {
+        executeString("insert into parallel_commit_partitioned " +
+            "select l_quantity, l_orderkey, l_partkey from default.lineitem where l_orderkey is not null").close();
+      }
+
+      assertRowCount("parallel_commit_partitioned", 15);
+      // col1=1/col2=1, col1=2/col2=2, col1=3/col2=2 and col1=3/col2=3
+      assertFileSequencesAndZoneMaps("parallel_commit_partitioned", 4);
+    } finally {
+      executeString("DROP TABLE parallel_commit_partitioned PURGE").close();
+    }
+  }
+
+  @Test
+  public final void testInsertIntoWithDirectOutput() throws Exception {
+    executeString("create table direct_output (col1 int4, col2 int4, col3 float8)").close();
+    executeString("create table direct_output_partitioned (col3 float8) partition by column(col1 int4)").close();
+    executeString("create table direct_output_bucketed (col1 int4, col2 int4, col3 float8) " +
+        "clustered by (col1) into 4 buckets").close();
+
+    Map<String, String> variables = new HashMap<>();
+    variables.put(SessionVars.OUTPUT_DIRECT_COMMIT_ENABLED.keyname(), "true");
+    client.updateSessionVariables(variables);
+
+    try {
+      for (int i = 0; i < 2; i++) {
+        executeString("insert into direct_output " +
+            "select l_orderkey, l_partkey, l_quantity from default.lineitem").close();
+        executeString("insert into direct_output_partitioned " +
+            "select l_quantity, l_orderkey from default.lineitem where l_orderkey is not null").close();
+        executeString("insert into direct_output_bucketed " +
+            "select l_orderkey, l_partkey, l_quantity from default.lineitem where l_orderkey is not null").close();
+      }
+
+      assertRowCount("direct_output", 16);
+      assertRowCount("direct_output_partitioned", 10);
+      assertRowCount("direct_output_bucketed", 10);
+
+      // the files are written with the query id instead of being renamed with a new sequence
+      for (String tableName : new String[] {"direct_output", "direct_output_partitioned"}) {
+        List<Path> dataFiles = listDataFiles(tableName);
+        assertFalse(dataFiles.isEmpty());
+        for (Path dataFile : dataFiles) {
+          assertTrue(dataFile.toString(), dataFile.getName().matches("part-q_[0-9]+_[0-9]+-[0-9]+-[0-9]+-[0-9]+"));
+        }
+      }
+
+      List<Path> bucketFiles = listDataFiles("direct_output_bucketed");
+      assertFalse(bucketFiles.isEmpty());
+      for (Path bucketFile : bucketFiles) {
+        assertTrue(bucketFile.toString(),
+            bucketFile.getName().matches("part-q_[0-9]+_[0-9]+-[0-9]+-[0-9]+_b[0-9]{5}-[0-9]+"));
+        int bucketId = BucketSpec.getBucketId(bucketFile);
+        assertTrue(bucketId >= 0 && bucketId < 4);
+      }
+    } finally {
+      client.unsetSessionVariables(Arrays.asList(SessionVars.OUTPUT_DIRECT_COMMIT_ENABLED.keyname()));
+      executeString("DROP TABLE direct_output PURGE").close();
+      executeString("DROP TABLE direct_output_partitioned PURGE").close();
+      executeString("DROP TABLE direct_output_bucketed PURGE").close();
+    }
+  }
+
+  @Test
+  public final void testInsertOverwriteAndCTASIgnoreDirectOutput() throws Exception {
+    executeString("create table direct_output_overwrite (col1 int4, col2 int4, col3 float8)").close();
+
+    Map<String, String> variables = new HashMap<>();
+    variables.put(SessionVars.OUTPUT_DIRECT_COMMIT_ENABLED.keyname(), "true");
+    client.updateSessionVariables(variables);
+
+    try {
+      for (int i = 0; i < 2; i++) {
+        executeString("insert overwrite into direct_output_overwrite " +
+            "select l_orderkey, l_partkey, l_quantity from default.lineitem").close();
+      }
+      executeString("create table direct_output_ctas as " +
+          "select l_orderkey, l_partkey, l_quantity from default.lineitem").close();
+
+      // the old files are replaced, and the new ones are moved from the staging directory
+      assertRowCount("direct_output_overwrite", 8);
+      assertRowCount("direct_output_ctas", 8);
+      for (String tableName : new String[] {"direct_output_overwrite", "direct_output_ctas"}) {
+        List<Path> dataFiles = listDataFiles(tableName);
+        assertFalse(dataFiles.isEmpty());
+        for (Path dataFile : dataFiles) {
+          assertTrue(dataFile.toString(), dataFile.getName().matches("part-[0-9]+-[0-9]+-[0-9]+"));
+        }
+      }
+    } finally {
+      client.unsetSessionVariables(Arrays.asList(SessionVars.OUTPUT_DIRECT_COMMIT_ENABLED.keyname()));
+      executeString("DROP TABLE direct_output_overwrite PURGE").close();
+      executeString("DROP TABLE direct_output_ctas PURGE").close();
+    }
+  }
+
+  private void assertRowCount(String tableName, long expected) throws Exception {
+    ResultSet res = executeString("select count(*) from " + tableName);
+    try {
+      assertTrue(res.next());
+      assertEquals(expected, res.getLong(1));
+    } finally {
+      res.close();
+    }
+  }
+
+  private List<Path> listDataFiles(String tableName) throws Exception {
+    List<Path> dataFiles = new ArrayList<>();
+    for (Path path : listTableFiles(tableName)) {
+      if (!ZoneMap.isZoneMapFile(path)) {
+        dataFiles.add(path);
+      }
+    }
+    return dataFiles;
+  }
+
+  /**
+   * Verifies that the sequences of data files in each directory continue from 0 without a gap or a duplicate,
+   * and that every data file is accompanied by its zone map.
+   */
+  private void assertFileSequencesAndZoneMaps(String tableName, int expectedDirNum) throws Exception {
+    List<Path> files = listTableFiles(tableName);
+    Set<Path> allFiles = new HashSet<>(files);
+
+    Map<Path, List<Integer>> sequencesByDir = new HashMap<>();
+    int zoneMapNum = 0;
+    for (Path file : files) {
+      if (ZoneMap.isZoneMapFile(file)) {
+        zoneMapNum++;
+        continue;
+      }
+
+      String name = file.getName();
+      assertTrue(name, name.matches("part-[0-9]+-[0-9]+-[0-9]+"));
+      assertTrue(file + " has no zone map", allFiles.contains(ZoneMap.getZoneMapPath(file)));
+
+      List<Integer> sequences = sequencesByDir.get(file.getParent());
+      if (sequences == null) {
+        sequences = new ArrayList<>();
+        sequencesByDir.put(file.getParent(), sequences);
+      }
+      sequences.add(Integer.parseInt(name.substring(name.lastIndexOf('-') + 1)));
+    }
+
+    assertEquals(expectedDirNum, sequencesByDir.size());
+    int dataFileNum = 0;
+    for (List<Integer> sequences : sequencesByDir.values()) {
+      // every insert adds at least one file into each directory
+      assertTrue(sequences.size() > 1);
+      Collections.sort(sequences);
+      for (int i = 0; i < sequences.size(); i++) {
+        assertEquals(i, sequences.get(i).intValue());
+      }
+      dataFileNum += sequences.size();
+    }
+    assertEquals(dataFileNum, zoneMapNum);
+  }
 }
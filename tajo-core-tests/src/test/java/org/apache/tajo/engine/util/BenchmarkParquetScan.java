@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.util;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.TajoTestingCluster;
+import org.apache.tajo.catalog.*;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.tuple.vector.ColumnBatch;
+import org.apache.tajo.tuple.vector.LongColumnVector;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Compares the record-based Parquet scan with the vectorized scan.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkParquetScan {
+  private final String TEST_PATH = TajoTestingCluster.DEFAULT_TEST_DIRECTORY + "/BenchmarkParquetScan";
+  private final int numTuple = 1000000;
+  private Random rnd = new Random(System.currentTimeMillis());
+
+  private TajoConf conf;
+  private Schema schema;
+  private FileFragment fragment;
+
+  @Setup
+  public void setup() throws Exception {
+    conf = new TajoConf();
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+
+    schema = SchemaBuilder.builder().addAll(new Column[] {
+        new Column("col0", Type.INT8),
+        new Column("col1", Type.INT4),
+        new Column("col2", Type.FLOAT8),
+        new Column("col3", Type.DATE),
+        new Column("col4", Type.TEXT),
+        new Column("col5", Type.TEXT),
+    }).build();
+
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.PARQUET, conf);
+    Path path = new Path(testDir, "table.parquet");
+    Appender appender = ((FileTablespace) TablespaceManager.getLocalFs()).getAppender(meta, schema, path);
+    appender.init();
+    VTuple tuple = new VTuple(schema.size());
+    for (int i = 0; i < numTuple; i++) {
+      tuple.put(0, DatumFactory.createInt8(rnd.nextLong()));
+      tuple.put(1, rnd.nextInt(100) == 0 ? NullDatum.get() : DatumFactory.createInt4(rnd.nextInt()));
+      tuple.put(2, DatumFactory.createFloat8(rnd.nextDouble()));
+      tuple.put(3, DatumFactory.createDate(2457000 + rnd.nextInt(1000)));
+      // low cardinality, so it is dictionary-encoded
+      tuple.put(4, DatumFactory.createText("category_" + rnd.nextInt(100)));
+      tuple.put(5, DatumFactory.createText("name_" + rnd.nextLong()));
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileStatus status = path.getFileSystem(conf).getFileStatus(path);
+    fragment = new FileFragment("table", path, 0, status.getLen());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    CommonTestingUtil.cleanupTestDir(TEST_PATH);
+  }
+
+  private Scanner createScanner(boolean vectorized) throws IOException {
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.PARQUET, conf);
+    meta.putProperty(StorageConstants.PARQUET_VECTORIZED_READ, Boolean.toString(vectorized));
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, fragment, schema);
+    scanner.init();
+    return scanner;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void recordScan(Blackhole blackhole) throws IOException {
+    Scanner scanner = createScanner(false);
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      blackhole.consume(tuple.getInt8(0));
+      blackhole.consume(tuple.getText(4));
+    }
+    scanner.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void vectorizedRowScan(Blackhole blackhole) throws IOException {
+    Scanner scanner = createScanner(true);
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      blackhole.consume(tuple.getInt8(0));
+      blackhole.consume(tuple.getText(4));
+    }
+    scanner.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void vectorizedBatchScan(Blackhole blackhole) throws IOException {
+    ColumnBatchScanner scanner = (ColumnBatchScanner) createScanner(true);
+    ColumnBatch batch;
+    while ((batch = scanner.nextBatch()) != null) {
+      long[] values = ((LongColumnVector) batch.getColumn(0)).vector;
+      long sum = 0;
+      for (int i = 0; i < batch.size(); i++) {
+        sum += values[batch.getRowId(i)];
+      }
+      blackhole.consume(sum);
+    }
+    scanner.close();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(BenchmarkParquetScan.class.getSimpleName())
+        .warmupIterations(1)
+        .measurementIterations(3)
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
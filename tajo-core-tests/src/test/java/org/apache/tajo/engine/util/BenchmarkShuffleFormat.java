@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.TajoTestingCluster;
+import org.apache.tajo.catalog.*;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.rawfile.ColumnarRawFileWriter;
+import org.apache.tajo.storage.rawfile.DirectRawFileWriter;
+import org.apache.tajo.tuple.memory.MemoryRowBlock;
+import org.apache.tajo.unit.StorageUnit;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.apache.tajo.util.FileUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares writing and reading the intermediate data of a hash shuffle in RAW and CRAW.
+ * Row blocks are written as a hash shuffle writes its partitions.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkShuffleFormat {
+  private static final Log LOG = LogFactory.getLog(BenchmarkShuffleFormat.class);
+
+  private final String TEST_PATH = TajoTestingCluster.DEFAULT_TEST_DIRECTORY + "/BenchmarkShuffleFormat";
+  private final int numTuple = 1000000;
+  private final int rowBlockSize = 4 * StorageUnit.MB;
+  private final String [] flags = {"A", "F", "N", "R"};
+  private Random rnd = new Random(System.currentTimeMillis());
+
+  private TajoConf conf;
+  private Schema schema;
+  private Path testDir;
+  private List<MemoryRowBlock> rawRowBlocks;
+  private List<MemoryRowBlock> drawRowBlocks;
+  private FileFragment rawFragment;
+  private FileFragment crawFragment;
+
+  @Setup
+  public void setup() throws Exception {
+    conf = new TajoConf();
+    testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+
+    schema = SchemaBuilder.builder()
+        .add("l_orderkey", Type.INT8)
+        .add("l_partkey", Type.INT4)
+        .add("l_quantity", Type.FLOAT8)
+        .add("l_returnflag", Type.TEXT)
+        .add("l_shipdate", Type.DATE)
+        .add("l_comment", Type.TEXT)
+        .build();
+
+    rawRowBlocks = createRowBlocks(BuiltinStorages.RAW);
+    drawRowBlocks = createRowBlocks(BuiltinStorages.DRAW);
+
+    rawFragment = write(BuiltinStorages.RAW, rawRowBlocks, "shuffle.raw");
+    crawFragment = write(BuiltinStorages.CRAW, drawRowBlocks, "shuffle.craw");
+    LOG.info("RAW: " + FileUtil.humanReadableByteCount(rawFragment.getLength(), false) +
+        ", CRAW: " + FileUtil.humanReadableByteCount(crawFragment.getLength(), false));
+  }
+
+  private List<MemoryRowBlock> createRowBlocks(String rowBlockFormat) {
+    rnd.setSeed(0);
+    List<MemoryRowBlock> rowBlocks = new ArrayList<>();
+    MemoryRowBlock rowBlock = null;
+    VTuple tuple = new VTuple(schema.size());
+    for (int i = 0; i < numTuple; i++) {
+      if (rowBlock == null || rowBlock.usedMem() > rowBlockSize) {
+        rowBlock = new MemoryRowBlock(SchemaUtil.toDataTypes(schema), rowBlockSize * 2, true, rowBlockFormat);
+        rowBlocks.add(rowBlock);
+      }
+
+      tuple.put(0, DatumFactory.createInt8(i / 4));
+      tuple.put(1, DatumFactory.createInt4(rnd.nextInt(200000)));
+      tuple.put(2, DatumFactory.createFloat8(rnd.nextInt(50) + 1));
+      tuple.put(3, DatumFactory.createText(flags[rnd.nextInt(flags.length)]));
+      tuple.put(4, DatumFactory.createDate(2449000 + rnd.nextInt(2500)));
+      tuple.put(5, DatumFactory.createText("carefully final requests " + rnd.nextInt(10000)));
+      rowBlock.getWriter().addTuple(tuple);
+    }
+    return rowBlocks;
+  }
+
+  private FileFragment write(String dataFormat, List<MemoryRowBlock> rowBlocks, String fileName) throws IOException {
+    TableMeta meta = CatalogUtil.newTableMeta(dataFormat, conf);
+    Path path = new Path(testDir, fileName);
+    DirectRawFileWriter writer;
+    if (BuiltinStorages.CRAW.equals(dataFormat)) {
+      writer = new ColumnarRawFileWriter(conf, null, schema, meta, path, rowBlocks.get(0));
+    } else {
+      writer = new DirectRawFileWriter(conf, null, schema, meta, path, rowBlocks.get(0));
+    }
+    writer.init();
+    for (MemoryRowBlock rowBlock : rowBlocks) {
+      writer.writeRowBlock(rowBlock);
+    }
+    writer.close();
+
+    FileStatus status = path.getFileSystem(conf).getFileStatus(path);
+    return new FileFragment(fileName, path, 0, status.getLen());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    for (MemoryRowBlock rowBlock : rawRowBlocks) {
+      rowBlock.release();
+    }
+    for (MemoryRowBlock rowBlock : drawRowBlocks) {
+      rowBlock.release();
+    }
+    CommonTestingUtil.cleanupTestDir(TEST_PATH);
+  }
+
+  private void scan(String dataFormat, FileFragment fragment, Blackhole blackhole) throws IOException {
+    TableMeta meta = CatalogUtil.newTableMeta(dataFormat, conf);
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, fragment, schema);
+    scanner.init();
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      blackhole.consume(tuple.getInt8(0));
+      blackhole.consume(tuple.getText(3));
+    }
+    scanner.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void writeRaw(Blackhole blackhole) throws IOException {
+    blackhole.consume(write(BuiltinStorages.RAW, rawRowBlocks, "write.raw"));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void writeCraw(Blackhole blackhole) throws IOException {
+    blackhole.consume(write(BuiltinStorages.CRAW, drawRowBlocks, "write.craw"));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void scanRaw(Blackhole blackhole) throws IOException {
+    scan(BuiltinStorages.RAW, rawFragment, blackhole);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void scanCraw(Blackhole blackhole) throws IOException {
+    scan(BuiltinStorages.CRAW, crawFragment, blackhole);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(BenchmarkShuffleFormat.class.getSimpleName())
+        .warmupIterations(1)
+        .measurementIterations(3)
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
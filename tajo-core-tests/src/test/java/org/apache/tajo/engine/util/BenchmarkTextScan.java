@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.util;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.TajoTestingCluster;
+import org.apache.tajo.catalog.*;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Compares parsing the fields of a wide CSV file from bytes with parsing them from strings.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkTextScan {
+  private final String TEST_PATH = TajoTestingCluster.DEFAULT_TEST_DIRECTORY + "/BenchmarkTextScan";
+  private final int numTuple = 1000000;
+  private final Type [] columnTypes = {Type.INT4, Type.INT8, Type.FLOAT4, Type.FLOAT8, Type.DATE, Type.TIMESTAMP};
+  private final int numColumnGroups = 4;
+  private Random rnd = new Random(System.currentTimeMillis());
+
+  private TajoConf conf;
+  private TableMeta meta;
+  private Schema schema;
+  private Schema textSchema;
+  private FileFragment fragment;
+
+  @Setup
+  public void setup() throws Exception {
+    conf = new TajoConf();
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+
+    SchemaBuilder builder = SchemaBuilder.builder();
+    SchemaBuilder textBuilder = SchemaBuilder.builder();
+    for (int i = 0; i < numColumnGroups * columnTypes.length; i++) {
+      builder.add(new Column("col" + i, columnTypes[i % columnTypes.length]));
+      textBuilder.add(new Column("col" + i, Type.TEXT));
+    }
+    schema = builder.build();
+    textSchema = textBuilder.build();
+
+    meta = CatalogUtil.newTableMeta(BuiltinStorages.TEXT, conf);
+    meta.putProperty(StorageConstants.TIMEZONE, "UTC");
+    Path path = new Path(testDir, "table.csv");
+    Appender appender = ((FileTablespace) TablespaceManager.getLocalFs()).getAppender(meta, schema, path);
+    appender.init();
+    VTuple tuple = new VTuple(schema.size());
+    for (int i = 0; i < numTuple; i++) {
+      for (int j = 0; j < schema.size(); j += columnTypes.length) {
+        tuple.put(j, DatumFactory.createInt4(rnd.nextInt()));
+        tuple.put(j + 1, DatumFactory.createInt8(rnd.nextLong()));
+        tuple.put(j + 2, DatumFactory.createFloat4(rnd.nextFloat()));
+        tuple.put(j + 3, DatumFactory.createFloat8(rnd.nextDouble()));
+        tuple.put(j + 4, DatumFactory.createDate(2457000 + rnd.nextInt(1000)));
+        tuple.put(j + 5, DatumFactory.createTimestampDatumWithJavaMillis(1420070400000L + rnd.nextInt() * 1000L));
+      }
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileStatus status = path.getFileSystem(conf).getFileStatus(path);
+    fragment = new FileFragment("table", path, 0, status.getLen());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    CommonTestingUtil.cleanupTestDir(TEST_PATH);
+  }
+
+  private Scanner createScanner(Schema schema, Schema target) throws IOException {
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, fragment, target);
+    scanner.init();
+    return scanner;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void byteParseScan(Blackhole blackhole) throws IOException {
+    Scanner scanner = createScanner(schema, schema);
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      for (int i = 0; i < tuple.size(); i++) {
+        blackhole.consume(tuple.asDatum(i));
+      }
+    }
+    scanner.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void byteParseProjectedScan(Blackhole blackhole) throws IOException {
+    Schema target = SchemaBuilder.builder().add(schema.getColumn(0)).add(schema.getColumn(5)).build();
+    Scanner scanner = createScanner(schema, target);
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      blackhole.consume(tuple.getInt4(0));
+      blackhole.consume(tuple.getInt8(1));
+    }
+    scanner.close();
+  }
+
+  /**
+   * Parses every field through a string, as the text deserializer did before fields were parsed from bytes.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public void stringParseScan(Blackhole blackhole) throws IOException {
+    TimeZone tz = TimeZone.getTimeZone("UTC");
+    Scanner scanner = createScanner(textSchema, textSchema);
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      for (int i = 0; i < tuple.size(); i++) {
+        String text = tuple.getText(i);
+        switch (columnTypes[i % columnTypes.length]) {
+        case INT4:
+          blackhole.consume(DatumFactory.createInt4(text));
+          break;
+        case INT8:
+          blackhole.consume(DatumFactory.createInt8(text));
+          break;
+        case FLOAT4:
+          blackhole.consume(DatumFactory.createFloat4(text));
+          break;
+        case FLOAT8:
+          blackhole.consume(DatumFactory.createFloat8(text));
+          break;
+        case DATE:
+          blackhole.consume(DatumFactory.createDate(text));
+          break;
+        case TIMESTAMP:
+          blackhole.consume(DatumFactory.createTimestamp(text, tz));
+          break;
+        default:
+          throw new IllegalStateException();
+        }
+      }
+    }
+    scanner.close();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(BenchmarkTextScan.class.getSimpleName())
+        .warmupIterations(1)
+        .measurementIterations(3)
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,12 @@
+select
+  l_orderkey,
+  l_partkey,
+  grouping(l_orderkey) as g1,
+  grouping(l_partkey) as g2,
+  count(*) as cnt
+from
+  lineitem
+group by
+  cube(l_orderkey, l_partkey)
+order by
+  g1, g2, l_orderkey, l_partkey;
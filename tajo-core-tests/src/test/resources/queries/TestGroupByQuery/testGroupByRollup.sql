@@ -0,0 +1,12 @@
+select
+  l_orderkey,
+  l_partkey,
+  grouping(l_orderkey, l_partkey) as grp,
+  count(*) as cnt,
+  sum(l_quantity) as total
+from
+  lineitem
+group by
+  rollup(l_orderkey, l_partkey)
+order by
+  grp, l_orderkey, l_partkey;
@@ -0,0 +1,12 @@
+select
+  id,
+  name,
+  grouping(id, name) as grp,
+  count(*) as cnt,
+  sum(val) as total
+from
+  testrollupwithmultiplefiles
+group by
+  rollup(id, name)
+order by
+  grp, id, name;
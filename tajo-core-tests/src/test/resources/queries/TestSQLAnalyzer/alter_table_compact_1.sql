@@ -0,0 +1 @@
+ALTER TABLE table1 COMPACT
\ No newline at end of file
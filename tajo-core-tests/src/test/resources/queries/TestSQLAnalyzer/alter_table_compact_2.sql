@@ -0,0 +1 @@
+ALTER TABLE table1 COMPACT PARTITION (col1 = '2015', col2 = 1)
\ No newline at end of file
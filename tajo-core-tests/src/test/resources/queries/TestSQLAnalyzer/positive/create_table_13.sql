@@ -0,0 +1,3 @@
+create table table1 (id bigint, name text, age int)
+USING parquet WITH ('parquet.enable.dictionary'='false')
+clustered by (id) sorted by (age) into 8 buckets
\ No newline at end of file
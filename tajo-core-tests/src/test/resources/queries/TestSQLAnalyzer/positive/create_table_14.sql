@@ -0,0 +1,3 @@
+create table table1 using parquet
+clustered by (id, name) into 4 buckets
+as select id, name, age from table2
\ No newline at end of file
@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The base class of exact percentile functions. Values of each group are kept in a primitive array,
+ * and the value at a percentage is found by selection in linear time instead of sorting all values.
+ */
+public abstract class Percentile extends AggFunction<Datum> {
+
+  public Percentile() {
+    super(new Column[] {
+        new Column("expr", Type.FLOAT8),
+        new Column("percentage", Type.FLOAT8)
+    });
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new PercentileContext();
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (Double.isNaN(percentileCtx.percentage)) {
+      double percentage = params.getFloat8(1);
+      if (percentage < 0 || percentage > 1) {
+        throw new IllegalArgumentException("percentage must be between 0 and 1: " + percentage);
+      }
+      percentileCtx.percentage = percentage;
+    }
+
+    if (!params.isBlankOrNull(0)) {
+      percentileCtx.add(params.getFloat8(0));
+    }
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    if (part.isBlankOrNull(0)) {
+      return;
+    }
+
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    ByteBuffer buffer = ByteBuffer.wrap(part.getBytes(0));
+    percentileCtx.percentage = buffer.getDouble();
+    while (buffer.hasRemaining()) {
+      percentileCtx.add(buffer.getDouble());
+    }
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (Double.isNaN(percentileCtx.percentage)) {
+      return NullDatum.get();
+    }
+
+    // The percentage is not given in the merge phase, so the partial result has it as well as the values.
+    ByteBuffer buffer = ByteBuffer.allocate(8 + percentileCtx.size * 8);
+    buffer.putDouble(percentileCtx.percentage);
+    for (int i = 0; i < percentileCtx.size; i++) {
+      buffer.putDouble(percentileCtx.values[i]);
+    }
+    return DatumFactory.createBlob(buffer.array());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newSimpleDataType(Type.BLOB);
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.size == 0) {
+      return NullDatum.get();
+    }
+    return DatumFactory.createFloat8(percentile(percentileCtx.values, percentileCtx.size, percentileCtx.percentage));
+  }
+
+  /**
+   * @param values Values, which can be reordered
+   * @param size The number of values
+   * @param percentage Percentage between 0 and 1
+   * @return The value at the percentage
+   */
+  protected abstract double percentile(double [] values, int size, double percentage);
+
+  /**
+   * It reorders values so that the k-th smallest value is at index k, values before it are not greater than it,
+   * and values after it are not less than it.
+   *
+   * @return The k-th smallest value (0-based)
+   */
+  protected static double select(double [] values, int size, int k) {
+    int left = 0;
+    int right = size - 1;
+    while (left < right) {
+      // median of three as a pivot
+      int mid = (left + right) >>> 1;
+      if (values[mid] < values[left]) {
+        swap(values, mid, left);
+      }
+      if (values[right] < values[left]) {
+        swap(values, right, left);
+      }
+      if (values[right] < values[mid]) {
+        swap(values, right, mid);
+      }
+      double pivot = values[mid];
+
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(values, i++, j--);
+        }
+      }
+
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        break;
+      }
+    }
+    return values[k];
+  }
+
+  /**
+   * @return The minimum value in values[from, size)
+   */
+  protected static double min(double [] values, int from, int size) {
+    double min = values[from];
+    for (int i = from + 1; i < size; i++) {
+      min = Math.min(min, values[i]);
+    }
+    return min;
+  }
+
+  private static void swap(double [] values, int i, int j) {
+    double tmp = values[i];
+    values[i] = values[j];
+    values[j] = tmp;
+  }
+
+  protected static class PercentileContext implements FunctionContext {
+    double percentage = Double.NaN;
+    double [] values = new double[16];
+    int size;
+
+    void add(double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+  }
+}
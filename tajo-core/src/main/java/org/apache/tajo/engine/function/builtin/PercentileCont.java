@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+
+/**
+ * Function definition
+ *
+ * FLOAT8 percentile_cont(expr FLOAT8, percentage FLOAT8)
+ */
+@Description(
+  functionName = "percentile_cont",
+  description = "the value at the given percentage (0 to 1) of non-NULL values, "
+      + "interpolating between adjacent values if needed",
+  example = "> SELECT percentile_cont(expr, 0.5);",
+  returnType = Type.FLOAT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8, Type.FLOAT8})}
+)
+public class PercentileCont extends Percentile {
+
+  @Override
+  protected double percentile(double [] values, int size, double percentage) {
+    double position = percentage * (size - 1);
+    int lower = (int) Math.floor(position);
+    double lowerValue = select(values, size, lower);
+    if (lower == position) {
+      return lowerValue;
+    }
+    // After selection, the next value is the minimum of values after the lower one.
+    double upperValue = min(values, lower + 1, size);
+    return lowerValue + (upperValue - lowerValue) * (position - lower);
+  }
+}
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+
+/**
+ * Function definition
+ *
+ * FLOAT8 percentile_disc(expr FLOAT8, percentage FLOAT8)
+ */
+@Description(
+  functionName = "percentile_disc",
+  description = "the first value whose position in the ordered non-NULL values equals or exceeds "
+      + "the given percentage (0 to 1)",
+  example = "> SELECT percentile_disc(expr, 0.5);",
+  returnType = Type.FLOAT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8, Type.FLOAT8})}
+)
+public class PercentileDisc extends Percentile {
+
+  @Override
+  protected double percentile(double [] values, int size, double percentage) {
+    int k = Math.max(0, (int) Math.ceil(percentage * size) - 1);
+    return select(values, size, k);
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.sketch;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * Function definition
+ *
+ * INT8 approx_count_distinct(expr ANY [, precision INT4])
+ */
+@Description(
+  functionName = "approx_count_distinct",
+  description = "the approximate number of distinct non-NULL values",
+  detail = "It is estimated by HyperLogLog. The precision (4 to 18, 14 by default) determines the number of "
+      + "registers (2^precision). The standard error is about 1.04 / sqrt(2^precision).",
+  example = "> SELECT approx_count_distinct(expr [, precision]);",
+  returnType = Type.INT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.ANY}),
+                @ParamTypes(paramTypes = {Type.ANY, Type.INT4})}
+)
+public class ApproxCountDistinct extends HyperLogLogAggFunction {
+
+  public ApproxCountDistinct() {
+    super(new Column[] {
+        new Column("expr", Type.ANY),
+        new Column("precision", Type.INT4)
+    });
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    HyperLogLogContext hllCtx = (HyperLogLogContext) ctx;
+    if (hllCtx.hll == null) {
+      int precision = HyperLogLog.DEFAULT_PRECISION;
+      if (params.size() > 1 && !params.isBlankOrNull(1)) {
+        precision = params.getInt4(1);
+      }
+      hllCtx.hll = new HyperLogLog(precision);
+    }
+
+    if (!params.isBlankOrNull(0)) {
+      hllCtx.hll.offer(params.asDatum(0));
+    }
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    HyperLogLogContext hllCtx = (HyperLogLogContext) ctx;
+    return DatumFactory.createInt8(hllCtx.hll == null ? 0 : hllCtx.hll.cardinality());
+  }
+}
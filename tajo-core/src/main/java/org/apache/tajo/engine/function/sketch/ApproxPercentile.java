@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.sketch;
+
+import com.google.common.base.Preconditions;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Function definition
+ *
+ * FLOAT8 approx_percentile(expr FLOAT8, percentage FLOAT8 [, compression INT4])
+ */
+@Description(
+  functionName = "approx_percentile",
+  description = "the approximate value at the given percentage (0 to 1) of non-NULL values",
+  detail = "It is estimated by t-digest. The compression (10 to 10000, 100 by default) bounds the number of "
+      + "centroids; a higher compression is more accurate and takes more memory.",
+  example = "> SELECT approx_percentile(expr, 0.95);",
+  returnType = Type.FLOAT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8, Type.FLOAT8}),
+                @ParamTypes(paramTypes = {Type.FLOAT8, Type.FLOAT8, Type.INT4})}
+)
+public class ApproxPercentile extends AggFunction<Datum> {
+
+  public ApproxPercentile() {
+    super(new Column[] {
+        new Column("expr", Type.FLOAT8),
+        new Column("percentage", Type.FLOAT8),
+        new Column("compression", Type.INT4)
+    });
+  }
+
+  protected ApproxPercentile(Column[] definedArgs) {
+    super(definedArgs);
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new PercentileContext();
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.digest == null) {
+      percentileCtx.percentage = getPercentage(params);
+      int compression = TDigest.DEFAULT_COMPRESSION;
+      if (params.size() > 2 && !params.isBlankOrNull(2)) {
+        compression = params.getInt4(2);
+      }
+      percentileCtx.digest = new TDigest(compression);
+    }
+
+    if (!params.isBlankOrNull(0)) {
+      percentileCtx.digest.add(params.getFloat8(0));
+    }
+  }
+
+  protected double getPercentage(Tuple params) {
+    double percentage = params.getFloat8(1);
+    Preconditions.checkArgument(0 <= percentage && percentage <= 1,
+        "percentage must be between 0 and 1: " + percentage);
+    return percentage;
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    if (part.isBlankOrNull(0)) {
+      return;
+    }
+
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    ByteBuffer buffer = ByteBuffer.wrap(part.getBytes(0));
+    double percentage = buffer.getDouble();
+    TDigest digest = TDigest.fromBytes(buffer);
+    if (percentileCtx.digest == null) {
+      percentileCtx.percentage = percentage;
+      percentileCtx.digest = digest;
+    } else {
+      percentileCtx.digest.merge(digest);
+    }
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.digest == null) {
+      return NullDatum.get();
+    }
+
+    // The percentage is not given in the merge phase, so the partial result has it as well as the digest.
+    byte [] digest = percentileCtx.digest.toBytes();
+    ByteBuffer buffer = ByteBuffer.allocate(8 + digest.length);
+    buffer.putDouble(percentileCtx.percentage);
+    buffer.put(digest);
+    return DatumFactory.createBlob(buffer.array());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newSimpleDataType(Type.BLOB);
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    PercentileContext percentileCtx = (PercentileContext) ctx;
+    if (percentileCtx.digest == null || percentileCtx.digest.size() == 0) {
+      return NullDatum.get();
+    }
+    return DatumFactory.createFloat8(percentileCtx.digest.quantile(percentileCtx.percentage));
+  }
+
+  protected static class PercentileContext implements FunctionContext {
+    double percentage;
+    TDigest digest;
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.sketch;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * Function definition
+ *
+ * BLOB hll_merge(sketch BLOB)
+ */
+@Description(
+  functionName = "hll_merge",
+  description = "the union of HyperLogLog sketches",
+  detail = "Sketches of different precisions are merged into the lowest precision.",
+  example = "> SELECT hll_merge(sketch);",
+  returnType = Type.BLOB,
+  paramTypes = {@ParamTypes(paramTypes = {Type.BLOB})}
+)
+public class HllMerge extends HyperLogLogAggFunction {
+
+  public HllMerge() {
+    super(new Column[] {
+        new Column("sketch", Type.BLOB)
+    });
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    merge(ctx, params);
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    return getPartialResult(ctx);
+  }
+}
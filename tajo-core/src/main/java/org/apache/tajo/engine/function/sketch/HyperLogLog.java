@@ -0,0 +1,298 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.sketch;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.apache.tajo.datum.Datum;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog is a mergeable sketch to estimate the number of distinct values.
+ *
+ * It follows HyperLogLog++ (Heule et al.) in that it uses 64-bit hash values and it keeps a sparse
+ * representation while only a few registers are set. The empirical bias correction of HyperLogLog++ is not applied;
+ * instead, linear counting is used for small cardinalities.
+ *
+ * The serialized form is compact: a sparse sketch is encoded as a list of (register index, rank) pairs,
+ * and a dense sketch is encoded as an array of 2^precision registers.
+ */
+public class HyperLogLog {
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 18;
+  public static final int DEFAULT_PRECISION = 14;
+
+  private static final byte VERSION = 1;
+  private static final byte DENSE = 0;
+  private static final byte SPARSE = 1;
+  private static final int HEADER_SIZE = 3;
+
+  // a sparse entry packs a register index and its rank into an int. A rank is always less than 64.
+  private static final int RANK_BITS = 6;
+  private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+
+  private static final HashFunction HASH = Hashing.murmur3_128();
+
+  private final int precision;
+  private final int registerNum;
+
+  // dense registers. It is null while this sketch is sparse.
+  private byte [] registers;
+  // sorted sparse entries, each of which is (index << RANK_BITS | rank)
+  private int [] sparse;
+  private int sparseSize;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  public HyperLogLog(int precision) {
+    Preconditions.checkArgument(MIN_PRECISION <= precision && precision <= MAX_PRECISION,
+        "HyperLogLog precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ": " + precision);
+    this.precision = precision;
+    this.registerNum = 1 << precision;
+    this.sparse = new int[8];
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  public boolean isSparse() {
+    return registers == null;
+  }
+
+  public void offer(Datum datum) {
+    offerHash(hash(datum));
+  }
+
+  public void offerHash(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // the guard bit limits the rank to (64 - precision + 1)
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    updateRegister(index, Long.numberOfLeadingZeros(remaining) + 1);
+  }
+
+  private void updateRegister(int index, int rank) {
+    if (registers != null) {
+      if (registers[index] < rank) {
+        registers[index] = (byte) rank;
+      }
+      return;
+    }
+
+    int pos = Arrays.binarySearch(sparse, 0, sparseSize, index << RANK_BITS);
+    if (pos < 0) {
+      pos = -pos - 1;
+    }
+    if (pos < sparseSize && (sparse[pos] >>> RANK_BITS) == index) {
+      if ((sparse[pos] & RANK_MASK) < rank) {
+        sparse[pos] = index << RANK_BITS | rank;
+      }
+      return;
+    }
+
+    // A sparse entry takes 4 bytes, so it is converted to the dense form before it gets larger than the dense one.
+    if (sparseSize + 1 > registerNum / 8) {
+      toDense();
+      updateRegister(index, rank);
+      return;
+    }
+    if (sparseSize == sparse.length) {
+      sparse = Arrays.copyOf(sparse, sparse.length * 2);
+    }
+    System.arraycopy(sparse, pos, sparse, pos + 1, sparseSize - pos);
+    sparse[pos] = index << RANK_BITS | rank;
+    sparseSize++;
+  }
+
+  private void toDense() {
+    registers = new byte[registerNum];
+    for (int i = 0; i < sparseSize; i++) {
+      registers[sparse[i] >>> RANK_BITS] = (byte) (sparse[i] & RANK_MASK);
+    }
+    sparse = null;
+    sparseSize = 0;
+  }
+
+  /**
+   * Merge another sketch into this sketch. If the precision of the other sketch is higher than that of this sketch,
+   * the other sketch is folded into the precision of this sketch. A sketch cannot be merged into a sketch of a higher
+   * precision.
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision < precision) {
+      throw new IllegalArgumentException("Cannot merge a HyperLogLog of precision " + other.precision +
+          " into a HyperLogLog of precision " + precision);
+    }
+
+    int shift = other.precision - precision;
+    if (other.registers != null) {
+      for (int i = 0; i < other.registerNum; i++) {
+        if (other.registers[i] != 0) {
+          mergeRegister(i, other.registers[i], shift);
+        }
+      }
+    } else {
+      for (int i = 0; i < other.sparseSize; i++) {
+        mergeRegister(other.sparse[i] >>> RANK_BITS, other.sparse[i] & RANK_MASK, shift);
+      }
+    }
+  }
+
+  private void mergeRegister(int otherIndex, int otherRank, int shift) {
+    if (shift == 0) {
+      updateRegister(otherIndex, otherRank);
+    } else {
+      // The lower bits of the index in a higher precision are the leading bits of the remaining hash value.
+      int droppedBits = otherIndex & ((1 << shift) - 1);
+      int rank = droppedBits != 0 ? Integer.numberOfLeadingZeros(droppedBits) - (Integer.SIZE - shift) + 1 :
+          shift + otherRank;
+      updateRegister(otherIndex >>> shift, rank);
+    }
+  }
+
+  /**
+   * @return The estimated number of distinct values
+   */
+  public long cardinality() {
+    int zeros;
+    double sum;
+
+    if (registers == null) {
+      zeros = registerNum - sparseSize;
+      sum = zeros;
+      for (int i = 0; i < sparseSize; i++) {
+        sum += 1.0 / (1L << (sparse[i] & RANK_MASK));
+      }
+    } else {
+      zeros = 0;
+      sum = 0;
+      for (byte register : registers) {
+        if (register == 0) {
+          zeros++;
+        }
+        sum += 1.0 / (1L << register);
+      }
+    }
+
+    double estimate = alpha(registerNum) * registerNum * registerNum / sum;
+    if (zeros > 0 && estimate <= 2.5 * registerNum) {
+      // linear counting
+      estimate = registerNum * Math.log((double) registerNum / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  private static double alpha(int m) {
+    switch (m) {
+    case 16:
+      return 0.673;
+    case 32:
+      return 0.697;
+    case 64:
+      return 0.709;
+    default:
+      return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+
+  public byte [] toBytes() {
+    ByteBuffer buffer;
+    if (registers == null) {
+      buffer = ByteBuffer.allocate(HEADER_SIZE + 4 + sparseSize * 4);
+      buffer.put(VERSION).put((byte) precision).put(SPARSE);
+      buffer.putInt(sparseSize);
+      for (int i = 0; i < sparseSize; i++) {
+        buffer.putInt(sparse[i]);
+      }
+    } else {
+      buffer = ByteBuffer.allocate(HEADER_SIZE + registerNum);
+      buffer.put(VERSION).put((byte) precision).put(DENSE);
+      buffer.put(registers);
+    }
+    return buffer.array();
+  }
+
+  public static HyperLogLog fromBytes(byte [] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if (bytes.length < HEADER_SIZE || buffer.get() != VERSION) {
+      throw new IllegalArgumentException("Invalid HyperLogLog sketch");
+    }
+
+    HyperLogLog hll = new HyperLogLog(buffer.get());
+    byte encoding = buffer.get();
+    if (encoding == SPARSE) {
+      int size = buffer.getInt();
+      hll.sparse = new int[Math.max(size, 8)];
+      for (int i = 0; i < size; i++) {
+        hll.sparse[i] = buffer.getInt();
+      }
+      hll.sparseSize = size;
+    } else if (encoding == DENSE) {
+      hll.registers = new byte[hll.registerNum];
+      buffer.get(hll.registers);
+      hll.sparse = null;
+    } else {
+      throw new IllegalArgumentException("Invalid HyperLogLog sketch encoding: " + encoding);
+    }
+    return hll;
+  }
+
+  /**
+   * @return 64-bit hash value of a datum. Numeric values are hashed without any allocation.
+   */
+  public static long hash(Datum datum) {
+    switch (datum.kind()) {
+    case BOOLEAN:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return fmix64(datum.asInt8());
+    case FLOAT4:
+    case FLOAT8:
+      return fmix64(Double.doubleToLongBits(datum.asFloat8()));
+    case CHAR:
+    case TEXT:
+    case BLOB:
+    case PROTOBUF:
+      return HASH.hashBytes(datum.asByteArray()).asLong();
+    default:
+      return HASH.hashBytes(datum.asChars().getBytes(StandardCharsets.UTF_8)).asLong();
+    }
+  }
+
+  // the finalization mix of MurmurHash3
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.sketch;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * The base class of aggregation functions based on {@link HyperLogLog}.
+ * The partial result is a serialized sketch, so only compact sketches are shuffled instead of distinct values.
+ */
+public abstract class HyperLogLogAggFunction extends AggFunction<Datum> {
+
+  public HyperLogLogAggFunction(Column[] definedArgs) {
+    super(definedArgs);
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new HyperLogLogContext();
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    if (!part.isBlankOrNull(0)) {
+      mergeSketch((HyperLogLogContext) ctx, HyperLogLog.fromBytes(part.getBytes(0)));
+    }
+  }
+
+  /**
+   * Merge a sketch into the context. If their precisions are different, the result has the lower precision.
+   */
+  protected static void mergeSketch(HyperLogLogContext hllCtx, HyperLogLog sketch) {
+    if (hllCtx.hll == null) {
+      hllCtx.hll = sketch;
+    } else if (sketch.getPrecision() >= hllCtx.hll.getPrecision()) {
+      hllCtx.hll.merge(sketch);
+    } else {
+      sketch.merge(hllCtx.hll);
+      hllCtx.hll = sketch;
+    }
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    HyperLogLogContext hllCtx = (HyperLogLogContext) ctx;
+    if (hllCtx.hll == null) {
+      return NullDatum.get();
+    }
+    return DatumFactory.createBlob(hllCtx.hll.toBytes());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newSimpleDataType(Type.BLOB);
+  }
+
+  protected static class HyperLogLogContext implements FunctionContext {
+    HyperLogLog hll;
+  }
+}
@@ -0,0 +1,257 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.sketch;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * TDigest is a mergeable sketch to estimate quantiles (Dunning and Ertl, "Computing Extremely Accurate Quantiles
+ * Using t-Digests"). It is the merging variant: values are buffered, and the buffer is merged into sorted centroids
+ * whose sizes are bounded by the arcsine scale function. Quantiles near the tails are more accurate than the median.
+ *
+ * The number of centroids is bounded by the compression, so the size of a digest does not depend on the number of
+ * values. Merging two digests is deterministic.
+ */
+public class TDigest {
+  public static final int DEFAULT_COMPRESSION = 100;
+  public static final int MIN_COMPRESSION = 10;
+  public static final int MAX_COMPRESSION = 10000;
+
+  private static final byte VERSION = 1;
+
+  private final double compression;
+
+  // centroids sorted by their means
+  private double [] means;
+  private double [] weights;
+  private int centroidNum;
+
+  // values which are not merged into centroids yet
+  private final double [] buffer;
+  private int bufferSize;
+
+  private long count;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public TDigest() {
+    this(DEFAULT_COMPRESSION);
+  }
+
+  public TDigest(double compression) {
+    Preconditions.checkArgument(MIN_COMPRESSION <= compression && compression <= MAX_COMPRESSION,
+        "TDigest compression must be between " + MIN_COMPRESSION + " and " + MAX_COMPRESSION + ": " + compression);
+    this.compression = compression;
+    this.means = new double[0];
+    this.weights = new double[0];
+    this.buffer = new double[(int) (compression * 5)];
+  }
+
+  public double getCompression() {
+    return compression;
+  }
+
+  public long size() {
+    return count;
+  }
+
+  public void add(double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    buffer[bufferSize++] = value;
+    count++;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    if (bufferSize == buffer.length) {
+      flush();
+    }
+  }
+
+  public void merge(TDigest other) {
+    if (other.count == 0) {
+      return;
+    }
+    flush();
+    other.flush();
+
+    int n = centroidNum + other.centroidNum;
+    double [] mergedMeans = new double[n];
+    double [] mergedWeights = new double[n];
+    mergeSorted(means, weights, centroidNum, other.means, other.weights, other.centroidNum,
+        mergedMeans, mergedWeights);
+
+    count += other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    cluster(mergedMeans, mergedWeights, n);
+  }
+
+  /**
+   * Merge buffered values into centroids.
+   */
+  private void flush() {
+    if (bufferSize == 0) {
+      return;
+    }
+    Arrays.sort(buffer, 0, bufferSize);
+
+    double [] bufferWeights = new double[bufferSize];
+    Arrays.fill(bufferWeights, 1);
+
+    int n = centroidNum + bufferSize;
+    double [] mergedMeans = new double[n];
+    double [] mergedWeights = new double[n];
+    mergeSorted(means, weights, centroidNum, buffer, bufferWeights, bufferSize, mergedMeans, mergedWeights);
+
+    bufferSize = 0;
+    cluster(mergedMeans, mergedWeights, n);
+  }
+
+  private static void mergeSorted(double [] means1, double [] weights1, int n1,
+                                  double [] means2, double [] weights2, int n2,
+                                  double [] mergedMeans, double [] mergedWeights) {
+    int i = 0, j = 0, k = 0;
+    while (i < n1 || j < n2) {
+      if (j == n2 || (i < n1 && means1[i] <= means2[j])) {
+        mergedMeans[k] = means1[i];
+        mergedWeights[k++] = weights1[i++];
+      } else {
+        mergedMeans[k] = means2[j];
+        mergedWeights[k++] = weights2[j++];
+      }
+    }
+  }
+
+  /**
+   * Merge adjacent sorted centroids as long as each centroid does not span more than one unit of the scale function.
+   */
+  private void cluster(double [] sortedMeans, double [] sortedWeights, int n) {
+    double totalWeight = 0;
+    for (int i = 0; i < n; i++) {
+      totalWeight += sortedWeights[i];
+    }
+
+    int k = 0;
+    double weightSoFar = 0;
+    double qLimit = qLimit(0);
+    for (int i = 1; i < n; i++) {
+      double proposed = sortedWeights[k] + sortedWeights[i];
+      if ((weightSoFar + proposed) / totalWeight <= qLimit) {
+        sortedMeans[k] += (sortedMeans[i] - sortedMeans[k]) * sortedWeights[i] / proposed;
+        sortedWeights[k] = proposed;
+      } else {
+        weightSoFar += sortedWeights[k];
+        qLimit = qLimit(weightSoFar / totalWeight);
+        k++;
+        sortedMeans[k] = sortedMeans[i];
+        sortedWeights[k] = sortedWeights[i];
+      }
+    }
+
+    centroidNum = n == 0 ? 0 : k + 1;
+    means = sortedMeans;
+    weights = sortedWeights;
+  }
+
+  /**
+   * @return The upper bound of quantile which a centroid starting at quantile q can reach.
+   */
+  private double qLimit(double q) {
+    // k(q) = compression / (2 * PI) * asin(2q - 1)
+    double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+    return (Math.sin((k + 1) * 2 * Math.PI / compression) + 1) / 2;
+  }
+
+  /**
+   * @param q quantile between 0 and 1
+   * @return The estimated value at the quantile. If there is no value, it returns NaN.
+   */
+  public double quantile(double q) {
+    Preconditions.checkArgument(0 <= q && q <= 1, "quantile must be between 0 and 1: " + q);
+    flush();
+
+    if (centroidNum == 0) {
+      return Double.NaN;
+    }
+    if (centroidNum == 1) {
+      return means[0];
+    }
+
+    double index = q * count;
+    if (index <= weights[0] / 2) {
+      // between the minimum and the center of the first centroid
+      return min + (means[0] - min) * index / (weights[0] / 2);
+    }
+
+    double weightSoFar = weights[0] / 2; // the cumulative weight at the center of the i-th centroid
+    for (int i = 0; i < centroidNum - 1; i++) {
+      double gap = (weights[i] + weights[i + 1]) / 2;
+      if (index <= weightSoFar + gap) {
+        return means[i] + (means[i + 1] - means[i]) * (index - weightSoFar) / gap;
+      }
+      weightSoFar += gap;
+    }
+
+    // between the center of the last centroid and the maximum
+    double lastHalf = weights[centroidNum - 1] / 2;
+    return means[centroidNum - 1] + (max - means[centroidNum - 1]) * Math.min(1, (index - weightSoFar) / lastHalf);
+  }
+
+  public byte [] toBytes() {
+    flush();
+    ByteBuffer buffer = ByteBuffer.allocate(1 + 8 * 4 + 4 + centroidNum * 16);
+    buffer.put(VERSION);
+    buffer.putDouble(compression);
+    buffer.putLong(count);
+    buffer.putDouble(min);
+    buffer.putDouble(max);
+    buffer.putInt(centroidNum);
+    for (int i = 0; i < centroidNum; i++) {
+      buffer.putDouble(means[i]);
+      buffer.putDouble(weights[i]);
+    }
+    return buffer.array();
+  }
+
+  public static TDigest fromBytes(byte [] bytes) {
+    return fromBytes(ByteBuffer.wrap(bytes));
+  }
+
+  public static TDigest fromBytes(ByteBuffer buffer) {
+    if (buffer.get() != VERSION) {
+      throw new IllegalArgumentException("Invalid TDigest");
+    }
+    TDigest digest = new TDigest(buffer.getDouble());
+    digest.count = buffer.getLong();
+    digest.min = buffer.getDouble();
+    digest.max = buffer.getDouble();
+    digest.centroidNum = buffer.getInt();
+    digest.means = new double[digest.centroidNum];
+    digest.weights = new double[digest.centroidNum];
+    for (int i = 0; i < digest.centroidNum; i++) {
+      digest.means[i] = buffer.getDouble();
+      digest.weights[i] = buffer.getDouble();
+    }
+    return digest;
+  }
+}
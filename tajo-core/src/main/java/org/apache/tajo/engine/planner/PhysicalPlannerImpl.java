@@ -26,7 +26,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.BucketSpec;
 import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.proto.CatalogProtos.SortSpecProto;
@@ -175,6 +177,9 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
       case GROUP_BY:
         GroupbyNode grpNode = (GroupbyNode) logicalNode;
+        if ((leftExec = createPushdownScanPlan(ctx, grpNode)) != null) {
+          return leftExec;
+        }
         stack.push(grpNode);
         leftExec = createPlanRecursive(ctx, grpNode.getChild(), stack);
         stack.pop();
@@ -203,6 +208,9 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
       case SORT:
         SortNode sortNode = (SortNode) logicalNode;
+        if ((leftExec = createPushdownScanPlan(ctx, sortNode)) != null) {
+          return leftExec;
+        }
         stack.push(sortNode);
         leftExec = createPlanRecursive(ctx, sortNode.getChild(), stack);
         stack.pop();
@@ -227,6 +235,9 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
       case LIMIT:
         LimitNode limitNode = (LimitNode) logicalNode;
+        if ((leftExec = createPushdownScanPlan(ctx, limitNode)) != null) {
+          return leftExec;
+        }
         stack.push(limitNode);
         leftExec = createPlanRecursive(ctx, limitNode.getChild(), stack);
         stack.pop();
@@ -519,6 +530,11 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
     if (isHashOuterJoinFeasible(context, plan.getLeftChild())){
       LOG.info("Right Outer Join (" + plan.getPID() +") chooses [Hash Join].");
       return new HashLeftOuterJoinExec(context, plan, rightExec, leftExec);
+    } else if (isHashOuterJoinFeasible(context, plan.getRightChild())) {
+      // otherwise, if the right operand is small enough, it is loaded as the build relation and
+      // its unmatched rows are emitted at the end of the join
+      LOG.info("Right Outer Join (" + plan.getPID() +") chooses [Hash Join].");
+      return new HashRightOuterJoinExec(context, plan, leftExec, rightExec);
     } else {
       return createRightOuterMergeJoinPlan(context, plan, leftExec, rightExec);
     }
@@ -769,10 +785,16 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
     case RANGE_SHUFFLE:
       SortExec sortExec = PhysicalPlanUtil.findExecutor(subOp, SortExec.class);
+      PushdownScanExec pushdownExec = PhysicalPlanUtil.findExecutor(subOp, PushdownScanExec.class);
+      SortNode pushedSort = pushdownExec != null ?
+          PlannerUtil.<SortNode>findTopNode(pushdownExec.getPlanPart(), NodeType.SORT) : null;
 
       SortSpec [] sortSpecs = null;
       if (sortExec != null) {
         sortSpecs = sortExec.getSortSpecs();
+      } else if (pushedSort != null) {
+        // the storage has sorted the tuples
+        sortSpecs = pushedSort.getSortKeys();
       } else {
         Column[] columns = ctx.getDataChannel().getShuffleKeys();
         SortSpec specs[] = new SortSpec[columns.length];
@@ -809,11 +831,37 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
       default:
         throw new IllegalStateException(plan.getPartitionMethod().getPartitionType() + " is not supported yet.");
       }
+    } else if (plan.hasOptions() && BucketSpec.isBucketed(plan.getOptions())) {
+      return createBucketedStorePlan(ctx, plan, BucketSpec.get(plan.getOptions()), subOp);
     } else {
       return new StoreTableExec(ctx, plan, subOp);
     }
   }
 
+  private PhysicalExec createBucketedStorePlan(TaskAttemptContext context, StoreTableNode storeTableNode,
+                                               BucketSpec bucketSpec, PhysicalExec child) throws IOException {
+    LOG.info("The planner chooses [Bucketed Store] algorithm: " + bucketSpec);
+
+    if (bucketSpec.hasSortColumns()) {
+      // The rows of each bucket keep the order of the input, so every bucket file is sorted if the input is sorted.
+      Schema tableSchema = storeTableNode.getType() == NodeType.INSERT ?
+          ((InsertNode) storeTableNode).getTableSchema() : storeTableNode.getOutSchema();
+      String [] sortColumns = bucketSpec.getSortColumns();
+      SortSpec[] sortSpecs = new SortSpec[sortColumns.length];
+      for (int i = 0; i < sortColumns.length; i++) {
+        int id = tableSchema.getColumnIdByName(sortColumns[i]);
+        sortSpecs[i] = new SortSpec(child.getSchema().getColumn(id), true, false);
+      }
+
+      SortNode sortNode = LogicalPlan.createNodeWithoutPID(SortNode.class);
+      sortNode.setSortSpecs(sortSpecs);
+      sortNode.setInSchema(child.getSchema());
+      sortNode.setOutSchema(child.getSchema());
+      child = new ExternalSortExec(context, sortNode, child);
+    }
+    return new BucketedStoreTableExec(context, storeTableNode, bucketSpec, child);
+  }
+
   private PhysicalExec createColumnPartitionStorePlan(TaskAttemptContext context,
                                                       StoreTableNode storeTableNode,
                                                       PhysicalExec child) throws IOException {
@@ -944,9 +992,42 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
     }
   }
 
+  /**
+   * Pushes the operators over a scan down into the storage if the storage can evaluate them by itself.
+   * The operators are evaluated for each fragment, so the scan should have a single fragment in this task.
+   *
+   * @param ctx The task context
+   * @param planPart The operators whose leaf is a scan
+   * @return The scan executor which replaces the operators, or null if they cannot be pushed down
+   */
+  private PhysicalExec createPushdownScanPlan(TaskAttemptContext ctx, LogicalNode planPart) {
+    ScanNode scanNode = PlannerUtil.findTopNode(planPart, NodeType.SCAN);
+    if (scanNode == null || scanNode.getTableDesc() == null) {
+      return null;
+    }
+
+    FragmentProto [] fragments = ctx.getTables(scanNode.getCanonicalName());
+    if (fragments == null || fragments.length != 1) {
+      return null;
+    }
+
+    if (!TablespaceManager.get(scanNode.getTableDesc().getUri()).canPushOperators(planPart)) {
+      return null;
+    }
+
+    LOG.info("The planner pushes [" + planPart.getType() + "] down into the storage of " +
+        scanNode.getCanonicalName());
+    return new PushdownScanExec(ctx, planPart, scanNode, fragments[0]);
+  }
+
   public PhysicalExec createGroupByPlan(TaskAttemptContext context,GroupbyNode groupbyNode, PhysicalExec subOp)
       throws IOException {
 
+    // The grouping id column is not available in the input yet, so grouping sets can be expanded only by hashing.
+    if (HashAggregateExec.isExpandMode(groupbyNode)) {
+      return createInMemoryHashAggregation(context, groupbyNode, subOp);
+    }
+
     Enforcer enforcer = context.getEnforcer();
     EnforceProperty property = getAlgorithmEnforceProperty(enforcer, groupbyNode);
     if (property != null) {
@@ -88,6 +88,12 @@ public class ExecutionBlock {
   protected boolean nullSuppllying = false;
   protected boolean preservedRow = false;
 
+  /*
+   * A bucket-aligned execution block directly reads the buckets of bucketed tables instead of shuffled data.
+   * Each of its tasks reads the same bucket of every scanned table.
+   */
+  private boolean bucketAligned = false;
+
   public ExecutionBlock(ExecutionBlockId executionBlockId) {
     this.executionBlockId = executionBlockId;
   }
@@ -202,6 +208,14 @@ public class ExecutionBlock {
     return preservedRow;
   }
 
+  public void setBucketAligned() {
+    bucketAligned = true;
+  }
+
+  public boolean isBucketAligned() {
+    return bucketAligned;
+  }
+
   private class PlanContext {
     StoreTableNode store = null;
 
@@ -25,6 +25,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.BuiltinStorages;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.algebra.JoinType;
@@ -68,7 +69,6 @@ public class GlobalPlanner {
   private static Log LOG = LogFactory.getLog(GlobalPlanner.class);
 
   private final TajoConf conf;
-  private final String dataFormat;
   private final String finalOutputDataFormat;
   private final CatalogService catalog;
   private final GlobalPlanRewriteEngine rewriteEngine;
@@ -77,7 +77,6 @@ public class GlobalPlanner {
   public GlobalPlanner(final TajoConf conf, final CatalogService catalog) throws IOException {
     this.conf = conf;
     this.catalog = catalog;
-    this.dataFormat = conf.getVar(ConfVars.SHUFFLE_FILE_FORMAT).toUpperCase();
     this.finalOutputDataFormat = conf.getVar(ConfVars.QUERY_OUTPUT_DEFAULT_FILE_FORMAT).toUpperCase();
 
     Class<? extends GlobalPlanRewriteRuleProvider> clazz =
@@ -99,18 +98,20 @@ public class GlobalPlanner {
     return catalog;
   }
 
-  public String getDataFormat() {
-    return dataFormat;
-  }
-
   public static class GlobalPlanContext {
     MasterPlan plan;
     Map<Integer, ExecutionBlock> execBlockMap = Maps.newHashMap();
+    // the data format of intermediate data, which can be set for each session
+    String dataFormat;
 
     public MasterPlan getPlan() {
       return plan;
     }
 
+    public String getDataFormat() {
+      return dataFormat;
+    }
+
     public Map<Integer, ExecutionBlock> getExecBlockMap() {
       return execBlockMap;
     }
@@ -124,6 +125,7 @@ public class GlobalPlanner {
     DistributedPlannerVisitor planner = new DistributedPlannerVisitor();
     GlobalPlanContext globalPlanContext = new GlobalPlanContext();
     globalPlanContext.plan = masterPlan;
+    globalPlanContext.dataFormat = queryContext.get(SessionVars.SHUFFLE_FILE_FORMAT).toUpperCase();
 
     LOG.info(masterPlan.getLogicalPlan());
 
@@ -167,6 +169,14 @@ public class GlobalPlanner {
     outputChannel.setSchema(outputSchema);
   }
 
+  /**
+   * A range shuffle indexes the offsets of rows in intermediate files. Rows in CRAW blocks are not addressable by
+   * offsets, so RAW is used instead.
+   */
+  private static String getRangeShuffleDataFormat(String dataFormat) {
+    return BuiltinStorages.CRAW.equalsIgnoreCase(dataFormat) ? BuiltinStorages.RAW : dataFormat;
+  }
+
   public static ScanNode buildInputExecutor(LogicalPlan plan, DataChannel channel) {
     Preconditions.checkArgument(channel.getSchema() != null,
         "Channel schema (" + channel.getSrcId().getId() + " -> " + channel.getTargetId().getId() +
@@ -179,12 +189,13 @@ public class GlobalPlanner {
     return scanNode;
   }
 
-  private DataChannel createDataChannelFromJoin(ExecutionBlock leftBlock, ExecutionBlock rightBlock,
-                                                ExecutionBlock parent, JoinNode join, boolean leftTable) {
+  private DataChannel createDataChannelFromJoin(GlobalPlanContext context, ExecutionBlock leftBlock,
+                                                ExecutionBlock rightBlock, ExecutionBlock parent, JoinNode join,
+                                                boolean leftTable) {
     ExecutionBlock childBlock = leftTable ? leftBlock : rightBlock;
 
     DataChannel channel = new DataChannel(childBlock, parent, HASH_SHUFFLE, 32);
-    channel.setDataFormat(dataFormat);
+    channel.setDataFormat(context.dataFormat);
     if (join.getJoinType() != JoinType.CROSS) {
       // ShuffleKeys need to not have thea-join condition because Tajo supports only equi-join.
       Column [][] joinColumns = PlannerUtil.joinJoinKeyForEachTable(join.getJoinQual(),
@@ -269,11 +280,19 @@ public class GlobalPlanner {
       }
 
       return currentBlock;
+    } else if (isBucketJoinable(masterPlan, joinNode, leftBlock, rightBlock)) {
+      // Both relations are clustered into the same buckets by the join keys, so they are joined bucket by bucket.
+      leftBlock.setPlan(joinNode);
+      leftBlock.setBucketAligned();
+      masterPlan.removeExecBlock(rightBlock.getId());
+      context.execBlockMap.remove(rightNode.getPID());
+      return leftBlock;
+
     } else {
       // !leftUnion && !rightUnion
       currentBlock = masterPlan.newExecutionBlock();
-      DataChannel leftChannel = createDataChannelFromJoin(leftBlock, rightBlock, currentBlock, joinNode, true);
-      DataChannel rightChannel = createDataChannelFromJoin(leftBlock, rightBlock, currentBlock, joinNode, false);
+      DataChannel leftChannel = createDataChannelFromJoin(context, leftBlock, rightBlock, currentBlock, joinNode, true);
+      DataChannel rightChannel = createDataChannelFromJoin(context, leftBlock, rightBlock, currentBlock, joinNode, false);
 
       ScanNode leftScan = buildInputExecutor(masterPlan.getLogicalPlan(), leftChannel);
       ScanNode rightScan = buildInputExecutor(masterPlan.getLogicalPlan(), rightChannel);
@@ -331,7 +350,7 @@ public class GlobalPlanner {
     // create other side channel
     if (otherSideBlock != null) {
       DataChannel otherSideChannel = new DataChannel(otherSideBlock, targetBlock, HASH_SHUFFLE, 32);
-      otherSideChannel.setDataFormat(dataFormat);
+      otherSideChannel.setDataFormat(context.dataFormat);
       if (otherSideShuffleKeys != null) {
         otherSideChannel.setShuffleKeys(otherSideShuffleKeys);
       }
@@ -582,7 +601,7 @@ public class GlobalPlanner {
     channel = new DataChannel(firstStage, secondStage, HASH_SHUFFLE, 32);
     channel.setShuffleKeys(secondPhaseGroupby.getGroupingColumns().clone());
     channel.setSchema(firstStage.getPlan().getOutSchema());
-    channel.setDataFormat(dataFormat);
+    channel.setDataFormat(context.dataFormat);
 
     // Setting for the second phase's logical plan
     ScanNode scanNode = buildInputExecutor(context.plan.getLogicalPlan(), channel);
@@ -595,6 +614,100 @@ public class GlobalPlanner {
     return secondStage;
   }
 
+  /**
+   * @return The bucket spec of the table which is directly scanned by the given node, or null
+   */
+  private static BucketSpec getBucketSpec(LogicalNode node) {
+    if (node.getType() != NodeType.SCAN) {
+      return null;
+    }
+    ScanNode scanNode = (ScanNode) node;
+    return scanNode.getTableDesc().getMeta() == null ? null : BucketSpec.get(scanNode.getTableDesc().getMeta());
+  }
+
+  /**
+   * Two bucketed tables can be joined without any shuffle if they have the same number of buckets and
+   * the i-th bucket column of one table is joined with the i-th bucket column of the other table.
+   */
+  private static boolean isBucketJoinable(MasterPlan masterPlan, JoinNode joinNode,
+                                          ExecutionBlock leftBlock, ExecutionBlock rightBlock) {
+    JoinType joinType = joinNode.getJoinType();
+    if (!joinNode.hasJoinQual() ||
+        (joinType != JoinType.INNER && joinType != JoinType.LEFT_OUTER && joinType != JoinType.RIGHT_OUTER)) {
+      return false;
+    }
+
+    LogicalNode leftNode = joinNode.getLeftChild();
+    LogicalNode rightNode = joinNode.getRightChild();
+    if (leftBlock.getPlan() != leftNode || rightBlock.getPlan() != rightNode ||
+        !masterPlan.isLeaf(leftBlock) || !masterPlan.isLeaf(rightBlock)) {
+      return false;
+    }
+
+    BucketSpec leftSpec = getBucketSpec(leftNode);
+    BucketSpec rightSpec = getBucketSpec(rightNode);
+    if (leftSpec == null || !leftSpec.isCompatibleWith(rightSpec)) {
+      return false;
+    }
+
+    Column[][] joinKeys = PlannerUtil.joinJoinKeyForEachTable(joinNode.getJoinQual(),
+        leftNode.getOutSchema(), rightNode.getOutSchema(), false);
+    for (int i = 0; i < leftSpec.getColumns().length; i++) {
+      boolean joined = false;
+      for (int j = 0; j < joinKeys[0].length && !joined; j++) {
+        joined = joinKeys[0][j].getSimpleName().equals(leftSpec.getColumns()[i]) &&
+            joinKeys[1][j].getSimpleName().equals(rightSpec.getColumns()[i]) &&
+            joinKeys[0][j].getDataType().equals(joinKeys[1][j].getDataType());
+      }
+      if (!joined) {
+        return false;
+      }
+    }
+
+    LOG.info("Bucket join is chosen for " + leftNode.getPID() + " and " + rightNode.getPID() + ": " + leftSpec);
+    return true;
+  }
+
+  /**
+   * An aggregation can be done without any shuffle if the input block reads bucketed tables without any shuffle,
+   * and all bucket columns of the base relation are grouping keys. Then, every group is in a single bucket.
+   */
+  private static boolean isBucketAggregatable(MasterPlan masterPlan, ExecutionBlock lastBlock,
+                                              GroupbyNode groupbyNode) {
+    if (groupbyNode.isEmptyGrouping() || groupbyNode.hasGroupingSets() ||
+        lastBlock.getPlan() != groupbyNode.getChild() || !masterPlan.isLeaf(lastBlock) || lastBlock.hasUnion()) {
+      return false;
+    }
+
+    ScanNode baseScan;
+    if (lastBlock.isBucketAligned()) {
+      JoinNode joinNode = PlannerUtil.findTopNode(lastBlock.getPlan(), NodeType.JOIN);
+      baseScan = joinNode.getJoinType() == JoinType.RIGHT_OUTER ?
+          (ScanNode) joinNode.getRightChild() : (ScanNode) joinNode.getLeftChild();
+    } else if (!lastBlock.hasJoin() && lastBlock.getScanNodes().length == 1) {
+      baseScan = lastBlock.getScanNodes()[0];
+    } else {
+      return false;
+    }
+
+    BucketSpec bucketSpec = getBucketSpec(baseScan);
+    if (bucketSpec == null) {
+      return false;
+    }
+
+    for (String bucketColumn : bucketSpec.getColumns()) {
+      boolean grouped = false;
+      for (Column groupingColumn : groupbyNode.getGroupingColumns()) {
+        grouped |= baseScan.getCanonicalName().equals(groupingColumn.getQualifier()) &&
+            bucketColumn.equals(groupingColumn.getSimpleName());
+      }
+      if (!grouped) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private ExecutionBlock buildGroupBy(GlobalPlanContext context, ExecutionBlock lastBlock,
                                       GroupbyNode groupbyNode) throws TajoException {
     MasterPlan masterPlan = context.plan;
@@ -615,6 +728,12 @@ public class GlobalPlanner {
         DistinctGroupbyBuilder builder = new DistinctGroupbyBuilder(this);
         return builder.buildPlan(context, lastBlock, groupbyNode);
       }
+    } else if (isBucketAggregatable(masterPlan, lastBlock, groupbyNode)) {
+      // Every group is in a single bucket, so the aggregation is done in a single phase.
+      lastBlock.setPlan(groupbyNode);
+      lastBlock.setBucketAligned();
+      currentBlock = lastBlock;
+
     } else {
       GroupbyNode firstPhaseGroupby = createFirstPhaseGroupBy(masterPlan.getLogicalPlan(), groupbyNode);
 
@@ -622,7 +741,7 @@ public class GlobalPlanner {
         currentBlock = buildGroupbyAndUnionPlan(masterPlan, lastBlock, firstPhaseGroupby, groupbyNode);
       } else {
         // general hash-shuffled aggregation
-        currentBlock = buildTwoPhaseGroupby(masterPlan, lastBlock, firstPhaseGroupby, groupbyNode);
+        currentBlock = buildTwoPhaseGroupby(context, lastBlock, firstPhaseGroupby, groupbyNode);
       }
     }
 
@@ -714,8 +833,9 @@ public class GlobalPlanner {
     return lastBlock;
   }
 
-  private ExecutionBlock buildTwoPhaseGroupby(MasterPlan masterPlan, ExecutionBlock latestBlock,
+  private ExecutionBlock buildTwoPhaseGroupby(GlobalPlanContext context, ExecutionBlock latestBlock,
                                                      GroupbyNode firstPhaseGroupby, GroupbyNode secondPhaseGroupby) throws TajoException {
+    MasterPlan masterPlan = context.plan;
 
     ExecutionBlock childBlock = latestBlock;
     childBlock.setPlan(firstPhaseGroupby);
@@ -730,7 +850,7 @@ public class GlobalPlanner {
       channel.setShuffleKeys(firstPhaseGroupby.getGroupingColumns());
     }
     channel.setSchema(firstPhaseGroupby.getOutSchema());
-    channel.setDataFormat(dataFormat);
+    channel.setDataFormat(context.dataFormat);
 
     ScanNode scanNode = buildInputExecutor(masterPlan.getLogicalPlan(), channel);
     secondPhaseGroupby.setChild(scanNode);
@@ -793,6 +913,7 @@ public class GlobalPlanner {
       for (DataChannel channel : masterPlan.getIncomingChannels(childBlock.getId())) {
         channel.setShuffle(RANGE_SHUFFLE, PlannerUtil.sortSpecsToSchema(currentNode.getSortKeys()).toArray(), 32);
         channel.setSchema(firstSortNode.getOutSchema());
+        channel.setDataFormat(getRangeShuffleDataFormat(channel.getDataFormat()));
 
         ExecutionBlock subBlock = masterPlan.getExecBlock(channel.getSrcId());
         SortNode s1 = PlannerUtil.clone(context.plan.getLogicalPlan(), firstSortNode);
@@ -883,7 +1004,7 @@ public class GlobalPlanner {
       ExecutionBlock childBlock = masterPlan.getExecBlock(channel.getSrcId());
       setShuffleKeysFromPartitionedTableStore(currentNode, channel);
       channel.setSchema(childBlock.getPlan().getOutSchema());
-      channel.setDataFormat(dataFormat);
+      channel.setDataFormat(context.dataFormat);
       lastChannel = channel;
     }
 
@@ -906,7 +1027,7 @@ public class GlobalPlanner {
     DataChannel channel = new DataChannel(lastBlock, nextBlock, HASH_SHUFFLE, 32);
     setShuffleKeysFromPartitionedTableStore(currentNode, channel);
     channel.setSchema(lastBlock.getPlan().getOutSchema());
-    channel.setDataFormat(dataFormat);
+    channel.setDataFormat(context.dataFormat);
 
     ScanNode scanNode = buildInputExecutor(masterPlan.getLogicalPlan(), channel);
     currentNode.setChild(scanNode);
@@ -1030,7 +1151,7 @@ public class GlobalPlanner {
         DataChannel newChannel = new DataChannel(execBlock, newExecBlock, HASH_SHUFFLE, 1);
         newChannel.setShuffleKeys(new Column[]{});
         newChannel.setSchema(node.getOutSchema());
-        newChannel.setDataFormat(dataFormat);
+        newChannel.setDataFormat(context.dataFormat);
 
         ScanNode scanNode = buildInputExecutor(plan, newChannel);
         LimitNode parentLimit = PlannerUtil.clone(context.plan.getLogicalPlan(), node);
@@ -1093,12 +1214,13 @@ public class GlobalPlanner {
       if (windowAgg.hasPartitionKeys()) { // if there is at one distinct aggregation function
         channel = new DataChannel(childBlock, currentBlock, RANGE_SHUFFLE, 32);
         channel.setShuffleKeys(windowAgg.getPartitionKeys());
+        channel.setDataFormat(getRangeShuffleDataFormat(context.dataFormat));
       } else {
         channel = new DataChannel(childBlock, currentBlock, HASH_SHUFFLE, 1);
         channel.setShuffleKeys(null);
+        channel.setDataFormat(context.dataFormat);
       }
       channel.setSchema(windowAgg.getInSchema());
-      channel.setDataFormat(dataFormat);
 
       LogicalNode childNode = windowAgg.getChild();
       ScanNode scanNode = buildInputExecutor(masterPlan.getLogicalPlan(), channel);
@@ -1231,7 +1353,7 @@ public class GlobalPlanner {
 
       for (ExecutionBlock childBlocks : queryBlockBlocks) {
         DataChannel channel = new DataChannel(childBlocks, execBlock, NONE_SHUFFLE, 1);
-        channel.setDataFormat(dataFormat);
+        channel.setDataFormat(context.dataFormat);
         masterPlan.addConnect(channel);
       }
 
@@ -144,7 +144,7 @@ public class DistinctGroupbyBuilder {
 
       firstChannel.setShuffleKeys(firstStageDistinctNode.getFirstStageShuffleKeyColumns());
       firstChannel.setSchema(firstStageDistinctNode.getOutSchema());
-      firstChannel.setDataFormat(globalPlanner.getDataFormat());
+      firstChannel.setDataFormat(context.getDataFormat());
 
       ScanNode scanNode = GlobalPlanner.buildInputExecutor(context.getPlan().getLogicalPlan(), firstChannel);
       secondStageDistinctNode.setChild(scanNode);
@@ -163,7 +163,7 @@ public class DistinctGroupbyBuilder {
         secondChannel.setShuffleKeys(firstStageDistinctNode.getGroupingColumns());
       }
       secondChannel.setSchema(secondStageDistinctNode.getOutSchema());
-      secondChannel.setDataFormat(globalPlanner.getDataFormat());
+      secondChannel.setDataFormat(context.getDataFormat());
 
       scanNode = GlobalPlanner.buildInputExecutor(context.getPlan().getLogicalPlan(), secondChannel);
       thirdStageDistinctNode.setChild(scanNode);
@@ -330,7 +330,7 @@ public class DistinctGroupbyBuilder {
         channel.setShuffleKeys(firstStageDistinctNode.getGroupingColumns());
       }
       channel.setSchema(firstStageDistinctNode.getOutSchema());
-      channel.setDataFormat(globalPlanner.getDataFormat());
+      channel.setDataFormat(context.getDataFormat());
 
       ScanNode scanNode = GlobalPlanner.buildInputExecutor(context.getPlan().getLogicalPlan(), channel);
       secondStageDistinctNode.setChild(scanNode);
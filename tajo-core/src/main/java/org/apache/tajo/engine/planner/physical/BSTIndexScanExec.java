@@ -212,7 +212,7 @@ public class BSTIndexScanExec extends ScanExec {
       }
     } else {
        while(reader.isCurInMemory() && (tuple = fileScanner.next()) != null) {
-         if (qual.eval(tuple).isTrue()) {
+         if (qual.evalBool(tuple)) {
            return projector.eval(tuple);
          } else {
            long offset = reader.next();
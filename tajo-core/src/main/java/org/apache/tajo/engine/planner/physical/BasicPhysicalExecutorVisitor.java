@@ -49,6 +49,8 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
       return visitHashLeftOuterJoin(context, (HashLeftOuterJoinExec) exec, stack);
     } else if (exec instanceof HashLeftSemiJoinExec) {
       return visitLeftHashSemiJoin(context, (HashLeftSemiJoinExec) exec, stack);
+    } else if (exec instanceof HashRightOuterJoinExec) {
+      return visitHashRightOuterJoin(context, (HashRightOuterJoinExec) exec, stack);
     } else if (exec instanceof HashShuffleFileWriteExec) {
       return visitHashShuffleFileWrite(context, (HashShuffleFileWriteExec) exec, stack);
     } else if (exec instanceof HavingExec) {
@@ -61,6 +63,8 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
       return visitMergeJoin(context, (MergeJoinExec) exec, stack);
     } else if (exec instanceof ProjectionExec) {
       return visitProjection(context, (ProjectionExec) exec, stack);
+    } else if (exec instanceof PushdownScanExec) {
+      return visitPushdownScan(context, (PushdownScanExec) exec, stack);
     } else if (exec instanceof RangeShuffleFileWriteExec) {
       return visitRangeShuffleFileWrite(context, (RangeShuffleFileWriteExec) exec, stack);
     } else if (exec instanceof RightOuterMergeJoinExec) {
@@ -159,6 +163,12 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
     return visitBinaryExecutor(context, exec, stack);
   }
 
+  @Override
+  public RESULT visitHashRightOuterJoin(CONTEXT context, HashRightOuterJoinExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException {
+    return visitBinaryExecutor(context, exec, stack);
+  }
+
   @Override
   public RESULT visitHashShuffleFileWrite(CONTEXT context, HashShuffleFileWriteExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException {
@@ -195,6 +205,12 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
     return visitUnaryExecutor(context, exec, stack);
   }
 
+  @Override
+  public RESULT visitPushdownScan(CONTEXT context, PushdownScanExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException {
+    return null;
+  }
+
   @Override
   public RESULT visitRangeShuffleFileWrite(CONTEXT context, RangeShuffleFileWriteExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException {
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.BucketSpec;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.statistics.StatisticsUtil;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.plan.logical.InsertNode;
+import org.apache.tajo.plan.logical.StoreTableNode;
+import org.apache.tajo.storage.Appender;
+import org.apache.tajo.storage.FileTablespace;
+import org.apache.tajo.storage.TablespaceManager;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is a physical executor to store a table part into a bucketed table. Each row is written into the file of
+ * its bucket, which is chosen by {@link HashPartitioner} so that the rows of a bucket are the ones which a hash
+ * shuffle on the bucket columns would send to the same partition.
+ */
+public class BucketedStoreTableExec extends UnaryPhysicalExec {
+  private static final Log LOG = LogFactory.getLog(BucketedStoreTableExec.class);
+
+  private StoreTableNode plan;
+  private final BucketSpec bucketSpec;
+  private TableMeta meta;
+  private Schema appenderSchema;
+
+  private HashPartitioner partitioner;
+  private Appender [] appenders;
+
+  public BucketedStoreTableExec(TaskAttemptContext context, StoreTableNode plan, BucketSpec bucketSpec,
+                                PhysicalExec child) throws IOException {
+    super(context, plan.getInSchema(), plan.getOutSchema(), child);
+    this.plan = plan;
+    this.bucketSpec = bucketSpec;
+  }
+
+  @Override
+  public void init() throws IOException {
+    super.init();
+
+    meta = CatalogUtil.newTableMeta(plan.getStorageType(), plan.getOptions());
+    PhysicalPlanUtil.setNullCharIfNecessary(context.getQueryContext(), plan, meta);
+
+    appenderSchema = (plan instanceof InsertNode) ? ((InsertNode) plan).getTableSchema() : outSchema;
+    partitioner = new HashPartitioner(bucketSpec.getColumnIds(appenderSchema), bucketSpec.getBucketNum());
+    appenders = new Appender[bucketSpec.getBucketNum()];
+  }
+
+  private Appender getAppender(int bucketId) throws IOException {
+    if (appenders[bucketId] == null) {
+      Path bucketFile = BucketSpec.getBucketFilePath(context.getOutputPath(), bucketId);
+      FileTablespace space = TablespaceManager.get(bucketFile.toUri());
+      Appender appender = space.getAppender(meta, appenderSchema, bucketFile);
+      appender.enableStats();
+      appender.init();
+      appenders[bucketId] = appender;
+    }
+    return appenders[bucketId];
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    Tuple tuple;
+    while(!context.isStopped() && (tuple = child.next()) != null) {
+      getAppender(partitioner.getPartition(tuple)).addTuple(tuple);
+    }
+    return null;
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    // nothing to do
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+
+    if (appenders != null) {
+      List<TableStats> statSet = new ArrayList<>();
+      int writtenBuckets = 0;
+      for (Appender appender : appenders) {
+        if (appender != null) {
+          appender.flush();
+          appender.close();
+          statSet.add(appender.getStats());
+          writtenBuckets++;
+        }
+      }
+      LOG.info(writtenBuckets + " of " + bucketSpec.getBucketNum() + " buckets are written into "
+          + context.getOutputPath().getParent());
+
+      // Collect and aggregated statistics data
+      context.setResultStats(StatisticsUtil.aggregateTableStat(statSet));
+      if (context.getTaskId() != null) {
+        context.addShuffleFileOutput(0, context.getTaskId().toString());
+      }
+    }
+
+    appenders = null;
+    plan = null;
+  }
+}
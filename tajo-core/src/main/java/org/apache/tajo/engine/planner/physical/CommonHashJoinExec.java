@@ -84,10 +84,25 @@ public abstract class CommonHashJoinExec<T> extends CommonJoinExec {
   }
 
   protected TupleMap<TupleList> buildRightToHashTable() throws IOException {
+    TupleMap<TupleList> map;
     if (plan.getJoinType().equals(JoinType.CROSS)) {
-      return buildRightToHashTableForCrossJoin();
+      map = buildRightToHashTableForCrossJoin();
     } else {
-      return buildRightToHashTableForNonCrossJoin();
+      map = buildRightToHashTableForNonCrossJoin();
+    }
+    assignOrdinals(map);
+    return map;
+  }
+
+  /**
+   * Give every loaded tuple a sequential ordinal, so that per-row states like join matches can be kept in a bitset
+   * instead of the hash table itself. The ordinals are assigned before the hash table is shared with other tasks.
+   */
+  private static void assignOrdinals(TupleMap<TupleList> map) {
+    int ordinal = 0;
+    for (TupleList tuples : map.values()) {
+      tuples.setFirstOrdinal(ordinal);
+      ordinal += tuples.size();
     }
   }
 
@@ -109,7 +124,7 @@ public abstract class CommonHashJoinExec<T> extends CommonJoinExec {
 
     while (!context.isStopped() && (tuple = rightChild.next()) != null) {
       KeyTuple keyTuple = rightKeyExtractor.project(tuple);
-      if (isLoadable(plan, keyTuple)) { // filter out null values
+      if (isLoadable(keyTuple)) { // filter out null values
         TupleList newValue = map.get(keyTuple);
         if (newValue == null) {
           map.put(keyTuple, newValue = new TupleList());
@@ -130,11 +145,10 @@ public abstract class CommonHashJoinExec<T> extends CommonJoinExec {
    *
    * For the case of anti join, the right table is expected to be empty if there are any null values.
    *
-   * @param plan
    * @param tuple
    * @return
    */
-  private static boolean isLoadable(JoinNode plan, Tuple tuple) {
+  protected boolean isLoadable(Tuple tuple) {
     return plan.getJoinType().equals(JoinType.FULL_OUTER)
         || Arrays.stream(tuple.getValues()).noneMatch(Datum::isNull);
   }
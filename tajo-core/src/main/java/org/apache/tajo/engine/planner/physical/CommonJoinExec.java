@@ -145,7 +145,7 @@ public abstract class CommonJoinExec extends BinaryPhysicalExec {
    * @return True if an input tuple is matched to the left join filter
    */
   protected boolean leftFiltered(Tuple left) {
-    return leftJoinFilter != null && !leftJoinFilter.eval(left).isTrue();
+    return leftJoinFilter != null && !leftJoinFilter.evalBool(left);
   }
 
   /**
@@ -155,7 +155,7 @@ public abstract class CommonJoinExec extends BinaryPhysicalExec {
    * @return True if an input tuple is matched to the right join filter
    */
   protected boolean rightFiltered(Tuple right) {
-    return rightJoinFilter != null && !rightJoinFilter.eval(right).isTrue();
+    return rightJoinFilter != null && !rightJoinFilter.evalBool(right);
   }
 
   /**
@@ -175,7 +175,7 @@ public abstract class CommonJoinExec extends BinaryPhysicalExec {
     return Iterators.filter(rightTuples.iterator(), new Predicate<Tuple>() {
       @Override
       public boolean apply(Tuple input) {
-        return rightJoinFilter.eval(input).isTrue();
+        return rightJoinFilter.evalBool(input);
       }
     });
   }
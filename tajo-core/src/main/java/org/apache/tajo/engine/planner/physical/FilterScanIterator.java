@@ -40,7 +40,7 @@ public class FilterScanIterator implements ScanIterator {
   @Override
   public boolean hasNext() throws IOException {
     while((currentTuple = scanner.next()) != null) {
-      if (filter.eval(currentTuple).isTrue()) {
+      if (filter.evalBool(currentTuple)) {
         return true;
       }
     }
@@ -19,6 +19,9 @@
 package org.apache.tajo.engine.planner.physical;
 
 import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.engine.planner.KeyProjector;
 import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.plan.logical.GroupbyNode;
@@ -27,11 +30,17 @@ import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map.Entry;
 
 /**
  * This is the hash-based GroupBy Operator.
+ *
+ * If the plan has grouping sets (i.e., ROLLUP or CUBE) and the input does not have the grouping id column yet,
+ * this operator works in the expand mode. In this mode, rows are aggregated by all grouping keys at once, and
+ * then the groups are merged into the coarser grouping sets. It avoids scanning or replicating the input rows
+ * for each grouping set.
  */
 public class HashAggregateExec extends AggregationExec {
   private Tuple tuple = null;
@@ -40,13 +49,31 @@ public class HashAggregateExec extends AggregationExec {
   private boolean computed = false;
   private Iterator<Entry<KeyTuple, FunctionContext []>> iterator = null;
 
+  // grouping ids to be expanded. It is null if this operator does not compute grouping sets.
+  private final int [] groupingIds;
+
   public HashAggregateExec(TaskAttemptContext ctx, GroupbyNode plan, PhysicalExec subOp) throws IOException {
     super(ctx, plan, subOp);
-    hashKeyProjector = new KeyProjector(inSchema, plan.getGroupingColumns());
+    if (isExpandMode(plan)) {
+      groupingIds = plan.getGroupingIds();
+      Column [] keyColumns = plan.getGroupingColumns();
+      hashKeyProjector = new KeyProjector(inSchema, Arrays.copyOf(keyColumns, keyColumns.length - 1));
+    } else {
+      groupingIds = null;
+      hashKeyProjector = new KeyProjector(inSchema, plan.getGroupingColumns());
+    }
     hashTable = new TupleMap<>(ctx.getQueryContext().getInt(SessionVars.AGG_HASH_TABLE_SIZE));
     this.tuple = new VTuple(plan.getOutSchema().size());
   }
 
+  /**
+   * @return True if the given groupby computes grouping sets from rows which are not grouped by grouping sets yet.
+   */
+  public static boolean isExpandMode(GroupbyNode plan) {
+    return plan.hasGroupingSets() &&
+        !plan.getInSchema().contains(plan.getGroupingIdColumn().getQualifiedName());
+  }
+
   private void compute() throws IOException {
     Tuple tuple;
     KeyTuple keyTuple;
@@ -77,6 +104,62 @@ public class HashAggregateExec extends AggregationExec {
       }
       hashTable.put(null, contexts);
     }
+
+    if (groupingIds != null) {
+      hashTable = expandGroupingSets(hashTable);
+    }
+  }
+
+  /**
+   * It merges groups of all grouping keys into groups of each grouping set. The key of a result group consists of
+   * grouping keys, where the keys excluded from the grouping set are null, and the grouping id.
+   */
+  private TupleMap<FunctionContext[]> expandGroupingSets(TupleMap<FunctionContext[]> baseTable) {
+    int baseKeyNum = groupingKeyNum - 1;
+    TupleMap<FunctionContext[]> expanded = new TupleMap<>(baseTable.size() * groupingIds.length);
+    KeyTuple keyTuple = new KeyTuple(groupingKeyNum);
+
+    for (int groupingId : groupingIds) {
+      keyTuple.put(baseKeyNum, DatumFactory.createInt4(groupingId));
+
+      for (Entry<KeyTuple, FunctionContext[]> entry : baseTable.entrySet()) {
+        for (int i = 0; i < baseKeyNum; i++) {
+          boolean excluded = (groupingId & (1 << (baseKeyNum - 1 - i))) != 0;
+          keyTuple.put(i, excluded ? NullDatum.get() : entry.getKey().asDatum(i));
+        }
+
+        FunctionContext [] contexts = expanded.get(keyTuple);
+        if (contexts != null) {
+          for (int i = 0; i < aggFunctionsNum; i++) {
+            aggFunctions.get(i).mergePartial(contexts[i], entry.getValue()[i]);
+          }
+        } else if (groupingId == 0) { // each group of all grouping keys is kept as it is
+          expanded.put(keyTuple, entry.getValue());
+        } else {
+          contexts = new FunctionContext[aggFunctionsNum];
+          for (int i = 0; i < aggFunctionsNum; i++) {
+            contexts[i] = aggFunctions.get(i).newContext();
+            aggFunctions.get(i).mergePartial(contexts[i], entry.getValue()[i]);
+          }
+          expanded.put(keyTuple, contexts);
+        }
+      }
+
+      // The grand total set should return a row even if there is no input row.
+      if (baseTable.isEmpty() && groupingId == (1 << baseKeyNum) - 1) {
+        for (int i = 0; i < baseKeyNum; i++) {
+          keyTuple.put(i, NullDatum.get());
+        }
+        FunctionContext [] contexts = new FunctionContext[aggFunctionsNum];
+        for (int i = 0; i < aggFunctionsNum; i++) {
+          contexts[i] = aggFunctions.get(i).newContext();
+        }
+        expanded.put(keyTuple, contexts);
+      }
+    }
+
+    baseTable.clear();
+    return expanded;
   }
 
   @Override
@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.plan.logical.JoinNode;
+import org.apache.tajo.storage.FrameTuple;
+import org.apache.tajo.storage.NullTuple;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash join which preserves the rows of the right (build) relation.
+ *
+ * Instead of keeping a flag in the hash table, it remembers the matched build rows in a bitset indexed by
+ * the ordinals of the loaded tuples, and emits the unmatched build rows padded with nulls after the left relation
+ * is exhausted.
+ *
+ * The hash table is never taken from the broadcast cache. Each task tracks only its own matches, so a build relation
+ * shared by multiple tasks would emit its unmatched rows once per task.
+ */
+public class HashRightOuterJoinExec extends CommonHashJoinExec<TupleList> {
+
+  private final BitSet matched = new BitSet();
+  private final List<Tuple> matchedTuples = new ArrayList<>();
+  private final FrameTuple qualTuple = new FrameTuple();
+
+  private boolean finalLoop; // final loop for right unmatched
+
+  public HashRightOuterJoinExec(TaskAttemptContext context, JoinNode plan, PhysicalExec leftChild,
+                                PhysicalExec rightChild) {
+    super(context, plan, leftChild, rightChild);
+  }
+
+  @Override
+  protected boolean isLoadable(Tuple tuple) {
+    // every build row is preserved, so tuples having null keys are loaded as well
+    return true;
+  }
+
+  @Override
+  protected void loadRightToHashTable() throws IOException {
+    // the preserved relation is always loaded by this task, even if it can be broadcast
+    tupleSlots = convert(buildRightToHashTable(), false);
+    first = false;
+  }
+
+  @Override
+  protected TupleMap<TupleList> convert(TupleMap<TupleList> hashed, boolean fromCache) throws IOException {
+    return hashed;
+  }
+
+  /**
+   * Return the rows of the right relation which will be joined to a left tuple not having any match.
+   *
+   * @return Iterator of null-padded rows, or null if the unmatched left tuple should be dropped
+   */
+  protected Iterator<Tuple> unmatchedLeft() {
+    return null;
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    if (first) {
+      loadRightToHashTable();
+    }
+
+    while (!context.isStopped() && !finished) {
+      if (iterator != null && iterator.hasNext()) {
+        frameTuple.setRight(iterator.next());
+        return projector.eval(frameTuple);
+      }
+      if (finalLoop) {
+        finished = true;
+        return null;
+      }
+      Tuple leftTuple = leftChild.next();
+      if (leftTuple == null) {
+        // if no more tuples in left tuples, a join is completed.
+        // in this stage we can begin outputing tuples from the right operand which were not matched,
+        // null padded on the left side
+        frameTuple.setLeft(NullTuple.create(leftNumCols));
+        iterator = getUnmatchedRight();
+        finalLoop = true;
+        continue;
+      }
+      frameTuple.setLeft(leftTuple);
+
+      if (leftFiltered(leftTuple)) {
+        iterator = unmatchedLeft();
+        continue;
+      }
+
+      KeyTuple leftKey = leftKeyExtractor.project(leftTuple);
+      // a null key cannot be matched to any right tuple
+      TupleList hashed = hasNullKey(leftKey) ? null : tupleSlots.get(leftKey);
+      iterator = hashed == null ? unmatchedLeft() : probe(leftTuple, hashed);
+    }
+
+    return null;
+  }
+
+  private static boolean hasNullKey(KeyTuple key) {
+    for (int i = 0; i < key.size(); i++) {
+      if (key.isBlankOrNull(i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Iterator<Tuple> probe(Tuple leftTuple, TupleList hashed) {
+    matchedTuples.clear();
+    qualTuple.setLeft(leftTuple);
+
+    int firstOrdinal = hashed.getFirstOrdinal();
+    for (int i = 0; i < hashed.size(); i++) {
+      Tuple rightTuple = hashed.get(i);
+      if (rightFiltered(rightTuple)) {
+        continue;
+      }
+      qualTuple.setRight(rightTuple);
+      if (!hasJoinQual || joinQual.evalBool(qualTuple)) {
+        matched.set(firstOrdinal + i);
+        matchedTuples.add(rightTuple);
+      }
+    }
+    return matchedTuples.isEmpty() ? unmatchedLeft() : matchedTuples.iterator();
+  }
+
+  /**
+   * @return Iterator of the rows of the right relation which have not been matched to any left tuple
+   */
+  public Iterator<Tuple> getUnmatchedRight() {
+
+    return new Iterator<Tuple>() {
+
+      private final Iterator<TupleList> lists = tupleSlots.values().iterator();
+      private TupleList current;
+      private int index = -1;
+
+      @Override
+      public boolean hasNext() {
+        while (current == null || index >= current.size()) {
+          if (!lists.hasNext()) {
+            return false;
+          }
+          current = lists.next();
+          index = nextUnmatched(current, 0);
+        }
+        return true;
+      }
+
+      @Override
+      public Tuple next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Tuple tuple = current.get(index);
+        index = nextUnmatched(current, index + 1);
+        return tuple;
+      }
+
+      private int nextUnmatched(TupleList tuples, int from) {
+        return matched.nextClearBit(tuples.getFirstOrdinal() + from) - tuples.getFirstOrdinal();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException("remove");
+      }
+    };
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    super.rescan();
+    matched.clear();
+    finalLoop = false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    matched.clear();
+    matchedTuples.clear();
+  }
+}
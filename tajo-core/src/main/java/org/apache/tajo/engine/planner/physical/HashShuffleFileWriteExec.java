@@ -23,6 +23,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.BuiltinStorages;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Column;
@@ -70,6 +71,7 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
   private final int bufferThreshold;
   private final int initialBufferSize;
   private final DataType[] dataTypes;
+  private final String rowBlockFormat;
 
   private final Map<Integer, MemoryRowBlock> partitionMemoryMap;
   private long writtenBytes = 0;
@@ -99,6 +101,9 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
     this.maxBufferSize = context.getQueryContext().getInt(SessionVars.HASH_SHUFFLE_BUFFER_SIZE) * StorageUnit.MB;
     this.bufferThreshold = (int) (maxBufferSize * BUFFER_THRESHOLD_FACTOR);
     this.dataTypes = SchemaUtil.toDataTypes(outSchema);
+    // CRAW blocks are encoded from row blocks of the DRAW layout
+    this.rowBlockFormat = BuiltinStorages.CRAW.equalsIgnoreCase(plan.getStorageType()) ?
+        BuiltinStorages.DRAW : plan.getStorageType();
 
     if(numShuffleOutputs > 0){
       //calculate initial buffer by total partition. a buffer size will be 4Kb ~ 1MB
@@ -127,7 +132,7 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
         partId = partitioner.getPartition(tuple);
         MemoryRowBlock rowBlock = partitionMemoryMap.get(partId);
         if (rowBlock == null) {
-          rowBlock = new MemoryRowBlock(dataTypes, initialBufferSize, true, plan.getStorageType());
+          rowBlock = new MemoryRowBlock(dataTypes, initialBufferSize, true, rowBlockFormat);
           partitionMemoryMap.put(partId, rowBlock);
           totalBufferCapacity += rowBlock.capacity();
         }
@@ -46,7 +46,7 @@ public class HavingExec extends UnaryPhysicalExec  {
   public Tuple next() throws IOException {
     Tuple tuple;
     while (!context.isStopped() && (tuple = child.next()) != null) {
-      if (qual.eval(tuple).isTrue()) {
+      if (qual.evalBool(tuple)) {
         return tuple;
       }
     }
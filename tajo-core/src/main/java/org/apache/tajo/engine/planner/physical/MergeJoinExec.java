@@ -139,7 +139,7 @@ public class MergeJoinExec extends CommonJoinExec {
 
       frameTuple.set(outerNext, innerIterator.next());
 
-      if (joinQual.eval(frameTuple).isTrue()) {
+      if (joinQual.evalBool(frameTuple)) {
         return projector.eval(frameTuple);
       }
     }
@@ -55,6 +55,9 @@ public interface PhysicalExecutorVisitor<CONTEXT, RESULT> {
   RESULT visitLeftHashSemiJoin(CONTEXT context, HashLeftSemiJoinExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
+  RESULT visitHashRightOuterJoin(CONTEXT context, HashRightOuterJoinExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException;
+
   RESULT visitHashShuffleFileWrite(CONTEXT context, HashShuffleFileWriteExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
@@ -73,6 +76,9 @@ public interface PhysicalExecutorVisitor<CONTEXT, RESULT> {
   RESULT visitProjection(CONTEXT context, ProjectionExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
+  RESULT visitPushdownScan(CONTEXT context, PushdownScanExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException;
+
   RESULT visitRangeShuffleFileWrite(CONTEXT context, RangeShuffleFileWriteExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.plan.logical.LogicalNode;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.storage.Scanner;
+import org.apache.tajo.storage.Tablespace;
+import org.apache.tajo.storage.TablespaceManager;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.fragment.FragmentConvertor;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+
+/**
+ * Replaces the executors of the aggregation, sort and limit over a scan when the storage evaluates them by itself.
+ * The scanner receives the plan part via {@link Scanner#pushOperators(LogicalNode)}, and it returns tuples
+ * in the output schema of the plan part.
+ *
+ * @see Tablespace#canPushOperators(LogicalNode)
+ */
+public class PushdownScanExec extends ScanExec {
+  private static final Log LOG = LogFactory.getLog(PushdownScanExec.class);
+
+  private final LogicalNode planPart;
+  private final ScanNode plan;
+  private final CatalogProtos.FragmentProto fragment;
+
+  private Scanner scanner;
+  private TableStats inputStats;
+
+  public PushdownScanExec(TaskAttemptContext context, LogicalNode planPart, ScanNode plan,
+                          CatalogProtos.FragmentProto fragment) {
+    super(context, plan.getInSchema(), planPart.getOutSchema());
+    this.planPart = planPart;
+    this.plan = plan;
+    this.fragment = fragment;
+  }
+
+  @Override
+  public void init() throws IOException {
+    TableDesc table = plan.getTableDesc();
+    Tablespace tablespace = TablespaceManager.get(table.getUri());
+    scanner = tablespace.getScanner(
+        table.getMeta(),
+        plan.getPhysicalSchema(),
+        FragmentConvertor.convert(context.getConf(), fragment),
+        outSchema);
+    scanner.pushOperators(planPart);
+    scanner.init();
+
+    super.init();
+  }
+
+  public LogicalNode getPlanPart() {
+    return planPart;
+  }
+
+  @Override
+  public ScanNode getScanNode() {
+    return plan;
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    return scanner.next();
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    scanner.reset();
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOUtils.cleanup(null, scanner);
+    if (scanner != null) {
+      try {
+        TableStats stat = scanner.getInputStats();
+        if (stat != null) {
+          inputStats = (TableStats)(stat.clone());
+        }
+      } catch (CloneNotSupportedException e) {
+        LOG.warn("Failed to copy the input stats of " + plan.getCanonicalName(), e);
+      }
+    }
+    scanner = null;
+  }
+
+  @Override
+  public String getTableName() {
+    return plan.getTableName();
+  }
+
+  @Override
+  public String getCanonicalName() {
+    return plan.getCanonicalName();
+  }
+
+  @Override
+  public CatalogProtos.FragmentProto[] getFragments() {
+    return new CatalogProtos.FragmentProto[] {fragment};
+  }
+
+  @Override
+  public float getProgress() {
+    if (scanner == null) {
+      return 1.0f;
+    } else {
+      return scanner.getProgress();
+    }
+  }
+
+  @Override
+  public TableStats getInputStats() {
+    if (scanner != null) {
+      return scanner.getInputStats();
+    } else if (inputStats != null) {
+      return inputStats;
+    } else {
+      return new TableStats();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PushdownScanExec:" + planPart;
+  }
+}
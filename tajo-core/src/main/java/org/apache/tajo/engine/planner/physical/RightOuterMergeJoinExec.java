@@ -304,7 +304,7 @@ public class RightOuterMergeJoinExec extends CommonJoinExec {
           posRightTupleSlots = posRightTupleSlots + 1;
 
           frameTuple.set(nextLeft, aTuple);
-          if (joinQual.eval(frameTuple).isTrue()) {
+          if (joinQual.evalBool(frameTuple)) {
             return projector.eval(frameTuple);
           } else {
             // padding null
@@ -323,7 +323,7 @@ public class RightOuterMergeJoinExec extends CommonJoinExec {
 
             frameTuple.set(nextLeft, aTuple);
 
-            if (joinQual.eval(frameTuple).isTrue()) {
+            if (joinQual.evalBool(frameTuple)) {
               return projector.eval(frameTuple);
             } else {
               // padding null
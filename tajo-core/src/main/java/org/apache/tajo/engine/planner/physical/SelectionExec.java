@@ -51,7 +51,7 @@ public class SelectionExec extends UnaryPhysicalExec  {
   public Tuple next() throws IOException {
     Tuple tuple;
     while (!context.isStopped() && (tuple = child.next()) != null) {
-      if (qual.eval(tuple).isTrue()) {
+      if (qual.evalBool(tuple)) {
         return tuple;
       }
     }
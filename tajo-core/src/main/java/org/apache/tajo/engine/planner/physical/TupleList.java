@@ -29,6 +29,9 @@ import java.util.ArrayList;
  */
 public class TupleList extends ArrayList<Tuple> {
 
+  // the ordinal of the first tuple of this list among all tuples of a hash table
+  private int firstOrdinal;
+
   public TupleList() {
     super();
   }
@@ -41,4 +44,12 @@ public class TupleList extends ArrayList<Tuple> {
   public boolean add(Tuple tuple) {
     return super.add(new VTuple(tuple));
   }
+
+  public int getFirstOrdinal() {
+    return firstOrdinal;
+  }
+
+  public void setFirstOrdinal(int firstOrdinal) {
+    this.firstOrdinal = firstOrdinal;
+  }
 }
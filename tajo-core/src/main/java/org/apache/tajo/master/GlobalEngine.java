@@ -30,6 +30,7 @@ import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoConstants;
+import org.apache.tajo.algebra.AlterTable;
 import org.apache.tajo.algebra.Expr;
 import org.apache.tajo.algebra.JsonHelper;
 import org.apache.tajo.catalog.CatalogService;
@@ -39,6 +40,7 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.exception.*;
 import org.apache.tajo.master.TajoMaster.MasterContext;
+import org.apache.tajo.master.exec.CompactTableRewriter;
 import org.apache.tajo.master.exec.DDLExecutor;
 import org.apache.tajo.master.exec.QueryExecutor;
 import org.apache.tajo.metrics.Master;
@@ -264,6 +266,11 @@ public class GlobalEngine extends AbstractService {
 
   private LogicalPlan createLogicalPlan(QueryContext queryContext, Expr expression) throws Throwable {
 
+    // ALTER TABLE ... COMPACT is executed as a distributed query which overwrites the table with itself.
+    if (CompactTableRewriter.isCompaction(expression)) {
+      expression = CompactTableRewriter.rewrite(queryContext, catalog, (AlterTable) expression);
+    }
+
     VerificationState state = new VerificationState();
     preVerifier.verify(queryContext, state, expression);
     if (!state.verified()) {
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.exec;
+
+import com.google.common.collect.Lists;
+import org.apache.tajo.QueryVars;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.algebra.*;
+import org.apache.tajo.catalog.CatalogService;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.exception.TajoException;
+import org.apache.tajo.exception.UndefinedPartitionKeyException;
+import org.apache.tajo.exception.UndefinedPartitionMethodException;
+import org.apache.tajo.exception.UnsupportedException;
+import org.apache.tajo.schema.IdentifierUtil;
+import org.apache.tajo.storage.FileTablespace;
+import org.apache.tajo.storage.TablespaceManager;
+
+/**
+ * Rewrites ALTER TABLE ... COMPACT into INSERT OVERWRITE INTO the table SELECT * FROM the same table or partition.
+ *
+ * The statement runs as a distributed query. Its output is written into the staging directory of the query first,
+ * and it replaces the existing files of the table or partition when the query is committed. Small input files are
+ * coalesced into tasks of the target file size when the leaf stage is scheduled.
+ *
+ * The rows of a partitioned table are shuffled by the partition keys before they are stored, so the files are
+ * written by the tasks of the shuffled stage instead of the leaf tasks. All rows of a partition are written by
+ * a single task, which starts a new file whenever the current one reaches the target file size.
+ */
+public class CompactTableRewriter {
+
+  public static boolean isCompaction(Expr expr) {
+    return expr.getType() == OpType.AlterTable
+        && ((AlterTable) expr).getAlterTableOpType() == AlterTableOpType.COMPACT;
+  }
+
+  public static Expr rewrite(QueryContext queryContext, CatalogService catalog, AlterTable alterTable)
+      throws TajoException {
+
+    String tableName = alterTable.getTableName();
+    if (!IdentifierUtil.isFQTableName(tableName)) {
+      tableName = IdentifierUtil.buildFQName(queryContext.getCurrentDatabase(), tableName);
+    }
+
+    TableDesc desc = catalog.getTableDesc(tableName);
+    if (!(TablespaceManager.get(desc.getUri()) instanceof FileTablespace)) {
+      throw new UnsupportedException("COMPACT of non-file table '" + tableName + "'");
+    }
+
+    Expr input = new Relation(tableName);
+
+    if (alterTable.getColumns() != null) {
+      if (!desc.hasPartition()) {
+        throw new UndefinedPartitionMethodException(tableName);
+      }
+
+      Expr qual = null;
+      for (int i = 0; i < alterTable.getColumns().length; i++) {
+        ColumnReferenceExpr column = alterTable.getColumns()[i];
+        if (!desc.getPartitionMethod().getExpressionSchema().containsByName(column.getName())) {
+          throw new UndefinedPartitionKeyException(column.getName());
+        }
+
+        Expr equal = new BinaryOperator(OpType.Equals, new ColumnReferenceExpr(column.getName()),
+            alterTable.getValues()[i]);
+        qual = qual == null ? equal : new BinaryOperator(OpType.And, qual, equal);
+      }
+
+      Selection selection = new Selection(qual);
+      selection.setChild(input);
+      input = selection;
+    }
+
+    Projection projection = new Projection();
+    projection.setNamedExprs(Lists.newArrayList(new NamedExpr(new QualifiedAsteriskExpr())));
+    projection.setChild(input);
+
+    Insert insert = new Insert();
+    insert.setOverwrite();
+    insert.setTableName(tableName);
+    insert.setSubQuery(projection);
+
+    if (desc.hasPartition() && !queryContext.containsKey(SessionVars.MAX_OUTPUT_FILE_SIZE)) {
+      queryContext.setLong(SessionVars.MAX_OUTPUT_FILE_SIZE,
+          queryContext.getLong(SessionVars.COMPACTION_TARGET_FILE_SIZE));
+    }
+
+    queryContext.put(QueryVars.COMPACT_TABLE, tableName);
+    return insert;
+  }
+}
@@ -43,6 +43,7 @@ import org.apache.tajo.plan.logical.*;
 import org.apache.tajo.plan.rewrite.rules.PartitionedTableRewriter;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.schema.IdentifierUtil;
+import org.apache.tajo.storage.FileMetadataCache;
 import org.apache.tajo.storage.FileTablespace;
 import org.apache.tajo.storage.StorageUtil;
 import org.apache.tajo.storage.Tablespace;
@@ -384,6 +385,7 @@ public class DDLExecutor {
           fs.delete(eachFile.getPath(), true);
         }
       }
+      invalidateMetadataCache(path);
     }
   }
 
@@ -455,6 +457,8 @@ public class DDLExecutor {
         }
 
         fs.rename(oldPath, newPath);
+        invalidateMetadataCache(oldPath);
+        invalidateMetadataCache(newPath);
       }
       catalog.alterTable(CatalogUtil.renameTable(qualifiedName, alterTable.getNewTableName(),
           newPath));
@@ -524,6 +528,7 @@ public class DDLExecutor {
         if (!fs.exists(partitionPath)) {
           fs.mkdirs(partitionPath);
         }
+        invalidateMetadataCache(partitionPath);
       }
 
       break;
@@ -695,6 +700,17 @@ public class DDLExecutor {
     if (fs.exists(partitionPath)) {
       fs.delete(partitionPath, true);
     }
+    invalidateMetadataCache(partitionPath);
+  }
+
+  /**
+   * Invalidates the listings of a path cached in this process after its files are changed.
+   */
+  private void invalidateMetadataCache(Path path) {
+    FileMetadataCache cache = FileMetadataCache.get(context.getConf());
+    if (cache != null) {
+      cache.invalidate(path);
+    }
   }
 
   private boolean ensureColumnPartitionKeys(String tableName, String[] columnNames)
@@ -1348,9 +1348,34 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
           parseTablePartitioningClause(ctx.table_partitioning_clauses());
       createTable.setPartitionMethod(partitionMethodDesc);
     }
+
+    // A bucket spec is kept in the table properties.
+    if (checkIfExist(ctx.table_bucketing_clause())) {
+      Map<String, String> params = createTable.hasParams() ? createTable.getParams() : new HashMap<>();
+      params.putAll(parseTableBucketingClause(ctx.table_bucketing_clause()));
+      createTable.setParams(params);
+    }
     return createTable;
   }
 
+  private Map<String, String> parseTableBucketingClause(Table_bucketing_clauseContext ctx) {
+    Map<String, String> params = new HashMap<>();
+    params.put(StorageConstants.BUCKET_COLUMNS, joinColumnNames(ctx.bucket_columns));
+    params.put(StorageConstants.BUCKET_NUM, ctx.bucket_num.getText());
+    if (checkIfExist(ctx.SORTED())) {
+      params.put(StorageConstants.BUCKET_SORT_COLUMNS, joinColumnNames(ctx.sort_columns));
+    }
+    return params;
+  }
+
+  private String joinColumnNames(Column_reference_listContext ctx) {
+    List<String> names = new ArrayList<>();
+    for (ColumnReferenceExpr columnRef : buildColumnReferenceList(ctx)) {
+      names.add(columnRef.getName());
+    }
+    return Joiner.on(",").join(names);
+  }
+
   @Override
   public Expr visitTruncate_table_statement(@NotNull Truncate_table_statementContext ctx) {
     List<Table_nameContext> tableNameContexts = ctx.table_name();
@@ -1938,7 +1963,11 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
       alterTable.setUnsetPropertyKeys(getPropertyKeys(ctx.property_key_list()));
     }
 
-    alterTable.setAlterTableOpType(determineAlterTableType(ctx));
+    if (checkIfExist(ctx.COMPACT())) {
+      alterTable.setAlterTableOpType(AlterTableOpType.COMPACT);
+    } else {
+      alterTable.setAlterTableOpType(determineAlterTableType(ctx));
+    }
 
     return alterTable;
   }
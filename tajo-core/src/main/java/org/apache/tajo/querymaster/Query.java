@@ -603,6 +603,7 @@ public class Query implements EventHandler<QueryEvent> {
         hookList.add(new CreateTableHook());
         hookList.add(new InsertTableHook());
         hookList.add(new CreateIndexHook());
+        hookList.add(new CompactTableHook());
       }
 
       public void execute(QueryContext queryContext, Query query,
@@ -790,6 +791,36 @@ public class Query implements EventHandler<QueryEvent> {
         query.setResultDesc(finalTable);
       }
     }
+
+    private static class CompactTableHook implements QueryHook {
+
+      @Override
+      public boolean isEligible(QueryContext queryContext, Query query, ExecutionBlockId finalExecBlockId,
+                                Path finalOutputDir) {
+        return queryContext.containsKey(QueryVars.COMPACT_TABLE);
+      }
+
+      @Override
+      public void execute(QueryMaster.QueryMasterContext context, QueryContext queryContext,
+                          Query query, ExecutionBlockId finalExecBlockId, Path finalOutputDir)
+          throws Exception {
+
+        long fileNum = 0;
+        FileSystem fs = finalOutputDir.getFileSystem(query.systemConf);
+        List<PartitionDescProto> partitions = query.getPartitions();
+        if (partitions != null && !partitions.isEmpty()) {
+          for (PartitionDescProto partition : partitions) {
+            fileNum += fs.getContentSummary(new Path(finalOutputDir, partition.getPath())).getFileCount();
+          }
+        } else {
+          fileNum = fs.getContentSummary(finalOutputDir).getFileCount();
+        }
+
+        queryContext.setLong(QueryVars.COMPACT_FILE_NUM_AFTER, fileNum);
+        LOG.info("Table " + queryContext.get(QueryVars.COMPACT_TABLE) + " is compacted from "
+            + queryContext.get(QueryVars.COMPACT_FILE_NUM_BEFORE, "0") + " files into " + fileNum + " files");
+      }
+    }
   }
 
   public static long getTableVolume(TajoConf systemConf, Path tablePath) throws IOException {
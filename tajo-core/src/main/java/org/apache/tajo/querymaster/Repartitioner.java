@@ -61,7 +61,6 @@ import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.Pair;
-import org.apache.tajo.util.SplitUtil;
 import org.apache.tajo.util.TUtil;
 import org.apache.tajo.util.TajoIdUtils;
 import org.apache.tajo.worker.FetchImpl;
@@ -123,8 +122,8 @@ public class Repartitioner {
         // if table has no data, tablespace will return empty FileFragment.
         // So, we need to handle FileFragment by its size.
         // If we don't check its size, it can cause IndexOutOfBoundsException.
-        List<Fragment> fileFragments = SplitUtil.getSplits(
-            TablespaceManager.get(tableDesc.getUri()), scans[i], tableDesc, false);
+        List<Fragment> fileFragments = stage.getSplits(
+            TablespaceManager.get(tableDesc.getUri()), scans[i], tableDesc);
 
         if (fileFragments.size() > 0) {
           fragments[i] = fileFragments.get(0);
@@ -206,10 +205,11 @@ public class Repartitioner {
       int maxStatsScanIdx = -1;
       StringBuilder nonLeafScanNamesBuilder = new StringBuilder();
 
-      String intermediateDataFormat = schedulerContext.getMasterContext().getConf().getVar(ConfVars.SHUFFLE_FILE_FORMAT);
       for (int i = 0; i < scans.length; i++) {
 
-        if (scans[i].getTableDesc().getMeta().getDataFormat().equalsIgnoreCase(intermediateDataFormat)) {
+        // the data format of intermediate data can differ for each session and shuffle type,
+        // so intermediate data scans are identified by having no table desc.
+        if (masterContext.getTableDesc(scans[i]) == null) {
           // Intermediate data scan
           hasNonLeafNode = true;
           largeScanIndexList.add(i);
@@ -394,8 +394,8 @@ public class Repartitioner {
         if (eachScan.getType() != NodeType.PARTITIONS_SCAN) {
           TableDesc tableDesc = masterContext.getTableDesc(eachScan);
 
-          Collection<Fragment> scanFragments = SplitUtil.getSplits(
-              TablespaceManager.get(tableDesc.getUri()), eachScan, tableDesc, false);
+          Collection<Fragment> scanFragments = stage.getSplits(
+              TablespaceManager.get(tableDesc.getUri()), eachScan, tableDesc);
           if (scanFragments != null) {
             rightFragments.addAll(scanFragments);
           }
@@ -488,7 +488,7 @@ public class Repartitioner {
       ScanNode scan = scans[i];
       TableDesc desc = stage.getContext().getTableDesc(scan);
 
-      Collection<Fragment> scanFragments = SplitUtil.getSplits(TablespaceManager.get(desc.getUri()), scan, desc, false);
+      Collection<Fragment> scanFragments = stage.getSplits(TablespaceManager.get(desc.getUri()), scan, desc);
 
       if (scanFragments != null) {
         if (i == baseScanId) {
@@ -511,6 +511,76 @@ public class Repartitioner {
     schedulerContext.setEstimatedTaskNum(baseFragments.size());
   }
 
+  /**
+   * Schedules the tasks of a bucket-aligned execution block. Each task reads the same bucket of every scanned
+   * table, so a join or an aggregation on the bucket columns does not need any shuffle. A bucket is scheduled
+   * only if the base relation, which is the outer relation of an outer join, has any data in the bucket.
+   */
+  public static void scheduleFragmentsForBucketedTables(TaskSchedulerContext schedulerContext, Stage stage)
+      throws IOException, TajoException {
+    ExecutionBlock execBlock = stage.getBlock();
+    ScanNode[] scans = execBlock.getScanNodes();
+
+    ScanNode baseScan = scans[0];
+    JoinNode joinNode = PlannerUtil.findTopNode(execBlock.getPlan(), NodeType.JOIN);
+    if (joinNode != null && joinNode.getJoinType() == JoinType.RIGHT_OUTER) {
+      baseScan = joinNode.getRightChild();
+    } else if (joinNode != null) {
+      baseScan = joinNode.getLeftChild();
+    }
+
+    TableDesc baseDesc = stage.getContext().getTableDesc(baseScan);
+    int bucketNum = BucketSpec.get(baseDesc.getMeta()).getBucketNum();
+
+    // bucket id -> fragments of all scans
+    List<List<Fragment>> baseBuckets = new ArrayList<>(bucketNum);
+    List<List<Fragment>> otherBuckets = new ArrayList<>(bucketNum);
+    for (int i = 0; i < bucketNum; i++) {
+      baseBuckets.add(new ArrayList<>());
+      otherBuckets.add(new ArrayList<>());
+    }
+
+    for (ScanNode scan : scans) {
+      TableDesc desc = stage.getContext().getTableDesc(scan);
+      List<List<Fragment>> buckets =
+          scan.getCanonicalName().equals(baseScan.getCanonicalName()) ? baseBuckets : otherBuckets;
+      for (Fragment fragment : stage.getSplits(TablespaceManager.get(desc.getUri()), scan, desc)) {
+        if (fragment.isEmpty()) {
+          continue;
+        }
+
+        Path path = ((FileFragment) fragment).getPath();
+        int bucketId = BucketSpec.getBucketId(path);
+        if (bucketId < 0 || bucketId >= bucketNum) {
+          throw new IOException(path + " is not a bucket file of " + desc.getName()
+              + ", which is clustered into " + bucketNum + " buckets");
+        }
+        buckets.get(bucketId).add(fragment);
+      }
+    }
+
+    int taskNum = 0;
+    for (int i = 0; i < bucketNum; i++) {
+      List<Fragment> baseFragments = baseBuckets.get(i);
+      if (!baseFragments.isEmpty()) {
+        List<Fragment> rest = new ArrayList<>(baseFragments.subList(1, baseFragments.size()));
+        rest.addAll(otherBuckets.get(i));
+        Stage.scheduleFragment(stage, baseFragments.get(0), rest);
+        taskNum++;
+      }
+    }
+
+    if (taskNum == 0) {
+      // all buckets are empty
+      Stage.scheduleFragment(stage, new FileFragment(baseScan.getCanonicalName(),
+          new Path(baseDesc.getUri()), 0, 0, new String[]{UNKNOWN_HOST}));
+      taskNum = 1;
+    }
+
+    LOG.info(stage.getId() + ", " + taskNum + " of " + bucketNum + " buckets are scheduled without any shuffle");
+    schedulerContext.setEstimatedTaskNum(taskNum);
+  }
+
   private static void addJoinShuffle(Stage stage, int partitionId,
                                      Map<ExecutionBlockId, List<IntermediateEntry>> grouppedPartitions) {
     Map<String, List<FetchProto>> fetches = new HashMap<>();
@@ -24,6 +24,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.yarn.event.Event;
 import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.hadoop.yarn.state.*;
@@ -43,6 +44,7 @@ import org.apache.tajo.engine.planner.global.DataChannel;
 import org.apache.tajo.engine.planner.global.ExecutionBlock;
 import org.apache.tajo.engine.planner.global.MasterPlan;
 import org.apache.tajo.engine.planner.global.MasterPlan.ShuffleContext;
+import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.error.Errors.SerializedException;
 import org.apache.tajo.exception.ErrorUtil;
 import org.apache.tajo.exception.TajoException;
@@ -60,6 +62,7 @@ import org.apache.tajo.rpc.AsyncRpcClient;
 import org.apache.tajo.rpc.NullCallback;
 import org.apache.tajo.rpc.RpcClientManager;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
+import org.apache.tajo.storage.Tablespace;
 import org.apache.tajo.storage.TablespaceManager;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.unit.StorageUnit;
@@ -72,6 +75,7 @@ import org.apache.tajo.util.history.TaskHistory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.URI;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -108,6 +112,7 @@ public class Stage implements EventHandler<StageEvent> {
 
   private long startTime;
   private long finishTime;
+  private volatile long splitGenerationTime;
   private volatile long lastContactTime;
   private Thread timeoutChecker;
 
@@ -357,6 +362,26 @@ public class Stage implements EventHandler<StageEvent> {
     return this.finishTime;
   }
 
+  /**
+   * @return The total time in milliseconds spent to generate the splits of the scans in this stage
+   */
+  public long getSplitGenerationTime() {
+    return splitGenerationTime;
+  }
+
+  /**
+   * Generates the fragments of a scan in this stage, and accumulates the time spent on it.
+   */
+  public List<Fragment> getSplits(Tablespace tablespace, ScanNode scan, TableDesc table)
+      throws IOException, TajoException {
+    long start = System.currentTimeMillis();
+    try {
+      return SplitUtil.getSplits(tablespace, scan, table, false);
+    } finally {
+      splitGenerationTime += System.currentTimeMillis() - start;
+    }
+  }
+
   public float getTaskProgress() {
     readLock.lock();
     try {
@@ -459,6 +484,7 @@ public class Stage implements EventHandler<StageEvent> {
     stageHistory.setState(getState().toString());
     stageHistory.setStartTime(startTime);
     stageHistory.setFinishTime(finishTime);
+    stageHistory.setSplitGenerationTime(splitGenerationTime);
     stageHistory.setSucceededObjectCount(succeededObjectCount);
     stageHistory.setKilledObjectCount(killedObjectCount);
     stageHistory.setFailedObjectCount(failedObjectCount);
@@ -1086,7 +1112,9 @@ public class Stage implements EventHandler<StageEvent> {
     private static void schedule(Stage stage) throws IOException, TajoException {
       MasterPlan masterPlan = stage.getMasterPlan();
       ExecutionBlock execBlock = stage.getBlock();
-      if (stage.getMasterPlan().isLeaf(execBlock.getId()) && execBlock.getScanNodes().length == 1) { // Case 1: Just Scan
+      if (execBlock.isBucketAligned()) { // Case 0: Join or aggregation on bucketed tables
+        Repartitioner.scheduleFragmentsForBucketedTables(stage.schedulerContext, stage);
+      } else if (stage.getMasterPlan().isLeaf(execBlock.getId()) && execBlock.getScanNodes().length == 1) { // Case 1: Just Scan
         // Some execution blocks can have broadcast table even though they don't have any join nodes
         scheduleFragmentsForLeafQuery(stage);
       } else if (execBlock.getScanNodes().length > 1) { // Case 2: Join
@@ -1183,13 +1211,65 @@ public class Stage implements EventHandler<StageEvent> {
       ScanNode scan = scans[0];
       TableDesc table = stage.context.getTableDesc(scan);
 
-      Collection<Fragment> fragments = SplitUtil.getSplits(
-          TablespaceManager.get(scan.getTableDesc().getUri()), scan, table, false);
+      Collection<Fragment> fragments = stage.getSplits(
+          TablespaceManager.get(scan.getTableDesc().getUri()), scan, table);
       SplitUtil.preparePartitionScanPlanForSchedule(scan);
-      Stage.scheduleFragments(stage, fragments);
 
-      // The number of leaf tasks should be the number of fragments.
-      stage.schedulerContext.setEstimatedTaskNum(fragments.size());
+      if (stage.getContext().getQueryContext().containsKey(QueryVars.COMPACT_TABLE)) {
+        scheduleFragmentsForCompaction(stage, fragments);
+      } else {
+        Stage.scheduleFragments(stage, fragments);
+
+        // The number of leaf tasks should be the number of fragments.
+        stage.schedulerContext.setEstimatedTaskNum(fragments.size());
+      }
+    }
+
+    /**
+     * Coalesces the fragments of each directory into tasks whose input is up to the target file size of compaction,
+     * so that each task writes a single file of about the target size instead of one small file per input file.
+     * This only applies to the leaf stage storing a non-partitioned table. The rows of a partitioned table are
+     * shuffled before they are stored, and the file size is bounded there by the max output file size.
+     */
+    private static void scheduleFragmentsForCompaction(Stage stage, Collection<Fragment> fragments) {
+      QueryContext queryContext = stage.getContext().getQueryContext();
+      long targetSize = queryContext.getLong(SessionVars.COMPACTION_TARGET_FILE_SIZE) * StorageUnit.MB;
+
+      Map<Path, List<Fragment>> fragmentsByDir = new HashMap<>();
+      Set<URI> files = new HashSet<>();
+      for (Fragment fragment : fragments) {
+        Path dir = new Path(fragment.getUri()).getParent();
+        if (!fragmentsByDir.containsKey(dir)) {
+          fragmentsByDir.put(dir, new ArrayList<>());
+        }
+        fragmentsByDir.get(dir).add(fragment);
+        files.add(fragment.getUri());
+      }
+
+      int taskNum = 0;
+      for (List<Fragment> dirFragments : fragmentsByDir.values()) {
+        List<Fragment> bin = new ArrayList<>();
+        long binSize = 0;
+        for (Fragment fragment : dirFragments) {
+          if (!bin.isEmpty() && binSize + fragment.getLength() > targetSize) {
+            scheduleFragment(stage, bin.get(0), bin.subList(1, bin.size()));
+            taskNum++;
+            bin = new ArrayList<>();
+            binSize = 0;
+          }
+          bin.add(fragment);
+          binSize += fragment.getLength();
+        }
+        if (!bin.isEmpty()) {
+          scheduleFragment(stage, bin.get(0), bin.subList(1, bin.size()));
+          taskNum++;
+        }
+      }
+
+      queryContext.setInt(QueryVars.COMPACT_FILE_NUM_BEFORE, files.size());
+      LOG.info(stage.getId() + ", " + files.size() + " files of " + queryContext.get(QueryVars.COMPACT_TABLE)
+          + " are compacted by " + taskNum + " tasks");
+      stage.schedulerContext.setEstimatedTaskNum(taskNum);
     }
   }
 
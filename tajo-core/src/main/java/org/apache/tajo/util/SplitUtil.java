@@ -83,7 +83,8 @@ public class SplitUtil {
     List<Fragment> fragments = Lists.newArrayList();
     PartitionedTableScanNode partitionsScan = (PartitionedTableScanNode) scan;
     fragments.addAll(((FileTablespace) tsHandler).getSplits(
-        scan.getCanonicalName(), table.getMeta(), table.getSchema(), requireSort, partitionsScan.getInputPaths()));
+        scan.getCanonicalName(), table.getMeta(), table.getSchema(), requireSort, scan.getQual(),
+        partitionsScan.getInputPaths()));
     return fragments;
   }
 
@@ -37,6 +37,8 @@ public class StageHistory implements GsonObject {
   @Expose
   private long finishTime;
   @Expose
+  private long splitGenerationTime;
+  @Expose
   private int succeededObjectCount;
   @Expose
   private int failedObjectCount;
@@ -101,6 +103,14 @@ public class StageHistory implements GsonObject {
     this.finishTime = finishTime;
   }
 
+  public long getSplitGenerationTime() {
+    return splitGenerationTime;
+  }
+
+  public void setSplitGenerationTime(long splitGenerationTime) {
+    this.splitGenerationTime = splitGenerationTime;
+  }
+
   public int getSucceededObjectCount() {
     return succeededObjectCount;
   }
@@ -248,6 +258,7 @@ public class StageHistory implements GsonObject {
       .setState(state)
       .setStartTime(startTime)
       .setFinishTime(finishTime)
+      .setSplitGenerationTime(splitGenerationTime)
       .setSucceededObjectCount(succeededObjectCount)
       .setFailedObjectCount(failedObjectCount)
       .setKilledObjectCount(killedObjectCount)
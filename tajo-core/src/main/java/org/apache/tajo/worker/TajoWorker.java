@@ -18,6 +18,10 @@
 
 package org.apache.tajo.worker;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,6 +40,7 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.function.FunctionLoader;
 import org.apache.tajo.engine.function.hiveudf.HiveFunctionLoader;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
+import org.apache.tajo.metrics.MetricsUtil;
 import org.apache.tajo.metrics.Node;
 import org.apache.tajo.plan.function.python.PythonScriptEngine;
 import org.apache.tajo.pullserver.PullServerUtil;
@@ -50,6 +55,7 @@ import org.apache.tajo.rule.SelfDiagnosisRuleEngine;
 import org.apache.tajo.rule.SelfDiagnosisRuleSession;
 import org.apache.tajo.service.ServiceTracker;
 import org.apache.tajo.service.ServiceTrackerFactory;
+import org.apache.tajo.storage.FileFooterCache;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
 import org.apache.tajo.storage.OldStorageManager;
 import org.apache.tajo.util.*;
@@ -66,6 +72,8 @@ import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.tajo.conf.TajoConf.ConfVars;
@@ -214,6 +222,18 @@ public class TajoWorker extends CompositeService {
 
     workerSystemMetrics.register(Node.Tasks.RUNNING_TASKS,
         () -> taskExecutor != null ? taskExecutor.getRunningTasks() : 0);
+
+    final FileFooterCache footerCache = FileFooterCache.get(systemConf);
+    if (footerCache != null) {
+      final Map<String, Metric> metrics = new HashMap<>();
+      metrics.put("HITS", (Gauge<Long>) footerCache::getHitCount);
+      metrics.put("MISSES", (Gauge<Long>) footerCache::getMissCount);
+      metrics.put("EVICTIONS", (Gauge<Long>) footerCache::getEvictionCount);
+      metrics.put("ENTRIES", (Gauge<Long>) footerCache::getEntryCount);
+      metrics.put("BYTES", (Gauge<Long>) footerCache::getSize);
+      workerSystemMetrics.getRegistry().register(
+          MetricRegistry.name(MetricsUtil.getGroupName(Node.class), "FOOTERCACHE"), (MetricSet) () -> metrics);
+    }
   }
 
   private int initWebServer() {
@@ -27,6 +27,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.tajo.QueryVars;
 import org.apache.tajo.TajoProtos;
 import org.apache.tajo.TajoProtos.FetcherState;
 import org.apache.tajo.TajoProtos.TaskAttemptState;
@@ -147,8 +148,13 @@ public class TaskImpl implements Task {
         this.sortComp = new BaseTupleComparator(finalSchema, sortNode.getSortKeys());
       }
     } else {
-      Path outFilePath = ((FileTablespace) TablespaceManager.get(queryContext.getStagingDir().toUri()))
-          .getAppenderFilePath(getId(), queryContext.getStagingDir());
+      FileTablespace space = TablespaceManager.get(queryContext.getStagingDir().toUri());
+      Path outFilePath;
+      if (FileTablespace.isDirectOutput(queryContext)) {
+        outFilePath = space.getDirectOutputFilePath(getId(), new Path(queryContext.get(QueryVars.OUTPUT_TABLE_URI)));
+      } else {
+        outFilePath = space.getAppenderFilePath(getId(), queryContext.getStagingDir());
+      }
       LOG.info("Output File Path: " + outFilePath);
       context.setOutputPath(outFilePath);
     }
@@ -29,6 +29,7 @@ import org.apache.tajo.datum.*;
 import org.apache.tajo.exception.*;
 import org.apache.tajo.plan.algebra.BaseAlgebraVisitor;
 import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.plan.logical.GroupbyNode;
 import org.apache.tajo.plan.logical.NodeType;
 import org.apache.tajo.plan.logical.TableSubQueryNode;
 import org.apache.tajo.plan.nameresolver.NameResolver;
@@ -594,6 +595,10 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
 
     stack.pop(); // <--- Pop
 
+    if (expr.getSignature().equalsIgnoreCase("grouping") || expr.getSignature().equalsIgnoreCase("grouping_id")) {
+      return createGroupingFunction(ctx, givenArgs);
+    }
+
     if (!catalog.containFunction(expr.getSignature(), paramTypes)) {
       throw new UndefinedFunctionException(buildSimpleFunctionSignature(expr.getSignature(), paramTypes));
     }
@@ -639,6 +644,54 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
     }
   }
 
+  /**
+   * GROUPING(k1, k2, ...) returns a bit vector, where the bit for each given grouping key is set if the key is not
+   * included in the grouping set of the current row. It is rewritten to an arithmetic expression over the grouping id
+   * column computed by the group-by operator. If there are no grouping sets, it always returns 0.
+   */
+  private static EvalNode createGroupingFunction(Context ctx, EvalNode [] givenArgs) throws TajoException {
+    if (givenArgs.length == 0) {
+      throw makeSyntaxError("GROUPING requires at least one grouping key");
+    }
+    if (givenArgs.length >= Integer.SIZE - 1) {
+      throw makeSyntaxError("Too many arguments for GROUPING: " + givenArgs.length);
+    }
+
+    GroupbyNode groupbyNode = ctx.currentBlock.getNode(NodeType.GROUP_BY);
+    if (groupbyNode == null || !groupbyNode.hasGroupingSets()) {
+      return new ConstEval(DatumFactory.createInt4(0));
+    }
+
+    Column [] keys = groupbyNode.getGroupingColumns();
+    int keyNum = keys.length - 1; // except for the grouping id column
+    FieldEval groupingId = new FieldEval(groupbyNode.getGroupingIdColumn());
+
+    EvalNode result = null;
+    for (int i = 0; i < givenArgs.length; i++) {
+      int keyIdx = -1;
+      if (givenArgs[i].getType() == EvalType.FIELD) {
+        String name = ((FieldEval) givenArgs[i]).getColumnRef().getQualifiedName();
+        for (int j = 0; j < keyNum && keyIdx < 0; j++) {
+          if (keys[j].getQualifiedName().equals(name)) {
+            keyIdx = j;
+          }
+        }
+      }
+      if (keyIdx < 0) {
+        throw makeSyntaxError("Arguments of GROUPING must be grouping columns: " + givenArgs[i]);
+      }
+
+      // ((grouping_id / 2^(keyNum - 1 - keyIdx)) % 2) * 2^(argNum - 1 - i)
+      EvalNode bit = new BinaryEval(EvalType.MODULAR,
+          new BinaryEval(EvalType.DIVIDE, groupingId, new ConstEval(DatumFactory.createInt4(1 << (keyNum - 1 - keyIdx)))),
+          new ConstEval(DatumFactory.createInt4(2)));
+      EvalNode term = new BinaryEval(EvalType.MULTIPLY, bit,
+          new ConstEval(DatumFactory.createInt4(1 << (givenArgs.length - 1 - i))));
+      result = result == null ? term : new BinaryEval(EvalType.PLUS, result, term);
+    }
+    return result;
+  }
+
   @Override
   public EvalNode visitCountRowsFunction(Context ctx, Stack<Expr> stack, CountRowsFunctionExpr expr)
       throws TajoException {
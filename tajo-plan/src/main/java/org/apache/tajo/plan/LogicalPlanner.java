@@ -518,6 +518,9 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
 
       if (!groupbyNode.isEmptyGrouping()) { // it should be targets instead of
         int groupingKeyNum = groupbyNode.getGroupingColumns().length;
+        if (groupbyNode.hasGroupingSets()) { // the grouping id column is computed by the groupby itself
+          groupingKeyNum--;
+        }
 
         for (int i = 0; i < groupingKeyNum; i++) {
           Target target = groupbyNode.getTargets().get(i);
@@ -980,11 +983,15 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
     LogicalPlan plan = context.plan;
     QueryBlock block = context.queryBlock;
 
+    // Collect grouping keys and grouping sets from all grouping elements
+    List<Expr> groupingKeys = new ArrayList<>();
+    List<Integer> groupingSets = buildGroupingSets(aggregation.getGroupSet(), groupingKeys);
+
     // Normalize grouping keys and add normalized grouping keys to NamedExprManager
-    int groupingKeyNum = aggregation.getGroupSet()[0].getGroupingSets().length;
+    int groupingKeyNum = groupingKeys.size();
     ExprNormalizedResult [] normalizedResults = new ExprNormalizedResult[groupingKeyNum];
     for (int i = 0; i < groupingKeyNum; i++) {
-      Expr groupingKey = aggregation.getGroupSet()[0].getGroupingSets()[i];
+      Expr groupingKey = groupingKeys.get(i);
       normalizedResults[i] = normalizer.normalize(context, groupingKey);
     }
 
@@ -1008,10 +1015,14 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
 
     // Set grouping sets
     List<Column> groupingColumns = Lists.newArrayList();
-    for (String refName : groupingKeyRefNames) {
+    // the positions of grouping keys among effective grouping columns. -1 indicates a constant grouping key.
+    int [] effectiveKeyIds = new int[groupingKeyNum];
+    for (int i = 0; i < groupingKeyNum; i++) {
+      String refName = groupingKeyRefNames[i];
       if (context.getQueryBlock().isConstReference(refName)) {
-        continue;
+        effectiveKeyIds[i] = -1;
       } else if (block.namedExprsMgr.isEvaluated(refName)) {
+        effectiveKeyIds[i] = groupingColumns.size();
         groupingColumns.add(block.namedExprsMgr.getTarget(refName).getNamedColumn());
       } else {
         throw makeSyntaxError("Each grouping column expression must be a scalar expression.");
@@ -1019,7 +1030,12 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
     }
 
     int effectiveGroupingKeyNum = groupingColumns.size();
-    groupingNode.setGroupingColumns(groupingColumns.toArray(new Column[effectiveGroupingKeyNum]));
+    if (groupingSets != null) {
+      groupingNode.setGroupingIds(toGroupingIds(groupingSets, effectiveKeyIds, effectiveGroupingKeyNum));
+      // The grouping id column is computed by the group-by operator, and it distinguishes grouping sets.
+      groupingColumns.add(new Column(GroupbyNode.GROUPING_ID_COLUMN_NAME, Int4));
+    }
+    groupingNode.setGroupingColumns(groupingColumns.toArray(new Column[groupingColumns.size()]));
 
     ////////////////////////////////////////////////////////
     // Visit and Build Child Plan
@@ -1043,6 +1059,9 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
       } catch (UndefinedColumnException ve) {
       }
     }
+    if (includeDistinctFunction && groupingNode.hasGroupingSets()) {
+      throw new NotImplementedException("distinct aggregation with ROLLUP or CUBE");
+    }
     // if there is at least one distinct aggregation function
     groupingNode.setDistinct(includeDistinctFunction);
     groupingNode.setAggFunctions(aggEvalNodes);
@@ -1059,6 +1078,9 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
     for (int i = 0; i < effectiveGroupingKeyNum; i++) {
       targets.add(block.namedExprsMgr.getTarget(groupingNode.getGroupingColumns()[i].getQualifiedName()));
     }
+    if (groupingNode.hasGroupingSets()) {
+      targets.add(new Target(new FieldEval(groupingNode.getGroupingIdColumn())));
+    }
 
     for (int i = 0; i < aggEvalNodes.size(); i++) {
       targets.add(block.namedExprsMgr.getTarget(aggEvalNames.get(i)));
@@ -1071,6 +1093,108 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
     return groupingNode;
   }
 
+  /**
+   * It collects distinct grouping keys of all grouping elements into <code>groupingKeys</code>, and it builds
+   * grouping sets from ROLLUP and CUBE elements.
+   *
+   * @param groupElements Grouping elements of GROUP BY clause
+   * @param groupingKeys The list to be filled with distinct grouping keys
+   * @return The list of grouping sets, each of which is a bit set of included grouping keys. The i-th bit indicates
+   * the i-th grouping key. If all grouping elements are ordinary ones, it returns null.
+   */
+  private static List<Integer> buildGroupingSets(Aggregation.GroupElement [] groupElements, List<Expr> groupingKeys)
+      throws TajoException {
+    boolean hasGroupingSets = false;
+    for (Aggregation.GroupElement element : groupElements) {
+      for (Expr key : element.getGroupingSets()) {
+        if (!groupingKeys.contains(key)) {
+          groupingKeys.add(key);
+        }
+      }
+      hasGroupingSets |= element.getType() != Aggregation.GroupType.OrdinaryGroup;
+    }
+
+    if (!hasGroupingSets) {
+      return null;
+    }
+    if (groupingKeys.size() >= Integer.SIZE - 1) {
+      throw makeSyntaxError("Too many grouping keys for ROLLUP or CUBE: " + groupingKeys.size());
+    }
+
+    // Each grouping element produces a list of grouping sets, and their cross product is the final grouping sets.
+    Set<Integer> groupingSets = Sets.newLinkedHashSet();
+    groupingSets.add(0);
+    for (Aggregation.GroupElement element : groupElements) {
+      int [] keyBits = new int[element.getGroupingSets().length];
+      for (int i = 0; i < keyBits.length; i++) {
+        keyBits[i] = 1 << groupingKeys.indexOf(element.getGroupingSets()[i]);
+      }
+
+      List<Integer> elementSets = new ArrayList<>();
+      if (element.getType() == Aggregation.GroupType.Rollup) {
+        // ROLLUP (a, b, c) => (a, b, c), (a, b), (a), ()
+        for (int keyNum = keyBits.length; keyNum >= 0; keyNum--) {
+          int set = 0;
+          for (int i = 0; i < keyNum; i++) {
+            set |= keyBits[i];
+          }
+          elementSets.add(set);
+        }
+      } else if (element.getType() == Aggregation.GroupType.Cube) {
+        // CUBE (a, b) => (a, b), (a), (b), ()
+        for (int cuboid = (1 << keyBits.length) - 1; cuboid >= 0; cuboid--) {
+          int set = 0;
+          for (int i = 0; i < keyBits.length; i++) {
+            if ((cuboid & (1 << i)) != 0) {
+              set |= keyBits[i];
+            }
+          }
+          elementSets.add(set);
+        }
+      } else {
+        int set = 0;
+        for (int keyBit : keyBits) {
+          set |= keyBit;
+        }
+        elementSets.add(set);
+      }
+
+      Set<Integer> product = Sets.newLinkedHashSet();
+      for (int set : groupingSets) {
+        for (int elementSet : elementSets) {
+          product.add(set | elementSet);
+        }
+      }
+      groupingSets = product;
+    }
+
+    return new ArrayList<>(groupingSets);
+  }
+
+  /**
+   * It converts grouping sets to grouping ids over effective grouping columns, where constant grouping keys are
+   * eliminated. See {@link GroupbyNode#getGroupingIds()}.
+   */
+  private static int [] toGroupingIds(List<Integer> groupingSets, int [] effectiveKeyIds, int effectiveKeyNum) {
+    Set<Integer> groupingIds = Sets.newLinkedHashSet();
+    for (int set : groupingSets) {
+      int groupingId = 0;
+      for (int i = 0; i < effectiveKeyIds.length; i++) {
+        if (effectiveKeyIds[i] >= 0 && (set & (1 << i)) == 0) {
+          groupingId |= 1 << (effectiveKeyNum - 1 - effectiveKeyIds[i]);
+        }
+      }
+      groupingIds.add(groupingId);
+    }
+
+    int [] result = new int[groupingIds.size()];
+    int i = 0;
+    for (int groupingId : groupingIds) {
+      result[i++] = groupingId;
+    }
+    return result;
+  }
+
   private static final Column[] ALL= Lists.newArrayList().toArray(new Column[0]);
 
   public static List<Column[]> generateCuboids(Column[] columns) {
@@ -1968,6 +2092,7 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
         }
       }
 
+      verifyBucketSpec(expr, createTableNode);
       return createTableNode;
 
     } else { // if CREATE AN EMPTY TABLE
@@ -1982,10 +2107,42 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
         createTableNode.setExternal(true);
       }
 
+      verifyBucketSpec(expr, createTableNode);
       return createTableNode;
     }
   }
 
+  private static void verifyBucketSpec(CreateTable expr, CreateTableNode createTableNode) throws TajoException {
+    BucketSpec bucketSpec;
+    try {
+      bucketSpec = BucketSpec.get(createTableNode.getOptions());
+    } catch (IllegalArgumentException e) {
+      throw makeSyntaxError("Invalid bucket spec: " + e.getMessage());
+    }
+    if (bucketSpec == null) {
+      return;
+    }
+
+    if (expr.hasPartition()) {
+      throw makeSyntaxError("A partitioned table cannot be bucketed");
+    }
+    if (!PlannerUtil.isFileStorageType(createTableNode.getStorageType())) {
+      throw makeSyntaxError("Only a table on a file system can be bucketed");
+    }
+    if (createTableNode.hasTableSchema()) {
+      Schema tableSchema = createTableNode.getTableSchema();
+      List<String> columns = Lists.newArrayList(bucketSpec.getColumns());
+      columns.addAll(Arrays.asList(bucketSpec.getSortColumns()));
+      for (String column : columns) {
+        if (!tableSchema.containsByName(column)) {
+          throw makeSyntaxError("bucket column '" + column + "' does not exist");
+        }
+      }
+    } else {
+      throw makeSyntaxError("A table of a self-describing schema cannot be bucketed");
+    }
+  }
+
   /**
    * Return a table uri to be created
    *
@@ -27,6 +27,7 @@ import org.apache.tajo.plan.function.AggFunctionInvoke;
 import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.plan.function.FunctionInvokeContext;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.type.Type;
 import org.apache.tajo.util.TUtil;
 
@@ -41,6 +42,7 @@ public class AggregationFunctionCallEval extends FunctionEval implements Cloneab
 
   @Expose protected FunctionInvokeContext invokeContext;
   protected transient AggFunctionInvoke functionInvoke;
+  private transient Tuple partialParams;
 
   protected AggregationFunctionCallEval(EvalType type, FunctionDesc desc, EvalNode[] givenArgs) {
     super(type, desc, givenArgs);
@@ -67,6 +69,7 @@ public class AggregationFunctionCallEval extends FunctionEval implements Cloneab
         this.invokeContext.getScriptEngine().setLastPhase(lastPhase);
       }
       this.functionInvoke.init(invokeContext);
+      this.partialParams = new VTuple(1);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -81,6 +84,18 @@ public class AggregationFunctionCallEval extends FunctionEval implements Cloneab
     mergeParam(context, evalParams(tuple));
   }
 
+  /**
+   * Merge the intermediate result of <code>other</code> into <code>context</code>.
+   * Both contexts must be created by this function.
+   */
+  public void mergePartial(FunctionContext context, FunctionContext other) {
+    if (!isBound) {
+      throw new IllegalStateException("bind() must be called before mergePartial()");
+    }
+    partialParams.put(0, functionInvoke.getPartialResult(other));
+    functionInvoke.merge(context, partialParams);
+  }
+
   protected void mergeParam(FunctionContext context, Tuple params) {
     if (firstPhase) {
       // firstPhase
@@ -21,12 +21,16 @@ package org.apache.tajo.plan.expr;
 import com.google.common.base.Objects;
 import com.google.gson.annotations.Expose;
 import org.apache.tajo.DataTypeUtil;
+import org.apache.tajo.annotation.Nullable;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.exception.InvalidOperationException;
 import org.apache.tajo.storage.Tuple;
 
+import static org.apache.tajo.common.TajoDataTypes.Type.*;
 import static org.apache.tajo.type.Type.Bool;
 import static org.apache.tajo.type.Type.Text;
 
@@ -35,6 +39,19 @@ public class BinaryEval extends EvalNode implements Cloneable {
   @Expose protected EvalNode rightExpr;
   @Expose protected org.apache.tajo.type.Type returnType;
 
+  /**
+   * Operand domain in which this expression can be evaluated on primitive values without intermediate datums.
+   */
+  private enum PrimitiveDomain {
+    NONE,
+    BOOL,
+    INT4,
+    INT8,
+    FLOAT8
+  }
+
+  private transient PrimitiveDomain domain;
+
   protected BinaryEval(EvalType type) {
     super(type);
   }
@@ -115,10 +132,57 @@ public class BinaryEval extends EvalNode implements Cloneable {
     }
   }
 
+  @Override
+  public EvalNode bind(@Nullable EvalContext evalContext, Schema schema) {
+    super.bind(evalContext, schema);
+    domain = determinePrimitiveDomain();
+    return this;
+  }
+
+  private PrimitiveDomain determinePrimitiveDomain() {
+    if (leftExpr == null || rightExpr == null || leftExpr.getValueType() == null || rightExpr.getValueType() == null) {
+      return PrimitiveDomain.NONE;
+    }
+
+    TajoDataTypes.Type lhs = leftExpr.getValueType().kind();
+    TajoDataTypes.Type rhs = rightExpr.getValueType().kind();
+
+    if (type == EvalType.AND || type == EvalType.OR) {
+      return lhs == BOOLEAN && rhs == BOOLEAN ? PrimitiveDomain.BOOL : PrimitiveDomain.NONE;
+
+    } else if (EvalType.isComparisonOperator(type)) {
+      if (isIntegral(lhs) && isIntegral(rhs)) {
+        return PrimitiveDomain.INT8;
+      } else if ((isIntegral(lhs) || lhs == FLOAT8) && (isIntegral(rhs) || rhs == FLOAT8)) {
+        return PrimitiveDomain.FLOAT8;
+      }
+
+    } else if (EvalType.isArithmeticOperator(type)) {
+      // INT2 and FLOAT4 are excluded because their datums narrow intermediate results.
+      if (lhs == INT4 && rhs == INT4) {
+        return PrimitiveDomain.INT4;
+      } else if ((lhs == INT4 || lhs == INT8) && (rhs == INT4 || rhs == INT8)) {
+        return PrimitiveDomain.INT8;
+      } else if ((lhs == INT4 || lhs == INT8 || lhs == FLOAT8) && (rhs == INT4 || rhs == INT8 || rhs == FLOAT8)) {
+        return PrimitiveDomain.FLOAT8;
+      }
+    }
+
+    return PrimitiveDomain.NONE;
+  }
+
+  private static boolean isIntegral(TajoDataTypes.Type type) {
+    return type == INT2 || type == INT4 || type == INT8;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public Datum eval(Tuple tuple) {
     super.eval(tuple);
+    if (domain != PrimitiveDomain.NONE) {
+      return evalPrimitive(tuple);
+    }
+
     Datum lhs = leftExpr.eval(tuple);
     Datum rhs = rightExpr.eval(tuple);
 
@@ -162,6 +226,222 @@ public class BinaryEval extends EvalNode implements Cloneable {
     }
   }
 
+  /**
+   * Evaluates this expression through the typed evaluation methods, and then creates only a single result datum.
+   */
+  private Datum evalPrimitive(Tuple tuple) {
+    if (domain == PrimitiveDomain.BOOL || EvalType.isComparisonOperator(type)) {
+      boolean result = evalBool(tuple);
+      return wasNull ? NullDatum.get() : DatumFactory.createBool(result);
+    } else if (domain == PrimitiveDomain.INT4) {
+      long result = evalLong(tuple);
+      return wasNull ? NullDatum.get() : DatumFactory.createInt4((int) result);
+    } else if (domain == PrimitiveDomain.INT8) {
+      long result = evalLong(tuple);
+      return wasNull ? NullDatum.get() : DatumFactory.createInt8(result);
+    } else {
+      double result = evalDouble(tuple);
+      return wasNull ? NullDatum.get() : DatumFactory.createFloat8(result);
+    }
+  }
+
+  @Override
+  public boolean evalBool(Tuple tuple) {
+    super.eval(tuple);
+    if (domain == PrimitiveDomain.BOOL) {
+      return type == EvalType.AND ? evalAnd(tuple) : evalOr(tuple);
+    } else if (domain == PrimitiveDomain.INT8 && EvalType.isComparisonOperator(type)) {
+      long lhs = leftExpr.evalLong(tuple);
+      long rhs = rightExpr.evalLong(tuple);
+      wasNull = leftExpr.wasNull() || rightExpr.wasNull();
+      return !wasNull && compare(lhs, rhs);
+    } else if (domain == PrimitiveDomain.FLOAT8 && EvalType.isComparisonOperator(type)) {
+      double lhs = leftExpr.evalDouble(tuple);
+      double rhs = rightExpr.evalDouble(tuple);
+      wasNull = leftExpr.wasNull() || rightExpr.wasNull();
+      return !wasNull && compare(lhs, rhs);
+    } else {
+      return super.evalBool(tuple);
+    }
+  }
+
+  private boolean evalAnd(Tuple tuple) {
+    boolean lhs = leftExpr.evalBool(tuple);
+    boolean lhsNull = leftExpr.wasNull();
+    if (!lhs && !lhsNull) {
+      wasNull = false;
+      return false;
+    }
+
+    boolean rhs = rightExpr.evalBool(tuple);
+    boolean rhsNull = rightExpr.wasNull();
+    if (!rhs && !rhsNull) {
+      wasNull = false;
+      return false;
+    }
+
+    wasNull = lhsNull || rhsNull;
+    return !wasNull;
+  }
+
+  private boolean evalOr(Tuple tuple) {
+    boolean lhs = leftExpr.evalBool(tuple);
+    boolean lhsNull = leftExpr.wasNull();
+    if (lhs) {
+      wasNull = false;
+      return true;
+    }
+
+    boolean rhs = rightExpr.evalBool(tuple);
+    boolean rhsNull = rightExpr.wasNull();
+    if (rhs) {
+      wasNull = false;
+      return true;
+    }
+
+    wasNull = lhsNull || rhsNull;
+    return false;
+  }
+
+  private boolean compare(long lhs, long rhs) {
+    switch (type) {
+    case EQUAL:
+      return lhs == rhs;
+    case NOT_EQUAL:
+      return lhs != rhs;
+    case LTH:
+      return lhs < rhs;
+    case LEQ:
+      return lhs <= rhs;
+    case GTH:
+      return lhs > rhs;
+    case GEQ:
+      return lhs >= rhs;
+    default:
+      throw new InvalidOperationException("Unknown comparison operation: " + type);
+    }
+  }
+
+  // It follows the comparison semantics of Float8Datum, which regards NaN as equal to any value except for EQUAL.
+  private boolean compare(double lhs, double rhs) {
+    switch (type) {
+    case EQUAL:
+      return lhs == rhs;
+    case NOT_EQUAL:
+      return lhs < rhs || lhs > rhs;
+    case LTH:
+      return lhs < rhs;
+    case LEQ:
+      return !(lhs > rhs);
+    case GTH:
+      return lhs > rhs;
+    case GEQ:
+      return !(lhs < rhs);
+    default:
+      throw new InvalidOperationException("Unknown comparison operation: " + type);
+    }
+  }
+
+  @Override
+  public long evalLong(Tuple tuple) {
+    super.eval(tuple);
+    if ((domain != PrimitiveDomain.INT4 && domain != PrimitiveDomain.INT8) || !EvalType.isArithmeticOperator(type)) {
+      return super.evalLong(tuple);
+    }
+
+    long lhs = leftExpr.evalLong(tuple);
+    long rhs = rightExpr.evalLong(tuple);
+    wasNull = leftExpr.wasNull() || rightExpr.wasNull();
+    if (wasNull) {
+      return 0;
+    }
+
+    if (domain == PrimitiveDomain.INT4) {
+      return calculate((int) lhs, (int) rhs);
+    } else {
+      return calculate(lhs, rhs);
+    }
+  }
+
+  @Override
+  public double evalDouble(Tuple tuple) {
+    super.eval(tuple);
+    if (!EvalType.isArithmeticOperator(type)) {
+      return super.evalDouble(tuple);
+    } else if (domain == PrimitiveDomain.INT4 || domain == PrimitiveDomain.INT8) {
+      return evalLong(tuple);
+    } else if (domain != PrimitiveDomain.FLOAT8) {
+      return super.evalDouble(tuple);
+    }
+
+    double lhs = leftExpr.evalDouble(tuple);
+    double rhs = rightExpr.evalDouble(tuple);
+    wasNull = leftExpr.wasNull() || rightExpr.wasNull();
+    if (wasNull) {
+      return 0;
+    }
+
+    switch (type) {
+    case PLUS:
+      return lhs + rhs;
+    case MINUS:
+      return lhs - rhs;
+    case MULTIPLY:
+      return lhs * rhs;
+    case DIVIDE:
+      return rhs == 0.0 ? divideByZero() : lhs / rhs;
+    case MODULAR:
+      return rhs == 0.0 ? divideByZero() : lhs % rhs;
+    default:
+      throw new InvalidOperationException("Unknown arithmetic operation: " + type);
+    }
+  }
+
+  private int calculate(int lhs, int rhs) {
+    switch (type) {
+    case PLUS:
+      return lhs + rhs;
+    case MINUS:
+      return lhs - rhs;
+    case MULTIPLY:
+      return lhs * rhs;
+    case DIVIDE:
+      return rhs == 0 ? divideByZero() : lhs / rhs;
+    case MODULAR:
+      return rhs == 0 ? divideByZero() : lhs % rhs;
+    default:
+      throw new InvalidOperationException("Unknown arithmetic operation: " + type);
+    }
+  }
+
+  private long calculate(long lhs, long rhs) {
+    switch (type) {
+    case PLUS:
+      return lhs + rhs;
+    case MINUS:
+      return lhs - rhs;
+    case MULTIPLY:
+      return lhs * rhs;
+    case DIVIDE:
+      return rhs == 0 ? divideByZero() : lhs / rhs;
+    case MODULAR:
+      return rhs == 0 ? divideByZero() : lhs % rhs;
+    default:
+      throw new InvalidOperationException("Unknown arithmetic operation: " + type);
+    }
+  }
+
+  /**
+   * Division by zero results in NULL unless the arithmetic abort behavior is enabled, as numeric datums do.
+   */
+  private int divideByZero() {
+    if (Datum.isAbortWhenDivideByZero()) {
+      throw new ArithmeticException("/ by zero");
+    }
+    wasNull = true;
+    return 0;
+  }
+
   @Override
 	public String getName() {
 		return type.name();
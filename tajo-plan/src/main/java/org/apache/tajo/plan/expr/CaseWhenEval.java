@@ -223,7 +223,7 @@ public class CaseWhenEval extends EvalNode implements GsonObject {
     }
 
     public boolean checkIfCondition(Tuple tuple) {
-      return condition.eval(tuple).isTrue();
+      return condition.evalBool(tuple);
     }
 
     @Override
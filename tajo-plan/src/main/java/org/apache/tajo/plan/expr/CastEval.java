@@ -22,16 +22,22 @@ import com.google.gson.annotations.Expose;
 import org.apache.tajo.OverridableConf;
 import org.apache.tajo.annotation.Nullable;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.type.Type;
 
 import java.util.TimeZone;
 
+import static org.apache.tajo.common.TajoDataTypes.Type.*;
+
 public class CastEval extends UnaryEval implements Cloneable {
   @Expose private Type target;
   private TimeZone timezone;
+  // true if both the operand and the target are numeric types which can be cast on primitive values
+  private transient boolean primitive;
 
   public CastEval(OverridableConf context, EvalNode operand, Type target) {
     super(EvalType.CAST, operand);
@@ -57,13 +63,37 @@ public class CastEval extends UnaryEval implements Cloneable {
     if (evalContext != null) {
       timezone = evalContext.getTimeZone();
     }
-    return super.bind(evalContext, schema);
+    super.bind(evalContext, schema);
+    primitive = child.getValueType() != null && isPrimitiveNumber(child.getValueType().kind()) &&
+        (target.kind() == INT4 || target.kind() == INT8 || target.kind() == FLOAT8);
+    return this;
+  }
+
+  private static boolean isPrimitiveNumber(TajoDataTypes.Type type) {
+    return type == INT2 || type == INT4 || type == INT8 || type == FLOAT4 || type == FLOAT8;
+  }
+
+  private static boolean isIntegral(TajoDataTypes.Type type) {
+    return type == INT2 || type == INT4 || type == INT8;
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public Datum eval(Tuple tuple) {
     super.eval(tuple);
+    if (primitive) {
+      if (target.kind() == FLOAT8) {
+        double result = evalDouble(tuple);
+        return wasNull ? NullDatum.get() : DatumFactory.createFloat8(result);
+      } else {
+        long result = evalLong(tuple);
+        if (wasNull) {
+          return NullDatum.get();
+        }
+        return target.kind() == INT4 ? DatumFactory.createInt4((int) result) : DatumFactory.createInt8(result);
+      }
+    }
+
     Datum operandDatum = child.eval(tuple);
     if (operandDatum.isNull()) {
       return operandDatum;
@@ -72,6 +102,39 @@ public class CastEval extends UnaryEval implements Cloneable {
     return DatumFactory.cast(operandDatum, target, timezone);
   }
 
+  @Override
+  public long evalLong(Tuple tuple) {
+    super.eval(tuple);
+    if (!primitive || target.kind() == FLOAT8) {
+      return super.evalLong(tuple);
+    }
+
+    long result;
+    if (isIntegral(child.getValueType().kind())) {
+      long value = child.evalLong(tuple);
+      result = target.kind() == INT4 ? (int) value : value;
+    } else {
+      double value = child.evalDouble(tuple);
+      result = target.kind() == INT4 ? (int) value : (long) value;
+    }
+    wasNull = child.wasNull();
+    return wasNull ? 0 : result;
+  }
+
+  @Override
+  public double evalDouble(Tuple tuple) {
+    super.eval(tuple);
+    if (!primitive) {
+      return super.evalDouble(tuple);
+    } else if (target.kind() != FLOAT8) {
+      return evalLong(tuple);
+    }
+
+    double result = child.evalDouble(tuple);
+    wasNull = child.wasNull();
+    return wasNull ? 0 : result;
+  }
+
   public String toString() {
     return "CAST (" + child + " AS " + target + ")";
   }
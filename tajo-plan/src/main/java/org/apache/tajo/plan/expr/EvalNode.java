@@ -38,6 +38,8 @@ public abstract class EvalNode implements Cloneable, GsonObject, ProtoObject<Pla
   @Expose
   protected EvalType type;
   protected transient boolean isBound;
+  // set by the typed evaluation methods when the last evaluated value was NULL
+  protected transient boolean wasNull;
 
   public EvalNode() {
   }
@@ -78,6 +80,54 @@ public abstract class EvalNode implements Cloneable, GsonObject, ProtoObject<Pla
     return null;
   }
 
+  /**
+   * Evaluates this expression as a boolean value without creating an intermediate datum where possible.
+   * If the result is NULL, it returns false and {@link #wasNull()} returns true. Like {@link Datum#isTrue()},
+   * it returns false for a result which is not of the boolean type.
+   */
+  public boolean evalBool(Tuple tuple) {
+    Datum result = eval(tuple);
+    wasNull = result.isNull();
+    return !wasNull && result.isTrue();
+  }
+
+  /**
+   * Evaluates this expression as a long value. It is valid only for expressions of integral types.
+   * If the result is NULL, it returns 0 and {@link #wasNull()} returns true.
+   */
+  public long evalLong(Tuple tuple) {
+    Datum result = eval(tuple);
+    wasNull = result.isNull();
+    return wasNull ? 0 : result.asInt8();
+  }
+
+  /**
+   * Evaluates this expression as a double value. It is valid only for expressions of numeric types.
+   * If the result is NULL, it returns 0 and {@link #wasNull()} returns true.
+   */
+  public double evalDouble(Tuple tuple) {
+    Datum result = eval(tuple);
+    wasNull = result.isNull();
+    return wasNull ? 0 : result.asFloat8();
+  }
+
+  /**
+   * Evaluates this expression as a byte array.
+   * If the result is NULL, it returns null and {@link #wasNull()} returns true.
+   */
+  public byte[] evalBytes(Tuple tuple) {
+    Datum result = eval(tuple);
+    wasNull = result.isNull();
+    return wasNull ? null : result.asByteArray();
+  }
+
+  /**
+   * @return True if the value returned by the last call of a typed evaluation method was NULL.
+   */
+  public boolean wasNull() {
+    return wasNull;
+  }
+
   @Deprecated
   public abstract void preOrder(EvalNodeVisitor visitor);
 
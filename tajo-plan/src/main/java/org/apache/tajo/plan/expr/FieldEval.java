@@ -22,6 +22,7 @@ import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.FieldConverter;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TypeConverter;
+import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.schema.Field;
@@ -75,6 +76,60 @@ public class FieldEval extends EvalNode implements Cloneable {
 	  return tuple.asDatum(fieldId);
   }
 
+  @Override
+  public boolean evalBool(Tuple tuple) {
+    if (field.type().kind() != TajoDataTypes.Type.BOOLEAN) {
+      return super.evalBool(tuple);
+    }
+    super.eval(tuple);
+    wasNull = tuple.isBlankOrNull(fieldId);
+    return !wasNull && tuple.getBool(fieldId);
+  }
+
+  @Override
+  public long evalLong(Tuple tuple) {
+    super.eval(tuple);
+    wasNull = tuple.isBlankOrNull(fieldId);
+    if (wasNull) {
+      return 0;
+    }
+
+    switch (field.type().kind()) {
+    case INT2:
+      return tuple.getInt2(fieldId);
+    case INT4:
+      return tuple.getInt4(fieldId);
+    case INT8:
+      return tuple.getInt8(fieldId);
+    default:
+      return super.evalLong(tuple);
+    }
+  }
+
+  @Override
+  public double evalDouble(Tuple tuple) {
+    super.eval(tuple);
+    wasNull = tuple.isBlankOrNull(fieldId);
+    if (wasNull) {
+      return 0;
+    }
+
+    switch (field.type().kind()) {
+    case INT2:
+      return tuple.getInt2(fieldId);
+    case INT4:
+      return tuple.getInt4(fieldId);
+    case INT8:
+      return tuple.getInt8(fieldId);
+    case FLOAT4:
+      return tuple.getFloat4(fieldId);
+    case FLOAT8:
+      return tuple.getFloat8(fieldId);
+    default:
+      return super.evalDouble(tuple);
+    }
+  }
+
   @Override
 	public Type getValueType() {
 		return field.type();
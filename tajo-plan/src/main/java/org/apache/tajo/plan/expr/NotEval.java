@@ -46,6 +46,14 @@ public class NotEval extends UnaryEval implements Cloneable {
     return !datum.isNull() ? DatumFactory.createBool(!datum.asBool()) : datum;
   }
 
+  @Override
+  public boolean evalBool(Tuple tuple) {
+    super.eval(tuple);
+    boolean result = child.evalBool(tuple);
+    wasNull = child.wasNull();
+    return !wasNull && !result;
+  }
+
   @Override
   public String toString() {
     return "NOT " + child.toString();
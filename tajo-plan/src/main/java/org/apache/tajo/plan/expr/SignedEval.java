@@ -20,6 +20,7 @@ package org.apache.tajo.plan.expr;
 
 import com.google.common.base.Objects;
 import com.google.gson.annotations.Expose;
+import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.NumericDatum;
 import org.apache.tajo.storage.Tuple;
@@ -58,6 +59,25 @@ public class SignedEval extends UnaryEval implements Cloneable {
     return result;
   }
 
+  @Override
+  public long evalLong(Tuple tuple) {
+    super.eval(tuple);
+    long result = child.evalLong(tuple);
+    wasNull = child.wasNull();
+    if (wasNull || !negative) {
+      return result;
+    }
+    return child.getValueType().kind() == TajoDataTypes.Type.INT4 ? -(int) result : -result;
+  }
+
+  @Override
+  public double evalDouble(Tuple tuple) {
+    super.eval(tuple);
+    double result = child.evalDouble(tuple);
+    wasNull = child.wasNull();
+    return negative && !wasNull ? -result : result;
+  }
+
   @Override
   public String toString() {
     return (negative ? "-" : "+") + child.toString();
@@ -34,8 +34,17 @@ import java.util.List;
 import java.util.Objects;
 
 public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
+  /** The name of the grouping id column which is appended to grouping keys for grouping sets */
+  public static final String GROUPING_ID_COLUMN_NAME = "?grouping_id";
+
   /** Grouping key sets */
   @Expose private Column [] groupingKeys = PlannerUtil.EMPTY_COLUMNS;
+  /**
+   * Grouping sets (i.e., ROLLUP and CUBE), each of which is identified by its grouping id.
+   * The i-th bit from the most significant one of a grouping id is set if the i-th grouping key is not included in
+   * the grouping set. If grouping sets exist, the last grouping key is the grouping id column.
+   */
+  @Expose private int [] groupingIds = null;
   /** Aggregation Functions */
   @Expose private List<AggregationFunctionCallEval> aggrFunctions = PlannerUtil.EMPTY_AGG_FUNCS;
   /**
@@ -69,6 +78,26 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
 	  return this.groupingKeys;
 	}
 
+  public boolean hasGroupingSets() {
+    return groupingIds != null;
+  }
+
+  public void setGroupingIds(int [] groupingIds) {
+    this.groupingIds = groupingIds;
+  }
+
+  public int [] getGroupingIds() {
+    return groupingIds;
+  }
+
+  /**
+   * @return The grouping id column. It is valid only if this node has grouping sets.
+   */
+  public Column getGroupingIdColumn() {
+    Preconditions.checkState(hasGroupingSets(), "No grouping sets");
+    return groupingKeys[groupingKeys.length - 1];
+  }
+
   public final boolean isDistinct() {
     return hasDistinct;
   }
@@ -128,6 +157,10 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
       sb.append("grouping set=").append(StringUtils.join(groupingKeys));
       sb.append(", ");
     }
+    if (hasGroupingSets()) {
+      sb.append("grouping ids=").append(Arrays.toString(groupingIds));
+      sb.append(", ");
+    }
     if (hasAggFunctions()) {
       sb.append("funcs=").append(StringUtils.join(aggrFunctions));
     }
@@ -141,6 +174,7 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
     int result = 1;
     result = prime * result + Objects.hashCode(aggrFunctions);
     result = prime * result + Arrays.hashCode(groupingKeys);
+    result = prime * result + Arrays.hashCode(groupingIds);
     result = prime * result + (hasDistinct ? 1231 : 1237);
     result = prime * result + Objects.hashCode(targets);
     return result;
@@ -153,6 +187,7 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
       boolean eq = super.equals(other);
       eq = eq && isDistinct() == other.isDistinct();
       eq = eq && TUtil.checkEquals(groupingKeys, other.groupingKeys);
+      eq = eq && Arrays.equals(groupingIds, other.groupingIds);
       eq = eq && TUtil.checkEquals(aggrFunctions, other.aggrFunctions);
       eq = eq && TUtil.checkEquals(targets, other.targets);
       return eq;
@@ -169,6 +204,10 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
       System.arraycopy(groupingKeys, 0, grp.groupingKeys, 0, groupingKeys.length);
     }
 
+    if (groupingIds != null) {
+      grp.groupingIds = Arrays.copyOf(groupingIds, groupingIds.length);
+    }
+
     if (aggrFunctions != null) {
       grp.aggrFunctions = new ArrayList<>();
       for (int i = 0; i < aggrFunctions.size(); i++) {
@@ -261,6 +300,10 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
       planStr.appendExplain("exprs: ").appendExplain(sb.toString());
     }
 
+    if (hasGroupingSets()) {
+      planStr.addExplan("grouping ids: " + Arrays.toString(groupingIds));
+    }
+
     sb = new StringBuilder("target list: ");
     for (int i = 0; i < targets.size(); i++) {
       sb.append(targets.get(i));
@@ -880,9 +880,17 @@ public class FilterPushDownRule extends BasicLogicalPlanVisitor<FilterPushDownCo
     }
 
     List<EvalNode> notMatched = new ArrayList<>();
-    // transform
-    Map<EvalNode, EvalNode> transformed =
-        findCanPushdownAndTransform(context, block, groupbyNode,groupbyNode.getChild(), notMatched, null, 0);
+    Map<EvalNode, EvalNode> transformed;
+    if (groupbyNode.hasGroupingSets()) {
+      // A filter on grouping keys cannot be pushed down below ROLLUP or CUBE
+      // because it would change the aggregation results of coarser grouping sets.
+      notMatched.addAll(context.pushingDownFilters);
+      transformed = new HashMap<>();
+    } else {
+      // transform
+      transformed =
+          findCanPushdownAndTransform(context, block, groupbyNode,groupbyNode.getChild(), notMatched, null, 0);
+    }
 
     context.setFiltersTobePushed(transformed.keySet());
     LogicalNode current = super.visitGroupBy(context, plan, block, groupbyNode, stack);
@@ -43,6 +43,7 @@ import org.apache.tajo.plan.rewrite.LogicalPlanRewriteRuleContext;
 import org.apache.tajo.plan.util.EvalNodeToExprConverter;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.plan.visitor.BasicLogicalPlanVisitor;
+import org.apache.tajo.storage.FileMetadataCache;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.schema.IdentifierUtil;
 import org.apache.tajo.storage.Tuple;
@@ -50,6 +51,7 @@ import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.util.StringUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.Stack;
@@ -148,6 +150,7 @@ public class PartitionedTableRewriter implements LogicalPlanRewriteRule {
 
     Path [] filteredPaths = null;
     FileSystem fs = tablePath.getFileSystem(queryContext.getConf());
+    FileMetadataCache cache = FileMetadataCache.get(queryContext.getConf(), fs);
     String [] splits = IdentifierUtil.splitFQTableName(tableName);
     List<PartitionDescProto> partitions = null;
 
@@ -155,7 +158,7 @@ public class PartitionedTableRewriter implements LogicalPlanRewriteRule {
       if (conjunctiveForms == null) {
         partitions = catalog.getPartitionsOfTable(splits[0], splits[1]);
         if (partitions.isEmpty()) {
-          filteredPaths = findFilteredPathsFromFileSystem(partitionColumns, conjunctiveForms, fs, tablePath);
+          filteredPaths = findFilteredPathsFromFileSystem(partitionColumns, conjunctiveForms, fs, cache, tablePath);
         } else {
           filteredPaths = findFilteredPathsByPartitionDesc(partitions);
         }
@@ -165,7 +168,7 @@ public class PartitionedTableRewriter implements LogicalPlanRewriteRule {
           partitions = catalog.getPartitionsByAlgebra(request);
           filteredPaths = findFilteredPathsByPartitionDesc(partitions);
         } else {
-          filteredPaths = findFilteredPathsFromFileSystem(partitionColumns, conjunctiveForms, fs, tablePath);
+          filteredPaths = findFilteredPathsFromFileSystem(partitionColumns, conjunctiveForms, fs, cache, tablePath);
         }
       }
     } catch (UnsupportedException ue) {
@@ -174,7 +177,7 @@ public class PartitionedTableRewriter implements LogicalPlanRewriteRule {
       LOG.warn(ue.getMessage());
       partitions = catalog.getPartitionsOfTable(splits[0], splits[1]);
       if (partitions.isEmpty()) {
-        filteredPaths = findFilteredPathsFromFileSystem(partitionColumns, conjunctiveForms, fs, tablePath);
+        filteredPaths = findFilteredPathsFromFileSystem(partitionColumns, conjunctiveForms, fs, cache, tablePath);
       } else {
         filteredPaths = findFilteredPathsByPartitionDesc(partitions);
       }
@@ -208,12 +211,14 @@ public class PartitionedTableRewriter implements LogicalPlanRewriteRule {
    * @param partitionColumns
    * @param conjunctiveForms
    * @param fs
+   * @param cache The metadata cache to look up listings, or null if it is disabled
    * @param tablePath
    * @return
    * @throws IOException
    */
   private Path [] findFilteredPathsFromFileSystem(Schema partitionColumns, EvalNode [] conjunctiveForms,
-                                                  FileSystem fs, Path tablePath) throws IOException{
+                                                  FileSystem fs, @Nullable FileMetadataCache cache, Path tablePath)
+      throws IOException{
     Path [] filteredPaths = null;
     PathFilter [] filters;
 
@@ -224,15 +229,36 @@ public class PartitionedTableRewriter implements LogicalPlanRewriteRule {
     }
 
     // loop from one to the number of partition columns
-    filteredPaths = toPathArray(fs.listStatus(tablePath, filters[0]));
+    filteredPaths = toPathArray(listStatus(fs, cache, new Path[] {tablePath}, filters[0]));
 
     for (int i = 1; i < partitionColumns.size(); i++) {
       // Get all file status matched to a ith level path filter.
-      filteredPaths = toPathArray(fs.listStatus(filteredPaths, filters[i]));
+      filteredPaths = toPathArray(listStatus(fs, cache, filteredPaths, filters[i]));
     }
     return filteredPaths;
   }
 
+  /**
+   * Lists the files accepted by a filter in the given directories. The listings are cached across queries
+   * if the metadata cache is enabled.
+   */
+  private static FileStatus [] listStatus(FileSystem fs, @Nullable FileMetadataCache cache, Path [] dirs,
+                                          PathFilter filter) throws IOException {
+    if (cache == null) {
+      return fs.listStatus(dirs, filter);
+    }
+
+    List<FileStatus> result = new ArrayList<>();
+    for (Path dir : dirs) {
+      for (FileStatus status : cache.list(fs, dir).getFiles()) {
+        if (filter.accept(status.getPath())) {
+          result.add(status);
+        }
+      }
+    }
+    return result.toArray(new FileStatus[result.size()]);
+  }
+
   /**
    * Build algebra expressions for querying partitions and partition keys by using EvalNodeToExprConverter.
    *
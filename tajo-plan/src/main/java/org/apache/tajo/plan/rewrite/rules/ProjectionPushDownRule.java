@@ -723,7 +723,9 @@ public class ProjectionPushDownRule extends
       // Getting grouping key names
       if (groupingKeyNum > 0) {
         groupingKeyNames = Sets.newLinkedHashSet();
-        for (int i = 0; i < groupingKeyNum; i++) {
+        // the grouping id column is computed by the groupby node itself, so it is not required to the child.
+        int childKeyNum = node.hasGroupingSets() ? groupingKeyNum - 1 : groupingKeyNum;
+        for (int i = 0; i < childKeyNum; i++) {
           FieldEval fieldEval = new FieldEval(node.getGroupingColumns()[i]);
           groupingKeyNames.add(newContext.addExpr(fieldEval));
         }
@@ -788,6 +790,12 @@ public class ProjectionPushDownRule extends
         }
       }
 
+      if (node.hasGroupingSets()) {
+        Column groupingIdColumn = node.getGroupingIdColumn();
+        groupingColumns.add(groupingIdColumn);
+        targets.add(new Target(new FieldEval(groupingIdColumn)));
+      }
+
       node.setGroupingColumns(groupingColumns.toArray(new Column[groupingColumns.size()]));
     }
 
@@ -308,6 +308,13 @@ public class LogicalNodeDeserializer {
     if (groupbyProto.getTargetsCount() > 0) {
       groupby.setTargets(convertTargets(context, evalContext, groupbyProto.getTargetsList()));
     }
+    if (groupbyProto.getGroupingIdsCount() > 0) {
+      int [] groupingIds = new int[groupbyProto.getGroupingIdsCount()];
+      for (int i = 0; i < groupingIds.length; i++) {
+        groupingIds[i] = groupbyProto.getGroupingIds(i);
+      }
+      groupby.setGroupingIds(groupingIds);
+    }
 
     groupby.setInSchema(convertSchema(protoNode.getInSchema()));
     groupby.setOutSchema(convertSchema(protoNode.getOutSchema()));
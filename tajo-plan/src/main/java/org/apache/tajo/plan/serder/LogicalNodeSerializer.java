@@ -298,6 +298,11 @@ public class LogicalNodeSerializer extends BasicLogicalPlanVisitor<LogicalNodeSe
     if (node.hasTargets()) {
       groupbyBuilder.addAllTargets(ProtoUtil.<PlanProto.Target>toProtoObjects(node.getTargets().toArray(new ProtoObject[node.getTargets().size()])));
     }
+    if (node.hasGroupingSets()) {
+      for (int groupingId : node.getGroupingIds()) {
+        groupbyBuilder.addGroupingIds(groupingId);
+      }
+    }
 
     PlanProto.LogicalNode.Builder nodeBuilder = createNodeBuilder(context, node);
     nodeBuilder.setGroupby(groupbyBuilder);
@@ -117,9 +117,9 @@ public class PreLogicalPlanVerifier extends BaseAlgebraVisitor<PreLogicalPlanVer
   public Expr visitGroupBy(Context context, Stack<Expr> stack, Aggregation expr) throws TajoException {
     super.visitGroupBy(context, stack, expr);
 
-    // Enforcer only ordinary grouping set.
+    // Enforcer only ordinary grouping set, ROLLUP, and CUBE.
     for (Aggregation.GroupElement groupingElement : expr.getGroupSet()) {
-      if (groupingElement.getType() != Aggregation.GroupType.OrdinaryGroup) {
+      if (groupingElement.getType() == Aggregation.GroupType.EmptySet) {
         context.state.addVerification(ExceptionUtil.makeNotSupported(groupingElement.getType().name()));
       }
     }
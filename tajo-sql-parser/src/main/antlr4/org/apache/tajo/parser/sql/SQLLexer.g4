@@ -200,14 +200,17 @@ ADD: A D D;
 ALTER : A L T E R;
 
 BETWEEN : B E T W E E N;
+BUCKETS : B U C K E T S;
 BY : B Y;
 
 CATALOG : C A T A L O G;
 CENTURY : C E N T U R Y;
 CHARACTER : C H A R A C T E R;
+CLUSTERED : C L U S T E R E D;
 COLLECT : C O L L E C T;
 COALESCE : C O A L E S C E;
 COLUMN : C O L U M N;
+COMPACT : C O M P A C T;
 COUNT : C O U N T;
 CUBE : C U B E;
 CUME_DIST : C U M E UNDERLINE D I S T;
@@ -301,6 +304,7 @@ SECOND : S E C O N D;
 SESSION : S E S S I O N;
 SET : S E T;
 SIMILAR : S I M I L A R;
+SORTED : S O R T E D;
 STDDEV_POP : S T D D E V UNDERLINE P O P;
 STDDEV_SAMP : S T D D E V UNDERLINE S A M P;
 SUBPARTITION : S U B P A R T I T I O N;
@@ -107,11 +107,11 @@ if_exists
 
 create_table_statement
   : CREATE EXTERNAL TABLE (if_not_exists)? table_name table_elements (TABLESPACE spacename=identifier)? USING storage_type=identifier
-    (param_clause)? (table_partitioning_clauses)? (LOCATION uri=Character_String_Literal)?
+    (param_clause)? (table_partitioning_clauses)? (table_bucketing_clause)? (LOCATION uri=Character_String_Literal)?
   | CREATE TABLE (if_not_exists)? table_name table_elements (TABLESPACE spacename=identifier)? (USING storage_type=identifier)?
-    (param_clause)? (table_partitioning_clauses)? (AS query_expression)?
+    (param_clause)? (table_partitioning_clauses)? (table_bucketing_clause)? (AS query_expression)?
   | CREATE TABLE (if_not_exists)? table_name (TABLESPACE spacename=identifier)? (USING storage_type=identifier)?
-    (param_clause)? (table_partitioning_clauses)? AS query_expression
+    (param_clause)? (table_partitioning_clauses)? (table_bucketing_clause)? AS query_expression
   | CREATE TABLE (if_not_exists)? table_name LIKE like_table_name=table_name
   ;
 
@@ -201,6 +201,12 @@ column_partitions
   : PARTITION BY COLUMN table_elements
   ;
 
+table_bucketing_clause
+  : CLUSTERED BY LEFT_PAREN bucket_columns=column_reference_list RIGHT_PAREN
+    (SORTED BY LEFT_PAREN sort_columns=column_reference_list RIGHT_PAREN)?
+    INTO bucket_num=NUMBER BUCKETS
+  ;
+
 partition_name
   : identifier
   ;
@@ -238,13 +244,16 @@ nonreserved_keywords
   | AVG
   | ALTER
   | BETWEEN
+  | BUCKETS
   | BY
   | CATALOG
   | CENTURY
   | CHARACTER
+  | CLUSTERED
   | COALESCE
   | COLLECT
   | COLUMN
+  | COMPACT
   | COUNT
   | CUBE
   | CUME_DIST
@@ -319,6 +328,7 @@ nonreserved_keywords
   | SET
   | SESSION
   | SIMILAR
+  | SORTED
   | STDDEV_POP
   | STDDEV_SAMP
   | SUBPARTITION
@@ -1630,6 +1640,7 @@ alter_table_statement
   | ALTER TABLE table_name SET PROPERTY property_list
   | ALTER TABLE table_name UNSET PROPERTY property_key_list
   | ALTER TABLE table_name REPAIR PARTITION
+  | ALTER TABLE table_name COMPACT (PARTITION LEFT_PAREN partition_column_value_list RIGHT_PAREN)?
   ;
 
 partition_column_value_list
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.tajo.tuple.vector.ColumnBatch;
+
+import java.io.IOException;
+
+/**
+ * A scanner which can return rows as column batches.
+ *
+ * A ColumnBatchScanner may not support the batch mode for every schema, so callers should check
+ * {@link #isColumnBatchSupported()} after init(). next() and nextBatch() should not be mixed in a scan.
+ */
+public interface ColumnBatchScanner extends Scanner {
+
+  /**
+   * @return true if nextBatch() can be called. It is valid only after init().
+   */
+  boolean isColumnBatchSupported();
+
+  /**
+   * It returns the next batch of projected columns. If the scanner is selectable and has a filter,
+   * only the rows satisfying the filter are selected in the batch.
+   *
+   * @return A column batch which is reused by the next call, or null if there are no more rows.
+   * @throws IOException if internal I/O error occurs
+   */
+  ColumnBatch nextBatch() throws IOException;
+}
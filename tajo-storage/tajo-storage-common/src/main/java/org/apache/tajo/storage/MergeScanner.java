@@ -47,6 +47,7 @@ public class MergeScanner implements Scanner {
   private boolean projectable = false;
   private boolean selectable = false;
   private Schema target;
+  private EvalNode filter;
   private float progress;
   protected TableStats tableStats;
 
@@ -114,6 +115,9 @@ public class MergeScanner implements Scanner {
         if (scannerTableStsts != null) {
           tableStats.setReadBytes(tableStats.getReadBytes() + scannerTableStsts.getReadBytes());
           tableStats.setNumRows(tableStats.getNumRows() + scannerTableStsts.getNumRows());
+          if (scannerTableStsts.getSkippedBytes() != null) {
+            tableStats.setSkippedBytes(tableStats.getSkippedBytes() + scannerTableStsts.getSkippedBytes());
+          }
         }
         currentScanner = null;
       }
@@ -137,6 +141,9 @@ public class MergeScanner implements Scanner {
     if (iterator.hasNext()) {
       currentFragment = iterator.next();
       currentScanner = TablespaceManager.getLocalFs().getScanner(meta, schema, currentFragment, target);
+      if (filter != null) {
+        currentScanner.setFilter(filter);
+      }
       currentScanner.init();
       return currentScanner;
     } else {
@@ -176,7 +183,14 @@ public class MergeScanner implements Scanner {
 
   @Override
   public void setFilter(EvalNode filter) {
-    throw new TajoRuntimeException(new UnsupportedException());
+    if (!selectable) {
+      throw new TajoRuntimeException(new UnsupportedException());
+    }
+    this.filter = filter;
+    if (filter != null) {
+      // the first scanner has been already initialized without the filter
+      reset();
+    }
   }
 
   @Override
@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.buffer.ByteBuf;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReadAheadInputChannel prefetches the next buffers of a channel on a shared I/O thread pool,
+ * so a scan thread can decode the current buffer while the following ones are being read.
+ *
+ * Buffers are prefetched only within the read-ahead range, which is usually a fragment. Bytes out of the range,
+ * such as a file header or the rest of the last line of a text fragment, are read synchronously.
+ */
+public final class ReadAheadInputChannel extends SeekableInputChannel {
+  /** The number of buffers read ahead. 0 disables the read-ahead. */
+  public static final String READ_AHEAD_DEPTH = "tajo.storage.io.read-ahead.depth";
+  public static final int DEFAULT_READ_AHEAD_DEPTH = 2;
+  /** The number of threads shared by all read-ahead channels of a process */
+  public static final String READ_AHEAD_THREADS = "tajo.storage.io.read-ahead.threads";
+  public static final int DEFAULT_READ_AHEAD_THREADS = 8;
+
+  private static ExecutorService ioPool;
+
+  private final SeekableInputChannel channel;
+  private final ExecutorService executor;
+  private final int bufferSize;
+  private final int depth;
+  private final long readAheadStart;
+  private final long readAheadLimit;
+
+  private final Deque<Chunk> pending = new ArrayDeque<>();
+  private final Deque<ByteBuf> freeBuffers = new ArrayDeque<>();
+  private Chunk current;
+
+  // the position of the next byte returned by read()
+  private long position;
+  // the position of the next byte to be prefetched
+  private long fetchPosition;
+
+  private long blockedNanos;
+  private long blockedReads;
+  private long fetchedChunks;
+
+  /**
+   * Wraps a channel with a read-ahead channel if the read-ahead is enabled.
+   *
+   * @param channel A channel to be read
+   * @param bufferSize The size of each prefetched buffer
+   * @param readAheadStart The position where the read-ahead starts
+   * @param readAheadLimit The position where the read-ahead stops
+   */
+  public static SeekableInputChannel wrap(Configuration conf, SeekableInputChannel channel, int bufferSize,
+                                          long readAheadStart, long readAheadLimit) throws IOException {
+    int depth = conf.getInt(READ_AHEAD_DEPTH, DEFAULT_READ_AHEAD_DEPTH);
+    if (depth <= 0 || bufferSize <= 0) {
+      return channel;
+    }
+    return new ReadAheadInputChannel(channel, getIOPool(conf), bufferSize, depth, readAheadStart, readAheadLimit);
+  }
+
+  private static synchronized ExecutorService getIOPool(Configuration conf) {
+    if (ioPool == null) {
+      ioPool = Executors.newFixedThreadPool(conf.getInt(READ_AHEAD_THREADS, DEFAULT_READ_AHEAD_THREADS),
+          new ThreadFactoryBuilder().setNameFormat("Read-ahead #%d").setDaemon(true).build());
+    }
+    return ioPool;
+  }
+
+  public ReadAheadInputChannel(SeekableInputChannel channel, ExecutorService executor, int bufferSize, int depth,
+                               long readAheadStart, long readAheadLimit) throws IOException {
+    this.channel = channel;
+    this.executor = executor;
+    this.bufferSize = bufferSize;
+    this.depth = depth;
+    this.readAheadStart = readAheadStart;
+    this.readAheadLimit = Math.min(readAheadLimit, channel.size());
+    this.position = this.fetchPosition = channel.position();
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    if (!dst.hasRemaining()) {
+      return 0;
+    }
+
+    if (position < readAheadStart || position >= readAheadLimit) {
+      return readDirect(dst);
+    }
+
+    if (current == null || !current.buffer.hasRemaining()) {
+      nextChunk();
+      if (current == null || !current.buffer.hasRemaining()) {
+        // the channel ended before the read-ahead limit
+        return -1;
+      }
+    }
+
+    ByteBuffer src = current.buffer;
+    int length = Math.min(dst.remaining(), src.remaining());
+    int limit = src.limit();
+    src.limit(src.position() + length);
+    dst.put(src);
+    src.limit(limit);
+    position += length;
+    return length;
+  }
+
+  private int readDirect(ByteBuffer dst) throws IOException {
+    int readBytes;
+    synchronized (channel) {
+      channel.seek(position);
+      readBytes = channel.read(dst);
+    }
+    if (readBytes > 0) {
+      position += readBytes;
+    }
+    return readBytes;
+  }
+
+  private void nextChunk() throws IOException {
+    if (current != null) {
+      freeBuffers.add(current.buf);
+      current = null;
+    }
+
+    if (pending.isEmpty()) {
+      // the read-ahead begins or resumes
+      fetchPosition = position;
+    }
+    fillPending();
+    Chunk chunk = pending.poll();
+    if (chunk == null) {
+      return;
+    }
+
+    try {
+      if (!chunk.future.isDone()) {
+        long start = System.nanoTime();
+        chunk.buffer = chunk.future.get();
+        blockedNanos += System.nanoTime() - start;
+        blockedReads++;
+      } else {
+        chunk.buffer = chunk.future.get();
+      }
+    } catch (InterruptedException e) {
+      chunk.awaitFetch();
+      freeBuffers.add(chunk.buf);
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      chunk.awaitFetch();
+      freeBuffers.add(chunk.buf);
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+    }
+    current = chunk;
+    fillPending();
+  }
+
+  private void fillPending() {
+    while (pending.size() < depth && fetchPosition < readAheadLimit) {
+      final long offset = fetchPosition;
+      final int length = (int) Math.min(bufferSize, readAheadLimit - offset);
+      final ByteBuf buf = freeBuffers.isEmpty() ? BufferPool.directBuffer(bufferSize) : freeBuffers.poll();
+      final Chunk chunk = new Chunk(buf);
+
+      chunk.future = executor.submit(new Callable<ByteBuffer>() {
+        @Override
+        public ByteBuffer call() throws Exception {
+          if (!chunk.startFetch()) {
+            // discarded before the fetch starts
+            return null;
+          }
+          try {
+            return fetch(buf, offset, length);
+          } finally {
+            chunk.fetched.countDown();
+          }
+        }
+      });
+      pending.add(chunk);
+      fetchPosition += length;
+      fetchedChunks++;
+    }
+  }
+
+  private ByteBuffer fetch(ByteBuf buf, long offset, int length) throws IOException {
+    ByteBuffer buffer = buf.nioBuffer(0, length);
+    synchronized (channel) {
+      channel.seek(offset);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          break;
+        }
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Waits for the prefetches in flight, and discards all prefetched buffers.
+   * A buffer is reused only after no pool thread can write into it.
+   */
+  private void discardPending() {
+    Chunk chunk;
+    while ((chunk = pending.poll()) != null) {
+      chunk.awaitFetch();
+      chunk.future.cancel(false);
+      freeBuffers.add(chunk.buf);
+    }
+  }
+
+  @Override
+  public void seek(long offset) throws IOException {
+    if (current != null && current.buffer != null) {
+      long chunkStart = position - current.buffer.position();
+      if (chunkStart <= offset && offset <= chunkStart + current.buffer.limit()) {
+        current.buffer.position((int) (offset - chunkStart));
+        position = offset;
+        return;
+      }
+    }
+
+    discardPending();
+    if (current != null) {
+      freeBuffers.add(current.buf);
+      current = null;
+    }
+    position = fetchPosition = offset;
+  }
+
+  @Override
+  public long position() throws IOException {
+    return position;
+  }
+
+  @Override
+  public long size() throws IOException {
+    return channel.size();
+  }
+
+  /**
+   * @return The total time in milliseconds that the reader waited for prefetched buffers
+   */
+  public long getBlockedTime() {
+    return TimeUnit.NANOSECONDS.toMillis(blockedNanos);
+  }
+
+  /**
+   * @return The number of buffers which were not ready when the reader needed them
+   */
+  public long getBlockedReads() {
+    return blockedReads;
+  }
+
+  public long getFetchedChunks() {
+    return fetchedChunks;
+  }
+
+  @Override
+  protected void implCloseChannel() throws IOException {
+    discardPending();
+    if (current != null) {
+      freeBuffers.add(current.buf);
+      current = null;
+    }
+    ByteBuf buf;
+    while ((buf = freeBuffers.poll()) != null) {
+      buf.release();
+    }
+    IOUtils.cleanup(null, channel);
+  }
+
+  @Override
+  public String toString() {
+    return "ReadAheadInputChannel{blocked reads: " + blockedReads + "/" + fetchedChunks
+        + ", blocked time: " + getBlockedTime() + " ms}";
+  }
+
+  private static class Chunk {
+    private static final int NEW = 0;
+    private static final int FETCHING = 1;
+    private static final int DISCARDED = 2;
+
+    final ByteBuf buf;
+    // A cancelled future does not tell whether its task is still running, so the state of the fetch is kept here.
+    final AtomicInteger state = new AtomicInteger(NEW);
+    final CountDownLatch fetched = new CountDownLatch(1);
+    Future<ByteBuffer> future;
+    ByteBuffer buffer;
+
+    Chunk(ByteBuf buf) {
+      this.buf = buf;
+    }
+
+    /**
+     * @return False if the chunk is already discarded, and the fetch should not start
+     */
+    boolean startFetch() {
+      return state.compareAndSet(NEW, FETCHING);
+    }
+
+    /**
+     * Waits until the fetch of this chunk finishes. If the fetch has not started yet, it never starts.
+     */
+    void awaitFetch() {
+      if (state.compareAndSet(NEW, DISCARDED)) {
+        return;
+      }
+
+      boolean interrupted = false;
+      while (true) {
+        try {
+          fetched.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
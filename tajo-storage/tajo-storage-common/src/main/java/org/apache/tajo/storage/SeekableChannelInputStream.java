@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.hadoop.fs.Seekable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * SeekableChannelInputStream is an InputStream of a SeekableInputChannel. It allows readers which take
+ * a FSDataInputStream, such as SequenceFile.Reader, to read through a channel like ReadAheadInputChannel.
+ * Positioned reads bypass the channel and go to the underlying stream.
+ */
+public class SeekableChannelInputStream extends InputStream implements Seekable, PositionedReadable {
+  private final SeekableInputChannel channel;
+  private final FSDataInputStream in;
+  private final ByteBuffer oneByte = ByteBuffer.allocate(1);
+
+  /**
+   * @param channel A channel which reads the stream
+   * @param in The underlying stream of the channel
+   */
+  public SeekableChannelInputStream(SeekableInputChannel channel, FSDataInputStream in) {
+    this.channel = channel;
+    this.in = in;
+  }
+
+  @Override
+  public int read() throws IOException {
+    oneByte.clear();
+    int readBytes;
+    do {
+      readBytes = channel.read(oneByte);
+    } while (readBytes == 0);
+    return readBytes < 0 ? -1 : oneByte.get(0) & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    return channel.read(ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    channel.seek(pos);
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return channel.position();
+  }
+
+  @Override
+  public boolean seekToNewSource(long targetPos) throws IOException {
+    return false;
+  }
+
+  @Override
+  public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+    return in.read(position, buffer, offset, length);
+  }
+
+  @Override
+  public void readFully(long position, byte[] buffer, int offset, int length) throws IOException {
+    in.readFully(position, buffer, offset, length);
+  }
+
+  @Override
+  public void readFully(long position, byte[] buffer) throws IOException {
+    in.readFully(position, buffer);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
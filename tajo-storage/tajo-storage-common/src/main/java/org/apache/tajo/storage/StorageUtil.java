@@ -51,7 +51,8 @@ public class StorageUtil extends StorageConstants {
   }
 
   static final String fileNamePatternV08 = "part-[0-9]*-[0-9]*";
-  static final String fileNamePatternV09 = "part-[0-9]*-[0-9]*-[0-9]*";
+  // a file of a bucketed table has the bucket id after the task id, like part-ss-nnnnnn_bnnnnn-sss
+  static final String fileNamePatternV09 = "part-[0-9]*-[0-9]*(_b[0-9]*)?-[0-9]*";
 
   /**
    * Written files can be one of two forms: "part-[0-9]*-[0-9]*" or "part-[0-9]*-[0-9]*-[0-9]*".
@@ -406,6 +406,18 @@ public abstract class Tablespace {
     throw new TajoRuntimeException(new UnsupportedException("Linked Metadata Provider for " + name));
   }
 
+  /**
+   * Checks if the storage can evaluate the operators over a scan of its table, such as aggregation, sort and limit.
+   * If so, the scanner of the table receives the plan part via {@link Scanner#pushOperators(LogicalNode)},
+   * and it returns tuples in the output schema of the plan part.
+   *
+   * @param planPart The operators whose leaf is a scan of a table in this tablespace
+   * @return True if the operators can be pushed down into the storage
+   */
+  public boolean canPushOperators(LogicalNode planPart) {
+    return false;
+  }
+
   @SuppressWarnings("unused")
   public int markAccetablePlanPart(LogicalPlan plan) {
     throw new TajoRuntimeException(new UnsupportedException());
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.hbase;
+
+import org.apache.hadoop.hbase.filter.BinaryComparator;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.plan.expr.*;
+
+/**
+ * HBaseScanFilter translates a scan filter into an HBase {@link Filter} which is evaluated by region servers,
+ * so that the cells of rows which cannot match the filter are not transferred.
+ *
+ * Only comparisons and IN predicates between a column mapped to a qualifier and constants are translated,
+ * and they can be combined with AND and OR. The translated filter may pass rows which do not match the scan filter,
+ * so the scanner should still evaluate the scan filter for each row.
+ */
+public class HBaseScanFilter {
+
+  private final Schema schema;
+  private final ColumnMapping columnMapping;
+
+  private HBaseScanFilter(Schema schema, ColumnMapping columnMapping) {
+    this.schema = schema;
+    this.columnMapping = columnMapping;
+  }
+
+  /**
+   * Create an HBase filter from a scan filter.
+   *
+   * @param filter Scan filter
+   * @param schema Schema of the table
+   * @param columnMapping Column mapping of the table
+   * @return An HBase filter, or null if no part of the scan filter can be evaluated by region servers
+   */
+  public static Filter create(EvalNode filter, Schema schema, ColumnMapping columnMapping) {
+    if (filter == null) {
+      return null;
+    }
+    return new HBaseScanFilter(schema, columnMapping).translate(filter);
+  }
+
+  /**
+   * @return A filter which passes every row matched with the node, or null if the node cannot be translated
+   */
+  private Filter translate(EvalNode node) {
+    switch (node.getType()) {
+    case AND: {
+      Filter left = translate(node.getChild(0));
+      Filter right = translate(node.getChild(1));
+      if (left == null || right == null) {
+        // a conjunct which cannot be translated just does not narrow the rows
+        return left == null ? right : left;
+      }
+      return new FilterList(FilterList.Operator.MUST_PASS_ALL, left, right);
+    }
+    case OR: {
+      Filter left = translate(node.getChild(0));
+      Filter right = translate(node.getChild(1));
+      if (left == null || right == null) {
+        return null;
+      }
+      return new FilterList(FilterList.Operator.MUST_PASS_ONE, left, right);
+    }
+    case EQUAL:
+    case NOT_EQUAL:
+    case LTH:
+    case LEQ:
+    case GTH:
+    case GEQ:
+      return translateComparison((BinaryEval) node);
+    case IN:
+      return translateIn((InEval) node);
+    default:
+      return null;
+    }
+  }
+
+  private Filter translateComparison(BinaryEval node) {
+    EvalType type = node.getType();
+    EvalNode field = node.getLeftExpr();
+    EvalNode constant = node.getRightExpr();
+    if (field.getType() == EvalType.CONST) {
+      // (constant op column) is converted to (column op' constant)
+      field = node.getRightExpr();
+      constant = node.getLeftExpr();
+      type = flip(type);
+    }
+
+    int columnId = getColumnId(field);
+    if (columnId < 0 || constant.getType() != EvalType.CONST) {
+      return null;
+    }
+
+    CompareOp op = toCompareOp(type);
+    // only the byte order of text values is the same as their value order
+    if (op != CompareOp.EQUAL && schema.getColumn(columnId).getDataType().getType() != TajoDataTypes.Type.TEXT) {
+      return null;
+    }
+    return createFilter(columnId, op, ((ConstEval) constant).getValue());
+  }
+
+  private Filter translateIn(InEval node) {
+    int columnId = getColumnId(node.getLeftExpr());
+    if (columnId < 0 || node.isNot() || !(node.getRightExpr() instanceof ValueSetEval)) {
+      return null;
+    }
+
+    Datum[] values = ((ValueSetEval) node.getRightExpr()).getValues();
+    if (values.length == 0) {
+      return null;
+    }
+    FilterList filters = new FilterList(FilterList.Operator.MUST_PASS_ONE);
+    for (Datum value : values) {
+      Filter filter = createFilter(columnId, CompareOp.EQUAL, value);
+      if (filter == null) {
+        return null;
+      }
+      filters.addFilter(filter);
+    }
+    return filters;
+  }
+
+  private Filter createFilter(int columnId, CompareOp op, Datum value) {
+    byte[] bytes = serialize(columnId, value);
+    if (bytes == null) {
+      return null;
+    }
+
+    byte[][] mappingColumn = columnMapping.getMappingColumns()[columnId];
+    SingleColumnValueFilter filter =
+        new SingleColumnValueFilter(mappingColumn[0], mappingColumn[1], op, new BinaryComparator(bytes));
+    // a comparison with a null value is never true
+    filter.setFilterIfMissing(true);
+    filter.setLatestVersionOnly(true);
+    return filter;
+  }
+
+  private static CompareOp toCompareOp(EvalType type) {
+    switch (type) {
+    case EQUAL:
+      return CompareOp.EQUAL;
+    case NOT_EQUAL:
+      return CompareOp.NOT_EQUAL;
+    case LTH:
+      return CompareOp.LESS;
+    case LEQ:
+      return CompareOp.LESS_OR_EQUAL;
+    case GTH:
+      return CompareOp.GREATER;
+    case GEQ:
+      return CompareOp.GREATER_OR_EQUAL;
+    default:
+      throw new IllegalArgumentException("Not a comparison: " + type);
+    }
+  }
+
+  private static EvalType flip(EvalType type) {
+    switch (type) {
+    case LTH:
+      return EvalType.GTH;
+    case LEQ:
+      return EvalType.GEQ;
+    case GTH:
+      return EvalType.LTH;
+    case GEQ:
+      return EvalType.LEQ;
+    default:
+      return type;
+    }
+  }
+
+  /**
+   * @return The id of the column referred by a field, or -1 if the field is not a column mapped to a qualifier
+   */
+  private int getColumnId(EvalNode node) {
+    if (node.getType() != EvalType.FIELD) {
+      return -1;
+    }
+    int columnId = schema.getColumnId(((FieldEval) node).getColumnRef().getQualifiedName());
+    if (columnId < 0 || columnMapping.getIsRowKeyMappings()[columnId] ||
+        columnMapping.getIsColumnKeys()[columnId] || columnMapping.getIsColumnValues()[columnId] ||
+        columnMapping.getMappingColumns()[columnId][1] == null) {
+      return -1;
+    }
+    return columnId;
+  }
+
+  /**
+   * Serialize a constant in the same way as the cell values of the column are stored.
+   *
+   * @return The serialized value, or null if a stored value equal to the constant may have different bytes
+   */
+  private byte[] serialize(int columnId, Datum value) {
+    Column column = schema.getColumn(columnId);
+    TajoDataTypes.Type kind = value.kind();
+
+    switch (column.getDataType().getType()) {
+    case TEXT:
+      return kind == TajoDataTypes.Type.TEXT ? Bytes.toBytes(value.asChars()) : null;
+    case INT1:
+    case INT2:
+      // text values like '01' and '1' are the same number, so only binary values are compared
+      if (columnMapping.getIsBinaryColumns()[columnId] && isIntegral(kind) &&
+          Short.MIN_VALUE <= value.asInt8() && value.asInt8() <= Short.MAX_VALUE) {
+        return Bytes.toBytes(value.asInt2());
+      }
+      return null;
+    case INT4:
+      if (columnMapping.getIsBinaryColumns()[columnId] && isIntegral(kind) &&
+          Integer.MIN_VALUE <= value.asInt8() && value.asInt8() <= Integer.MAX_VALUE) {
+        return Bytes.toBytes(value.asInt4());
+      }
+      return null;
+    default:
+      // INT8 values may be stored in 4 bytes, and float values have several bytes for the same number.
+      return null;
+    }
+  }
+
+  private static boolean isIntegral(TajoDataTypes.Type kind) {
+    return kind == TajoDataTypes.Type.INT1 || kind == TajoDataTypes.Type.INT2 ||
+        kind == TajoDataTypes.Type.INT4 || kind == TajoDataTypes.Type.INT8;
+  }
+}
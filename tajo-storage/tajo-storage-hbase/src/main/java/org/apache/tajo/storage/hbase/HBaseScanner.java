@@ -23,10 +23,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
 import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.InclusiveStopFilter;
 import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
@@ -47,33 +49,39 @@ import org.apache.tajo.storage.TablespaceManager;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.BytesUtils;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.NavigableMap;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HBaseScanner implements Scanner {
   private static final Log LOG = LogFactory.getLog(HBaseScanner.class);
   private static final int DEFAULT_FETCH_SIZE = 1000;
   private static final int MAX_LIST_SIZE = 100;
+  private static final int DEFAULT_SCAN_PARALLELISM = 4;
+  private static final long DEFAULT_SCAN_SPLIT_SIZE = 256L * StorageUnit.MB;
 
   protected boolean inited = false;
   private TajoConf conf;
   private Schema schema;
   private TableMeta meta;
   private HBaseFragment fragment;
-  private Scan scan;
   private HTableInterface htable;
   private Configuration hbaseConf;
   private Column[] targets;
   private TableStats tableStats;
   private ResultScanner scanner;
+  // it is used instead of scanner if the fragment is scanned with multiple sub-ranges
+  private ParallelRangeScanner parallelScanner;
+  private EvalNode filter;
+  private Filter pushedFilter;
   private AtomicBoolean finished = new AtomicBoolean(false);
   private float progress = 0.0f;
   private int scanFetchSize;
+  private int scanParallelism;
+  private long scanSplitSize;
   private Result[] scanResults;
   private int scanResultIndex = -1;
   private Column[] schemaColumns;
@@ -124,6 +132,10 @@ public class HBaseScanner implements Scanner {
 
     scanFetchSize = Integer.parseInt(
         meta.getProperty(HBaseStorageConstants.META_FETCH_ROWNUM_KEY, "" + DEFAULT_FETCH_SIZE));
+    scanParallelism = Integer.parseInt(
+        meta.getProperty(HBaseStorageConstants.META_SCAN_PARALLELISM_KEY, "" + DEFAULT_SCAN_PARALLELISM));
+    scanSplitSize = Long.parseLong(
+        meta.getProperty(HBaseStorageConstants.META_SCAN_SPLIT_SIZE_KEY, "" + DEFAULT_SCAN_SPLIT_SIZE));
     if (targets == null) {
       targets = schema.toArray();
     }
@@ -150,58 +162,109 @@ public class HBaseScanner implements Scanner {
     rowKeyDelimiter = columnMapping.getRowKeyDelimiter();
     rowKeyFieldIndexes = columnMapping.getRowKeyFieldIndexes();
 
+    pushedFilter = HBaseScanFilter.create(filter, schema, columnMapping);
+
     HBaseTablespace space = (HBaseTablespace) TablespaceManager.get(fragment.getUri());
     hbaseConf = space.getHbaseConf();
     initScanner();
   }
 
   private void initScanner() throws IOException {
-    scan = new Scan();
-    scan.setBatch(scanFetchSize);
+    HConnection hconn = ((HBaseTablespace) TablespaceManager.get(fragment.getUri())).getConnection();
+    if (htable == null) {
+      htable = hconn.getTable(fragment.getHbaseTableName());
+    }
+
+    byte[] startRow = fragment.getStartKey().getBytes();
+    byte[] stopRow = fragment.getEndKey().getBytes();
+    // the stop row of the last fragment is inclusive
+    boolean inclusiveStop = fragment.isLast() && stopRow.length > 0;
+
+    byte[][] boundaries = ParallelRangeScanner.split(startRow, stopRow, getSubRangeNum());
+    if (boundaries.length <= 2) {
+      scanner = htable.getScanner(createScan(startRow, stopRow, inclusiveStop));
+    } else {
+      List<Scan> scans = new ArrayList<>(boundaries.length - 1);
+      for (int i = 0; i < boundaries.length - 1; i++) {
+        boolean lastRange = i == boundaries.length - 2;
+        scans.add(createScan(boundaries[i], boundaries[i + 1], lastRange && inclusiveStop));
+      }
+      parallelScanner = new ParallelRangeScanner(hconn, fragment.getHbaseTableName(), scans, scanFetchSize);
+    }
+  }
+
+  /**
+   * A large fragment is split into sub-ranges of the split size, which are scanned in parallel.
+   *
+   * @return The number of sub-ranges of this fragment
+   */
+  private int getSubRangeNum() {
+    if (scanParallelism <= 1 || scanSplitSize <= 0 || fragment.getLength() <= scanSplitSize) {
+      return 1;
+    }
+    return (int) Math.min(scanParallelism, (fragment.getLength() + scanSplitSize - 1) / scanSplitSize);
+  }
+
+  private Scan createScan(byte[] startRow, byte[] stopRow, boolean inclusiveStop) {
+    Scan scan = new Scan();
+    if (pushedFilter == null) {
+      // filters which filter whole rows cannot be used with batches of partial rows
+      scan.setBatch(scanFetchSize);
+    }
     scan.setCacheBlocks(false);
     scan.setCaching(scanFetchSize);
 
-    FilterList filters = null;
-    if (targetIndexes == null || targetIndexes.length == 0) {
-      filters = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+    FilterList filters = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+    if (!addColumns(scan)) {
+      // only row keys are required
       filters.addFilter(new FirstKeyOnlyFilter());
       filters.addFilter(new KeyOnlyFilter());
-    } else {
-      boolean[] isRowKeyMappings = columnMapping.getIsRowKeyMappings();
-      for (int eachIndex : targetIndexes) {
-        if (isRowKeyMappings[eachIndex]) {
-          continue;
-        }
-        byte[][] mappingColumn = columnMapping.getMappingColumns()[eachIndex];
-        if (mappingColumn[1] == null) {
-          scan.addFamily(mappingColumn[0]);
-        } else {
-          scan.addColumn(mappingColumn[0], mappingColumn[1]);
-        }
-      }
+    }
+    if (pushedFilter != null) {
+      filters.addFilter(pushedFilter);
     }
 
-    scan.setStartRow(fragment.getStartKey().getBytes());
-    if (fragment.isLast() && !fragment.getEndKey().isEmpty() &&
-        fragment.getEndKey().getBytes().length > 0) {
-      // last and stopRow is not empty
-      if (filters == null) {
-        filters = new FilterList();
-      }
-      filters.addFilter(new InclusiveStopFilter(fragment.getEndKey().getBytes()));
+    scan.setStartRow(startRow);
+    if (inclusiveStop) {
+      filters.addFilter(new InclusiveStopFilter(stopRow));
     } else {
-      scan.setStopRow(fragment.getEndKey().getBytes());
+      scan.setStopRow(stopRow);
     }
 
-    if (filters != null) {
+    if (!filters.getFilters().isEmpty()) {
       scan.setFilter(filters);
     }
+    return scan;
+  }
 
-    if (htable == null) {
-      HConnection hconn = ((HBaseTablespace) TablespaceManager.get(fragment.getUri())).getConnection();
-      htable = hconn.getTable(fragment.getHbaseTableName());
+  /**
+   * Add the column families and the qualifiers of the target columns to a scan.
+   * A column family is selected as a whole if any target is mapped to the whole family.
+   *
+   * @return False if no target is mapped to a column family
+   */
+  private boolean addColumns(Scan scan) {
+    Set<String> wholeFamilies = new HashSet<>();
+    for (int eachIndex : targetIndexes) {
+      if (!isRowKeyMappings[eachIndex] && mappingColumnFamilies[eachIndex][1] == null) {
+        wholeFamilies.add(Bytes.toString(mappingColumnFamilies[eachIndex][0]));
+      }
     }
-    scanner = htable.getScanner(scan);
+
+    boolean added = false;
+    for (int eachIndex : targetIndexes) {
+      if (isRowKeyMappings[eachIndex]) {
+        continue;
+      }
+      byte[][] mappingColumn = mappingColumnFamilies[eachIndex];
+      if (wholeFamilies.contains(Bytes.toString(mappingColumn[0]))) {
+        scan.addFamily(mappingColumn[0]);
+      } else {
+        scan.addColumn(mappingColumn[0], mappingColumn[1]);
+      }
+      added = true;
+    }
+    return added;
   }
 
   @Override
@@ -210,22 +273,28 @@ public class HBaseScanner implements Scanner {
       return null;
     }
 
-    if (scanResults == null || scanResultIndex >= scanResults.length) {
-      scanResults = scanner.next(scanFetchSize);
-      if (scanResults == null || scanResults.length == 0) {
-        finished.set(true);
-        progress = 1.0f;
-        return null;
+    while (true) {
+      if (scanResults == null || scanResultIndex >= scanResults.length) {
+        scanResults = parallelScanner != null ? parallelScanner.next() : scanner.next(scanFetchSize);
+        if (scanResults == null || scanResults.length == 0) {
+          finished.set(true);
+          progress = 1.0f;
+          return null;
+        }
+        scanResultIndex = 0;
       }
-      scanResultIndex = 0;
-    }
 
-    Result result = scanResults[scanResultIndex++];
-    for (int i = 0; i < targetIndexes.length; i++) {
-      outTuple.put(i, getDatum(result, targetIndexes[i]));
+      Result result = scanResults[scanResultIndex++];
+      for (int i = 0; i < targetIndexes.length; i++) {
+        outTuple.put(i, getDatum(result, targetIndexes[i]));
+      }
+      numRows++;
+
+      // the pushed filter of region servers can pass rows which do not match the scan filter
+      if (filter == null || targets.length == 0 || filter.evalBool(outTuple)) {
+        return outTuple;
+      }
     }
-    numRows++;
-    return outTuple;
   }
 
   private Datum getDatum(Result result, int fieldId) throws IOException {
@@ -395,11 +464,7 @@ public class HBaseScanner implements Scanner {
     finished.set(false);
     tableStats = new TableStats();
 
-    if (scanner != null) {
-      scanner.close();
-      scanner = null;
-    }
-
+    closeScanner();
     initScanner();
   }
 
@@ -407,17 +472,25 @@ public class HBaseScanner implements Scanner {
   public void close() throws IOException {
     progress = 1.0f;
     finished.set(true);
+    closeScanner();
+    if (htable != null) {
+      htable.close();
+      htable = null;
+    }
+  }
+
+  private void closeScanner() {
     if (scanner != null) {
       try {
         scanner.close();
-        scanner = null;
       } catch (Exception e) {
         LOG.warn("Error while closing hbase scanner: " + e.getMessage(), e);
       }
+      scanner = null;
     }
-    if (htable != null) {
-      htable.close();
-      htable = null;
+    if (parallelScanner != null) {
+      parallelScanner.close();
+      parallelScanner = null;
     }
   }
 
@@ -441,12 +514,15 @@ public class HBaseScanner implements Scanner {
 
   @Override
   public boolean isSelectable() {
-    return false;
+    return true;
   }
 
   @Override
   public void setFilter(EvalNode filter) {
-    throw new TajoRuntimeException(new UnsupportedException());
+    if (inited) {
+      throw new IllegalStateException("Should be called before init()");
+    }
+    this.filter = filter;
   }
 
   @Override
@@ -29,6 +29,8 @@ public interface HBaseStorageConstants {
   public static final String META_ZK_QUORUM_KEY = "hbase.zookeeper.quorum";
   public static final String META_ZK_CLIENT_PORT = "hbase.zookeeper.property.clientPort";
   public static final String META_ROWKEY_DELIMITER = "hbase.rowkey.delimiter";
+  public static final String META_SCAN_PARALLELISM_KEY = "hbase.scan.parallelism";
+  public static final String META_SCAN_SPLIT_SIZE_KEY = "hbase.scan.split.size";
 
   public static final String INSERT_PUT_MODE = "tajo.hbase.insert.put.mode";
 }
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.hbase;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ParallelRangeScanner scans consecutive sub-ranges of a row range at the same time.
+ *
+ * Each sub-range is scanned by its own thread, which prefetches a few batches of results ahead.
+ * Results are returned in the order of sub-ranges, so rows are still returned in the row key order.
+ */
+public class ParallelRangeScanner implements Closeable {
+  private static final Log LOG = LogFactory.getLog(ParallelRangeScanner.class);
+
+  // the number of batches which are fetched ahead for each sub-range
+  private static final int PREFETCH_BATCHES = 2;
+  private static final Result[] END_OF_RANGE = new Result[0];
+
+  private final List<BlockingQueue<Result[]>> queues;
+  private final ExecutorService executor;
+  private final AtomicReference<IOException> error = new AtomicReference<>();
+  private int currentRange = 0;
+
+  /**
+   * @param connection HBase connection. Each sub-range is scanned with its own table instance.
+   * @param tableName HBase table name
+   * @param scans Scans of consecutive sub-ranges in the row key order
+   * @param fetchSize The maximum number of rows which are fetched at once
+   */
+  public ParallelRangeScanner(final HConnection connection, final String tableName, List<Scan> scans,
+                              final int fetchSize) {
+    this.queues = new ArrayList<>(scans.size());
+    this.executor = Executors.newFixedThreadPool(scans.size(),
+        new ThreadFactoryBuilder().setNameFormat("HBase range scanner #%d").setDaemon(true).build());
+
+    for (final Scan scan : scans) {
+      final BlockingQueue<Result[]> queue = new ArrayBlockingQueue<>(PREFETCH_BATCHES);
+      queues.add(queue);
+      executor.submit(new Runnable() {
+        @Override
+        public void run() {
+          try (HTableInterface htable = connection.getTable(tableName);
+               ResultScanner scanner = htable.getScanner(scan)) {
+            Result[] results;
+            while ((results = scanner.next(fetchSize)) != null && results.length > 0) {
+              queue.put(results);
+            }
+          } catch (InterruptedException e) {
+            // closed before the sub-range is finished
+            return;
+          } catch (IOException e) {
+            error.compareAndSet(null, e);
+          } catch (Throwable t) {
+            error.compareAndSet(null, new IOException(t.getMessage(), t));
+          }
+
+          try {
+            queue.put(END_OF_RANGE);
+          } catch (InterruptedException e) {
+            // closed
+          }
+        }
+      });
+    }
+    executor.shutdown();
+  }
+
+  /**
+   * @return The next batch of results, or null if all sub-ranges are scanned
+   */
+  public Result[] next() throws IOException {
+    while (currentRange < queues.size()) {
+      Result[] results;
+      try {
+        results = queues.get(currentRange).take();
+      } catch (InterruptedException e) {
+        throw new IOException("Interrupted while scanning HBase sub-ranges", e);
+      }
+
+      if (error.get() != null) {
+        throw error.get();
+      }
+      if (results == END_OF_RANGE) {
+        currentRange++;
+      } else {
+        return results;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOG.warn("HBase sub-range scans are not terminated");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    queues.clear();
+  }
+
+  /**
+   * Split a row range into sub-ranges of roughly the same key space.
+   *
+   * @param startRow Start row of the range. It can be empty.
+   * @param stopRow Stop row of the range. It can be empty.
+   * @param num The number of sub-ranges
+   * @return Boundaries of the sub-ranges, starting with startRow and ending with stopRow.
+   *         It has only startRow and stopRow if the range cannot be split.
+   */
+  public static byte[][] split(byte[] startRow, byte[] stopRow, int num) {
+    byte[][] noSplit = new byte[][]{startRow, stopRow};
+    if (num <= 1) {
+      return noSplit;
+    }
+
+    // an open range is split as if it ends with the largest key of the same length as the start row
+    byte[] upper = stopRow;
+    if (stopRow.length == 0) {
+      upper = new byte[Math.max(startRow.length, 1)];
+      Arrays.fill(upper, (byte) 0xFF);
+    }
+    if (Bytes.compareTo(startRow, upper) >= 0) {
+      return noSplit;
+    }
+
+    byte[][] keys;
+    try {
+      keys = Bytes.split(startRow, upper, num - 1);
+    } catch (IllegalArgumentException e) {
+      return noSplit;
+    }
+    if (keys == null) {
+      return noSplit;
+    }
+    keys[0] = startRow;
+    keys[keys.length - 1] = stopRow;
+    return keys;
+  }
+}
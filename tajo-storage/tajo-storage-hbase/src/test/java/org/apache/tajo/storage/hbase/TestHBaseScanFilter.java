@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.hbase;
+
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaBuilder;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.util.KeyValueSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestHBaseScanFilter {
+  private Schema schema;
+  private ColumnMapping columnMapping;
+
+  private final FieldEval rk = new FieldEval("rk", Type.TEXT);
+  private final FieldEval col1 = new FieldEval("col1", Type.TEXT);
+  private final FieldEval col2 = new FieldEval("col2", Type.TEXT);
+  private final FieldEval col3 = new FieldEval("col3", Type.INT4);
+  private final FieldEval col4 = new FieldEval("col4", Type.INT4);
+
+  @Before
+  public void setUp() throws Exception {
+    KeyValueSet keyValueSet = new KeyValueSet();
+    keyValueSet.set(HBaseStorageConstants.META_TABLE_KEY, "test");
+    keyValueSet.set(HBaseStorageConstants.META_COLUMNS_KEY, ":key,cf1:a,cf2:,cf1:b#b,cf1:c");
+
+    schema = SchemaBuilder.builder()
+        .add("rk", Type.TEXT)
+        .add("col1", Type.TEXT)
+        .add("col2", Type.TEXT)
+        .add("col3", Type.INT4)
+        .add("col4", Type.INT4)
+        .build();
+    columnMapping = new ColumnMapping(schema, keyValueSet);
+  }
+
+  @Test
+  public void testComparison() {
+    Filter filter = HBaseScanFilter.create(
+        new BinaryEval(EvalType.GTH, new ConstEval(DatumFactory.createText("a")), col1), schema, columnMapping);
+    assertColumnValueFilter(filter, "cf1", "a", CompareOp.LESS, Bytes.toBytes("a"));
+
+    filter = HBaseScanFilter.create(
+        new BinaryEval(EvalType.EQUAL, col3, new ConstEval(DatumFactory.createInt4(-3))), schema, columnMapping);
+    assertColumnValueFilter(filter, "cf1", "b", CompareOp.EQUAL, Bytes.toBytes(-3));
+  }
+
+  @Test
+  public void testNotTranslatable() {
+    // row keys are filtered with row ranges
+    assertNull(HBaseScanFilter.create(
+        new BinaryEval(EvalType.EQUAL, rk, new ConstEval(DatumFactory.createText("a"))), schema, columnMapping));
+    // a whole column family
+    assertNull(HBaseScanFilter.create(
+        new BinaryEval(EvalType.EQUAL, col2, new ConstEval(DatumFactory.createText("a"))), schema, columnMapping));
+    // the byte order of binary numbers is not the same as their value order
+    assertNull(HBaseScanFilter.create(
+        new BinaryEval(EvalType.LTH, col3, new ConstEval(DatumFactory.createInt4(3))), schema, columnMapping));
+    // text numbers can have several forms of the same value
+    assertNull(HBaseScanFilter.create(
+        new BinaryEval(EvalType.EQUAL, col4, new ConstEval(DatumFactory.createInt4(3))), schema, columnMapping));
+  }
+
+  @Test
+  public void testAndOr() {
+    EvalNode translatable = new BinaryEval(EvalType.EQUAL, col1, new ConstEval(DatumFactory.createText("a")));
+    EvalNode notTranslatable = new BinaryEval(EvalType.EQUAL, rk, new ConstEval(DatumFactory.createText("a")));
+
+    Filter filter = HBaseScanFilter.create(
+        new BinaryEval(EvalType.AND, translatable, notTranslatable), schema, columnMapping);
+    assertColumnValueFilter(filter, "cf1", "a", CompareOp.EQUAL, Bytes.toBytes("a"));
+
+    assertNull(HBaseScanFilter.create(
+        new BinaryEval(EvalType.OR, translatable, notTranslatable), schema, columnMapping));
+
+    EvalNode other = new BinaryEval(EvalType.NOT_EQUAL, col1, new ConstEval(DatumFactory.createText("b")));
+    filter = HBaseScanFilter.create(new BinaryEval(EvalType.OR, translatable, other), schema, columnMapping);
+    assertTrue(filter instanceof FilterList);
+    assertEquals(FilterList.Operator.MUST_PASS_ONE, ((FilterList) filter).getOperator());
+    assertEquals(2, ((FilterList) filter).getFilters().size());
+    assertColumnValueFilter(((FilterList) filter).getFilters().get(1), "cf1", "a", CompareOp.NOT_EQUAL,
+        Bytes.toBytes("b"));
+  }
+
+  @Test
+  public void testIn() {
+    Datum[] values = new Datum[]{DatumFactory.createInt4(1), DatumFactory.createInt4(2)};
+    Filter filter = HBaseScanFilter.create(
+        new InEval(col3, new RowConstantEval(values), false), schema, columnMapping);
+    assertTrue(filter instanceof FilterList);
+    assertEquals(FilterList.Operator.MUST_PASS_ONE, ((FilterList) filter).getOperator());
+    assertColumnValueFilter(((FilterList) filter).getFilters().get(1), "cf1", "b", CompareOp.EQUAL,
+        Bytes.toBytes(2));
+
+    assertNull(HBaseScanFilter.create(new InEval(col3, new RowConstantEval(values), true), schema, columnMapping));
+  }
+
+  @Test
+  public void testSplitRange() {
+    byte[][] keys = ParallelRangeScanner.split(Bytes.toBytes("a"), Bytes.toBytes("z"), 4);
+    assertEquals(5, keys.length);
+    assertArrayEquals(Bytes.toBytes("a"), keys[0]);
+    assertArrayEquals(Bytes.toBytes("z"), keys[4]);
+    for (int i = 0; i < keys.length - 1; i++) {
+      assertTrue(Bytes.compareTo(keys[i], keys[i + 1]) < 0);
+    }
+
+    // an open range
+    keys = ParallelRangeScanner.split(new byte[0], new byte[0], 3);
+    assertEquals(4, keys.length);
+    assertEquals(0, keys[0].length);
+    assertEquals(0, keys[3].length);
+    assertTrue(Bytes.compareTo(keys[1], keys[2]) < 0);
+
+    // too narrow to be split
+    keys = ParallelRangeScanner.split(new byte[]{1}, new byte[]{2}, 4);
+    assertEquals(2, keys.length);
+  }
+
+  private static void assertColumnValueFilter(Filter filter, String family, String qualifier, CompareOp op,
+                                              byte[] value) {
+    assertTrue(filter instanceof SingleColumnValueFilter);
+    SingleColumnValueFilter columnValueFilter = (SingleColumnValueFilter) filter;
+    assertEquals(family, Bytes.toString(columnValueFilter.getFamily()));
+    assertEquals(qualifier, Bytes.toString(columnValueFilter.getQualifier()));
+    assertEquals(op, columnValueFilter.getOperator());
+    assertArrayEquals(value, columnValueFilter.getComparator().getValue());
+    assertTrue(columnValueFilter.getFilterIfMissing());
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.*;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FileFooterCache keeps the parsed footers of files, such as ORC file tails and Parquet metadata, in a process.
+ * A file is read by many fragments, so its footer is parsed once and shared by all tasks of a worker.
+ *
+ * A footer is keyed by the path, the length and the modification time of its file, so a rewritten file is
+ * read again. The cache is bounded by the approximate size of footers in bytes.
+ */
+public class FileFooterCache {
+  private static FileFooterCache instance;
+
+  private final Cache<Key, Footer<?>> footers;
+  private final long maxSize;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong size = new AtomicLong();
+
+  /**
+   * @return The footer cache of this process, or null if the cache is disabled
+   */
+  public static synchronized @Nullable FileFooterCache get(Configuration conf) {
+    if (instance == null) {
+      long maxSize = conf.getLong(ConfVars.FOOTER_CACHE_MAX_SIZE.keyname(),
+          ConfVars.FOOTER_CACHE_MAX_SIZE.defaultLongVal);
+      if (maxSize <= 0) {
+        return null;
+      }
+      instance = new FileFooterCache(maxSize);
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the footer of a file through the cache of this process if it is enabled.
+   *
+   * @param conf The configuration
+   * @param kind The kind of footer, such as the file format
+   * @param file The status of the file
+   * @param loader The loader to read the footer if it is not cached
+   * @return The footer
+   */
+  public static <T> T getFooter(Configuration conf, String kind, FileStatus file, Loader<T> loader)
+      throws IOException {
+    FileFooterCache cache = get(conf);
+    return cache != null ? cache.get(kind, file, loader) : loader.load().get();
+  }
+
+  public FileFooterCache(long maxSize) {
+    this.maxSize = maxSize;
+    this.footers = CacheBuilder.newBuilder()
+        .maximumWeight(maxSize)
+        .weigher(new Weigher<Key, Footer<?>>() {
+          @Override
+          public int weigh(Key key, Footer<?> value) {
+            return value.size;
+          }
+        })
+        .removalListener(new RemovalListener<Key, Footer<?>>() {
+          @Override
+          public void onRemoval(RemovalNotification<Key, Footer<?>> notification) {
+            size.addAndGet(-notification.getValue().size);
+            if (notification.getCause() == RemovalCause.SIZE) {
+              evictionCount.incrementAndGet();
+            }
+          }
+        })
+        .build();
+  }
+
+  /**
+   * A parsed footer with its approximate size in bytes
+   */
+  public static class Footer<T> {
+    private final T footer;
+    private final int size;
+
+    public Footer(T footer, long size) {
+      this.footer = footer;
+      this.size = (int) Math.min(Math.max(size, 1), Integer.MAX_VALUE);
+    }
+
+    public T get() {
+      return footer;
+    }
+
+    public int getSize() {
+      return size;
+    }
+  }
+
+  public interface Loader<T> {
+    Footer<T> load() throws IOException;
+  }
+
+  private static class Key {
+    private final String kind;
+    private final Path path;
+    private final long length;
+    private final long modificationTime;
+
+    Key(String kind, FileStatus file) {
+      this.kind = kind;
+      this.path = file.getPath();
+      this.length = file.getLen();
+      this.modificationTime = file.getModificationTime();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return kind.equals(other.kind) && path.equals(other.path) && length == other.length
+            && modificationTime == other.modificationTime;
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(kind, path, length, modificationTime);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(String kind, FileStatus file, final Loader<T> loader) throws IOException {
+    final boolean[] loaded = new boolean[1];
+    try {
+      Footer<?> footer = footers.get(new Key(kind, file), new Callable<Footer<?>>() {
+        @Override
+        public Footer<?> call() throws IOException {
+          Footer<T> loadedFooter = loader.load();
+          loaded[0] = true;
+          size.addAndGet(loadedFooter.size);
+          return loadedFooter;
+        }
+      });
+
+      if (loaded[0]) {
+        missCount.incrementAndGet();
+      } else {
+        hitCount.incrementAndGet();
+      }
+      return (T) footer.footer;
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  public void invalidateAll() {
+    footers.invalidateAll();
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return The approximate size of cached footers in bytes
+   */
+  public long getSize() {
+    return size.get();
+  }
+
+  public long getEntryCount() {
+    return footers.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  @Override
+  public String toString() {
+    return "FileFooterCache{footers: " + getEntryCount() + ", bytes: " + getSize() + ", hits: " + getHitCount()
+        + ", misses: " + getMissCount() + ", evictions: " + getEvictionCount() + "}";
+  }
+}
@@ -20,7 +20,9 @@ package org.apache.tajo.storage;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minidev.json.JSONObject;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -43,13 +45,23 @@ import org.apache.tajo.plan.logical.NodeType;
 import org.apache.tajo.schema.IdentifierUtil;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.storage.zonemap.ZoneMap;
+import org.apache.tajo.storage.zonemap.ZoneMapFilter;
 import org.apache.tajo.util.Bytes;
+import org.apache.tajo.util.Pair;
 
 import javax.annotation.Nullable;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.hadoop.hdfs.DFSConfigKeys.DFS_HDFS_BLOCKS_METADATA_ENABLED;
 import static org.apache.hadoop.hdfs.DFSConfigKeys.DFS_HDFS_BLOCKS_METADATA_ENABLED_DEFAULT;
@@ -62,6 +74,12 @@ public class FileTablespace extends Tablespace {
       return !name.startsWith("_") && !name.startsWith(".");
     }
   };
+  /** It accepts data files together with their zone map files */
+  private static final PathFilter dataFileFilter = new PathFilter() {
+    public boolean accept(Path p) {
+      return hiddenFileFilter.accept(p) || ZoneMap.isZoneMapFile(p);
+    }
+  };
   private static final Log LOG = LogFactory.getLog(FileTablespace.class);
 
   static final String OUTPUT_FILE_PREFIX="part-";
@@ -104,6 +122,12 @@ public class FileTablespace extends Tablespace {
   protected Path spacePath;
   protected Path stagingRootPath;
   protected boolean blocksMetadataEnabled;
+  /** A thread pool to list input paths and to split files. It is created on demand. */
+  private ExecutorService splitExecutor;
+  /** A thread pool to move output files in the commit phase. It is created on demand. */
+  private ExecutorService commitExecutor;
+  /** Listings and splits cached across queries. It is null if the cache is disabled. */
+  private FileMetadataCache metadataCache;
   private static final HdfsVolumeId zeroVolumeId = new HdfsVolumeId(Bytes.toBytes(0));
 
   public FileTablespace(String spaceName, URI uri, JSONObject config) {
@@ -119,6 +143,7 @@ public class FileTablespace extends Tablespace {
 
     this.blocksMetadataEnabled =
         conf.getBoolean(DFS_HDFS_BLOCKS_METADATA_ENABLED, DFS_HDFS_BLOCKS_METADATA_ENABLED_DEFAULT);
+    this.metadataCache = FileMetadataCache.get(conf, fs);
 
     if (!this.blocksMetadataEnabled) {
       LOG.warn("does not support block metadata. ('dfs.datanode.hdfs-blocks-metadata.enabled')");
@@ -284,6 +309,39 @@ public class FileTablespace extends Tablespace {
     return outFilePath;
   }
 
+  /**
+   * Returns the path of a task output file which is written directly into the output table.
+   * The query id is included in the file name, so that it does not collide with files written by other queries.
+   *
+   * @param taskAttemptId The task attempt id
+   * @param tablePath The output table path
+   * @return The output file path
+   */
+  public Path getDirectOutputFilePath(TaskAttemptId taskAttemptId, Path tablePath) {
+    ExecutionBlockId ebId = taskAttemptId.getTaskId().getExecutionBlockId();
+    Path outFilePath = new Path(tablePath,
+        OUTPUT_FILE_PREFIX + ebId.getQueryId() + "-" +
+            OUTPUT_FILE_FORMAT_STAGE.get().format(ebId.getId()) + "-" +
+            OUTPUT_FILE_FORMAT_TASK.get().format(taskAttemptId.getTaskId().getId()) + "-" +
+            OUTPUT_FILE_FORMAT_SEQ.get().format(0));
+    LOG.info("Output File Path: " + outFilePath);
+
+    return outFilePath;
+  }
+
+  /**
+   * Direct output is used only for INSERT INTO, which does not need to replace existing files.
+   *
+   * @param queryContext The query property
+   * @return True if tasks write their output files directly into the output table
+   */
+  public static boolean isDirectOutput(OverridableConf queryContext) {
+    return queryContext.getBool(SessionVars.OUTPUT_DIRECT_COMMIT_ENABLED)
+        && !queryContext.get(QueryVars.OUTPUT_TABLE_URI, "").isEmpty()
+        && !queryContext.getBool(QueryVars.OUTPUT_OVERWRITE, false)
+        && NodeType.INSERT.name().equals(queryContext.get(QueryVars.COMMAND_TYPE, ""));
+  }
+
   /**
    * Proxy PathFilter that accepts a path only if all filters given in the
    * constructor do. Used by the listPaths() to apply the built-in
@@ -340,7 +398,14 @@ public class FileTablespace extends Tablespace {
       } else {
         for (FileStatus globStat : matches) {
           if (globStat.isDirectory()) {
-            Collections.addAll(result, fs.listStatus(globStat.getPath(), inputFilter));
+            // the block locations of files are fetched together if the file system supports it
+            RemoteIterator<LocatedFileStatus> iterator = fs.listLocatedStatus(globStat.getPath());
+            while (iterator.hasNext()) {
+              LocatedFileStatus status = iterator.next();
+              if (inputFilter.accept(status.getPath())) {
+                result.add(status);
+              }
+            }
           } else {
             result.add(globStat);
           }
@@ -479,85 +544,374 @@ public class FileTablespace extends Tablespace {
    */
   public List<Fragment> getSplits(String tableName, TableMeta meta, Schema schema, boolean requireSort, Path... inputs)
       throws IOException {
-    // generate splits'
+    return getSplits(tableName, meta, schema, requireSort, null, inputs);
+  }
+
+  /**
+   * Generate the list of files and make them into FileSplits. If zone maps are enabled for the table,
+   * the splits which cannot contain any row satisfying the filter are excluded.
+   *
+   * Input paths are listed, and their files are split on a thread pool. The splits are still returned
+   * in the order of input paths and files.
+   *
+   * If the metadata cache is enabled, the listings of input directories are cached across queries, and the splits
+   * of a cached listing are reused unless they are pruned by zone maps.
+   *
+   * @throws IOException
+   */
+  public List<Fragment> getSplits(final String tableName, final TableMeta meta, final Schema schema,
+                                  final boolean requireSort, @Nullable EvalNode filter, Path... inputs)
+      throws IOException {
+    long startTime = System.currentTimeMillis();
+    final ZoneMapFilter zoneMapFilter =
+        filter != null && ZoneMap.isEnabled(meta) ? new ZoneMapFilter(filter) : null;
+    final String splitCacheKey = metadataCache != null && zoneMapFilter == null ? getSplitCacheKey(meta) : null;
+
+    List<FileMetadataCache.Listing> listings =
+        runInParallel(Arrays.asList(inputs), p -> listInput(requireSort, p));
+
+    // only the files of listings without cached splits are split
+    List<FileStatus> files = Lists.newArrayList();
+    int fileNum = 0;
+    for (FileMetadataCache.Listing listing : listings) {
+      if (splitCacheKey == null || listing.getDerived(splitCacheKey) == null) {
+        files.addAll(listing.getFiles());
+      }
+      fileNum += listing.getFiles().size();
+    }
+    List<FileSplits> splitsPerFile =
+        runInParallel(files, file -> makeSplits(tableName, meta, schema, file, zoneMapFilter));
 
     List<Fragment> splits = Lists.newArrayList();
     List<Fragment> volumeSplits = Lists.newArrayList();
     List<BlockLocation> blockLocations = Lists.newArrayList();
+    int prunedSplitNum = 0;
+    Map<FileMetadataCache.Listing, List<FileSplits>> splitsToCache = new LinkedHashMap<>();
+
+    Iterator<FileSplits> fileSplitsIterator = splitsPerFile.iterator();
+    for (FileMetadataCache.Listing listing : listings) {
+      int previousSplitSize = splits.size() + volumeSplits.size();
+      List<FileFragment> cachedSplits = splitCacheKey != null ? listing.getDerived(splitCacheKey) : null;
 
-    for (Path p : inputs) {
-      ArrayList<FileStatus> files = Lists.newArrayList();
-      if (fs.isFile(p)) {
-        files.addAll(Lists.newArrayList(fs.getFileStatus(p)));
+      if (cachedSplits != null) {
+        for (FileFragment cached : cachedSplits) {
+          splits.add(copySplit(tableName, cached));
+        }
       } else {
-        files.addAll(listStatus(requireSort, p));
+        List<FileSplits> listingSplits = new ArrayList<>(listing.getFiles().size());
+        for (int j = 0; j < listing.getFiles().size(); j++) {
+          FileSplits fileSplits = fileSplitsIterator.next();
+          splits.addAll(fileSplits.splits);
+          volumeSplits.addAll(fileSplits.volumeSplits);
+          blockLocations.addAll(fileSplits.blockLocations);
+          prunedSplitNum += fileSplits.prunedSplitNum;
+          listingSplits.add(fileSplits);
+        }
+        if (splitCacheKey != null && listing.isCached()) {
+          splitsToCache.put(listing, listingSplits);
+        }
+      }
+      if(LOG.isDebugEnabled()){
+        LOG.debug("# of splits per partition: " + (splits.size() + volumeSplits.size() - previousSplitSize));
       }
+    }
 
-      int previousSplitSize = splits.size();
-      for (FileStatus file : files) {
-        Path path = file.getPath();
-        long length = file.getLen();
-        if (length > 0) {
-          // Get locations of blocks of file
-          BlockLocation[] blkLocations = fs.getFileBlockLocations(file, 0, length);
-          boolean splittable = isSplittable(meta, schema, path, file);
-          if (blocksMetadataEnabled && fs instanceof DistributedFileSystem) {
-
-            if (splittable) {
-              for (BlockLocation blockLocation : blkLocations) {
-                volumeSplits.add(makeSplit(tableName, path, blockLocation));
-              }
-              blockLocations.addAll(Arrays.asList(blkLocations));
-
-            } else { // Non splittable
-              long blockSize = blkLocations[0].getLength();
-              if (blockSize >= length) {
-                blockLocations.addAll(Arrays.asList(blkLocations));
-                for (BlockLocation blockLocation : blkLocations) {
-                  volumeSplits.add(makeSplit(tableName, path, blockLocation));
-                }
-              } else {
-                splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
-              }
-            }
+    // Combine original fileFragments with new VolumeId information
+    setVolumeMeta(volumeSplits, blockLocations);
+    splits.addAll(volumeSplits);
+
+    // splits are cached after their volume ids are set. They are copied, so the returned ones can be modified.
+    for (Map.Entry<FileMetadataCache.Listing, List<FileSplits>> entry : splitsToCache.entrySet()) {
+      List<FileFragment> toCache = Lists.newArrayList();
+      for (FileSplits fileSplits : entry.getValue()) {
+        for (Fragment split : Iterables.concat(fileSplits.splits, fileSplits.volumeSplits)) {
+          toCache.add(copySplit(tableName, (FileFragment) split));
+        }
+      }
+      entry.getKey().putDerived(splitCacheKey, toCache);
+    }
+
+    if (prunedSplitNum > 0) {
+      LOG.info("# of splits pruned by zone maps: " + prunedSplitNum);
+    }
+    LOG.info("Total # of splits: " + splits.size() + " (" + fileNum + " files, " + files.size() + " files split, "
+        + (System.currentTimeMillis() - startTime) + " msec)"
+        + (metadataCache != null ? ", " + metadataCache : ""));
+    return splits;
+  }
+
+  /**
+   * Lists an input path. If the metadata cache is enabled, the listing of a directory is looked up in the cache
+   * first, and it is validated with the modification time of the directory.
+   */
+  private FileMetadataCache.Listing listInput(boolean requireSort, Path input) throws IOException {
+    if (metadataCache != null) {
+      Path qualified = fs.makeQualified(input);
+      FileMetadataCache.Listing listing = metadataCache.getIfRecentlyValidated(qualified);
+      if (listing != null) {
+        return listing;
+      }
+
+      FileStatus status = null;
+      try {
+        status = fs.getFileStatus(qualified);
+      } catch (FileNotFoundException e) {
+        // a glob pattern is not cached
+      }
+
+      if (status != null && status.isDirectory()) {
+        listing = metadataCache.get(qualified, status.getModificationTime());
+        if (listing == null) {
+          // a cached listing is always sorted, because it may be used by queries that require sorted files
+          listing = metadataCache.put(qualified, status.getModificationTime(), listStatus(true, input));
+        }
+        return listing;
+      } else if (status != null) {
+        return new FileMetadataCache.Listing(status.getModificationTime(), Lists.newArrayList(status));
+      }
+    }
+
+    if (fs.isFile(input)) {
+      return new FileMetadataCache.Listing(0, Lists.newArrayList(fs.getFileStatus(input)));
+    } else {
+      return new FileMetadataCache.Listing(0, listStatus(requireSort, input));
+    }
+  }
+
+  /**
+   * Splits depend on the format and the properties of a table, so cached splits are kept by them.
+   */
+  private String getSplitCacheKey(TableMeta meta) {
+    return "splits:" + meta.getDataFormat() + ":" + new TreeMap<>(meta.getPropertySet().getAllKeyValus())
+        + ":" + getMinSplitSize() + ":" + isVolumeMetaEnabled();
+  }
+
+  private static FileFragment copySplit(String tableName, FileFragment split) {
+    return new FileFragment(tableName, split.getPath(), split.getStartKey(), split.getLength(),
+        split.getHostNames().toArray(new String[split.getHostNames().size()]), split.getDiskIds());
+  }
+
+  /**
+   * Invalidates the cached listings and splits of a path, its parent and its descendants.
+   * It should be called after data files are changed through Tajo.
+   */
+  public void invalidateMetadataCache(Path path) {
+    if (metadataCache != null) {
+      metadataCache.invalidate(fs.makeQualified(path));
+    }
+  }
+
+  /**
+   * The splits of a file. Splits with volume ids are kept apart with their block locations,
+   * because their volume ids are looked up for all files at once.
+   */
+  private static class FileSplits {
+    final List<Fragment> splits = Lists.newArrayList();
+    final List<Fragment> volumeSplits = Lists.newArrayList();
+    final List<BlockLocation> blockLocations = Lists.newArrayList();
+    int prunedSplitNum;
+  }
+
+  private FileSplits makeSplits(String tableName, TableMeta meta, Schema schema, FileStatus file,
+                                @Nullable ZoneMapFilter zoneMapFilter) throws IOException {
+    FileSplits result = new FileSplits();
+    Path path = file.getPath();
+    long length = file.getLen();
+    if (length == 0) {
+      return result;
+    }
+
+    ZoneMap zoneMap = zoneMapFilter != null ? ZoneMap.read(fs, file) : null;
+    if (zoneMap != null && !zoneMap.canMatch(zoneMapFilter, 0, length)) {
+      result.prunedSplitNum++;
+      return result;
+    }
+
+    // Get locations of blocks of file
+    BlockLocation[] blkLocations = getBlockLocations(file);
+    boolean splittable = isSplittable(meta, schema, path, file);
+    if (isVolumeMetaEnabled()) {
+
+      if (splittable || blkLocations[0].getLength() >= length) {
+        // a block location and its split are added together in order to keep them matched up
+        for (BlockLocation blockLocation : blkLocations) {
+          if (zoneMap != null
+              && !zoneMap.canMatch(zoneMapFilter, blockLocation.getOffset(), blockLocation.getLength())) {
+            result.prunedSplitNum++;
+            continue;
+          }
+          result.volumeSplits.add(makeSplit(tableName, path, blockLocation));
+          result.blockLocations.add(blockLocation);
+        }
+
+      } else { // Non splittable
+        result.splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
+      }
+
+    } else {
+      if (splittable) {
+
+        long minSize = Math.max(getMinSplitSize(), 1);
 
+        long blockSize = file.getBlockSize(); // s3n rest api contained block size but blockLocations is one
+        long splitSize = Math.max(minSize, blockSize);
+        long bytesRemaining = length;
+
+        // for s3
+        while (((double) bytesRemaining) / splitSize > SPLIT_SLOP) {
+          long start = length - bytesRemaining;
+          if (zoneMap == null || zoneMap.canMatch(zoneMapFilter, start, splitSize)) {
+            int blkIndex = getBlockIndex(blkLocations, start);
+            result.splits.add(makeSplit(tableName, path, start, splitSize, blkLocations[blkIndex].getHosts()));
+          } else {
+            result.prunedSplitNum++;
+          }
+          bytesRemaining -= splitSize;
+        }
+        if (bytesRemaining > 0) {
+          long start = length - bytesRemaining;
+          if (zoneMap == null || zoneMap.canMatch(zoneMapFilter, start, bytesRemaining)) {
+            int blkIndex = getBlockIndex(blkLocations, start);
+            result.splits.add(makeSplit(tableName, path, start, bytesRemaining, blkLocations[blkIndex].getHosts()));
           } else {
-            if (splittable) {
+            result.prunedSplitNum++;
+          }
+        }
+      } else { // Non splittable
+        result.splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
+      }
+    }
+    return result;
+  }
+
+  private boolean isVolumeMetaEnabled() {
+    return blocksMetadataEnabled && fs instanceof DistributedFileSystem;
+  }
 
-              long minSize = Math.max(getMinSplitSize(), 1);
+  /**
+   * Returns the block locations of a file. The locations fetched together with the directory listing are used
+   * if possible, so the block locations of a directory are looked up in a batch.
+   */
+  private BlockLocation[] getBlockLocations(FileStatus file) throws IOException {
+    // volume ids can be looked up only with the locations given by DistributedFileSystem.getFileBlockLocations()
+    if (file instanceof LocatedFileStatus && !isVolumeMetaEnabled()) {
+      BlockLocation[] locations = ((LocatedFileStatus) file).getBlockLocations();
+      if (locations != null && locations.length > 0) {
+        return locations;
+      }
+    }
+    return fs.getFileBlockLocations(file, 0, file.getLen());
+  }
+
+  private interface IOFunction<T, R> {
+    R apply(T t) throws IOException;
+  }
 
-              long blockSize = file.getBlockSize(); // s3n rest api contained block size but blockLocations is one
-              long splitSize = Math.max(minSize, blockSize);
-              long bytesRemaining = length;
+  private synchronized ExecutorService getSplitExecutor() {
+    if (splitExecutor == null) {
+      splitExecutor = Executors.newFixedThreadPool(conf.getIntVar(TajoConf.ConfVars.SPLIT_GENERATION_THREAD_NUM),
+          new ThreadFactoryBuilder().setNameFormat("Split generator #%d").setDaemon(true).build());
+    }
+    return splitExecutor;
+  }
 
-              // for s3
-              while (((double) bytesRemaining) / splitSize > SPLIT_SLOP) {
-                int blkIndex = getBlockIndex(blkLocations, length - bytesRemaining);
-                splits.add(makeSplit(tableName, path, length - bytesRemaining, splitSize,
-                    blkLocations[blkIndex].getHosts()));
-                bytesRemaining -= splitSize;
-              }
-              if (bytesRemaining > 0) {
-                int blkIndex = getBlockIndex(blkLocations, length - bytesRemaining);
-                splits.add(makeSplit(tableName, path, length - bytesRemaining, bytesRemaining,
-                    blkLocations[blkIndex].getHosts()));
-              }
-            } else { // Non splittable
-              splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
-            }
+  private synchronized ExecutorService getCommitExecutor() {
+    if (commitExecutor == null) {
+      commitExecutor = Executors.newFixedThreadPool(conf.getIntVar(TajoConf.ConfVars.OUTPUT_COMMIT_THREAD_NUM),
+          new ThreadFactoryBuilder().setNameFormat("Output committer #%d").setDaemon(true).build());
+    }
+    return commitExecutor;
+  }
+
+  /**
+   * Applies a function to each item on the output commit thread pool. Unlike split generation, it waits for all
+   * items even if some of them fail or the calling thread is interrupted, so that a failed commit is recovered
+   * after every file operation is finished.
+   *
+   * @return The results in the order of the items
+   */
+  private <T, R> List<R> commitInParallel(List<T> items, final IOFunction<T, R> function) throws IOException {
+    List<R> results = new ArrayList<>(items.size());
+    if (items.size() <= 1 || conf.getIntVar(TajoConf.ConfVars.OUTPUT_COMMIT_THREAD_NUM) <= 1) {
+      for (T item : items) {
+        results.add(function.apply(item));
+      }
+      return results;
+    }
+
+    ExecutorService executor = getCommitExecutor();
+    List<Future<R>> futures = new ArrayList<>(items.size());
+    for (final T item : items) {
+      futures.add(executor.submit(() -> function.apply(item)));
+    }
+
+    IOException error = null;
+    boolean interrupted = false;
+    for (Future<R> future : futures) {
+      while (true) {
+        try {
+          results.add(future.get());
+          break;
+        } catch (InterruptedException e) {
+          // a rename may still be running, so keep waiting and report the interrupt after all items are finished
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (error == null) {
+            error = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
           }
+          break;
         }
       }
-      if(LOG.isDebugEnabled()){
-        LOG.debug("# of splits per partition: " + (splits.size() - previousSplitSize));
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+      InterruptedIOException interruptedError = new InterruptedIOException("Output commit is interrupted");
+      if (error != null) {
+        interruptedError.initCause(error);
       }
+      throw interruptedError;
+    }
+    if (error != null) {
+      throw error;
     }
+    return results;
+  }
 
-    // Combine original fileFragments with new VolumeId information
-    setVolumeMeta(volumeSplits, blockLocations);
-    splits.addAll(volumeSplits);
-    LOG.info("Total # of splits: " + splits.size());
-    return splits;
+  /**
+   * Applies a function to each item on the split generation thread pool.
+   *
+   * @return The results in the order of the items
+   */
+  private <T, R> List<R> runInParallel(List<T> items, final IOFunction<T, R> function) throws IOException {
+    List<R> results = new ArrayList<>(items.size());
+    if (items.size() <= 1 || conf.getIntVar(TajoConf.ConfVars.SPLIT_GENERATION_THREAD_NUM) <= 1) {
+      for (T item : items) {
+        results.add(function.apply(item));
+      }
+      return results;
+    }
+
+    ExecutorService executor = getSplitExecutor();
+    List<Future<R>> futures = new ArrayList<>(items.size());
+    for (final T item : items) {
+      futures.add(executor.submit(() -> function.apply(item)));
+    }
+
+    try {
+      for (Future<R> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+    } finally {
+      for (Future<R> future : futures) {
+        future.cancel(true);
+      }
+    }
+    return results;
   }
 
   private void setVolumeMeta(List<Fragment> splits, final List<BlockLocation> blockLocations)
@@ -621,7 +975,8 @@ public class FileTablespace extends Tablespace {
                                   TableDesc table,
                                   boolean requireSort,
                                   @Nullable EvalNode filterCondition) throws IOException {
-    return getSplits(inputSourceId, table.getMeta(), table.getSchema(), requireSort, new Path(table.getUri()));
+    return getSplits(inputSourceId, table.getMeta(), table.getSchema(), requireSort, filterCondition,
+        new Path(table.getUri()));
   }
 
   @Override
@@ -675,6 +1030,7 @@ public class FileTablespace extends Tablespace {
       FileSystem fs = path.getFileSystem(conf);
       LOG.info("Delete table data dir: " + path);
       fs.delete(path, true);
+      invalidateMetadataCache(path);
     } catch (IOException e) {
       throw new InternalError(e.getMessage());
     }
@@ -691,7 +1047,15 @@ public class FileTablespace extends Tablespace {
   }
 
   @Override
-  public void close() {
+  public synchronized void close() {
+    if (splitExecutor != null) {
+      splitExecutor.shutdownNow();
+      splitExecutor = null;
+    }
+    if (commitExecutor != null) {
+      commitExecutor.shutdownNow();
+      commitExecutor = null;
+    }
   }
 
   @Override
@@ -831,8 +1195,8 @@ public class FileTablespace extends Tablespace {
             // renaming directory.
             Map<Path, Path> renameDirs = new HashMap<>();
             // This is a map for recovering existing partition directory. A key is current directory and a value is
-            // temporary directory to back up.
-            Map<Path, Path> recoveryDirs = new HashMap<>();
+            // temporary directory to back up. It is updated by concurrent renames.
+            final Map<Path, Path> recoveryDirs = new ConcurrentHashMap<>();
 
             try {
               if (!fs.exists(finalOutputDir)) {
@@ -842,22 +1206,22 @@ public class FileTablespace extends Tablespace {
               visitPartitionedDirectory(fs, stagingResultDir, finalOutputDir, stagingResultDir.toString(),
                   renameDirs, oldTableDir);
 
-              // Rename target partition directories
-              for(Map.Entry<Path, Path> entry : renameDirs.entrySet()) {
+              // Rename target partition directories. Each partition is independent of the others.
+              commitInParallel(new ArrayList<>(renameDirs.entrySet()), entry -> {
                 // Backup existing data files for recovering
                 if (fs.exists(entry.getValue())) {
                   String recoveryPathString = entry.getValue().toString().replaceAll(finalOutputDir.toString(),
                       oldTableDir.toString());
                   Path recoveryPath = new Path(recoveryPathString);
                   fs.rename(entry.getValue(), recoveryPath);
-                  fs.exists(recoveryPath);
                   recoveryDirs.put(entry.getValue(), recoveryPath);
                 }
                 // Delete existing directory
                 fs.delete(entry.getValue(), true);
                 // Rename staging directory to final output directory
                 fs.rename(entry.getKey(), entry.getValue());
-              }
+                return null;
+              });
 
             } catch (IOException ioe) {
               // Remove created dirs
@@ -881,7 +1245,7 @@ public class FileTablespace extends Tablespace {
               if (fs.exists(finalOutputDir)) {
                 fs.mkdirs(oldTableDir);
 
-                for (FileStatus status : fs.listStatus(finalOutputDir, hiddenFileFilter)) {
+                for (FileStatus status : fs.listStatus(finalOutputDir, dataFileFilter)) {
                   fs.rename(status.getPath(), oldTableDir);
                 }
 
@@ -903,7 +1267,7 @@ public class FileTablespace extends Tablespace {
               if (movedToOldTable && !committed) {
 
                 // if commit is failed, recover the old data
-                for (FileStatus status : fs.listStatus(finalOutputDir, hiddenFileFilter)) {
+                for (FileStatus status : fs.listStatus(finalOutputDir, dataFileFilter)) {
                   fs.delete(status.getPath(), true);
                 }
 
@@ -918,29 +1282,13 @@ public class FileTablespace extends Tablespace {
         } else {
           String queryType = queryContext.get(QueryVars.COMMAND_TYPE);
 
-          if (queryType != null && queryType.equals(NodeType.INSERT.name())) { // INSERT INTO an existing table
+          if (isDirectOutput(queryContext)) { // INSERT INTO whose output is already in the table
+            LOG.info("The output was written directly into the output directory '" + finalOutputDir + "'");
 
-            NumberFormat fmt = NumberFormat.getInstance();
-            fmt.setGroupingUsed(false);
-            fmt.setMinimumIntegerDigits(3);
+          } else if (queryType != null && queryType.equals(NodeType.INSERT.name())) { // INSERT INTO an existing table
 
-            if (!queryContext.get(QueryVars.OUTPUT_PARTITIONS, "").isEmpty()) {
-              for(FileStatus eachFile: fs.listStatus(stagingResultDir)) {
-                if (eachFile.isFile()) {
-                  LOG.warn("Partition table can't have file in a staging dir: " + eachFile.getPath());
-                  continue;
-                }
-                moveResultFromStageToFinal(fs, stagingResultDir, eachFile, finalOutputDir, fmt, -1, changeFileSeq);
-              }
-            } else {
-              int maxSeq = StorageUtil.getMaxFileSequence(fs, finalOutputDir, false) + 1;
-              for(FileStatus eachFile: fs.listStatus(stagingResultDir)) {
-                if (eachFile.getPath().getName().startsWith("_")) {
-                  continue;
-                }
-                moveResultFromStageToFinal(fs, stagingResultDir, eachFile, finalOutputDir, fmt, maxSeq++, changeFileSeq);
-              }
-            }
+            boolean partitioned = !queryContext.get(QueryVars.OUTPUT_PARTITIONS, "").isEmpty();
+            moveResultsFromStageToFinal(fs, stagingResultDir, finalOutputDir, partitioned, changeFileSeq);
             // checking all file moved and remove empty dir
             verifyAllFileMoved(fs, stagingResultDir);
             FileStatus[] files = fs.listStatus(stagingResultDir);
@@ -967,6 +1315,9 @@ public class FileTablespace extends Tablespace {
       } catch (Throwable t) {
         LOG.error(t);
         throw new IOException(t);
+      } finally {
+        // the output table is changed even if its commit fails in the middle
+        invalidateMetadataCache(finalOutputDir);
       }
     } else {
       finalOutputDir = new Path(stagingDir, TajoConstants.RESULT_DIR_NAME);
@@ -976,59 +1327,109 @@ public class FileTablespace extends Tablespace {
   }
 
   /**
-   * Attach the sequence number to the output file name and than move the file into the final result path.
+   * Attach the sequence numbers to the output file names and than move the files into the final result path.
+   *
+   * Staging directories are listed level by level, and their final directories are prepared in parallel.
+   * Then, all files are renamed in parallel. The sequence numbers are deterministic; they are assigned in the name
+   * order of files in each directory, starting after the max sequence of the final directory.
    *
    * @param fs FileSystem
    * @param stagingResultDir The staging result dir
-   * @param fileStatus The file status
-   * @param finalOutputPath Final output path
-   * @param nf Number format
-   * @param fileSeq The sequence number
+   * @param finalOutputDir Final output path
+   * @param partitioned True if the output table is partitioned
+   * @param changeFileSeq If true change result file name with max sequence.
    * @throws java.io.IOException
    */
-  private void moveResultFromStageToFinal(FileSystem fs, Path stagingResultDir,
-                                          FileStatus fileStatus, Path finalOutputPath,
-                                          NumberFormat nf,
-                                          int fileSeq, boolean changeFileSeq) throws IOException {
-    if (fileStatus.isDirectory()) {
-      String subPath = extractSubPath(stagingResultDir, fileStatus.getPath());
-      if (subPath != null) {
-        Path finalSubPath = new Path(finalOutputPath, subPath);
-        if (!fs.exists(finalSubPath)) {
-          fs.mkdirs(finalSubPath);
-        }
-        int maxSeq = StorageUtil.getMaxFileSequence(fs, finalSubPath, false);
-        for (FileStatus eachFile : fs.listStatus(fileStatus.getPath())) {
-          if (eachFile.getPath().getName().startsWith("_")) {
-            continue;
+  private void moveResultsFromStageToFinal(final FileSystem fs, final Path stagingResultDir,
+                                           final Path finalOutputDir, boolean partitioned,
+                                           final boolean changeFileSeq) throws IOException {
+    // data files of each staging directory
+    final Map<Path, List<FileStatus>> filesByDir = new LinkedHashMap<>();
+
+    List<Path> dirs = Lists.newArrayList(stagingResultDir);
+    while (!dirs.isEmpty()) {
+      List<FileStatus[]> listings = commitInParallel(dirs, fs::listStatus);
+
+      List<Path> subDirs = new ArrayList<>();
+      for (int i = 0; i < dirs.size(); i++) {
+        List<FileStatus> files = new ArrayList<>();
+        for (FileStatus eachFile : listings.get(i)) {
+          Path path = eachFile.getPath();
+          if (eachFile.isDirectory()) {
+            subDirs.add(path);
+          } else if (partitioned && dirs.get(i).equals(stagingResultDir)) {
+            LOG.warn("Partition table can't have file in a staging dir: " + path);
+          } else if (!path.getName().startsWith("_") && !ZoneMap.isZoneMapFile(path)) {
+            files.add(eachFile);
           }
-          moveResultFromStageToFinal(fs, stagingResultDir, eachFile, finalOutputPath, nf, ++maxSeq, changeFileSeq);
         }
+        if (!files.isEmpty()) {
+          Collections.sort(files);
+          filesByDir.put(dirs.get(i), files);
+        }
+      }
+      dirs = subDirs;
+    }
+
+    // pairs of a staging file and its final path
+    List<Path> stagingSubDirs = new ArrayList<>(filesByDir.keySet());
+    List<List<Pair<Path, Path>>> movesByDir = commitInParallel(stagingSubDirs, stagingSubDir -> {
+      Path finalSubDir;
+      if (stagingSubDir.equals(stagingResultDir)) {
+        finalSubDir = finalOutputDir;
       } else {
-        throw new IOException("Wrong staging dir:" + stagingResultDir + "," + fileStatus.getPath());
+        String subPath = extractSubPath(stagingResultDir, stagingSubDir);
+        if (subPath == null) {
+          throw new IOException("Wrong staging dir:" + stagingResultDir + "," + stagingSubDir);
+        }
+        finalSubDir = new Path(finalOutputDir, subPath);
       }
-    } else {
-      String subPath = extractSubPath(stagingResultDir, fileStatus.getPath());
-      if (subPath != null) {
-        Path finalSubPath = new Path(finalOutputPath, subPath);
+
+      if (!fs.exists(finalSubDir)) {
+        fs.mkdirs(finalSubDir);
+      }
+
+      int maxSeq = StorageUtil.getMaxFileSequence(fs, finalSubDir, false);
+      List<Pair<Path, Path>> moves = new ArrayList<>();
+      for (FileStatus eachFile : filesByDir.get(stagingSubDir)) {
+        String name = eachFile.getPath().getName();
         if (changeFileSeq) {
-          finalSubPath = new Path(finalSubPath.getParent(), replaceFileNameSeq(finalSubPath, fileSeq, nf));
-        }
-        if (!fs.exists(finalSubPath.getParent())) {
-          fs.mkdirs(finalSubPath.getParent());
-        }
-        if (fs.exists(finalSubPath)) {
-          throw new IOException("Already exists data file:" + finalSubPath);
-        }
-        boolean success = fs.rename(fileStatus.getPath(), finalSubPath);
-        if (success) {
-          LOG.info("Moving staging file[" + fileStatus.getPath() + "] + " +
-              "to final output[" + finalSubPath + "]");
-        } else {
-          LOG.error("Can't move staging file[" + fileStatus.getPath() + "] + " +
-              "to final output[" + finalSubPath + "]");
+          name = replaceFileNameSeq(eachFile.getPath(), ++maxSeq, OUTPUT_FILE_FORMAT_SEQ.get());
         }
+        moves.add(new Pair<>(eachFile.getPath(), new Path(finalSubDir, name)));
       }
+      return moves;
+    });
+
+    List<Pair<Path, Path>> moves = new ArrayList<>();
+    for (List<Pair<Path, Path>> eachDir : movesByDir) {
+      moves.addAll(eachDir);
+    }
+    commitInParallel(moves, move -> {
+      moveFile(fs, move.getFirst(), move.getSecond());
+      return null;
+    });
+    LOG.info("Moved " + moves.size() + " staging files in " + filesByDir.size() + " directories to final output["
+        + finalOutputDir + "]");
+  }
+
+  private void moveFile(FileSystem fs, Path stagingFile, Path finalFile) throws IOException {
+    if (fs.exists(finalFile)) {
+      throw new IOException("Already exists data file:" + finalFile);
+    }
+    boolean success = fs.rename(stagingFile, finalFile);
+    if (success) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Moving staging file[" + stagingFile + "] + " + "to final output[" + finalFile + "]");
+      }
+
+      // the zone map follows its data file
+      Path zoneMapPath = ZoneMap.getZoneMapPath(stagingFile);
+      if (fs.exists(zoneMapPath)) {
+        fs.rename(zoneMapPath, ZoneMap.getZoneMapPath(finalFile));
+      }
+    } else {
+      LOG.error("Can't move staging file[" + stagingFile + "] + " + "to final output[" + finalFile + "]");
     }
   }
 
@@ -27,12 +27,14 @@ import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocalDirAllocator;
 import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.TaskAttemptId;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.storage.rawfile.ColumnarRawFileWriter;
 import org.apache.tajo.storage.rawfile.DirectRawFileWriter;
 import org.apache.tajo.tuple.memory.MemoryRowBlock;
 import org.apache.tajo.unit.StorageUnit;
@@ -114,8 +116,12 @@ public class HashShuffleAppenderManager {
         fs.mkdirs(dataFile.getParent());
       }
 
-      DirectRawFileWriter appender =
-          new DirectRawFileWriter(systemConf, null, outSchema, meta, dataFile, memoryRowBlock);
+      DirectRawFileWriter appender;
+      if (BuiltinStorages.CRAW.equalsIgnoreCase(meta.getDataFormat())) {
+        appender = new ColumnarRawFileWriter(systemConf, null, outSchema, meta, dataFile, memoryRowBlock);
+      } else {
+        appender = new DirectRawFileWriter(systemConf, null, outSchema, meta, dataFile, memoryRowBlock);
+      }
       appender.enableStats();
       appender.init();
 
@@ -32,11 +32,12 @@ import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.datum.ProtobufDatumFactory;
-import org.apache.tajo.exception.TajoRuntimeException;
-import org.apache.tajo.exception.UnsupportedException;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.storage.rawfile.DirectRawFileWriter;
+import org.apache.tajo.storage.zonemap.ZoneCursor;
+import org.apache.tajo.storage.zonemap.ZoneMap;
+import org.apache.tajo.storage.zonemap.ZoneMapFilter;
 import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.BitArray;
 
@@ -45,7 +46,6 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 
 public class RawFile {
   private static final Log LOG = LogFactory.getLog(RawFile.class);
@@ -54,7 +54,7 @@ public class RawFile {
   public static final int DEFAULT_BUFFER_SIZE = 128 * StorageUnit.KB;
 
   public static class RawFileScanner extends FileScanner implements SeekableScanner {
-    private FileChannel channel;
+    private SeekableInputChannel channel;
     private DataType[] columnTypes;
 
     private ByteBuffer buffer;
@@ -73,6 +73,13 @@ public class RawFile {
     private long filePosition;
     private boolean forceFillBuffer;
 
+    private EvalNode filter;
+    /** It is set only if the scan filter can be evaluated with the zone map of the file */
+    private ZoneMap zoneMap;
+    private ZoneCursor zoneCursor;
+    /** True if no row in this fragment can match the filter */
+    private boolean pruned;
+
     public RawFileScanner(Configuration conf, Schema schema, TableMeta meta, Fragment fragment) throws IOException {
       super(conf, schema, meta, fragment);
     }
@@ -90,7 +97,7 @@ public class RawFile {
         throw new IOException(iae);
       }
       fis = new FileInputStream(file);
-      channel = fis.getChannel();
+      channel = new LocalFileInputChannel(fis);
       filePosition = startOffset = fragment.getStartKey();
       endOffset = fragment.getEndKey();
 
@@ -115,13 +122,32 @@ public class RawFile {
 
       // initial set position
       if (fragment.getStartKey() > 0) {
-        channel.position(fragment.getStartKey());
+        channel.seek(fragment.getStartKey());
+      }
+      channel = ReadAheadInputChannel.wrap(conf, channel, buf.capacity(), startOffset, endOffset);
+
+      if (filter != null && ZoneMap.isEnabled(meta)) {
+        zoneMap = ZoneMap.read(fragment.getPath().getFileSystem(conf), fragment.getPath());
       }
+      initZoneCursor();
 
       forceFillBuffer = true;
       super.init();
     }
 
+    private void initZoneCursor() {
+      zoneCursor = null;
+      pruned = false;
+      if (zoneMap != null) {
+        ZoneMapFilter zoneMapFilter = new ZoneMapFilter(filter);
+        if (zoneMap.canMatch(zoneMapFilter, startOffset, fragment.getLength())) {
+          zoneCursor = new ZoneCursor(zoneMap, zoneMapFilter);
+        } else {
+          pruned = true;
+        }
+      }
+    }
+
     @Override
     public long getNextOffset() throws IOException {
       return filePosition - (forceFillBuffer ? 0 : buffer.remaining());
@@ -140,7 +166,7 @@ public class RawFile {
           throw new IndexOutOfBoundsException(String.format("range(%d, %d), offset: %d",
               startOffset, startOffset + fragment.getLength(), offset));
         }
-        channel.position(offset);
+        channel.seek(offset);
         filePosition = offset;
         buffer.clear();
         forceFillBuffer = true;
@@ -248,7 +274,29 @@ public class RawFile {
 
     @Override
     public Tuple next() throws IOException {
-      if(eos) return null;
+      Tuple tuple;
+      while ((tuple = readTuple()) != null) {
+        if (filter == null || filter.evalBool(tuple)) {
+          return tuple;
+        }
+      }
+      return null;
+    }
+
+    private Tuple readTuple() throws IOException {
+      if(eos || pruned) return null;
+
+      // skip the zones which cannot contain any matched row
+      if (zoneCursor != null) {
+        long offset = getNextOffset();
+        long nextOffset = zoneCursor.nextOffset(offset);
+        if (nextOffset < 0 || nextOffset >= endOffset) {
+          eos = true;
+          return null;
+        } else if (nextOffset > offset) {
+          seek(nextOffset);
+        }
+      }
 
       if (forceFillBuffer || buffer.remaining() < headerSize) {
         if (!fillBuffer()) {
@@ -396,8 +444,9 @@ public class RawFile {
       forceFillBuffer = true;
       filePosition = fragment.getStartKey();
       recordCount = 0;
-      channel.position(filePosition);
+      channel.seek(filePosition);
       eos = false;
+      initZoneCursor();
     }
 
     @Override
@@ -410,6 +459,9 @@ public class RawFile {
         buf = null;
       }
 
+      if (LOG.isDebugEnabled() && channel instanceof ReadAheadInputChannel) {
+        LOG.debug(fragment.getPath() + " read-ahead: " + channel);
+      }
       IOUtils.cleanup(LOG, channel, fis);
     }
 
@@ -420,12 +472,15 @@ public class RawFile {
 
     @Override
     public boolean isSelectable() {
-      return false;
+      return true;
     }
 
     @Override
     public void setFilter(EvalNode filter) {
-      throw new TajoRuntimeException(new UnsupportedException());
+      if (inited) {
+        throw new IllegalStateException("Should be called before init()");
+      }
+      this.filter = filter;
     }
 
     @Override
@@ -45,6 +45,8 @@ import java.util.TimeZone;
 
 public class JsonLineDeserializer extends TextLineDeserializer {
   private JSONParser parser;
+  // It is null if any projected field cannot be read by the streaming parser.
+  private final JsonProjectionParser projectionParser;
 
   // Full Path -> Type
   private final Map<String, Type> types;
@@ -61,6 +63,8 @@ public class JsonLineDeserializer extends TextLineDeserializer {
 
     timezone = TimeZone.getTimeZone(meta.getProperty(StorageConstants.TIMEZONE,
         StorageUtil.TAJO_CONF.getSystemTimezone().getID()));
+
+    projectionParser = JsonProjectionParser.create(projectedPaths, types, timezone);
   }
 
   @Override
@@ -216,6 +220,11 @@ public class JsonLineDeserializer extends TextLineDeserializer {
 
   @Override
   public void deserialize(ByteBuf buf, Tuple output) throws IOException, TextLineParsingError {
+    // The streaming parser reads only projected fields. If it cannot handle a line, the line is parsed entirely.
+    if (projectionParser != null && projectionParser.parse(buf, output)) {
+      return;
+    }
+
     String line = decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString();
 
     JSONObject object;
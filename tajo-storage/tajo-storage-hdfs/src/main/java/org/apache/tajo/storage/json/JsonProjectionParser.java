@@ -0,0 +1,789 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.json;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.commons.net.util.Base64;
+import org.apache.tajo.catalog.NestedPathUtil;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * A streaming JSON parser which walks the bytes of a line and only materializes the projected fields.
+ * The values of the other fields are skipped without any allocation.
+ *
+ * It only accepts strict JSON (RFC 7159) and values which are converted in the same way as
+ * {@link JsonLineDeserializer} does with a parsed JSON object. For any other line, {@link #parse(ByteBuf, Tuple)}
+ * returns false, and the line should be parsed by the general JSON parser. As a result, lines which cannot be
+ * parsed, including malformed ones, have the same results and the same errors as before.
+ */
+class JsonProjectionParser {
+  private static final byte[] TRUE_BYTES = "true".getBytes(Bytes.UTF8_CHARSET);
+  private static final byte[] FALSE_BYTES = "false".getBytes(Bytes.UTF8_CHARSET);
+  private static final byte[] NULL_BYTES = "null".getBytes(Bytes.UTF8_CHARSET);
+
+  private final PathNode root;
+  private final int fieldNum;
+  private final TimeZone timezone;
+
+  // the current line
+  private byte[] data = new byte[4096];
+  private int pos;
+  private int end;
+
+  // the unescaped string value
+  private byte[] scratch = new byte[256];
+  private byte[] stringBytes;
+  private int stringStart;
+  private int stringLength;
+
+  private JsonProjectionParser(PathNode root, int fieldNum, TimeZone timezone) {
+    this.root = root;
+    this.fieldNum = fieldNum;
+    this.timezone = timezone;
+  }
+
+  /**
+   * @param projectedPaths Projected paths whose elements are delimited by {@link NestedPathUtil#PATH_DELIMITER}
+   * @param types Full path to type
+   * @return A parser, or null if any projected path has a type which this parser does not support
+   */
+  static JsonProjectionParser create(String [] projectedPaths, Map<String, Type> types, TimeZone timezone) {
+    PathNode root = new PathNode(null, null);
+
+    for (int i = 0; i < projectedPaths.length; i++) {
+      String [] elements = projectedPaths[i].split(NestedPathUtil.PATH_DELIMITER);
+      PathNode node = root;
+      String fullPath = null;
+
+      for (int depth = 0; depth < elements.length; depth++) {
+        fullPath = depth == 0 ? elements[0] : fullPath + NestedPathUtil.PATH_DELIMITER + elements[depth];
+        Type type = types.get(fullPath);
+        boolean leaf = depth == elements.length - 1;
+        if (type == null || (leaf ? !isSupported(type) : type != Type.RECORD)) {
+          return null;
+        }
+
+        PathNode child = node.getChild(elements[depth]);
+        if (child == null) {
+          child = new PathNode(elements[depth], type);
+          node.children.add(child);
+        } else if (leaf || child.isLeaf()) {
+          // the same path is projected twice, or a leaf is used as a record
+          return null;
+        }
+
+        if (leaf) {
+          child.fieldIndex = i;
+        }
+        node = child;
+      }
+    }
+
+    return new JsonProjectionParser(root, projectedPaths.length, timezone);
+  }
+
+  private static boolean isSupported(Type type) {
+    switch (type) {
+    case BOOLEAN:
+    case CHAR:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+    case TEXT:
+    case TIMESTAMP:
+    case TIME:
+    case DATE:
+    case BIT:
+    case BINARY:
+    case VARBINARY:
+    case BLOB:
+    case NULL_TYPE:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * Parses a JSON line and puts the projected values into the output tuple.
+   *
+   * @return True if the line is parsed. Otherwise, the line should be parsed by the general JSON parser.
+   */
+  boolean parse(ByteBuf buf, Tuple output) {
+    end = buf.readableBytes();
+    if (data.length < end) {
+      data = new byte[Math.max(end, data.length * 2)];
+    }
+    buf.getBytes(buf.readerIndex(), data, 0, end);
+    pos = 0;
+
+    // missing fields are nulls
+    for (int i = 0; i < fieldNum; i++) {
+      output.put(i, NullDatum.get());
+    }
+
+    skipWhitespaces();
+    if (!parseObject(root, output)) {
+      return false;
+    }
+    skipWhitespaces();
+    return pos == end;
+  }
+
+  private boolean parseObject(PathNode node, Tuple output) {
+    if (!consume('{')) {
+      return false;
+    }
+    skipWhitespaces();
+    if (consume('}')) {
+      return true;
+    }
+
+    while (true) {
+      skipWhitespaces();
+      if (pos >= end || data[pos] != '"') {
+        return false;
+      }
+      int keyStart = pos + 1;
+      if (!skipString()) {
+        return false;
+      }
+      int keyLength = pos - 1 - keyStart;
+      // escaped keys are rare, so they are left to the general parser
+      if (hasBackslash(keyStart, keyLength)) {
+        return false;
+      }
+      PathNode child = node.getChild(data, keyStart, keyLength);
+
+      skipWhitespaces();
+      if (!consume(':')) {
+        return false;
+      }
+      skipWhitespaces();
+
+      if (child == null) {
+        if (!skipValue()) {
+          return false;
+        }
+      } else if (child.isLeaf()) {
+        if (!readValue(child, output)) {
+          return false;
+        }
+      } else {
+        // the last value of duplicated keys wins, so the fields of a nested record are reset
+        child.putNulls(output);
+        if (!consumeLiteral(NULL_BYTES) && !parseObject(child, output)) {
+          return false;
+        }
+      }
+
+      skipWhitespaces();
+      if (consume(',')) {
+        continue;
+      }
+      return consume('}');
+    }
+  }
+
+  private boolean readValue(PathNode leaf, Tuple output) {
+    if (pos >= end) {
+      return false;
+    }
+
+    Datum datum;
+    byte first = data[pos];
+    if (first == 'n') {
+      if (!consumeLiteral(NULL_BYTES)) {
+        return false;
+      }
+      datum = NullDatum.get();
+
+    } else if (leaf.type == Type.NULL_TYPE) {
+      if (!skipValue()) {
+        return false;
+      }
+      datum = NullDatum.get();
+
+    } else if (first == '"') {
+      if (!readString()) {
+        return false;
+      }
+      datum = createDatumFromString(leaf.type);
+
+    } else if (first == 't' || first == 'f') {
+      boolean value = first == 't';
+      if (!consumeLiteral(value ? TRUE_BYTES : FALSE_BYTES)) {
+        return false;
+      }
+      switch (leaf.type) {
+      case BOOLEAN:
+        datum = DatumFactory.createBool(value);
+        break;
+      case CHAR:
+        datum = DatumFactory.createChar(value ? "true" : "false");
+        break;
+      case TEXT:
+        datum = DatumFactory.createText(value ? "true" : "false");
+        break;
+      default:
+        return false;
+      }
+
+    } else if (first == '-' || (first >= '0' && first <= '9')) {
+      datum = readNumber(leaf.type);
+
+    } else {
+      // nested objects and arrays
+      return false;
+    }
+
+    if (datum == null) {
+      return false;
+    }
+    output.put(leaf.fieldIndex, datum);
+    return true;
+  }
+
+  /**
+   * @return A datum, or null if the value should be converted by the general parser
+   */
+  private Datum createDatumFromString(Type type) {
+    switch (type) {
+    case BOOLEAN:
+      return DatumFactory.createBool(
+          Bytes.equals(stringBytes, stringStart, stringLength, TRUE_BYTES, 0, TRUE_BYTES.length));
+    case CHAR:
+      return DatumFactory.createChar(Arrays.copyOfRange(stringBytes, stringStart, stringStart + stringLength));
+    case TEXT:
+      return DatumFactory.createText(Arrays.copyOfRange(stringBytes, stringStart, stringStart + stringLength));
+    case TIMESTAMP:
+      return DatumFactory.createTimestamp(stringValue(), timezone);
+    case TIME:
+      return DatumFactory.createTime(stringValue());
+    case DATE:
+      return DatumFactory.createDate(stringValue());
+    case BIT:
+    case BINARY:
+    case VARBINARY:
+    case BLOB:
+      return DatumFactory.createBlob(Base64.decodeBase64(stringValue()));
+    default:
+      // numeric strings
+      return null;
+    }
+  }
+
+  private String stringValue() {
+    return new String(stringBytes, stringStart, stringLength, Bytes.UTF8_CHARSET);
+  }
+
+  /**
+   * @return A datum, or null if the value should be converted by the general parser
+   */
+  private Datum readNumber(Type type) {
+    int start = pos;
+    boolean integral = skipNumber();
+    if (pos == start) {
+      return null;
+    }
+
+    if (integral) {
+      long value = 0;
+      boolean negative = data[start] == '-';
+      for (int i = negative ? start + 1 : start; i < pos; i++) {
+        int digit = data[i] - '0';
+        // the general parser keeps a value beyond the range of long in a BigInteger
+        if (value < (Long.MIN_VALUE + digit) / 10) {
+          return null;
+        }
+        value = value * 10 - digit;
+      }
+      if (!negative) {
+        if (value == Long.MIN_VALUE) {
+          return null;
+        }
+        value = -value;
+      }
+
+      switch (type) {
+      case INT1:
+      case INT2:
+        return DatumFactory.createInt2((short) value);
+      case INT4:
+        return DatumFactory.createInt4((int) value);
+      case INT8:
+        return DatumFactory.createInt8(value);
+      case FLOAT4:
+        return DatumFactory.createFloat4((float) value);
+      case FLOAT8:
+        return DatumFactory.createFloat8((double) value);
+      default:
+        return null;
+      }
+
+    } else {
+      // the general parser keeps a long fraction in a BigDecimal
+      if (pos - start > 18) {
+        return null;
+      }
+      double value = Double.parseDouble(new String(data, start, pos - start, Bytes.UTF8_CHARSET));
+      switch (type) {
+      case FLOAT4:
+        return DatumFactory.createFloat4((float) value);
+      case FLOAT8:
+        return DatumFactory.createFloat8(value);
+      default:
+        return null;
+      }
+    }
+  }
+
+  private boolean skipValue() {
+    if (pos >= end) {
+      return false;
+    }
+
+    switch (data[pos]) {
+    case '"':
+      return skipString();
+    case '{':
+      return skipObject();
+    case '[':
+      return skipArray();
+    case 't':
+      return consumeLiteral(TRUE_BYTES);
+    case 'f':
+      return consumeLiteral(FALSE_BYTES);
+    case 'n':
+      return consumeLiteral(NULL_BYTES);
+    default:
+      int start = pos;
+      skipNumber();
+      return pos > start;
+    }
+  }
+
+  private boolean skipObject() {
+    pos++;
+    skipWhitespaces();
+    if (consume('}')) {
+      return true;
+    }
+
+    while (true) {
+      skipWhitespaces();
+      if (pos >= end || data[pos] != '"' || !skipString()) {
+        return false;
+      }
+      skipWhitespaces();
+      if (!consume(':')) {
+        return false;
+      }
+      skipWhitespaces();
+      if (!skipValue()) {
+        return false;
+      }
+      skipWhitespaces();
+      if (consume(',')) {
+        continue;
+      }
+      return consume('}');
+    }
+  }
+
+  private boolean skipArray() {
+    pos++;
+    skipWhitespaces();
+    if (consume(']')) {
+      return true;
+    }
+
+    while (true) {
+      skipWhitespaces();
+      if (!skipValue()) {
+        return false;
+      }
+      skipWhitespaces();
+      if (consume(',')) {
+        continue;
+      }
+      return consume(']');
+    }
+  }
+
+  /**
+   * Skips a number of the form -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?
+   * The position is not moved if the number is invalid.
+   *
+   * @return True if the number has neither fraction nor exponent
+   */
+  private boolean skipNumber() {
+    int start = pos;
+    int i = pos;
+    if (i < end && data[i] == '-') {
+      i++;
+    }
+    if (i >= end || !isDigit(data[i])) {
+      return false;
+    }
+    if (data[i] == '0') {
+      i++;
+    } else {
+      while (i < end && isDigit(data[i])) {
+        i++;
+      }
+    }
+
+    boolean integral = true;
+    if (i < end && data[i] == '.') {
+      integral = false;
+      i++;
+      int digitStart = i;
+      while (i < end && isDigit(data[i])) {
+        i++;
+      }
+      if (i == digitStart) {
+        return false;
+      }
+    }
+    if (i < end && (data[i] == 'e' || data[i] == 'E')) {
+      integral = false;
+      i++;
+      if (i < end && (data[i] == '+' || data[i] == '-')) {
+        i++;
+      }
+      int digitStart = i;
+      while (i < end && isDigit(data[i])) {
+        i++;
+      }
+      if (i == digitStart) {
+        return false;
+      }
+    }
+
+    // a number must be followed by a delimiter
+    if (i < end && !isDelimiter(data[i])) {
+      return false;
+    }
+    pos = i;
+    return integral && pos > start;
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private static boolean isDelimiter(byte b) {
+    return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\n' || b == '\r';
+  }
+
+  /**
+   * Skips a string starting at the current quote. It also checks that the string is valid UTF-8 without
+   * control characters and it has only valid escape sequences.
+   */
+  private boolean skipString() {
+    int i = pos + 1;
+    while (i < end) {
+      byte b = data[i];
+      if (b == '"') {
+        pos = i + 1;
+        return true;
+      } else if (b == '\\') {
+        if (i + 1 >= end) {
+          return false;
+        }
+        switch (data[i + 1]) {
+        case '"':
+        case '\\':
+        case '/':
+        case 'b':
+        case 'f':
+        case 'n':
+        case 'r':
+        case 't':
+          i += 2;
+          break;
+        case 'u':
+          if (i + 6 > end || hexValue(i + 2) < 0) {
+            return false;
+          }
+          i += 6;
+          break;
+        default:
+          return false;
+        }
+      } else if (b >= 0) {
+        // control characters and DEL are treated differently by the general parser
+        if (b < 0x20 || b == 0x7f) {
+          return false;
+        }
+        i++;
+      } else {
+        int length = utf8Length(i);
+        if (length < 0) {
+          return false;
+        }
+        i += length;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Reads a string starting at the current quote, and keeps the unescaped UTF-8 bytes of the string.
+   */
+  private boolean readString() {
+    int start = pos + 1;
+    if (!skipString()) {
+      return false;
+    }
+    int length = pos - 1 - start;
+
+    if (!hasBackslash(start, length)) {
+      stringBytes = data;
+      stringStart = start;
+      stringLength = length;
+      return true;
+    }
+
+    // unescape the string. An escaped string is not longer than the original one.
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+    int out = 0;
+    int i = start;
+    while (i < start + length) {
+      byte b = data[i];
+      if (b != '\\') {
+        scratch[out++] = b;
+        i++;
+        continue;
+      }
+
+      byte escaped = data[i + 1];
+      i += 2;
+      switch (escaped) {
+      case 'b': scratch[out++] = '\b'; break;
+      case 'f': scratch[out++] = '\f'; break;
+      case 'n': scratch[out++] = '\n'; break;
+      case 'r': scratch[out++] = '\r'; break;
+      case 't': scratch[out++] = '\t'; break;
+      case 'u': {
+        int codePoint = hexValue(i);
+        i += 4;
+        if (Character.isHighSurrogate((char) codePoint)) {
+          if (i + 6 > start + length || data[i] != '\\' || data[i + 1] != 'u'
+              || !Character.isLowSurrogate((char) hexValue(i + 2))) {
+            // a lone surrogate cannot be encoded in UTF-8
+            return false;
+          }
+          codePoint = Character.toCodePoint((char) codePoint, (char) hexValue(i + 2));
+          i += 6;
+        } else if (Character.isLowSurrogate((char) codePoint)) {
+          return false;
+        }
+        out = putUtf8(codePoint, out);
+        break;
+      }
+      default:
+        // '"', '\\' and '/'
+        scratch[out++] = escaped;
+      }
+    }
+
+    stringBytes = scratch;
+    stringStart = 0;
+    stringLength = out;
+    return true;
+  }
+
+  private boolean hasBackslash(int start, int length) {
+    for (int i = start; i < start + length; i++) {
+      if (data[i] == '\\') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int putUtf8(int codePoint, int out) {
+    if (codePoint < 0x80) {
+      scratch[out++] = (byte) codePoint;
+    } else if (codePoint < 0x800) {
+      scratch[out++] = (byte) (0xc0 | codePoint >> 6);
+      scratch[out++] = (byte) (0x80 | codePoint & 0x3f);
+    } else if (codePoint < 0x10000) {
+      scratch[out++] = (byte) (0xe0 | codePoint >> 12);
+      scratch[out++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+      scratch[out++] = (byte) (0x80 | codePoint & 0x3f);
+    } else {
+      scratch[out++] = (byte) (0xf0 | codePoint >> 18);
+      scratch[out++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+      scratch[out++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+      scratch[out++] = (byte) (0x80 | codePoint & 0x3f);
+    }
+    return out;
+  }
+
+  /**
+   * @return The value of 4 hex digits, or -1 if they are invalid
+   */
+  private int hexValue(int start) {
+    int value = 0;
+    for (int i = start; i < start + 4; i++) {
+      int digit = Character.digit(data[i], 16);
+      if (digit < 0) {
+        return -1;
+      }
+      value = value << 4 | digit;
+    }
+    return value;
+  }
+
+  /**
+   * @return The length of the UTF-8 sequence starting at the given index, or -1 if it is malformed
+   */
+  private int utf8Length(int i) {
+    int b = data[i] & 0xff;
+    int length;
+    int min = 0x80, max = 0xbf;   // the range of the second byte
+
+    if (b >= 0xc2 && b <= 0xdf) {
+      length = 2;
+    } else if (b >= 0xe0 && b <= 0xef) {
+      length = 3;
+      if (b == 0xe0) {
+        min = 0xa0;
+      } else if (b == 0xed) {
+        // surrogates
+        max = 0x9f;
+      }
+    } else if (b >= 0xf0 && b <= 0xf4) {
+      length = 4;
+      if (b == 0xf0) {
+        min = 0x90;
+      } else if (b == 0xf4) {
+        max = 0x8f;
+      }
+    } else {
+      return -1;
+    }
+
+    if (i + length > end) {
+      return -1;
+    }
+    int second = data[i + 1] & 0xff;
+    if (second < min || second > max) {
+      return -1;
+    }
+    for (int j = i + 2; j < i + length; j++) {
+      if ((data[j] & 0xc0) != 0x80) {
+        return -1;
+      }
+    }
+    return length;
+  }
+
+  private void skipWhitespaces() {
+    while (pos < end) {
+      byte b = data[pos];
+      if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  private boolean consume(char c) {
+    if (pos < end && data[pos] == c) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  private boolean consumeLiteral(byte[] literal) {
+    if (pos + literal.length > end || !Bytes.equals(data, pos, literal.length, literal, 0, literal.length)) {
+      return false;
+    }
+    int next = pos + literal.length;
+    if (next < end && !isDelimiter(data[next])) {
+      return false;
+    }
+    pos = next;
+    return true;
+  }
+
+  /**
+   * A node of the tree of projected paths
+   */
+  private static class PathNode {
+    final byte[] name;
+    final Type type;
+    final List<PathNode> children = new ArrayList<>();
+    int fieldIndex = -1;
+
+    PathNode(String name, Type type) {
+      this.name = name != null ? name.getBytes(Bytes.UTF8_CHARSET) : null;
+      this.type = type;
+    }
+
+    boolean isLeaf() {
+      return fieldIndex >= 0;
+    }
+
+    PathNode getChild(String name) {
+      byte[] bytes = name.getBytes(Bytes.UTF8_CHARSET);
+      return getChild(bytes, 0, bytes.length);
+    }
+
+    PathNode getChild(byte[] bytes, int offset, int length) {
+      for (PathNode child : children) {
+        if (Bytes.equals(child.name, 0, child.name.length, bytes, offset, length)) {
+          return child;
+        }
+      }
+      return null;
+    }
+
+    void putNulls(Tuple output) {
+      for (PathNode child : children) {
+        if (child.isLeaf()) {
+          output.put(child.fieldIndex, NullDatum.get());
+        } else {
+          child.putNulls(output);
+        }
+      }
+    }
+  }
+}
@@ -18,12 +18,14 @@
 
 package org.apache.tajo.storage.orc;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.orc.CompressionKind;
 import org.apache.orc.OrcConf;
 import org.apache.orc.TypeDescription;
 import org.apache.tajo.TaskAttemptId;
+import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.TableStats;
@@ -34,6 +36,8 @@ import org.apache.tajo.storage.thirdparty.orc.OrcUtils;
 import org.apache.tajo.storage.thirdparty.orc.Writer;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.TimeZone;
 
@@ -119,8 +123,25 @@ public class ORCAppender extends FileAppender {
             String.valueOf(OrcConf.ENCODING_STRATEGY.getDefaultValue()))))
         .bloomFilterFpp(Double.parseDouble(meta.getProperty(OrcConf.BLOOM_FILTER_FPP.getAttribute(),
             String.valueOf(OrcConf.BLOOM_FILTER_FPP.getDefaultValue()))))
-        .bloomFilterColumns(meta.getProperty(OrcConf.BLOOM_FILTER_COLUMNS.getAttribute(),
-            String.valueOf(OrcConf.BLOOM_FILTER_COLUMNS.getDefaultValue())));
+        .bloomFilterColumns(getBloomFilterColumns(schema, meta.getProperty(OrcConf.BLOOM_FILTER_COLUMNS.getAttribute(),
+            String.valueOf(OrcConf.BLOOM_FILTER_COLUMNS.getDefaultValue()))));
+  }
+
+  /**
+   * ORC fields are named after the qualified column names, so the column names given in the table property are
+   * translated into them.
+   */
+  private static String getBloomFilterColumns(Schema schema, String columns) {
+    if (columns == null || columns.trim().isEmpty()) {
+      return columns;
+    }
+
+    List<String> names = new ArrayList<>();
+    for (String name : columns.split(",")) {
+      Column column = schema.getColumn(name.trim());
+      names.add(column == null ? name.trim() : column.getQualifiedName());
+    }
+    return StringUtils.join(names, ",");
   }
 
   private static CompressionKind getCompressionKind(TableMeta meta) {
@@ -24,6 +24,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.Text;
@@ -33,7 +34,12 @@ import org.apache.orc.impl.BufferChunk;
 import org.apache.orc.impl.InStream;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.exception.TajoRuntimeException;
+import org.apache.tajo.exception.UnsupportedException;
 import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.storage.ColumnBatchScanner;
+import org.apache.tajo.storage.FileFooterCache;
 import org.apache.tajo.storage.FileScanner;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.storage.StorageUtil;
@@ -41,6 +47,7 @@ import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.storage.thirdparty.orc.OrcRecordReader;
 import org.apache.tajo.storage.thirdparty.orc.OrcUtils;
+import org.apache.tajo.tuple.vector.ColumnBatch;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -48,13 +55,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.TimeZone;
 
-public class OrcScanner extends FileScanner {
+/**
+ * OrcScanner reads ORC files. Unless {@link StorageConstants#ORC_VECTORIZED_READ} is disabled, the projected columns
+ * are read into column batches, and next() returns a view of a row in the current batch.
+ */
+public class OrcScanner extends FileScanner implements ColumnBatchScanner {
   private static final Log LOG = LogFactory.getLog(OrcScanner.class);
 
   private static final int DIRECTORY_SIZE_GUESS = 16 * 1024;
 
   protected final FileSystem fileSystem;
-  private final long maxLength = Long.MAX_VALUE;
   protected final Path path;
   protected org.apache.orc.CompressionKind compressionKind;
   protected CompressionCodec codec;
@@ -71,18 +81,16 @@ public class OrcScanner extends FileScanner {
 
   private List<Integer> versionList;
 
-  //serialized footer - Keeping this around for use by getFileMetaInfo()
-  // will help avoid cpu cycles spend in deserializing at cost of increased
-  // memory footprint.
-  private ByteBuffer footerByteBuffer;
-  // Same for metastore cache - maintains the same background buffer, but includes postscript.
-  // This will only be set if the file footer/metadata was read from disk.
-  private ByteBuffer footerMetaAndPsBuffer;
-
   private OrcRecordReader recordReader;
+  private EvalNode filter;
+  private OrcSearchArgument sarg;
 
   private long recordCount = 0;
 
+  private ColumnBatch batch;
+  /** The index of the next row to be returned by next() in the current batch */
+  private int batchIndex;
+
   /**
    * Ensure this is an ORC file to prevent users from trying to read text
    * files or RC files as ORC files.
@@ -166,18 +174,10 @@ public class OrcScanner extends FileScanner {
 
   private static FileMetaInfo extractMetaInfoFromFooter(FileSystem fs,
                                                         Path path,
-                                                        long maxFileLength
+                                                        long size
   ) throws IOException {
     FSDataInputStream file = fs.open(path);
 
-    // figure out the size of the file using the option or filesystem
-    long size;
-    if (maxFileLength == Long.MAX_VALUE) {
-      size = fs.getFileStatus(path).getLen();
-    } else {
-      size = maxFileLength;
-    }
-
     //read last bytes into buffer to get PostScript
     int readSize = (int) Math.min(size, DIRECTORY_SIZE_GUESS);
     ByteBuffer buffer = ByteBuffer.allocate(readSize);
@@ -237,7 +237,7 @@ public class OrcScanner extends FileScanner {
   public OrcRecordReader createRecordReader() throws IOException {
     return new OrcRecordReader(this.stripes, fileSystem, schema, targets, fragment, types, codec, bufferSize,
         rowIndexStride, buildReaderOptions(meta), conf,
-        timeZone);
+        timeZone, stripeStats, sarg);
   }
 
   private static Options buildReaderOptions(TableMeta meta) {
@@ -250,43 +250,107 @@ public class OrcScanner extends FileScanner {
 
   @Override
   public void init() throws IOException {
-    FileMetaInfo footerMetaData = extractMetaInfoFromFooter(fileSystem, path, maxLength);
-    this.footerMetaAndPsBuffer = footerMetaData.footerMetaAndPsBuffer;
-    MetaInfoObjExtractor rInfo =
-        new MetaInfoObjExtractor(footerMetaData.compressionType,
-            footerMetaData.bufferSize,
-            footerMetaData.metadataSize,
-            footerMetaData.footerBuffer
-        );
-    this.footerByteBuffer = footerMetaData.footerBuffer;
-    this.compressionKind = rInfo.compressionKind;
-    this.codec = rInfo.codec;
-    this.bufferSize = rInfo.bufferSize;
-    this.metadataSize = rInfo.metadataSize;
-    this.stripeStats = rInfo.metadata.getStripeStatsList();
-    this.types = rInfo.footer.getTypesList();
-    this.rowIndexStride = rInfo.footer.getRowIndexStride();
-    this.contentLength = rInfo.footer.getContentLength();
-    this.numberOfRows = rInfo.footer.getNumberOfRows();
-    this.userMetadata = rInfo.footer.getMetadataList();
-    this.fileStats = rInfo.footer.getStatisticsList();
-    this.versionList = footerMetaData.versionList;
-    this.stripes = convertProtoStripesToStripes(rInfo.footer.getStripesList());
+    if (targets == null) {
+      targets = schema.toArray();
+    }
+
+    // the parsed tail of a file is shared by all fragments of the file
+    final FileStatus status = fileSystem.getFileStatus(path);
+    FileTail tail = FileFooterCache.getFooter(conf, "orc", status, () -> readFileTail(fileSystem, status));
+    this.compressionKind = tail.compressionKind;
+    this.codec = OrcUtils.createCodec(compressionKind);
+    this.bufferSize = tail.bufferSize;
+    this.metadataSize = tail.metadataSize;
+    this.stripeStats = tail.metadata.getStripeStatsList();
+    this.types = tail.footer.getTypesList();
+    this.rowIndexStride = tail.footer.getRowIndexStride();
+    this.contentLength = tail.footer.getContentLength();
+    this.numberOfRows = tail.footer.getNumberOfRows();
+    this.userMetadata = tail.footer.getMetadataList();
+    this.fileStats = tail.footer.getStatisticsList();
+    this.versionList = tail.versionList;
+    this.stripes = tail.stripes;
 
     this.timeZone = TimeZone.getTimeZone(meta.getProperty(StorageConstants.TIMEZONE,
         StorageUtil.TAJO_CONF.getSystemTimezone().getID()));
+    this.sarg = OrcSearchArgument.create(filter, schema, types);
     this.recordReader = createRecordReader();
 
+    if (targets.length > 0 && Boolean.parseBoolean(
+        meta.getProperty(StorageConstants.ORC_VECTORIZED_READ, StorageConstants.DEFAULT_ORC_VECTORIZED_READ))) {
+      DataType[] dataTypes = new DataType[targets.length];
+      for (int i = 0; i < targets.length; i++) {
+        dataTypes[i] = targets[i].getDataType();
+      }
+      batch = new ColumnBatch(dataTypes);
+      batchIndex = 0;
+    }
+
     super.init();
   }
 
   @Override
   public Tuple next() throws IOException {
-    Tuple next = recordReader.next();
-    if (next != null) {
+    if (batch != null) {
+      while (batchIndex == batch.size()) {
+        if (nextBatch() == null) {
+          return null;
+        }
+      }
+      return batch.getRow(batch.getRowId(batchIndex++));
+    }
+
+    Tuple next;
+    while ((next = recordReader.next()) != null) {
       recordCount++;
+      // statistics only prune stripes and row groups, so each row should be still evaluated
+      if (filter == null || filter.evalBool(next)) {
+        return next;
+      }
     }
-    return next;
+    return null;
+  }
+
+  @Override
+  public boolean isColumnBatchSupported() {
+    return batch != null;
+  }
+
+  @Override
+  public ColumnBatch nextBatch() throws IOException {
+    if (batch == null) {
+      throw new TajoRuntimeException(new UnsupportedException("column batch for this projection"));
+    }
+
+    while (recordReader.nextBatch(batch)) {
+      recordCount += batch.size();
+      batchIndex = 0;
+      // statistics only prune stripes and row groups, so each row should be still evaluated
+      if (filter != null) {
+        select(batch);
+      }
+      if (batch.size() > 0) {
+        return batch;
+      }
+    }
+    batchIndex = 0;
+    batch.reset();
+    return null;
+  }
+
+  /**
+   * Evaluate the filter for each row of the batch, and keep only the selected rows.
+   */
+  private void select(ColumnBatch batch) {
+    int[] selected = batch.getSelected();
+    int selectedNum = 0;
+    for (int row = 0; row < batch.size(); row++) {
+      if (filter.evalBool(batch.getRow(row))) {
+        selected[selectedNum++] = row;
+      }
+    }
+    batch.setSelectedInUse(true);
+    batch.setSize(selectedNum);
   }
 
   @Override
@@ -294,6 +358,10 @@ public class OrcScanner extends FileScanner {
     // TODO: improve this
     this.close();
     recordReader = createRecordReader();
+    if (batch != null) {
+      batch.reset();
+      batchIndex = 0;
+    }
   }
 
   @Override
@@ -302,6 +370,7 @@ public class OrcScanner extends FileScanner {
       recordReader.close();
       inputStats.setNumBytes(recordReader.getNumBytes());
       inputStats.setNumRows(recordCount);
+      inputStats.setSkippedBytes(recordReader.getSkippedBytes());
     }
   }
 
@@ -312,12 +381,15 @@ public class OrcScanner extends FileScanner {
 
   @Override
   public boolean isSelectable() {
-    return false;
+    return true;
   }
 
   @Override
   public void setFilter(EvalNode filter) {
-    // TODO: implement this
+    if (inited) {
+      throw new IllegalStateException("Should be called before init()");
+    }
+    this.filter = filter;
   }
 
   @Override
@@ -405,6 +477,42 @@ public class OrcScanner extends FileScanner {
     }
   }
 
+  /**
+   * The parsed metadata and footer of a file. It is immutable, so it can be shared by scanners of the file.
+   */
+  private static class FileTail {
+    final org.apache.orc.CompressionKind compressionKind;
+    final int bufferSize;
+    final int metadataSize;
+    final OrcProto.Metadata metadata;
+    final OrcProto.Footer footer;
+    final List<Integer> versionList;
+    final List<StripeInformation> stripes;
+
+    FileTail(MetaInfoObjExtractor rInfo, List<Integer> versionList) {
+      this.compressionKind = rInfo.compressionKind;
+      this.bufferSize = rInfo.bufferSize;
+      this.metadataSize = rInfo.metadataSize;
+      this.metadata = rInfo.metadata;
+      this.footer = rInfo.footer;
+      this.versionList = versionList;
+      this.stripes = convertProtoStripesToStripes(rInfo.footer.getStripesList());
+    }
+  }
+
+  private static FileFooterCache.Footer<FileTail> readFileTail(FileSystem fs, FileStatus status) throws IOException {
+    FileMetaInfo footerMetaData = extractMetaInfoFromFooter(fs, status.getPath(), status.getLen());
+    MetaInfoObjExtractor rInfo =
+        new MetaInfoObjExtractor(footerMetaData.compressionType,
+            footerMetaData.bufferSize,
+            footerMetaData.metadataSize,
+            footerMetaData.footerBuffer
+        );
+    // the serialized size is taken as the size of the parsed footer
+    return new FileFooterCache.Footer<>(new FileTail(rInfo, footerMetaData.versionList),
+        footerMetaData.footerMetaAndPsBuffer.remaining());
+  }
+
   public static class StripeInformationImpl
       implements org.apache.orc.StripeInformation {
     private final OrcProto.StripeInformation stripe;
@@ -0,0 +1,603 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.orc;
+
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument.TruthValue;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import org.apache.hadoop.io.Text;
+import org.apache.orc.*;
+import org.apache.orc.impl.*;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.util.datetime.DateTimeConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * OrcSearchArgument translates a scan filter into an ORC {@link SearchArgument}, and evaluates it against
+ * the column statistics of stripes and row groups to find out the ones which cannot contain any matched row.
+ *
+ * Only comparisons, BETWEEN, IN and IS NULL predicates between a column and constants are translated,
+ * and they can be combined with AND, OR and NOT. Any other expression is regarded as being able to match any row.
+ * Equality and IN predicates are also tested with the bloom filters of row groups if the file has them.
+ */
+public class OrcSearchArgument {
+
+  private final SearchArgument sarg;
+  private final List<PredicateLeaf> leaves;
+  // the ORC column id of each leaf
+  private final int[] leafColumns;
+  // the ORC columns referred by this search argument
+  private final boolean[] columns;
+  private final TruthValue[] leafValues;
+
+  private OrcSearchArgument(SearchArgument sarg, int[] leafColumns, int orcColumnNum) {
+    this.sarg = sarg;
+    this.leaves = sarg.getLeaves();
+    this.leafColumns = leafColumns;
+    this.leafValues = new TruthValue[leaves.size()];
+    this.columns = new boolean[orcColumnNum];
+    for (int columnId : leafColumns) {
+      columns[columnId] = true;
+    }
+  }
+
+  /**
+   * Create a search argument from a filter.
+   *
+   * @param filter Scan filter
+   * @param schema Schema of the ORC file
+   * @param types ORC types of the file. The first one is the root struct type.
+   * @return A search argument, or null if no part of the filter can be evaluated with column statistics
+   */
+  public static OrcSearchArgument create(EvalNode filter, Schema schema, List<OrcProto.Type> types) {
+    if (filter == null || types.isEmpty()) {
+      return null;
+    }
+
+    SearchArgument.Builder builder = SearchArgumentFactory.newBuilder();
+    new Translator(schema, builder).translate(filter);
+    SearchArgument sarg = builder.build();
+    if (sarg.getLeaves().isEmpty()) {
+      return null;
+    }
+
+    OrcProto.Type root = types.get(0);
+    int[] leafColumns = new int[sarg.getLeaves().size()];
+    for (int i = 0; i < leafColumns.length; i++) {
+      int columnId = schema.getColumnId(sarg.getLeaves().get(i).getColumnName());
+      leafColumns[i] = root.getSubtypes(columnId);
+    }
+    return new OrcSearchArgument(sarg, leafColumns, types.size());
+  }
+
+  public SearchArgument getSearchArgument() {
+    return sarg;
+  }
+
+  /**
+   * @return The ORC columns referred by this search argument, indexed by ORC column ids
+   */
+  public boolean[] getColumns() {
+    return columns;
+  }
+
+  /**
+   * @param stripeStats Statistics of a stripe
+   * @return False if the stripe cannot contain any matched row
+   */
+  public boolean canMatch(OrcProto.StripeStatistics stripeStats) {
+    for (int i = 0; i < leafValues.length; i++) {
+      int columnId = leafColumns[i];
+      leafValues[i] = columnId < stripeStats.getColStatsCount() ?
+          evaluate(leaves.get(i), stripeStats.getColStats(columnId)) : TruthValue.YES_NO_NULL;
+    }
+    return sarg.evaluate(leafValues).isNeeded();
+  }
+
+  /**
+   * @param indexes Row indexes of a stripe, indexed by ORC column ids
+   * @param rowGroup The row group in the stripe
+   * @return False if the row group cannot contain any matched row
+   */
+  public boolean canMatch(OrcProto.RowIndex[] indexes, int rowGroup) {
+    return canMatch(indexes, null, rowGroup);
+  }
+
+  /**
+   * @param indexes Row indexes of a stripe, indexed by ORC column ids
+   * @param bloomFilterIndices Bloom filter indexes of a stripe, indexed by ORC column ids. It can be null.
+   * @param rowGroup The row group in the stripe
+   * @return False if the row group cannot contain any matched row
+   */
+  public boolean canMatch(OrcProto.RowIndex[] indexes, OrcProto.BloomFilterIndex[] bloomFilterIndices,
+                          int rowGroup) {
+    for (int i = 0; i < leafValues.length; i++) {
+      int columnId = leafColumns[i];
+      OrcProto.RowIndex index = indexes[columnId];
+      if (index != null && rowGroup < index.getEntryCount() && index.getEntry(rowGroup).hasStatistics()) {
+        leafValues[i] = evaluate(leaves.get(i), index.getEntry(rowGroup).getStatistics());
+      } else {
+        leafValues[i] = TruthValue.YES_NO_NULL;
+      }
+
+      OrcProto.BloomFilterIndex bloomFilterIndex = bloomFilterIndices == null ? null : bloomFilterIndices[columnId];
+      if (leafValues[i].isNeeded() && bloomFilterIndex != null && rowGroup < bloomFilterIndex.getBloomFilterCount()) {
+        leafValues[i] = evaluate(leaves.get(i), leafValues[i], bloomFilterIndex.getBloomFilter(rowGroup));
+      }
+    }
+    return sarg.evaluate(leafValues).isNeeded();
+  }
+
+  /**
+   * Refine the result of an equality or IN predicate leaf with the bloom filter of a row group.
+   *
+   * @param leaf Predicate leaf
+   * @param value The truth value evaluated with the statistics of the row group
+   * @param bloomFilter The bloom filter of the column in the row group
+   */
+  static TruthValue evaluate(PredicateLeaf leaf, TruthValue value, OrcProto.BloomFilter bloomFilter) {
+    List<Object> literals;
+    switch (leaf.getOperator()) {
+    case EQUALS:
+    case NULL_SAFE_EQUALS:
+      literals = Collections.singletonList(leaf.getLiteral());
+      break;
+    case IN:
+      literals = leaf.getLiteralList();
+      break;
+    default:
+      return value;
+    }
+
+    BloomFilterIO filter = new BloomFilterIO(bloomFilter);
+    for (Object literal : literals) {
+      if (mightContain(filter, leaf.getType(), literal)) {
+        return value;
+      }
+    }
+
+    // no row of the row group has any of the literals
+    switch (value) {
+    case NULL:
+    case YES_NULL:
+    case NO_NULL:
+    case YES_NO_NULL:
+      return TruthValue.NO_NULL;
+    default:
+      return TruthValue.NO;
+    }
+  }
+
+  // literals are tested in the same way as the ORC writer adds the column values
+  private static boolean mightContain(BloomFilterIO filter, PredicateLeaf.Type type, Object literal) {
+    switch (type) {
+    case LONG:
+      return filter.testLong((Long) literal);
+    case FLOAT:
+      return filter.testDouble((Double) literal);
+    case STRING:
+      return filter.testBytes(((String) literal).getBytes(StandardCharsets.UTF_8));
+    default:
+      return true;
+    }
+  }
+
+  /**
+   * Evaluate a predicate leaf with the statistics of a column.
+   */
+  static TruthValue evaluate(PredicateLeaf leaf, OrcProto.ColumnStatistics stats) {
+    // old writers do not record whether a column contains null values
+    boolean hasNull = !stats.hasHasNull() || stats.getHasNull();
+    boolean allNull = stats.hasNumberOfValues() && stats.getNumberOfValues() == 0;
+
+    if (leaf.getOperator() == PredicateLeaf.Operator.IS_NULL) {
+      if (!hasNull) {
+        return TruthValue.NO;
+      }
+      return allNull ? TruthValue.YES : TruthValue.YES_NO;
+    }
+    if (allNull) {
+      return hasNull ? TruthValue.NULL : TruthValue.NO;
+    }
+
+    Comparable min = getMinimum(leaf.getType(), stats);
+    Comparable max = getMaximum(leaf.getType(), stats);
+    if (min == null || max == null) {
+      return TruthValue.YES_NO_NULL;
+    }
+
+    TruthValue result = evaluateRange(leaf, min, max);
+    if (hasNull) {
+      switch (result) {
+      case YES:
+        return TruthValue.YES_NULL;
+      case NO:
+        return TruthValue.NO_NULL;
+      case YES_NO:
+        return TruthValue.YES_NO_NULL;
+      default:
+        return result;
+      }
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static TruthValue evaluateRange(PredicateLeaf leaf, Comparable min, Comparable max) {
+    switch (leaf.getOperator()) {
+    case EQUALS:
+    case NULL_SAFE_EQUALS: {
+      Comparable value = toComparable(leaf.getLiteral());
+      if (value.compareTo(min) < 0 || value.compareTo(max) > 0) {
+        return TruthValue.NO;
+      }
+      return min.compareTo(max) == 0 ? TruthValue.YES : TruthValue.YES_NO;
+    }
+    case LESS_THAN: {
+      Comparable value = toComparable(leaf.getLiteral());
+      if (value.compareTo(max) > 0) {
+        return TruthValue.YES;
+      }
+      return value.compareTo(min) <= 0 ? TruthValue.NO : TruthValue.YES_NO;
+    }
+    case LESS_THAN_EQUALS: {
+      Comparable value = toComparable(leaf.getLiteral());
+      if (value.compareTo(max) >= 0) {
+        return TruthValue.YES;
+      }
+      return value.compareTo(min) < 0 ? TruthValue.NO : TruthValue.YES_NO;
+    }
+    case IN: {
+      TruthValue result = TruthValue.NO;
+      for (Object literal : leaf.getLiteralList()) {
+        Comparable value = toComparable(literal);
+        if (value.compareTo(min) >= 0 && value.compareTo(max) <= 0) {
+          if (min.compareTo(max) == 0) {
+            return TruthValue.YES;
+          }
+          result = TruthValue.YES_NO;
+        }
+      }
+      return result;
+    }
+    case BETWEEN: {
+      Comparable lower = toComparable(leaf.getLiteralList().get(0));
+      Comparable upper = toComparable(leaf.getLiteralList().get(1));
+      if (upper.compareTo(min) < 0 || lower.compareTo(max) > 0) {
+        return TruthValue.NO;
+      }
+      return lower.compareTo(min) <= 0 && upper.compareTo(max) >= 0 ? TruthValue.YES : TruthValue.YES_NO;
+    }
+    default:
+      return TruthValue.YES_NO;
+    }
+  }
+
+  // ORC compares strings by their UTF-8 bytes
+  private static Comparable toComparable(Object literal) {
+    return literal instanceof String ? new Text((String) literal) : (Comparable) literal;
+  }
+
+  private static Comparable getMinimum(PredicateLeaf.Type type, OrcProto.ColumnStatistics stats) {
+    switch (type) {
+    case LONG:
+      if (stats.hasIntStatistics() && stats.getIntStatistics().hasMinimum()) {
+        return stats.getIntStatistics().getMinimum();
+      } else if (stats.hasDateStatistics() && stats.getDateStatistics().hasMinimum()) {
+        return (long) stats.getDateStatistics().getMinimum();
+      }
+      return null;
+    case FLOAT:
+      if (stats.hasDoubleStatistics() && stats.getDoubleStatistics().hasMinimum() &&
+          !Double.isNaN(stats.getDoubleStatistics().getMinimum())) {
+        return stats.getDoubleStatistics().getMinimum();
+      }
+      return null;
+    case STRING:
+      if (stats.hasStringStatistics() && stats.getStringStatistics().hasMinimum()) {
+        return new Text(stats.getStringStatistics().getMinimum());
+      }
+      return null;
+    default:
+      return null;
+    }
+  }
+
+  private static Comparable getMaximum(PredicateLeaf.Type type, OrcProto.ColumnStatistics stats) {
+    switch (type) {
+    case LONG:
+      if (stats.hasIntStatistics() && stats.getIntStatistics().hasMaximum()) {
+        return stats.getIntStatistics().getMaximum();
+      } else if (stats.hasDateStatistics() && stats.getDateStatistics().hasMaximum()) {
+        return (long) stats.getDateStatistics().getMaximum();
+      }
+      return null;
+    case FLOAT:
+      if (stats.hasDoubleStatistics() && stats.getDoubleStatistics().hasMaximum() &&
+          !Double.isNaN(stats.getDoubleStatistics().getMaximum())) {
+        return stats.getDoubleStatistics().getMaximum();
+      }
+      return null;
+    case STRING:
+      if (stats.hasStringStatistics() && stats.getStringStatistics().hasMaximum()) {
+        return new Text(stats.getStringStatistics().getMaximum());
+      }
+      return null;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Translator converts an EvalNode tree into a search argument.
+   * Every expression which cannot be translated becomes the YES_NO_NULL literal.
+   */
+  private static class Translator {
+    private final Schema schema;
+    private final SearchArgument.Builder builder;
+
+    Translator(Schema schema, SearchArgument.Builder builder) {
+      this.schema = schema;
+      this.builder = builder;
+    }
+
+    void translate(EvalNode node) {
+      switch (node.getType()) {
+      case AND:
+        builder.startAnd();
+        translate(node.getChild(0));
+        translate(node.getChild(1));
+        builder.end();
+        break;
+      case OR:
+        builder.startOr();
+        translate(node.getChild(0));
+        translate(node.getChild(1));
+        builder.end();
+        break;
+      case NOT:
+        builder.startNot();
+        translate(((NotEval) node).getChild());
+        builder.end();
+        break;
+      case EQUAL:
+      case NOT_EQUAL:
+      case LTH:
+      case LEQ:
+      case GTH:
+      case GEQ:
+        translateComparison((BinaryEval) node);
+        break;
+      case BETWEEN:
+        translateBetween((BetweenPredicateEval) node);
+        break;
+      case IN:
+        translateIn((InEval) node);
+        break;
+      case IS_NULL:
+        translateIsNull((IsNullEval) node);
+        break;
+      default:
+        builder.literal(TruthValue.YES_NO_NULL);
+      }
+    }
+
+    private void translateComparison(BinaryEval node) {
+      EvalType type = node.getType();
+      EvalNode field = node.getLeftExpr();
+      EvalNode constant = node.getRightExpr();
+      if (field.getType() == EvalType.CONST) {
+        // (constant op column) is converted to (column op' constant)
+        field = node.getRightExpr();
+        constant = node.getLeftExpr();
+        type = flip(type);
+      }
+
+      Column column = getColumn(field);
+      PredicateLeaf.Type leafType = getLeafType(column);
+      Object literal = getLiteral(column, constant);
+      if (literal == null) {
+        builder.literal(TruthValue.YES_NO_NULL);
+        return;
+      }
+
+      String name = column.getQualifiedName();
+      switch (type) {
+      case EQUAL:
+        builder.equals(name, leafType, literal);
+        break;
+      case NOT_EQUAL:
+        builder.startNot().equals(name, leafType, literal).end();
+        break;
+      case LTH:
+        builder.lessThan(name, leafType, literal);
+        break;
+      case LEQ:
+        builder.lessThanEquals(name, leafType, literal);
+        break;
+      case GTH:
+        builder.startNot().lessThanEquals(name, leafType, literal).end();
+        break;
+      case GEQ:
+        builder.startNot().lessThan(name, leafType, literal).end();
+        break;
+      default:
+        builder.literal(TruthValue.YES_NO_NULL);
+      }
+    }
+
+    private static EvalType flip(EvalType type) {
+      switch (type) {
+      case LTH:
+        return EvalType.GTH;
+      case LEQ:
+        return EvalType.GEQ;
+      case GTH:
+        return EvalType.LTH;
+      case GEQ:
+        return EvalType.LEQ;
+      default:
+        return type;
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void translateBetween(BetweenPredicateEval node) {
+      Column column = getColumn(node.getPredicand());
+      PredicateLeaf.Type leafType = getLeafType(column);
+      Object lower = getLiteral(column, node.getBegin());
+      Object upper = getLiteral(column, node.getEnd());
+      if (lower == null || upper == null) {
+        builder.literal(TruthValue.YES_NO_NULL);
+        return;
+      }
+      if (node.isSymmetric() && toComparable(lower).compareTo(toComparable(upper)) > 0) {
+        Object tmp = lower;
+        lower = upper;
+        upper = tmp;
+      }
+
+      if (node.isNot()) {
+        builder.startNot();
+      }
+      builder.between(column.getQualifiedName(), leafType, lower, upper);
+      if (node.isNot()) {
+        builder.end();
+      }
+    }
+
+    private void translateIn(InEval node) {
+      Column column = getColumn(node.getLeftExpr());
+      PredicateLeaf.Type leafType = getLeafType(column);
+      if (leafType == null || !(node.getRightExpr() instanceof ValueSetEval)) {
+        builder.literal(TruthValue.YES_NO_NULL);
+        return;
+      }
+
+      Datum[] values = ((ValueSetEval) node.getRightExpr()).getValues();
+      Object[] literals = new Object[values.length];
+      for (int i = 0; i < values.length; i++) {
+        literals[i] = getLiteral(column, values[i]);
+        if (literals[i] == null) {
+          builder.literal(TruthValue.YES_NO_NULL);
+          return;
+        }
+      }
+
+      if (node.isNot()) {
+        builder.startNot();
+      }
+      builder.in(column.getQualifiedName(), leafType, literals);
+      if (node.isNot()) {
+        builder.end();
+      }
+    }
+
+    private void translateIsNull(IsNullEval node) {
+      Column column = getColumn(node.getChild());
+      PredicateLeaf.Type leafType = getLeafType(column);
+      if (leafType == null) {
+        builder.literal(TruthValue.YES_NO_NULL);
+        return;
+      }
+
+      if (node.isNot()) {
+        builder.startNot();
+      }
+      builder.isNull(column.getQualifiedName(), leafType);
+      if (node.isNot()) {
+        builder.end();
+      }
+    }
+
+    /**
+     * @return The column of the schema referred by a field, or null if the node is not a field of the schema
+     */
+    private Column getColumn(EvalNode node) {
+      if (node.getType() != EvalType.FIELD) {
+        return null;
+      }
+      int columnId = schema.getColumnId(((FieldEval) node).getColumnRef().getQualifiedName());
+      return columnId < 0 ? null : schema.getColumn(columnId);
+    }
+
+    /**
+     * @return The type of predicate leaves on a column, or null if the statistics of the column are not usable
+     */
+    private static PredicateLeaf.Type getLeafType(Column column) {
+      if (column == null) {
+        return null;
+      }
+      switch (column.getDataType().getType()) {
+      case INT2:
+      case INT4:
+      case INT8:
+      case DATE: // dates are compared as the number of days since the epoch
+        return PredicateLeaf.Type.LONG;
+      case FLOAT8:
+        return PredicateLeaf.Type.FLOAT;
+      case TEXT:
+        return PredicateLeaf.Type.STRING;
+      default:
+        // FLOAT4 values are not exactly comparable with double literals.
+        return null;
+      }
+    }
+
+    private static Object getLiteral(Column column, EvalNode node) {
+      if (column == null || node.getType() != EvalType.CONST) {
+        return null;
+      }
+      return getLiteral(column, ((ConstEval) node).getValue());
+    }
+
+    /**
+     * @return A literal value of a predicate leaf on the column,
+     *         or null if the datum cannot be compared to the statistics of the column
+     */
+    private static Object getLiteral(Column column, Datum datum) {
+      TajoDataTypes.Type kind = datum.kind();
+      boolean integral = kind == TajoDataTypes.Type.INT1 || kind == TajoDataTypes.Type.INT2 ||
+          kind == TajoDataTypes.Type.INT4 || kind == TajoDataTypes.Type.INT8;
+
+      switch (column.getDataType().getType()) {
+      case INT2:
+      case INT4:
+      case INT8:
+        return integral ? datum.asInt8() : null;
+      case DATE:
+        return kind == TajoDataTypes.Type.DATE ? (long) (datum.asInt4() - DateTimeConstants.UNIX_EPOCH_JDATE) : null;
+      case FLOAT8:
+        return integral || kind == TajoDataTypes.Type.FLOAT8 ? datum.asFloat8() : null;
+      case TEXT:
+        return kind == TajoDataTypes.Type.TEXT ? datum.asChars() : null;
+      default:
+        return null;
+      }
+    }
+  }
+}
@@ -44,6 +44,9 @@ public class ParquetAppender extends FileAppender {
   private CompressionCodecName compressionCodecName;
   private boolean enableDictionary;
   private boolean validating;
+  private String bloomFilterColumns;
+  private double bloomFilterFpp;
+  private int bloomFilterMaxValues;
   private TableStatistics stats;
 
   /**
@@ -67,6 +70,11 @@ public class ParquetAppender extends FileAppender {
         meta.getProperty(ParquetOutputFormat.ENABLE_DICTIONARY, StorageConstants.PARQUET_DEFAULT_IS_DICTIONARY_ENABLED));
     this.validating = Boolean.parseBoolean(
         meta.getProperty(ParquetOutputFormat.VALIDATION, StorageConstants.PARQUET_DEFAULT_IS_VALIDATION_ENABLED));
+    this.bloomFilterColumns = meta.getProperty(StorageConstants.PARQUET_BLOOM_FILTER_COLUMNS);
+    this.bloomFilterFpp = Double.parseDouble(
+        meta.getProperty(StorageConstants.PARQUET_BLOOM_FILTER_FPP, StorageConstants.DEFAULT_PARQUET_BLOOM_FILTER_FPP));
+    this.bloomFilterMaxValues = Integer.parseInt(meta.getProperty(StorageConstants.PARQUET_BLOOM_FILTER_MAX_VALUES,
+        StorageConstants.DEFAULT_PARQUET_BLOOM_FILTER_MAX_VALUES));
   }
 
   /**
@@ -80,7 +88,10 @@ public class ParquetAppender extends FileAppender {
                                    blockSize,
                                    pageSize,
                                    enableDictionary,
-                                   validating);
+                                   validating,
+                                   bloomFilterColumns,
+                                   bloomFilterFpp,
+                                   bloomFilterMaxValues);
     if (tableStatsEnabled) {
       this.stats = new TableStatistics(schema, columnStatsEnabled);
     }
@@ -19,24 +19,36 @@
 package org.apache.tajo.storage.parquet;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SchemaBuilder;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.exception.NotImplementedException;
 import org.apache.tajo.exception.TajoRuntimeException;
+import org.apache.tajo.exception.UnsupportedException;
 import org.apache.tajo.plan.expr.EvalNode;
-import org.apache.tajo.storage.EmptyTuple;
-import org.apache.tajo.storage.FileScanner;
-import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.tuple.vector.ColumnBatch;
 
 import java.io.IOException;
 
 /**
- * FileScanner for reading Parquet files
+ * FileScanner for reading Parquet files.
+ *
+ * If every projected column is flat and of a type supported by column vectors, the file is read into column batches
+ * by {@link VectorizedParquetReader}, and next() returns a view of a row in the current batch.
+ * Otherwise, records are assembled by {@link TajoParquetReader}.
  */
-public class ParquetScanner extends FileScanner {
+public class ParquetScanner extends FileScanner implements ColumnBatchScanner {
   private TajoParquetReader reader;
+  private VectorizedParquetReader vectorizedReader;
+  private ColumnBatch batch;
+  /** The index of the next row to be returned by next() in the current batch */
+  private int batchIndex;
+  private EvalNode filter;
   /** The number of actual read records */
   private long currentRowCount;
   private long totalRowCount;
@@ -64,9 +76,32 @@ public class ParquetScanner extends FileScanner {
     if (targets == null) {
       targets = schema.toArray();
     }
-    reader = new TajoParquetReader(conf, fragment.getPath(), schema,
-        SchemaBuilder.builder().addAll(targets).build());
-    totalRowCount = reader.getTotalRowCount();
+    Schema targetSchema = SchemaBuilder.builder().addAll(targets).build();
+    FilterPredicate predicate = new TajoFilterConverter(targetSchema).convert(filter);
+
+    if (targets.length > 0 && Boolean.parseBoolean(
+        meta.getProperty(StorageConstants.PARQUET_VECTORIZED_READ, StorageConstants.DEFAULT_PARQUET_VECTORIZED_READ))) {
+      vectorizedReader = new VectorizedParquetReader(conf, fragment.getPath(), targetSchema,
+          predicate == null ? FilterCompat.NOOP : FilterCompat.get(predicate));
+      if (vectorizedReader.isSupported()) {
+        DataType[] types = new DataType[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+          types[i] = targets[i].getDataType();
+        }
+        batch = new ColumnBatch(types);
+        batchIndex = 0;
+      } else {
+        vectorizedReader.close();
+        vectorizedReader = null;
+      }
+    }
+
+    if (vectorizedReader == null) {
+      reader = new TajoParquetReader(conf, fragment.getPath(), schema, targetSchema, predicate);
+      totalRowCount = reader.getTotalRowCount();
+    } else {
+      totalRowCount = vectorizedReader.getTotalRowCount();
+    }
     currentRowCount = 0;
     closed = false;
     super.init();
@@ -90,7 +125,63 @@ public class ParquetScanner extends FileScanner {
       }
     }
 
-    return reader.read();
+    if (vectorizedReader != null) {
+      while (batchIndex == batch.size()) {
+        if (nextBatch() == null) {
+          return null;
+        }
+      }
+      return batch.getRow(batch.getRowId(batchIndex++));
+    }
+
+    Tuple next;
+    while ((next = reader.read()) != null) {
+      // Parquet predicates can be looser than the filter, so each row should be still evaluated
+      if (filter == null || filter.evalBool(next)) {
+        return next;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean isColumnBatchSupported() {
+    return vectorizedReader != null;
+  }
+
+  @Override
+  public ColumnBatch nextBatch() throws IOException {
+    if (vectorizedReader == null) {
+      throw new TajoRuntimeException(new UnsupportedException("column batch for this projection"));
+    }
+
+    while (vectorizedReader.nextBatch(batch)) {
+      batchIndex = 0;
+      if (filter != null) {
+        select(batch);
+      }
+      if (batch.size() > 0) {
+        return batch;
+      }
+    }
+    batchIndex = 0;
+    batch.reset();
+    return null;
+  }
+
+  /**
+   * Select the rows satisfying the filter. Row groups are dropped by the filter, but rows are not.
+   */
+  private void select(ColumnBatch batch) {
+    int[] selected = batch.getSelected();
+    int selectedNum = 0;
+    for (int row = 0; row < batch.size(); row++) {
+      if (filter.evalBool(batch.getRow(row))) {
+        selected[selectedNum++] = row;
+      }
+    }
+    batch.setSelectedInUse(true);
+    batch.setSize(selectedNum);
   }
 
   /**
@@ -108,6 +199,11 @@ public class ParquetScanner extends FileScanner {
   public void close() throws IOException {
     if (reader != null) {
       reader.close();
+      inputStats.setSkippedBytes(reader.getSkippedBytes());
+    }
+    if (vectorizedReader != null) {
+      vectorizedReader.close();
+      inputStats.setSkippedBytes(vectorizedReader.getSkippedBytes());
     }
     closed = true;
   }
@@ -125,16 +221,19 @@ public class ParquetScanner extends FileScanner {
   /**
    * Returns whether this scanner is selectable.
    *
-   * @return false
+   * @return true
    */
   @Override
   public boolean isSelectable() {
-    return false;
+    return true;
   }
 
   @Override
   public void setFilter(EvalNode filter) {
-    throw new TajoRuntimeException(new NotImplementedException());
+    if (inited) {
+      throw new IllegalStateException("Should be called before init()");
+    }
+    this.filter = filter;
   }
 
   /**
@@ -156,7 +255,7 @@ public class ParquetScanner extends FileScanner {
       if (closed) {
         return 1.0f;
       } else {
-        return reader.getProgress();
+        return vectorizedReader != null ? vectorizedReader.getProgress() : reader.getProgress();
       }
     }
   }
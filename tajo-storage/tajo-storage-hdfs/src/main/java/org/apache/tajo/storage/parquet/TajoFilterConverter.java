@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.parquet;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.util.datetime.DateTimeConstants;
+
+/**
+ * Converts a Tajo scan filter into a Parquet {@link FilterPredicate}.
+ *
+ * The converted predicate is used to drop row groups with column chunk statistics and dictionaries,
+ * and to skip non-matching records before they are materialized. It can be looser than the original filter
+ * because a part of the filter which cannot be converted is dropped, so the original filter should be still
+ * evaluated on the returned rows.
+ */
+public class TajoFilterConverter {
+  private final Schema schema;
+
+  /**
+   * @param schema The schema of the columns which can be referred by a converted predicate.
+   *               It should be the projected schema because Parquet evaluates predicates only on read columns.
+   */
+  public TajoFilterConverter(Schema schema) {
+    this.schema = schema;
+  }
+
+  /**
+   * @param filter Scan filter
+   * @return A Parquet predicate, or null if no part of the filter can be converted
+   */
+  public FilterPredicate convert(EvalNode filter) {
+    return filter == null ? null : convert(filter, false);
+  }
+
+  /**
+   * @param exact If true, the whole expression should be converted.
+   *              Otherwise, the converted predicate can accept more rows than the expression.
+   * @return A converted predicate, or null if it cannot be converted
+   */
+  private FilterPredicate convert(EvalNode node, boolean exact) {
+    switch (node.getType()) {
+    case AND: {
+      FilterPredicate left = convert(node.getChild(0), exact);
+      FilterPredicate right = convert(node.getChild(1), exact);
+      if (left == null || right == null) {
+        // an inexact conjunction can be relaxed to one of its operands
+        return exact ? null : (left != null ? left : right);
+      }
+      return FilterApi.and(left, right);
+    }
+    case OR: {
+      FilterPredicate left = convert(node.getChild(0), exact);
+      FilterPredicate right = convert(node.getChild(1), exact);
+      return left == null || right == null ? null : FilterApi.or(left, right);
+    }
+    case NOT: {
+      // a relaxed predicate becomes stricter when it is negated
+      FilterPredicate child = convert(((NotEval) node).getChild(), true);
+      return child == null ? null : FilterApi.not(child);
+    }
+    case EQUAL:
+    case NOT_EQUAL:
+    case LTH:
+    case LEQ:
+    case GTH:
+    case GEQ:
+      return convertComparison((BinaryEval) node);
+    case BETWEEN:
+      return convertBetween((BetweenPredicateEval) node);
+    case IN:
+      return convertIn((InEval) node);
+    case IS_NULL:
+      return convertIsNull((IsNullEval) node);
+    default:
+      return null;
+    }
+  }
+
+  private FilterPredicate convertComparison(BinaryEval node) {
+    EvalType type = node.getType();
+    EvalNode field = node.getLeftExpr();
+    EvalNode constant = node.getRightExpr();
+    if (field.getType() == EvalType.CONST) {
+      field = node.getRightExpr();
+      constant = node.getLeftExpr();
+      type = flip(type);
+    }
+
+    Column column = getColumn(field);
+    if (column == null || constant.getType() != EvalType.CONST) {
+      return null;
+    }
+    return compare(type, column, ((ConstEval) constant).getValue());
+  }
+
+  private static EvalType flip(EvalType type) {
+    switch (type) {
+    case LTH:
+      return EvalType.GTH;
+    case LEQ:
+      return EvalType.GEQ;
+    case GTH:
+      return EvalType.LTH;
+    case GEQ:
+      return EvalType.LEQ;
+    default:
+      return type;
+    }
+  }
+
+  private FilterPredicate convertBetween(BetweenPredicateEval node) {
+    Column column = getColumn(node.getPredicand());
+    if (column == null || node.getBegin().getType() != EvalType.CONST || node.getEnd().getType() != EvalType.CONST) {
+      return null;
+    }
+
+    Datum begin = ((ConstEval) node.getBegin()).getValue();
+    Datum end = ((ConstEval) node.getEnd()).getValue();
+    if (node.isSymmetric() && !begin.isNull() && !end.isNull() && begin.compareTo(end) > 0) {
+      Datum tmp = begin;
+      begin = end;
+      end = tmp;
+    }
+
+    FilterPredicate lower = compare(EvalType.GEQ, column, begin);
+    FilterPredicate upper = compare(EvalType.LEQ, column, end);
+    if (lower == null || upper == null) {
+      return null;
+    }
+    FilterPredicate between = FilterApi.and(lower, upper);
+    return node.isNot() ? FilterApi.not(between) : between;
+  }
+
+  private FilterPredicate convertIn(InEval node) {
+    Column column = getColumn(node.getLeftExpr());
+    if (column == null || !(node.getRightExpr() instanceof ValueSetEval)) {
+      return null;
+    }
+
+    FilterPredicate in = null;
+    for (Datum value : ((ValueSetEval) node.getRightExpr()).getValues()) {
+      FilterPredicate eq = compare(EvalType.EQUAL, column, value);
+      if (eq == null) {
+        return null;
+      }
+      in = in == null ? eq : FilterApi.or(in, eq);
+    }
+    if (in == null) {
+      return null;
+    }
+    return node.isNot() ? FilterApi.not(in) : in;
+  }
+
+  private FilterPredicate convertIsNull(IsNullEval node) {
+    Column column = getColumn(node.getChild());
+    if (column == null) {
+      return null;
+    }
+
+    String name = column.getSimpleName();
+    switch (column.getDataType().getType()) {
+    case BOOLEAN:
+      return node.isNot() ? FilterApi.notEq(FilterApi.booleanColumn(name), null) :
+          FilterApi.eq(FilterApi.booleanColumn(name), null);
+    case INT2:
+    case INT4:
+    case DATE:
+      return node.isNot() ? FilterApi.notEq(FilterApi.intColumn(name), null) :
+          FilterApi.eq(FilterApi.intColumn(name), null);
+    case INT8:
+      return node.isNot() ? FilterApi.notEq(FilterApi.longColumn(name), null) :
+          FilterApi.eq(FilterApi.longColumn(name), null);
+    case FLOAT4:
+      return node.isNot() ? FilterApi.notEq(FilterApi.floatColumn(name), null) :
+          FilterApi.eq(FilterApi.floatColumn(name), null);
+    case FLOAT8:
+      return node.isNot() ? FilterApi.notEq(FilterApi.doubleColumn(name), null) :
+          FilterApi.eq(FilterApi.doubleColumn(name), null);
+    case TEXT:
+      return node.isNot() ? FilterApi.notEq(FilterApi.binaryColumn(name), null) :
+          FilterApi.eq(FilterApi.binaryColumn(name), null);
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * @return The column referred by a field, or null if the node is not a field of the schema
+   */
+  private Column getColumn(EvalNode node) {
+    if (node.getType() != EvalType.FIELD) {
+      return null;
+    }
+    int columnId = schema.getColumnId(((FieldEval) node).getColumnRef().getQualifiedName());
+    return columnId < 0 ? null : schema.getColumn(columnId);
+  }
+
+  /**
+   * Create a comparison predicate between a column and a constant.
+   * The constant is converted to the physical type of the column only when the conversion is lossless.
+   */
+  private static FilterPredicate compare(EvalType type, Column column, Datum datum) {
+    if (datum.isNull()) {
+      return null;
+    }
+
+    TajoDataTypes.Type kind = datum.kind();
+    boolean integral = kind == TajoDataTypes.Type.INT1 || kind == TajoDataTypes.Type.INT2 ||
+        kind == TajoDataTypes.Type.INT4 || kind == TajoDataTypes.Type.INT8;
+    String name = column.getSimpleName();
+
+    switch (column.getDataType().getType()) {
+    case BOOLEAN:
+      if (kind != TajoDataTypes.Type.BOOLEAN) {
+        return null;
+      }
+      if (type == EvalType.EQUAL) {
+        return FilterApi.eq(FilterApi.booleanColumn(name), datum.asBool());
+      } else if (type == EvalType.NOT_EQUAL) {
+        return FilterApi.notEq(FilterApi.booleanColumn(name), datum.asBool());
+      }
+      return null;
+    case INT2:
+    case INT4:
+      if (!integral || datum.asInt8() < Integer.MIN_VALUE || datum.asInt8() > Integer.MAX_VALUE) {
+        return null;
+      }
+      return compare(type, FilterApi.intColumn(name), datum.asInt4());
+    case DATE:
+      if (kind != TajoDataTypes.Type.DATE) {
+        return null;
+      }
+      // Parquet DATE type is based on Unix Epoch(Jan 1, 1970).
+      return compare(type, FilterApi.intColumn(name), datum.asInt4() - DateTimeConstants.UNIX_EPOCH_JDATE);
+    case INT8:
+      return integral ? compare(type, FilterApi.longColumn(name), datum.asInt8()) : null;
+    case FLOAT4:
+      // float values are not exactly comparable with double constants
+      return kind == TajoDataTypes.Type.FLOAT4 ? compare(type, FilterApi.floatColumn(name), datum.asFloat4()) : null;
+    case FLOAT8:
+      return integral || kind == TajoDataTypes.Type.FLOAT8 ?
+          compare(type, FilterApi.doubleColumn(name), datum.asFloat8()) : null;
+    case TEXT:
+      // The statistics of binary columns are ordered by signed bytes, while Tajo compares texts by unsigned bytes.
+      // So, only equality comparisons are converted for texts.
+      if (kind != TajoDataTypes.Type.TEXT) {
+        return null;
+      }
+      Binary value = Binary.fromString(datum.asChars());
+      if (type == EvalType.EQUAL) {
+        return FilterApi.eq(FilterApi.binaryColumn(name), value);
+      } else if (type == EvalType.NOT_EQUAL) {
+        return FilterApi.notEq(FilterApi.binaryColumn(name), value);
+      }
+      return null;
+    default:
+      return null;
+    }
+  }
+
+  private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+      FilterPredicate compare(EvalType type, C column, T value) {
+    switch (type) {
+    case EQUAL:
+      return FilterApi.eq(column, value);
+    case NOT_EQUAL:
+      return FilterApi.notEq(column, value);
+    case LTH:
+      return FilterApi.lt(column, value);
+    case LEQ:
+      return FilterApi.ltEq(column, value);
+    case GTH:
+      return FilterApi.gt(column, value);
+    case GEQ:
+      return FilterApi.gtEq(column, value);
+    default:
+      return null;
+    }
+  }
+}
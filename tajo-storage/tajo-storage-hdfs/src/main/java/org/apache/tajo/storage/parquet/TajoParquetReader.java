@@ -21,6 +21,8 @@ package org.apache.tajo.storage.parquet;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter.UnboundRecordFilter;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.thirdparty.parquet.ParquetReader;
@@ -63,4 +65,21 @@ public class TajoParquetReader extends ParquetReader<Tuple> {
     super(conf, file, new TajoReadSupport(readSchema, requestedSchema),
           recordFilter);
   }
+
+  /**
+   * Creates a new TajoParquetReader.
+   *
+   * @param conf the configuration
+   * @param file The file to read from.
+   * @param readSchema Tajo schema of the table.
+   * @param requestedSchema Tajo schema of the projection.
+   * @param filterPredicate Predicate to filter row groups and records. It can be null.
+   */
+  public TajoParquetReader(Configuration conf, Path file, Schema readSchema,
+                           Schema requestedSchema,
+                           FilterPredicate filterPredicate)
+      throws IOException {
+    super(conf, file, new TajoReadSupport(readSchema, requestedSchema),
+          filterPredicate == null ? FilterCompat.NOOP : FilterCompat.get(filterPredicate));
+  }
 }
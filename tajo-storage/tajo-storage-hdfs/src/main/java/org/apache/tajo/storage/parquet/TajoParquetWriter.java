@@ -86,6 +86,44 @@ public class TajoParquetWriter extends ParquetWriter<Tuple> {
           validating);
   }
 
+  /**
+   * Create a new TajoParquetWriter which writes bloom filters of some columns.
+   *
+   * @param file The file name to write to.
+   * @param schema The Tajo schema of the table.
+   * @param compressionCodecName Compression codec to use, or
+   *                             CompressionCodecName.UNCOMPRESSED.
+   * @param blockSize The block size threshold.
+   * @param pageSize See parquet write up. Blocks are subdivided into pages
+   *                 for alignment.
+   * @param enableDictionary Whether to use a dictionary to compress columns.
+   * @param validating Whether to turn on validation.
+   * @param bloomFilterColumns Comma-separated names of the columns whose bloom
+   *                           filters are written, or null.
+   * @param bloomFilterFpp The false positive probability of bloom filters.
+   * @param bloomFilterMaxValues The max number of distinct values of a column
+   *                             in a row group to write its bloom filter.
+   * @throws java.io.IOException
+   */
+  public TajoParquetWriter(Path file,
+                           Schema schema,
+                           CompressionCodecName compressionCodecName,
+                           int blockSize,
+                           int pageSize,
+                           boolean enableDictionary,
+                           boolean validating,
+                           String bloomFilterColumns,
+                           double bloomFilterFpp,
+                           int bloomFilterMaxValues) throws IOException {
+    super(file,
+          new TajoWriteSupport(schema, bloomFilterColumns, bloomFilterFpp, bloomFilterMaxValues),
+          compressionCodecName,
+          blockSize,
+          pageSize,
+          enableDictionary,
+          validating);
+  }
+
   /**
    * Creates a new TajoParquetWriter. The default block size is 128 MB.
    * The default page size is 1 MB. Default compression is no compression.
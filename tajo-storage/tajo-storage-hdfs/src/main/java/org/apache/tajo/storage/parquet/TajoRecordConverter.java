@@ -49,7 +49,8 @@ public class TajoRecordConverter extends GroupConverter {
 
   private final Converter[] converters;
 
-  private Tuple currentTuple;
+  // values of the current record. A tuple is created only for a record which passes the record filter.
+  private final Datum[] currentDatums;
 
   /**
    * Creates a new TajoRecordConverter.
@@ -65,6 +66,7 @@ public class TajoRecordConverter extends GroupConverter {
     this.tajoReadSchema = tajoReadSchema;
     this.projectionMap = projectionMap;
     this.tupleSize = tajoReadSchema.size();
+    this.currentDatums = new Datum[projectionMap.length];
 
     // The projectionMap.length does not match parquetSchema.getFieldCount()
     // when the projection contains NULL_TYPE columns. We will skip over the
@@ -91,7 +93,7 @@ public class TajoRecordConverter extends GroupConverter {
   }
 
   private void set(int index, Object value) {
-    currentTuple.put(index, (Datum)value);
+    currentDatums[index] = (Datum)value;
   }
 
   private Converter newConverter(Column column, Type type,
@@ -146,9 +148,7 @@ public class TajoRecordConverter extends GroupConverter {
    */
   @Override
   public void start() {
-    Datum[] datums = new Datum[projectionMap.length];
-    Arrays.fill(datums, NullDatum.get());
-    currentTuple = new VTuple(datums);
+    Arrays.fill(currentDatums, NullDatum.get());
   }
 
   /**
@@ -164,7 +164,7 @@ public class TajoRecordConverter extends GroupConverter {
    * @return The current record.
    */
   public Tuple getCurrentRecord() {
-    return currentTuple;
+    return new VTuple(currentDatums.clone());
   }
 
   static abstract class ParentValueContainer {
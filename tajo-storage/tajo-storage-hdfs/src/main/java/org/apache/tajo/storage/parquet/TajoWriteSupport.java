@@ -19,6 +19,8 @@
 package org.apache.tajo.storage.parquet;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.orc.*;
+import org.apache.orc.impl.*;
 import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.RecordConsumer;
@@ -30,11 +32,11 @@ import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.exception.ValueTooLongForTypeCharactersException;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.thirdparty.parquet.BloomFilterRowGroupFilter;
 import org.apache.tajo.util.datetime.DateTimeConstants;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 /**
  * Tajo implementation of {@link parquet.hadoop.api.WriteSupport} for {@link org.apache.tajo.storage.Tuple}s.
@@ -44,6 +46,9 @@ public class TajoWriteSupport extends WriteSupport<Tuple> {
   private RecordConsumer recordConsumer;
   private MessageType rootSchema;
   private Schema rootTajoSchema;
+  // bloom filter builders indexed by column ids. Columns without bloom filters have null.
+  private BloomFilterBuilder[] bloomFilterBuilders;
+  private long rowGroupRecordCount;
 
   /**
    * Creates a new TajoWriteSupport.
@@ -51,8 +56,40 @@ public class TajoWriteSupport extends WriteSupport<Tuple> {
    * @param tajoSchema The Tajo schema for the table.
    */
   public TajoWriteSupport(Schema tajoSchema) {
+    this(tajoSchema, null, 0, 0);
+  }
+
+  /**
+   * Creates a new TajoWriteSupport which writes bloom filters of some columns.
+   *
+   * @param tajoSchema The Tajo schema for the table.
+   * @param bloomFilterColumns Comma-separated names of the columns whose bloom filters are written, or null.
+   *                           Columns of types other than integers, dates, floats and texts are ignored.
+   * @param bloomFilterFpp The false positive probability of bloom filters.
+   * @param bloomFilterMaxValues The max number of distinct values of a column in a row group to write its
+   *                             bloom filter.
+   */
+  public TajoWriteSupport(Schema tajoSchema, String bloomFilterColumns, double bloomFilterFpp,
+                          int bloomFilterMaxValues) {
     this.rootSchema = new TajoSchemaConverter().convert(tajoSchema);
     this.rootTajoSchema = tajoSchema;
+    this.bloomFilterBuilders = new BloomFilterBuilder[tajoSchema.size()];
+
+    if (bloomFilterColumns != null) {
+      for (String name : bloomFilterColumns.split(",")) {
+        if (name.trim().isEmpty()) {
+          continue;
+        }
+        Column column = tajoSchema.getColumn(name.trim());
+        if (column == null) {
+          throw new IllegalArgumentException("Unknown bloom filter column: " + name.trim());
+        }
+        if (BloomFilterBuilder.isSupported(column)) {
+          bloomFilterBuilders[tajoSchema.getColumnId(column.getQualifiedName())] =
+              new BloomFilterBuilder(bloomFilterFpp, bloomFilterMaxValues);
+        }
+      }
+    }
   }
 
   /**
@@ -74,9 +111,39 @@ public class TajoWriteSupport extends WriteSupport<Tuple> {
    */
   @Override
   public void prepareForWrite(RecordConsumer recordConsumer) {
+    // the previous row group has been flushed
+    finishRowGroup();
     this.recordConsumer = recordConsumer;
   }
 
+  /**
+   * Called once after the last row group is written. The bloom filters are added to the footer.
+   */
+  @Override
+  public FinalizedWriteContext finalizeWrite() {
+    finishRowGroup();
+
+    Map<String, String> extraMetaData = new HashMap<>();
+    for (int i = 0; i < bloomFilterBuilders.length; i++) {
+      if (bloomFilterBuilders[i] != null) {
+        extraMetaData.put(BloomFilterRowGroupFilter.METADATA_KEY_PREFIX + rootTajoSchema.getColumn(i).getSimpleName(),
+            BloomFilterRowGroupFilter.encode(bloomFilterBuilders[i].bloomFilters));
+      }
+    }
+    return new FinalizedWriteContext(extraMetaData);
+  }
+
+  private void finishRowGroup() {
+    if (rowGroupRecordCount > 0) {
+      for (BloomFilterBuilder builder : bloomFilterBuilders) {
+        if (builder != null) {
+          builder.finishRowGroup();
+        }
+      }
+      rowGroupRecordCount = 0;
+    }
+  }
+
   /**
    * Writes a Tuple to the file.
    *
@@ -87,6 +154,7 @@ public class TajoWriteSupport extends WriteSupport<Tuple> {
     recordConsumer.startMessage();
     writeRecordFields(rootSchema, rootTajoSchema, tuple);
     recordConsumer.endMessage();
+    rowGroupRecordCount++;
   }
 
   private void writeRecordFields(GroupType schema, Schema tajoSchema,
@@ -104,6 +172,9 @@ public class TajoWriteSupport extends WriteSupport<Tuple> {
         recordConsumer.startField(fieldType.getName(), index);
         writeValue(column, tuple, tajoIndex);
         recordConsumer.endField(fieldType.getName(), index);
+        if (bloomFilterBuilders[tajoIndex] != null) {
+          bloomFilterBuilders[tajoIndex].add(column, tuple, tajoIndex);
+        }
       } else if (fieldType.isRepetition(Type.Repetition.REQUIRED)) {
         throw new RuntimeException("Null-value for required field: " +
             column.getSimpleName());
@@ -153,4 +224,89 @@ public class TajoWriteSupport extends WriteSupport<Tuple> {
         break;
     }
   }
+
+  /**
+   * BloomFilterBuilder collects the distinct values of a column in a row group, so that the bloom filter is sized
+   * for the actual number of values. Values are added in the same way as
+   * {@link BloomFilterRowGroupFilter} tests the values of filter predicates.
+   */
+  private static class BloomFilterBuilder {
+    private final double fpp;
+    private final int maxValues;
+    private final Set<Object> values = new HashSet<>();
+    private boolean overflowed;
+    private final List<OrcProto.BloomFilter> bloomFilters = new ArrayList<>();
+
+    BloomFilterBuilder(double fpp, int maxValues) {
+      this.fpp = fpp;
+      this.maxValues = maxValues;
+    }
+
+    static boolean isSupported(Column column) {
+      switch (column.getDataType().getType()) {
+        case INT2:
+        case INT4:
+        case INT8:
+        case DATE:
+        case FLOAT4:
+        case FLOAT8:
+        case CHAR:
+        case TEXT:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    void add(Column column, Tuple tuple, int index) {
+      if (overflowed) {
+        return;
+      }
+
+      switch (column.getDataType().getType()) {
+        case INT2:
+        case INT4:
+          values.add((long) tuple.getInt4(index));
+          break;
+        case INT8:
+          values.add(tuple.getInt8(index));
+          break;
+        case DATE:
+          values.add((long) (tuple.getInt4(index) - DateTimeConstants.UNIX_EPOCH_JDATE));
+          break;
+        case FLOAT4:
+          values.add((double) tuple.getFloat4(index));
+          break;
+        case FLOAT8:
+          values.add(tuple.getFloat8(index));
+          break;
+        default:
+          values.add(ByteBuffer.wrap(tuple.getTextBytes(index)));
+      }
+
+      if (values.size() > maxValues) {
+        overflowed = true;
+        values.clear();
+      }
+    }
+
+    void finishRowGroup() {
+      BloomFilterIO bloomFilter = null;
+      if (!overflowed) {
+        bloomFilter = new BloomFilterIO(Math.max(values.size(), 1), fpp);
+        for (Object value : values) {
+          if (value instanceof Long) {
+            bloomFilter.addLong((Long) value);
+          } else if (value instanceof Double) {
+            bloomFilter.addDouble((Double) value);
+          } else {
+            bloomFilter.addBytes(((ByteBuffer) value).array());
+          }
+        }
+      }
+      bloomFilters.add(BloomFilterRowGroupFilter.toProto(bloomFilter));
+      values.clear();
+      overflowed = false;
+    }
+  }
 }
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.parquet;
+
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.ValuesType;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.values.ValuesReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.tuple.vector.BytesColumnVector;
+import org.apache.tajo.tuple.vector.ColumnVector;
+import org.apache.tajo.tuple.vector.DoubleColumnVector;
+import org.apache.tajo.tuple.vector.LongColumnVector;
+import org.apache.tajo.util.datetime.DateTimeConstants;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Decodes the pages of a flat Parquet column chunk directly into a column vector.
+ *
+ * Definition levels are decoded from RLE/bit-packed runs, and values are decoded from PLAIN or dictionary-encoded
+ * pages without going through the record assembly of parquet-mr. A dictionary is decoded into the Tajo
+ * representation once per column chunk, so a dictionary-encoded value costs only an array lookup.
+ */
+class VectorizedColumnReader {
+  private final ColumnDescriptor descriptor;
+  private final TajoDataTypes.Type type;
+  private final PageReader pageReader;
+  private final int maxDefLevel;
+
+  // dictionary values converted into the representation of the column vector
+  private long[] dictionaryLongs;
+  private double[] dictionaryDoubles;
+  private byte[][] dictionaryBytes;
+
+  private int pageValuesLeft;
+  private LevelReader defLevels;
+  private boolean dictionaryEncoded;
+  private RunLengthBitPackingHybridDecoder dictionaryIds;
+  // PLAIN values of the current page, except for booleans
+  private ByteBuffer plainValues;
+  // PLAIN booleans are bit-packed, so they are read through a ValuesReader
+  private ValuesReader booleanReader;
+
+  /**
+   * @param descriptor The descriptor of a primitive and non-repeated column
+   * @param type Tajo type of the column
+   * @param pageReader Page reader of the column chunk
+   */
+  VectorizedColumnReader(ColumnDescriptor descriptor, TajoDataTypes.Type type, PageReader pageReader)
+      throws IOException {
+    this.descriptor = descriptor;
+    this.type = type;
+    this.pageReader = pageReader;
+    this.maxDefLevel = descriptor.getMaxDefinitionLevel();
+
+    DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
+    if (dictionaryPage != null) {
+      readDictionary(dictionaryPage.getEncoding().initDictionary(descriptor, dictionaryPage));
+    }
+  }
+
+  /**
+   * @return True if a column of the given Parquet type can be read into a vector of the Tajo type
+   */
+  static boolean isCompatible(PrimitiveTypeName physicalType, TajoDataTypes.Type type) {
+    switch (type) {
+    case BOOLEAN:
+      return physicalType == PrimitiveTypeName.BOOLEAN;
+    case BIT:
+    case INT2:
+    case INT4:
+    case DATE:
+      return physicalType == PrimitiveTypeName.INT32;
+    case INT8:
+      return physicalType == PrimitiveTypeName.INT32 || physicalType == PrimitiveTypeName.INT64;
+    case FLOAT4:
+    case FLOAT8:
+      return physicalType == PrimitiveTypeName.INT32 || physicalType == PrimitiveTypeName.INT64 ||
+          physicalType == PrimitiveTypeName.FLOAT || physicalType == PrimitiveTypeName.DOUBLE;
+    case CHAR:
+    case TEXT:
+    case BLOB:
+    case PROTOBUF:
+      return physicalType == PrimitiveTypeName.BINARY;
+    default:
+      return false;
+    }
+  }
+
+  private void readDictionary(Dictionary dictionary) {
+    int size = dictionary.getMaxId() + 1;
+    switch (descriptor.getType()) {
+    case INT32:
+      if (isFloatingPoint()) {
+        dictionaryDoubles = new double[size];
+        for (int id = 0; id < size; id++) {
+          dictionaryDoubles[id] = dictionary.decodeToInt(id);
+        }
+      } else {
+        dictionaryLongs = new long[size];
+        for (int id = 0; id < size; id++) {
+          dictionaryLongs[id] = toLong(dictionary.decodeToInt(id));
+        }
+      }
+      break;
+    case INT64:
+      if (isFloatingPoint()) {
+        dictionaryDoubles = new double[size];
+        for (int id = 0; id < size; id++) {
+          dictionaryDoubles[id] = dictionary.decodeToLong(id);
+        }
+      } else {
+        dictionaryLongs = new long[size];
+        for (int id = 0; id < size; id++) {
+          dictionaryLongs[id] = dictionary.decodeToLong(id);
+        }
+      }
+      break;
+    case FLOAT:
+      dictionaryDoubles = new double[size];
+      for (int id = 0; id < size; id++) {
+        dictionaryDoubles[id] = dictionary.decodeToFloat(id);
+      }
+      break;
+    case DOUBLE:
+      dictionaryDoubles = new double[size];
+      for (int id = 0; id < size; id++) {
+        dictionaryDoubles[id] = dictionary.decodeToDouble(id);
+      }
+      break;
+    case BINARY:
+      dictionaryBytes = new byte[size][];
+      for (int id = 0; id < size; id++) {
+        dictionaryBytes[id] = dictionary.decodeToBinary(id).getBytes();
+      }
+      break;
+    default:
+      throw new ParquetDecodingException("Unsupported dictionary type: " + descriptor.getType());
+    }
+  }
+
+  private boolean isFloatingPoint() {
+    return type == TajoDataTypes.Type.FLOAT4 || type == TajoDataTypes.Type.FLOAT8;
+  }
+
+  /**
+   * Convert an INT32 value into the representation of a long column vector
+   */
+  private long toLong(int value) {
+    switch (type) {
+    case BIT:
+      return value & 0xff;
+    case INT2:
+      return (short) value;
+    case DATE:
+      // Parquet DATE type is based on Unix Epoch(Jan 1, 1970).
+      return value + DateTimeConstants.UNIX_EPOCH_JDATE;
+    default:
+      return value;
+    }
+  }
+
+  /**
+   * Read the next values of this column into the vector.
+   *
+   * @param num The number of values to read. It should not exceed the number of remaining values
+   *            in the column chunk.
+   */
+  void readBatch(int num, ColumnVector vector) throws IOException {
+    int row = 0;
+    while (row < num) {
+      if (pageValuesLeft == 0) {
+        readPage();
+      }
+      int n = Math.min(num - row, pageValuesLeft);
+      readValues(vector, row, n);
+      row += n;
+      pageValuesLeft -= n;
+    }
+  }
+
+  private void readValues(ColumnVector vector, int offset, int num) throws IOException {
+    switch (descriptor.getType()) {
+    case BOOLEAN:
+      readBooleans((LongColumnVector) vector, offset, num);
+      break;
+    case INT32:
+    case INT64:
+    case FLOAT:
+    case DOUBLE:
+      if (vector instanceof LongColumnVector) {
+        readLongs((LongColumnVector) vector, offset, num);
+      } else {
+        readDoubles((DoubleColumnVector) vector, offset, num);
+      }
+      break;
+    case BINARY:
+      readBinaries((BytesColumnVector) vector, offset, num);
+      break;
+    default:
+      throw new ParquetDecodingException("Unsupported type: " + descriptor.getType());
+    }
+  }
+
+  private boolean readNull(ColumnVector vector, int row) throws IOException {
+    if (maxDefLevel > 0 && defLevels.readLevel() < maxDefLevel) {
+      vector.setNull(row);
+      return true;
+    }
+    return false;
+  }
+
+  private void readBooleans(LongColumnVector vector, int offset, int num) throws IOException {
+    for (int row = offset; row < offset + num; row++) {
+      if (!readNull(vector, row)) {
+        vector.vector[row] = booleanReader.readBoolean() ? 1 : 0;
+      }
+    }
+  }
+
+  private void readLongs(LongColumnVector vector, int offset, int num) throws IOException {
+    long[] values = vector.vector;
+    if (dictionaryEncoded) {
+      for (int row = offset; row < offset + num; row++) {
+        if (!readNull(vector, row)) {
+          values[row] = dictionaryLongs[dictionaryIds.readInt()];
+        }
+      }
+    } else if (descriptor.getType() == PrimitiveTypeName.INT32) {
+      for (int row = offset; row < offset + num; row++) {
+        if (!readNull(vector, row)) {
+          values[row] = toLong(plainValues.getInt());
+        }
+      }
+    } else {
+      for (int row = offset; row < offset + num; row++) {
+        if (!readNull(vector, row)) {
+          values[row] = plainValues.getLong();
+        }
+      }
+    }
+  }
+
+  private void readDoubles(DoubleColumnVector vector, int offset, int num) throws IOException {
+    double[] values = vector.vector;
+    if (dictionaryEncoded) {
+      for (int row = offset; row < offset + num; row++) {
+        if (!readNull(vector, row)) {
+          values[row] = dictionaryDoubles[dictionaryIds.readInt()];
+        }
+      }
+      return;
+    }
+
+    for (int row = offset; row < offset + num; row++) {
+      if (!readNull(vector, row)) {
+        switch (descriptor.getType()) {
+        case INT32:
+          values[row] = plainValues.getInt();
+          break;
+        case INT64:
+          values[row] = plainValues.getLong();
+          break;
+        case FLOAT:
+          values[row] = plainValues.getFloat();
+          break;
+        default:
+          values[row] = plainValues.getDouble();
+        }
+      }
+    }
+  }
+
+  private void readBinaries(BytesColumnVector vector, int offset, int num) throws IOException {
+    if (dictionaryEncoded) {
+      for (int row = offset; row < offset + num; row++) {
+        if (!readNull(vector, row)) {
+          byte[] value = dictionaryBytes[dictionaryIds.readInt()];
+          vector.setRef(row, value, 0, value.length);
+        }
+      }
+      return;
+    }
+
+    byte[] page = plainValues.array();
+    for (int row = offset; row < offset + num; row++) {
+      if (!readNull(vector, row)) {
+        int length = plainValues.getInt();
+        int position = plainValues.position();
+        // The page is released after it is consumed, so the value is copied into the vector.
+        vector.setVal(row, page, position, length);
+        plainValues.position(position + length);
+      }
+    }
+  }
+
+  private void readPage() throws IOException {
+    DataPage dataPage = pageReader.readPage();
+    if (dataPage == null) {
+      throw new ParquetDecodingException("No more pages in column " + descriptor);
+    }
+
+    dataPage.accept(new DataPage.Visitor<Void>() {
+      @Override
+      public Void visit(DataPageV1 page) {
+        try {
+          byte[] bytes = page.getBytes().toByteArray();
+          int offset = 0;
+          if (maxDefLevel > 0) {
+            final ValuesReader levelReader = page.getDlEncoding().getValuesReader(descriptor,
+                ValuesType.DEFINITION_LEVEL);
+            levelReader.initFromPage(page.getValueCount(), ByteBuffer.wrap(bytes), 0);
+            offset = levelReader.getNextOffset();
+            defLevels = new LevelReader() {
+              @Override
+              int readLevel() {
+                return levelReader.readInteger();
+              }
+            };
+          }
+          initValues(page.getValueEncoding(), page.getValueCount(), bytes, offset);
+        } catch (IOException e) {
+          throw new ParquetDecodingException("Could not read page " + page + " in column " + descriptor, e);
+        }
+        pageValuesLeft = page.getValueCount();
+        return null;
+      }
+
+      @Override
+      public Void visit(DataPageV2 page) {
+        try {
+          if (maxDefLevel > 0) {
+            final RunLengthBitPackingHybridDecoder levelDecoder = new RunLengthBitPackingHybridDecoder(
+                BytesUtils.getWidthFromMaxInt(maxDefLevel),
+                new ByteArrayInputStream(page.getDefinitionLevels().toByteArray()));
+            defLevels = new LevelReader() {
+              @Override
+              int readLevel() throws IOException {
+                return levelDecoder.readInt();
+              }
+            };
+          }
+          initValues(page.getDataEncoding(), page.getValueCount(), page.getData().toByteArray(), 0);
+        } catch (IOException e) {
+          throw new ParquetDecodingException("Could not read page " + page + " in column " + descriptor, e);
+        }
+        pageValuesLeft = page.getValueCount();
+        return null;
+      }
+    });
+  }
+
+  private void initValues(Encoding encoding, int valueCount, byte[] bytes, int offset) throws IOException {
+    dictionaryEncoded = encoding.usesDictionary();
+    if (dictionaryEncoded) {
+      if (dictionaryLongs == null && dictionaryDoubles == null && dictionaryBytes == null) {
+        throw new ParquetDecodingException("Dictionary-encoded page without a dictionary in column " + descriptor);
+      }
+      // a bit width followed by RLE/bit-packed dictionary ids
+      int bitWidth = bytes[offset] & 0xff;
+      dictionaryIds = new RunLengthBitPackingHybridDecoder(bitWidth,
+          new ByteArrayInputStream(bytes, offset + 1, bytes.length - offset - 1));
+    } else if (descriptor.getType() == PrimitiveTypeName.BOOLEAN &&
+        (encoding == Encoding.PLAIN || encoding == Encoding.RLE)) {
+      booleanReader = encoding.getValuesReader(descriptor, ValuesType.VALUES);
+      booleanReader.initFromPage(valueCount, ByteBuffer.wrap(bytes), offset);
+    } else if (encoding != Encoding.PLAIN) {
+      throw new ParquetDecodingException("Unsupported encoding " + encoding + " in column " + descriptor);
+    } else {
+      plainValues = ByteBuffer.wrap(bytes);
+      plainValues.order(ByteOrder.LITTLE_ENDIAN);
+      plainValues.position(offset);
+    }
+  }
+
+  private static abstract class LevelReader {
+    abstract int readLevel() throws IOException;
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.storage.thirdparty.parquet.ParquetReader;
+import org.apache.tajo.tuple.vector.ColumnBatch;
+import org.apache.tajo.tuple.vector.ColumnVector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads a Parquet file of a flat schema into column batches.
+ *
+ * Unlike {@link TajoParquetReader}, it does not assemble records through converters. Each projected column is
+ * decoded page by page into a column vector by {@link VectorizedColumnReader}. Row groups are still dropped
+ * by the filter before they are read. Users should use {@link ParquetScanner} and not this class directly.
+ */
+public class VectorizedParquetReader implements Closeable {
+  /**
+   * Encodings which {@link VectorizedColumnReader} can decode. RLE and BIT_PACKED are used for levels, and RLE is
+   * also used for boolean values. Other encodings, such as DELTA_*, are read through the record converters.
+   */
+  private static final Set<Encoding> SUPPORTED_ENCODINGS = EnumSet.of(Encoding.PLAIN, Encoding.PLAIN_DICTIONARY,
+      Encoding.RLE_DICTIONARY, Encoding.RLE, Encoding.BIT_PACKED);
+
+  private final Schema targetSchema;
+  private final List<BlockMetaData> blocks;
+  private final ColumnDescriptor[] descriptors;
+  private final boolean supported;
+  private final long skippedBytes;
+  private long totalRowCount;
+  private final long skippedRowCount;
+
+  private ParquetFileReader reader;
+  private VectorizedColumnReader[] columnReaders;
+  private int currentBlock;
+  private long rowsLeftInBlock;
+  private long rowsRead;
+
+  /**
+   * Creates a new VectorizedParquetReader.
+   *
+   * @param conf the configuration
+   * @param file The file to read from.
+   * @param targetSchema Tajo schema of the projection.
+   * @param filter the filter to drop row groups
+   */
+  public VectorizedParquetReader(Configuration conf, Path file, Schema targetSchema, FilterCompat.Filter filter)
+      throws IOException {
+    this.targetSchema = targetSchema;
+
+    ParquetMetadata footer = ParquetReader.readFooter(conf, file.getFileSystem(conf).getFileStatus(file));
+    MessageType fileSchema = footer.getFileMetaData().getSchema();
+
+    // Columns which are not in the file, such as added columns, are filled with nulls.
+    boolean supported = true;
+    this.descriptors = new ColumnDescriptor[targetSchema.size()];
+    List<ColumnDescriptor> requested = new ArrayList<ColumnDescriptor>();
+    for (int i = 0; i < targetSchema.size(); i++) {
+      Column column = targetSchema.getColumn(i);
+      TajoDataTypes.Type type = column.getDataType().getType();
+      if (type == TajoDataTypes.Type.NULL_TYPE || !fileSchema.containsField(column.getSimpleName())) {
+        continue;
+      }
+
+      Type field = fileSchema.getType(column.getSimpleName());
+      if (!ColumnBatch.isSupported(column.getDataType()) || !field.isPrimitive() ||
+          field.isRepetition(Type.Repetition.REPEATED) ||
+          !VectorizedColumnReader.isCompatible(field.asPrimitiveType().getPrimitiveTypeName(), type)) {
+        supported = false;
+        break;
+      }
+      descriptors[i] = fileSchema.getColumnDescription(new String[]{column.getSimpleName()});
+      requested.add(descriptors[i]);
+    }
+
+    for (BlockMetaData block : footer.getBlocks()) {
+      totalRowCount += block.getRowCount();
+    }
+    this.blocks = ParquetReader.filterRowGroups(filter, footer.getBlocks(), fileSchema,
+        footer.getFileMetaData().getKeyValueMetaData(), conf, file);
+    this.skippedBytes = ParquetReader.getCompressedSize(footer.getBlocks()) - ParquetReader.getCompressedSize(blocks);
+    long rowCount = 0;
+    for (BlockMetaData block : blocks) {
+      rowCount += block.getRowCount();
+    }
+    this.skippedRowCount = totalRowCount - rowCount;
+    this.supported = supported && hasSupportedEncodings(blocks, requested);
+
+    if (this.supported && !requested.isEmpty() && !blocks.isEmpty()) {
+      reader = new ParquetFileReader(conf, footer.getFileMetaData(), file, blocks, requested);
+    }
+  }
+
+  /**
+   * @return True if all column chunks to be read are encoded only in the supported encodings
+   */
+  private static boolean hasSupportedEncodings(List<BlockMetaData> blocks, List<ColumnDescriptor> requested) {
+    List<ColumnPath> paths = new ArrayList<ColumnPath>(requested.size());
+    for (ColumnDescriptor descriptor : requested) {
+      paths.add(ColumnPath.get(descriptor.getPath()));
+    }
+
+    for (BlockMetaData block : blocks) {
+      for (ColumnChunkMetaData chunk : block.getColumns()) {
+        if (paths.contains(chunk.getPath()) && !SUPPORTED_ENCODINGS.containsAll(chunk.getEncodings())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return True if all projected columns are flat and of types which can be read into column vectors, and
+   * their column chunks are encoded in the encodings which can be decoded into column vectors
+   */
+  public boolean isSupported() {
+    return supported;
+  }
+
+  /**
+   * Fill the next rows into the batch. A batch does not span row groups.
+   *
+   * @param batch A batch of the target schema
+   * @return false if there are no more rows
+   */
+  public boolean nextBatch(ColumnBatch batch) throws IOException {
+    while (rowsLeftInBlock == 0) {
+      if (!nextBlock()) {
+        return false;
+      }
+    }
+
+    int num = (int) Math.min(batch.capacity(), rowsLeftInBlock);
+    batch.reset();
+    for (int i = 0; i < targetSchema.size(); i++) {
+      ColumnVector vector = batch.getColumn(i);
+      if (columnReaders[i] != null) {
+        columnReaders[i].readBatch(num, vector);
+      } else if (vector != null) {
+        for (int row = 0; row < num; row++) {
+          vector.setNull(row);
+        }
+      }
+    }
+    batch.setSize(num);
+
+    rowsLeftInBlock -= num;
+    rowsRead += num;
+    return true;
+  }
+
+  private boolean nextBlock() throws IOException {
+    if (currentBlock == blocks.size()) {
+      return false;
+    }
+
+    PageReadStore pages = reader == null ? null : reader.readNextRowGroup();
+    columnReaders = new VectorizedColumnReader[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      if (descriptors[i] != null) {
+        columnReaders[i] = new VectorizedColumnReader(descriptors[i],
+            targetSchema.getColumn(i).getDataType().getType(), pages.getPageReader(descriptors[i]));
+      }
+    }
+    rowsLeftInBlock = blocks.get(currentBlock++).getRowCount();
+    return true;
+  }
+
+  public long getTotalRowCount() {
+    return totalRowCount;
+  }
+
+  /**
+   * @return the compressed size of row groups dropped by the filter
+   */
+  public long getSkippedBytes() {
+    return skippedBytes;
+  }
+
+  public float getProgress() {
+    return totalRowCount == 0 ? 1.0f : (float) (rowsRead + skippedRowCount) / totalRowCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (reader != null) {
+      reader.close();
+      reader = null;
+    }
+  }
+}
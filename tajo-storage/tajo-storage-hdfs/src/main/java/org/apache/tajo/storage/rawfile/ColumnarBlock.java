@@ -0,0 +1,597 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.rawfile;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.IntervalDatum;
+import org.apache.tajo.exception.TajoRuntimeException;
+import org.apache.tajo.exception.UnsupportedException;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.tuple.RowBlockReader;
+import org.apache.tajo.tuple.memory.HeapTuple;
+import org.apache.tajo.tuple.memory.MemoryRowBlock;
+import org.apache.tajo.tuple.memory.RowWriter;
+import org.apache.tajo.tuple.memory.UnSafeTuple;
+import org.apache.tajo.tuple.memory.ZeroCopyTuple;
+import org.apache.tajo.util.SizeOf;
+import org.iq80.snappy.Snappy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A block of the CRAW format. A CRAW file is a sequence of blocks, and rows in a block are stored column by column.
+ *
+ * <pre>
+ *   block  := row num (int) | codec (byte) | body length (int) | stored length (int) | stored body
+ *   body   := column * (the number of columns)
+ *   column := encoding (byte) | has nulls (byte) | [null bitmap] | non-null values
+ * </pre>
+ *
+ * Fixed-width values are encoded in either PLAIN or RLE, and variable-length values are encoded in either PLAIN or
+ * DICTIONARY. An encoding is chosen for each column of each block by which one is smaller. The body is compressed
+ * unless it does not get smaller.
+ */
+class ColumnarBlock {
+  static final int HEADER_SIZE = SizeOf.SIZE_OF_INT * 3 + SizeOf.SIZE_OF_BYTE;
+
+  static final byte CODEC_NONE = 0;
+  static final byte CODEC_SNAPPY = 1;
+
+  static final byte PLAIN = 0;
+  static final byte RLE = 1;
+  static final byte DICTIONARY = 2;
+
+  static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+  private static final int VARIABLE_LENGTH = -1;
+
+  static byte getCodec(String name) {
+    if (name.equalsIgnoreCase("none")) {
+      return CODEC_NONE;
+    } else if (name.equalsIgnoreCase("snappy")) {
+      return CODEC_SNAPPY;
+    } else {
+      throw new TajoRuntimeException(new UnsupportedException("compression codec '" + name + "'"));
+    }
+  }
+
+  /**
+   * @return The width of a fixed-width type, zero for NULL_TYPE and VARIABLE_LENGTH for the others.
+   */
+  static int width(Type type) {
+    switch (type) {
+    case BOOLEAN:
+    case BIT:
+      return 1;
+    case INT1:
+    case INT2:
+      return 2;
+    case INT4:
+    case DATE:
+    case FLOAT4:
+      return 4;
+    case INT8:
+    case TIME:
+    case TIMESTAMP:
+    case FLOAT8:
+      return 8;
+    case CHAR:
+    case TEXT:
+    case BLOB:
+    case PROTOBUF:
+    case INTERVAL:
+      return VARIABLE_LENGTH;
+    case NULL_TYPE:
+      return 0;
+    default:
+      throw new TajoRuntimeException(new UnsupportedException("data type '" + type.name() + "'"));
+    }
+  }
+
+  private static int[] widths(DataType[] types) {
+    int[] widths = new int[types.length];
+    for (int i = 0; i < types.length; i++) {
+      widths[i] = width(types[i].getType());
+    }
+    return widths;
+  }
+
+  private static void writeFixed(ByteBuf buf, int width, long value) {
+    switch (width) {
+    case 1:
+      buf.writeByte((int) value);
+      break;
+    case 2:
+      buf.writeShort((int) value);
+      break;
+    case 4:
+      buf.writeInt((int) value);
+      break;
+    default:
+      buf.writeLong(value);
+    }
+  }
+
+  private static long readFixed(ByteBuf buf, int width) {
+    switch (width) {
+    case 1:
+      return buf.readByte();
+    case 2:
+      return buf.readShort();
+    case 4:
+      return buf.readInt();
+    default:
+      return buf.readLong();
+    }
+  }
+
+  /**
+   * Encodes row blocks into CRAW blocks. An encoder reuses its buffers for every block.
+   */
+  static class Encoder {
+    private final DataType[] types;
+    private final int[] widths;
+    private final byte codec;
+
+    private final ByteBuf body = Unpooled.buffer();
+    private byte[] block = new byte[HEADER_SIZE];
+
+    private ZeroCopyTuple[] tuples = new ZeroCopyTuple[0];
+    private byte[] nullBitmap = new byte[0];
+    private long[] fixedValues = new long[0];
+    private byte[][] varValues = new byte[0][];
+    private int[] dictIndexes = new int[0];
+    private final Map<ByteBuffer, Integer> dictionary = new HashMap<>();
+    private final List<byte[]> dictEntries = new ArrayList<>();
+
+    Encoder(DataType[] types, byte codec) {
+      this.types = types;
+      this.widths = widths(types);
+      this.codec = codec;
+    }
+
+    /**
+     * @return The encoded block. Only the first {@link #encode} bytes are valid.
+     */
+    byte[] getBlock() {
+      return block;
+    }
+
+    /**
+     * Encode all rows of a row block written in the DRAW layout.
+     *
+     * @return The length of the encoded block
+     */
+    int encode(MemoryRowBlock rowBlock) throws IOException {
+      int rows = readTuples(rowBlock);
+
+      body.clear();
+      for (int i = 0; i < types.length; i++) {
+        encodeColumn(i, rows);
+      }
+
+      int bodyLength = body.writerIndex();
+      byte storedCodec = codec;
+      int storedLength = bodyLength;
+      if (codec == CODEC_SNAPPY) {
+        ensureBlockSize(HEADER_SIZE + Snappy.maxCompressedLength(bodyLength));
+        storedLength = Snappy.compress(body.array(), body.arrayOffset(), bodyLength, block, HEADER_SIZE);
+      }
+      if (codec == CODEC_NONE || storedLength >= bodyLength) {
+        ensureBlockSize(HEADER_SIZE + bodyLength);
+        body.getBytes(0, block, HEADER_SIZE, bodyLength);
+        storedCodec = CODEC_NONE;
+        storedLength = bodyLength;
+      }
+
+      ByteBuffer header = ByteBuffer.wrap(block, 0, HEADER_SIZE);
+      header.putInt(rows).put(storedCodec).putInt(bodyLength).putInt(storedLength);
+      return HEADER_SIZE + storedLength;
+    }
+
+    private void ensureBlockSize(int size) {
+      if (block.length < size) {
+        block = new byte[size];
+      }
+    }
+
+    private int readTuples(MemoryRowBlock rowBlock) {
+      int rows = rowBlock.rows();
+      if (tuples.length < rows) {
+        int size = Math.max(rows, tuples.length * 2);
+        tuples = Arrays.copyOf(tuples, size);
+        fixedValues = new long[size];
+        varValues = new byte[size][];
+        dictIndexes = new int[size];
+      }
+
+      boolean direct = rowBlock.getMemory().hasAddress();
+      RowBlockReader reader = rowBlock.getReader();
+      for (int i = 0; i < rows; i++) {
+        if (tuples[i] == null || (tuples[i] instanceof UnSafeTuple) != direct) {
+          tuples[i] = direct ? new UnSafeTuple() : new HeapTuple();
+        }
+        reader.next(tuples[i]);
+      }
+      return rows;
+    }
+
+    private void encodeColumn(int columnIdx, int rows) {
+      int bitmapSize = (rows + 7) / 8;
+      if (nullBitmap.length < bitmapSize) {
+        nullBitmap = new byte[bitmapSize];
+      } else {
+        Arrays.fill(nullBitmap, 0, bitmapSize, (byte) 0);
+      }
+
+      int width = widths[columnIdx];
+      boolean hasNull = false;
+      int valueNum = 0;
+      for (int i = 0; i < rows; i++) {
+        Tuple tuple = tuples[i];
+        if (width == 0 || tuple.isBlankOrNull(columnIdx)) {
+          nullBitmap[i >> 3] |= 1 << (i & 7);
+          hasNull = true;
+        } else if (width == VARIABLE_LENGTH) {
+          varValues[valueNum++] = getVariable(tuple, columnIdx);
+        } else {
+          fixedValues[valueNum++] = getFixed(tuple, columnIdx);
+        }
+      }
+
+      int encodingIndex = body.writerIndex();
+      body.writeByte(PLAIN);
+      body.writeByte(hasNull ? 1 : 0);
+      if (hasNull) {
+        body.writeBytes(nullBitmap, 0, bitmapSize);
+      }
+
+      if (width == VARIABLE_LENGTH) {
+        if (writeDictionary(valueNum)) {
+          body.setByte(encodingIndex, DICTIONARY);
+        } else {
+          for (int i = 0; i < valueNum; i++) {
+            body.writeInt(varValues[i].length);
+            body.writeBytes(varValues[i]);
+          }
+        }
+        Arrays.fill(varValues, 0, valueNum, null);
+      } else if (width > 0) {
+        if (writeRunLength(width, valueNum)) {
+          body.setByte(encodingIndex, RLE);
+        } else {
+          for (int i = 0; i < valueNum; i++) {
+            writeFixed(body, width, fixedValues[i]);
+          }
+        }
+      }
+    }
+
+    private boolean writeRunLength(int width, int valueNum) {
+      int runNum = valueNum > 0 ? 1 : 0;
+      for (int i = 1; i < valueNum; i++) {
+        if (fixedValues[i] != fixedValues[i - 1]) {
+          runNum++;
+        }
+      }
+      if ((long) runNum * (SizeOf.SIZE_OF_INT + width) + SizeOf.SIZE_OF_INT >= (long) valueNum * width) {
+        return false;
+      }
+
+      body.writeInt(runNum);
+      int runStart = 0;
+      for (int i = 1; i <= valueNum; i++) {
+        if (i == valueNum || fixedValues[i] != fixedValues[runStart]) {
+          body.writeInt(i - runStart);
+          writeFixed(body, width, fixedValues[runStart]);
+          runStart = i;
+        }
+      }
+      return true;
+    }
+
+    private boolean writeDictionary(int valueNum) {
+      dictionary.clear();
+      dictEntries.clear();
+
+      long plainSize = 0;
+      long dictSize = SizeOf.SIZE_OF_INT;
+      for (int i = 0; i < valueNum; i++) {
+        byte[] value = varValues[i];
+        plainSize += SizeOf.SIZE_OF_INT + value.length;
+
+        ByteBuffer key = ByteBuffer.wrap(value);
+        Integer index = dictionary.get(key);
+        if (index == null) {
+          if (dictEntries.size() == MAX_DICTIONARY_SIZE) {
+            return false;
+          }
+          index = dictEntries.size();
+          dictionary.put(key, index);
+          dictEntries.add(value);
+          dictSize += SizeOf.SIZE_OF_INT + value.length;
+        }
+        dictIndexes[i] = index;
+      }
+
+      int indexWidth = dictEntries.size() <= 256 ? 1 : 2;
+      if (dictSize + (long) valueNum * indexWidth >= plainSize) {
+        return false;
+      }
+
+      body.writeInt(dictEntries.size());
+      for (byte[] entry : dictEntries) {
+        body.writeInt(entry.length);
+        body.writeBytes(entry);
+      }
+      for (int i = 0; i < valueNum; i++) {
+        writeFixed(body, indexWidth, dictIndexes[i]);
+      }
+      return true;
+    }
+
+    private long getFixed(Tuple tuple, int columnIdx) {
+      switch (types[columnIdx].getType()) {
+      case BOOLEAN:
+        return tuple.getBool(columnIdx) ? 1 : 0;
+      case BIT:
+        return tuple.getByte(columnIdx);
+      case INT1:
+      case INT2:
+        return tuple.getInt2(columnIdx);
+      case INT4:
+      case DATE:
+        return tuple.getInt4(columnIdx);
+      case FLOAT4:
+        return Float.floatToRawIntBits(tuple.getFloat4(columnIdx));
+      case FLOAT8:
+        return Double.doubleToRawLongBits(tuple.getFloat8(columnIdx));
+      default:
+        return tuple.getInt8(columnIdx);
+      }
+    }
+
+    private byte[] getVariable(Tuple tuple, int columnIdx) {
+      if (types[columnIdx].getType() == Type.INTERVAL) {
+        IntervalDatum interval = (IntervalDatum) tuple.getInterval(columnIdx);
+        return ByteBuffer.allocate(SizeOf.SIZE_OF_INT + SizeOf.SIZE_OF_LONG)
+            .putInt(interval.getMonths()).putLong(interval.getMilliSeconds()).array();
+      } else {
+        return tuple.getBytes(columnIdx);
+      }
+    }
+  }
+
+  /**
+   * Decodes CRAW blocks into row blocks of the DRAW layout. A decoder reuses its buffers for every block.
+   */
+  static class Decoder {
+    private final DataType[] types;
+    private final int[] widths;
+
+    private byte[] body = new byte[0];
+
+    // the offset of the null bitmap of each column in the body, or -1 if a column has no null
+    private final int[] nullOffsets;
+    private final int[] cursors;
+    private long[][] fixedValues;
+    private byte[][][] varValues;
+
+    Decoder(DataType[] types) {
+      this.types = types;
+      this.widths = widths(types);
+      this.nullOffsets = new int[types.length];
+      this.cursors = new int[types.length];
+      this.fixedValues = new long[types.length][0];
+      this.varValues = new byte[types.length][0][];
+    }
+
+    /**
+     * Decode a block, and write its rows into a row block.
+     *
+     * @param rows The number of rows in the block
+     * @param codec The codec of the stored body
+     * @param bodyLength The length of the uncompressed body
+     * @param stored The stored body
+     * @param storedLength The length of the stored body
+     * @param rowBlock The row block to be filled. It should be empty.
+     */
+    void decode(int rows, byte codec, int bodyLength, byte[] stored, int storedLength, MemoryRowBlock rowBlock)
+        throws IOException {
+      byte[] bodyBytes;
+      if (codec == CODEC_SNAPPY) {
+        if (body.length < bodyLength) {
+          body = new byte[bodyLength];
+        }
+        int length = Snappy.uncompress(stored, 0, storedLength, body, 0);
+        if (length != bodyLength) {
+          throw new IOException("Corrupted block: expected " + bodyLength + " bytes, but " + length + " bytes");
+        }
+        bodyBytes = body;
+      } else if (codec == CODEC_NONE) {
+        bodyBytes = stored;
+      } else {
+        throw new IOException("Unknown compression codec: " + codec);
+      }
+
+      ByteBuf buf = Unpooled.wrappedBuffer(bodyBytes, 0, bodyLength);
+      for (int i = 0; i < types.length; i++) {
+        decodeColumn(buf, i, rows);
+      }
+
+      RowWriter writer = rowBlock.getWriter();
+      for (int row = 0; row < rows; row++) {
+        writer.startRow();
+        for (int i = 0; i < types.length; i++) {
+          if (nullOffsets[i] >= 0 && (bodyBytes[nullOffsets[i] + (row >> 3)] & (1 << (row & 7))) != 0) {
+            writer.skipField();
+          } else if (widths[i] == VARIABLE_LENGTH) {
+            putVariable(writer, i, varValues[i][cursors[i]++]);
+          } else {
+            putFixed(writer, i, fixedValues[i][cursors[i]++]);
+          }
+        }
+        writer.endRow();
+      }
+
+      for (int i = 0; i < types.length; i++) {
+        if (widths[i] == VARIABLE_LENGTH) {
+          Arrays.fill(varValues[i], null);
+        }
+      }
+    }
+
+    private void decodeColumn(ByteBuf buf, int columnIdx, int rows) throws IOException {
+      byte encoding = buf.readByte();
+      boolean hasNull = buf.readByte() != 0;
+      int valueNum = rows;
+      if (hasNull) {
+        nullOffsets[columnIdx] = buf.readerIndex();
+        int bitmapSize = (rows + 7) / 8;
+        for (int i = 0; i < bitmapSize; i++) {
+          valueNum -= Integer.bitCount(buf.readByte() & 0xff);
+        }
+      } else {
+        nullOffsets[columnIdx] = -1;
+      }
+      cursors[columnIdx] = 0;
+
+      int width = widths[columnIdx];
+      if (width == VARIABLE_LENGTH) {
+        byte[][] values = varValues[columnIdx];
+        if (values.length < valueNum) {
+          values = varValues[columnIdx] = new byte[valueNum][];
+        }
+        decodeVariable(buf, encoding, values, valueNum);
+      } else if (width > 0) {
+        long[] values = fixedValues[columnIdx];
+        if (values.length < valueNum) {
+          values = fixedValues[columnIdx] = new long[valueNum];
+        }
+        decodeFixed(buf, encoding, width, values, valueNum);
+      }
+    }
+
+    private static void decodeFixed(ByteBuf buf, byte encoding, int width, long[] values, int valueNum)
+        throws IOException {
+      if (encoding == PLAIN) {
+        for (int i = 0; i < valueNum; i++) {
+          values[i] = readFixed(buf, width);
+        }
+      } else if (encoding == RLE) {
+        int runNum = buf.readInt();
+        int pos = 0;
+        for (int i = 0; i < runNum; i++) {
+          int runLength = buf.readInt();
+          long value = readFixed(buf, width);
+          Arrays.fill(values, pos, pos + runLength, value);
+          pos += runLength;
+        }
+      } else {
+        throw new IOException("Unknown encoding for fixed-width values: " + encoding);
+      }
+    }
+
+    private static void decodeVariable(ByteBuf buf, byte encoding, byte[][] values, int valueNum)
+        throws IOException {
+      if (encoding == PLAIN) {
+        for (int i = 0; i < valueNum; i++) {
+          values[i] = new byte[buf.readInt()];
+          buf.readBytes(values[i]);
+        }
+      } else if (encoding == DICTIONARY) {
+        byte[][] entries = new byte[buf.readInt()][];
+        for (int i = 0; i < entries.length; i++) {
+          entries[i] = new byte[buf.readInt()];
+          buf.readBytes(entries[i]);
+        }
+        boolean narrow = entries.length <= 256;
+        for (int i = 0; i < valueNum; i++) {
+          values[i] = entries[narrow ? buf.readUnsignedByte() : buf.readUnsignedShort()];
+        }
+      } else {
+        throw new IOException("Unknown encoding for variable-length values: " + encoding);
+      }
+    }
+
+    private void putFixed(RowWriter writer, int columnIdx, long value) {
+      switch (types[columnIdx].getType()) {
+      case BOOLEAN:
+        writer.putBool(value != 0);
+        break;
+      case BIT:
+        writer.putByte((byte) value);
+        break;
+      case INT1:
+      case INT2:
+        writer.putInt2((short) value);
+        break;
+      case INT4:
+        writer.putInt4((int) value);
+        break;
+      case DATE:
+        writer.putDate((int) value);
+        break;
+      case FLOAT4:
+        writer.putFloat4(Float.intBitsToFloat((int) value));
+        break;
+      case INT8:
+        writer.putInt8(value);
+        break;
+      case TIME:
+        writer.putTime(value);
+        break;
+      case TIMESTAMP:
+        writer.putTimestamp(value);
+        break;
+      case FLOAT8:
+        writer.putFloat8(Double.longBitsToDouble(value));
+        break;
+      default:
+        throw new TajoRuntimeException(
+            new UnsupportedException("data type '" + types[columnIdx].getType().name() + "'"));
+      }
+    }
+
+    private void putVariable(RowWriter writer, int columnIdx, byte[] value) {
+      switch (types[columnIdx].getType()) {
+      case CHAR:
+      case TEXT:
+        writer.putText(value);
+        break;
+      case INTERVAL:
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        writer.putInterval(new IntervalDatum(buffer.getInt(), buffer.getLong()));
+        break;
+      default:
+        // a protobuf datum is also written as its serialized bytes
+        writer.putBlob(value);
+      }
+    }
+  }
+}
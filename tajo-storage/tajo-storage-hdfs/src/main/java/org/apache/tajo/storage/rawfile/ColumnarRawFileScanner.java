@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.rawfile;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaUtil;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.storage.FileScanner;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.tuple.RowBlockReader;
+import org.apache.tajo.tuple.memory.MemoryRowBlock;
+import org.apache.tajo.tuple.memory.UnSafeTuple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * ColumnarRawFileScanner reads CRAW files written by {@link ColumnarRawFileWriter}. Each block is decoded into a row
+ * block at once, and its rows are returned as {@link UnSafeTuple}s.
+ */
+public class ColumnarRawFileScanner extends FileScanner {
+  private static final Log LOG = LogFactory.getLog(ColumnarRawFileScanner.class);
+
+  private FSDataInputStream in;
+  private ColumnarBlock.Decoder decoder;
+
+  private boolean eos = false;
+  private long recordCount;
+  private long filePosition;
+  private long endOffset;
+
+  private final byte[] header = new byte[ColumnarBlock.HEADER_SIZE];
+  private byte[] stored = new byte[0];
+
+  private UnSafeTuple unSafeTuple = new UnSafeTuple();
+  private MemoryRowBlock tupleBuffer;
+  private RowBlockReader reader;
+
+  public ColumnarRawFileScanner(Configuration conf, Schema schema, TableMeta meta, Fragment fragment)
+      throws IOException {
+    super(conf, schema, meta, fragment);
+  }
+
+  @Override
+  public void init() throws IOException {
+    FileSystem fs = FileScanner.getFileSystem((TajoConf) conf, fragment.getPath());
+    in = fs.open(fragment.getPath());
+    if (fragment.getStartKey() > 0) {
+      in.seek(fragment.getStartKey());
+    }
+    filePosition = fragment.getStartKey();
+    endOffset = fragment.getStartKey() + fragment.getLength();
+
+    if (tupleBuffer == null) {
+      tupleBuffer = new MemoryRowBlock(SchemaUtil.toDataTypes(schema),
+          conf.getInt(DirectRawFileScanner.READ_BUFFER_SIZE, DirectRawFileScanner.DEFAULT_BUFFER_SIZE), true,
+          BuiltinStorages.DRAW);
+    } else {
+      tupleBuffer.clear();
+    }
+    decoder = new ColumnarBlock.Decoder(SchemaUtil.toDataTypes(schema));
+    reader = null;
+    eos = false;
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("ColumnarRawFileScanner open:" + fragment.getPath() + ", offset :" +
+          fragment.getStartKey() + ", fragment length :" + fragment.getLength());
+    }
+    super.init();
+  }
+
+  private boolean nextBlock() throws IOException {
+    if (filePosition >= endOffset) {
+      return false;
+    }
+
+    in.readFully(header);
+    ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+    int rows = headerBuffer.getInt();
+    byte codec = headerBuffer.get();
+    int bodyLength = headerBuffer.getInt();
+    int storedLength = headerBuffer.getInt();
+
+    if (stored.length < storedLength) {
+      stored = new byte[storedLength];
+    }
+    in.readFully(stored, 0, storedLength);
+    filePosition += ColumnarBlock.HEADER_SIZE + storedLength;
+
+    tupleBuffer.clear();
+    decoder.decode(rows, codec, bodyLength, stored, storedLength, tupleBuffer);
+    reader = tupleBuffer.getReader();
+    return true;
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    if (eos) {
+      return null;
+    }
+
+    while (reader == null || !reader.next(unSafeTuple)) {
+      if (!nextBlock()) {
+        eos = true;
+        return null;
+      }
+    }
+    recordCount++;
+    return unSafeTuple;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    in.seek(fragment.getStartKey());
+    filePosition = fragment.getStartKey();
+    recordCount = 0;
+    tupleBuffer.clear();
+    reader = null;
+    eos = false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (inputStats != null) {
+      inputStats.setReadBytes(filePosition - fragment.getStartKey());
+      inputStats.setNumRows(recordCount);
+    }
+    if (tupleBuffer != null) {
+      tupleBuffer.release();
+      tupleBuffer = null;
+    }
+    reader = null;
+
+    IOUtils.cleanup(LOG, in);
+  }
+
+  @Override
+  public boolean isProjectable() {
+    return false;
+  }
+
+  @Override
+  public boolean isSelectable() {
+    return false;
+  }
+
+  @Override
+  public void setFilter(EvalNode filter) {
+
+  }
+
+  @Override
+  public boolean isSplittable() {
+    return false;
+  }
+
+  @Override
+  public TableStats getInputStats() {
+    if (inputStats != null) {
+      inputStats.setNumRows(recordCount);
+      inputStats.setReadBytes(filePosition - fragment.getStartKey());
+      inputStats.setNumBytes(fragment.getLength());
+    }
+    return inputStats;
+  }
+
+  @Override
+  public float getProgress() {
+    if (!inited) return 0.0f;
+
+    if (eos) {
+      return 1.0f;
+    }
+
+    long readBytes = filePosition - fragment.getStartKey();
+    if (readBytes == 0) {
+      return 0.0f;
+    } else {
+      return Math.min(1.0f, ((float) readBytes / fragment.getLength()));
+    }
+  }
+}
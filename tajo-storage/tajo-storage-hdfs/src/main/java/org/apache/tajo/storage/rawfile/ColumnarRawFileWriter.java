@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.rawfile;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.TaskAttemptId;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaUtil;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.storage.StorageConstants;
+import org.apache.tajo.tuple.memory.MemoryRowBlock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * ColumnarRawFileWriter writes CRAW files, which keep rows in compressed, column-oriented blocks.
+ *
+ * It is mainly used for the intermediate data of hash shuffles. Every row block given to {@link #writeRowBlock}
+ * becomes a block, so each page of a hash shuffle file always consists of whole blocks. Row blocks are expected to
+ * be written in the DRAW layout.
+ */
+public class ColumnarRawFileWriter extends DirectRawFileWriter {
+  private ColumnarBlock.Encoder encoder;
+
+  public ColumnarRawFileWriter(Configuration conf, TaskAttemptId taskAttemptId,
+                               final Schema schema, final TableMeta meta, final Path path)
+      throws IOException {
+    this(conf, taskAttemptId, schema, meta, path, null);
+  }
+
+  public ColumnarRawFileWriter(Configuration conf, TaskAttemptId taskAttemptId,
+                               final Schema schema, final TableMeta meta, final Path path,
+                               MemoryRowBlock rowBlock) throws IOException {
+    super(conf, taskAttemptId, schema, meta, path, rowBlock);
+  }
+
+  @Override
+  public void init() throws IOException {
+    super.init();
+
+    // rows in compressed blocks cannot be addressed by file offsets
+    zoneMapWriter = null;
+    encoder = new ColumnarBlock.Encoder(SchemaUtil.toDataTypes(schema), ColumnarBlock.getCodec(
+        meta.getProperty(StorageConstants.CRAW_COMPRESSION_CODEC, StorageConstants.DEFAULT_CRAW_COMPRESSION_CODEC)));
+  }
+
+  @Override
+  protected String getRowBlockFormat() {
+    return BuiltinStorages.DRAW;
+  }
+
+  @Override
+  public void writeRowBlock(MemoryRowBlock rowBlock) throws IOException {
+    if (rowBlock.rows() == 0) {
+      return;
+    }
+
+    int length = encoder.encode(rowBlock);
+    if (isLocal) {
+      ByteBuffer buffer = ByteBuffer.wrap(encoder.getBlock(), 0, length);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } else {
+      fos.write(encoder.getBlock(), 0, length);
+    }
+    pos += length;
+
+    if (tableStatsEnabled) {
+      stats.incrementRows(rowBlock.rows());
+    }
+  }
+}
@@ -24,23 +24,26 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.nativeio.NativeIO;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SchemaUtil;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.DataType;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.tuple.RowBlockReader;
-import org.apache.tajo.tuple.memory.MemoryRowBlock;
-import org.apache.tajo.tuple.memory.RowBlock;
-import org.apache.tajo.tuple.memory.UnSafeTuple;
+import org.apache.tajo.tuple.memory.*;
 import org.apache.tajo.unit.StorageUnit;
+import org.apache.tajo.util.SizeOf;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 public class DirectRawFileScanner extends FileScanner implements SeekableScanner {
   private static final Log LOG = LogFactory.getLog(DirectRawFileScanner.class);
@@ -48,8 +51,28 @@ public class DirectRawFileScanner extends FileScanner implements SeekableScanner
   public static final String READ_BUFFER_SIZE = "tajo.storage.raw.io.read-buffer.bytes";
   public static final int DEFAULT_BUFFER_SIZE = 128 * StorageUnit.KB;
 
+  /**
+   * Local files are read through memory-mapped windows, so rows are decoded directly from the mapped pages.
+   * Files larger than the max file size fall back to buffered reads.
+   */
+  public static final String MMAP_ENABLED = "tajo.storage.raw.io.mmap.enabled";
+  public static final boolean DEFAULT_MMAP_ENABLED = true;
+  public static final String MMAP_WINDOW_SIZE = "tajo.storage.raw.io.mmap.window.bytes";
+  public static final int DEFAULT_MMAP_WINDOW_SIZE = 16 * StorageUnit.MB;
+  public static final String MMAP_MAX_FILE_SIZE = "tajo.storage.raw.io.mmap.max-file.bytes";
+  public static final long DEFAULT_MMAP_MAX_FILE_SIZE = 4L * StorageUnit.GB;
+
   private SeekableInputChannel channel;
 
+  // memory-mapped read mode
+  private boolean mapped;
+  private String identifier;
+  private FileInputStream mappedStream;
+  private FileChannel mappedChannel;
+  private MappedByteBuffer mappedWindow;
+  private DataType[] dataTypes;
+  private int windowSize;
+
   private boolean eos = false;
   private long recordCount;
   private long filePosition;
@@ -67,7 +90,10 @@ public class DirectRawFileScanner extends FileScanner implements SeekableScanner
   public void init() throws IOException {
     initChannel();
 
-    if (tupleBuffer == null) {
+    if (mapped) {
+      dataTypes = SchemaUtil.toDataTypes(schema);
+      windowSize = conf.getInt(MMAP_WINDOW_SIZE, DEFAULT_MMAP_WINDOW_SIZE);
+    } else if (tupleBuffer == null) {
       tupleBuffer = new MemoryRowBlock(SchemaUtil.toDataTypes(schema),
           conf.getInt(READ_BUFFER_SIZE, DEFAULT_BUFFER_SIZE));
     } else {
@@ -94,13 +120,23 @@ public class DirectRawFileScanner extends FileScanner implements SeekableScanner
         throw new IOException(iae);
       }
 
-      channel = new LocalFileInputChannel(new FileInputStream(file));
+      FileInputStream stream = new FileInputStream(file);
+      if (conf.getBoolean(MMAP_ENABLED, DEFAULT_MMAP_ENABLED)
+          && file.length() <= conf.getLong(MMAP_MAX_FILE_SIZE, DEFAULT_MMAP_MAX_FILE_SIZE)) {
+        mapped = true;
+        identifier = file.getAbsolutePath();
+        mappedStream = stream;
+        mappedChannel = stream.getChannel();
+        fadvise(fragment.getStartKey(), fragment.getLength(), NativeIO.POSIX.POSIX_FADV_SEQUENTIAL);
+      } else {
+        channel = new LocalFileInputChannel(stream);
+      }
     } else {
       channel = new FSDataInputChannel(fs.open(fragment.getPath()));
     }
 
     // initial set position
-    if (fragment.getStartKey() > 0) {
+    if (!mapped && fragment.getStartKey() > 0) {
       channel.seek(fragment.getStartKey());
     }
 
@@ -114,18 +150,99 @@ public class DirectRawFileScanner extends FileScanner implements SeekableScanner
 
   @Override
   public long getNextOffset() throws IOException {
-    return filePosition - reader.remainForRead();
+    // no window is mapped before the first read and after seek
+    return reader == null ? filePosition : filePosition - reader.remainForRead();
   }
 
   @Override
   public void seek(long offset) throws IOException {
-    channel.seek(offset);
-    filePosition = channel.position();
-    tupleBuffer.clear();
+    if (mapped) {
+      unmapWindow();
+      filePosition = offset;
+    } else {
+      channel.seek(offset);
+      filePosition = channel.position();
+      tupleBuffer.clear();
+    }
     fetchNeeded = true;
   }
 
+  /**
+   * Maps the next window of the file, which begins at the first unread row. The window is trimmed to the last
+   * complete row in it, and it is enlarged if a single row does not fit in it. The previous window is unmapped
+   * before the next one is mapped, so tuples returned from the previous window must not be used any longer.
+   *
+   * @return false if there is no more row in this fragment
+   */
+  private boolean nextWindow() throws IOException {
+    long limit = Math.min(endOffset, mappedChannel.size());
+
+    while (filePosition < limit) {
+      int length = (int) Math.min(limit - filePosition, windowSize);
+      unmapWindow();
+      mappedWindow = mappedChannel.map(FileChannel.MapMode.READ_ONLY, filePosition, length);
+      MemoryBlock window = new ResizableMemoryBlock(mappedWindow);
+
+      int rows = 0;
+      int position = 0;
+      int recordSize = SizeOf.SIZE_OF_INT;
+      while (length - position >= SizeOf.SIZE_OF_INT) {
+        recordSize = window.getInt(position);
+        if (recordSize <= 0) {
+          throw new IOException("Invalid record size " + recordSize + " at " + (filePosition + position)
+              + " in " + identifier);
+        }
+        if (length - position < recordSize) {
+          break;
+        }
+        position += recordSize;
+        rows++;
+      }
+
+      if (rows > 0) {
+        window.writerPosition(position);
+        reader = new OffHeapRowBlockReader(window, dataTypes, rows);
+        filePosition += position;
+        // let the kernel read the following window ahead while this one is consumed
+        fadvise(filePosition, windowSize, NativeIO.POSIX.POSIX_FADV_WILLNEED);
+        return true;
+      } else if (length == limit - filePosition) {
+        throw new IOException("Truncated record at " + filePosition + " in " + identifier);
+      }
+
+      windowSize = Math.max(windowSize * 2, recordSize);
+    }
+    return false;
+  }
+
+  /**
+   * Unmaps the current window right away instead of waiting for the garbage collection, which may keep
+   * a lot of address space and page cache mapped while a large file is scanned.
+   */
+  private void unmapWindow() {
+    reader = null;
+    if (mappedWindow != null) {
+      StorageUtil.closeBuffer(mappedWindow);
+      mappedWindow = null;
+    }
+  }
+
+  private void fadvise(long offset, long length, int flags) {
+    if (NativeIO.isAvailable()) {
+      try {
+        NativeIO.POSIX.getCacheManipulator().posixFadviseIfPossible(
+            identifier, mappedStream.getFD(), offset, length, flags);
+      } catch (Throwable t) {
+        LOG.warn("Failed to manage OS cache for " + identifier, t);
+      }
+    }
+  }
+
   public boolean next(RowBlock rowblock) throws IOException {
+    if (mapped) {
+      throw new IOException("Rows of " + identifier + " are read through memory-mapped windows. " +
+          "Disable " + MMAP_ENABLED + " to read them into a row block.");
+    }
     long reamin = reader == null ? 0 : reader.remainForRead();
     boolean ret = rowblock.copyFromChannel(channel);
     reader = rowblock.getReader();
@@ -143,7 +260,7 @@ public class DirectRawFileScanner extends FileScanner implements SeekableScanner
 
     while(true) {
       if (fetchNeeded) {
-        if (!next(tupleBuffer)) {
+        if (mapped ? !nextWindow() : !next(tupleBuffer)) {
           return null;
         }
       }
@@ -181,7 +298,8 @@ public class DirectRawFileScanner extends FileScanner implements SeekableScanner
     }
     reader = null;
 
-    IOUtils.cleanup(LOG, channel);
+    unmapWindow();
+    IOUtils.cleanup(LOG, channel, mappedChannel, mappedStream);
   }
 
   @Override
@@ -40,6 +40,8 @@ import org.apache.tajo.storage.FileAppender;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.storage.TableStatistics;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.zonemap.ZoneMap;
+import org.apache.tajo.storage.zonemap.ZoneMapWriter;
 import org.apache.tajo.tuple.memory.MemoryRowBlock;
 import org.apache.tajo.tuple.memory.OffHeapRowBlockUtils.TupleConverter;
 import org.apache.tajo.tuple.memory.RowWriter;
@@ -69,6 +71,7 @@ public class DirectRawFileWriter extends FileAppender {
   protected boolean analyzeField;
   protected boolean hasExternalBuf;
   protected boolean isLocal;
+  protected ZoneMapWriter zoneMapWriter;
 
   public DirectRawFileWriter(Configuration conf, TaskAttemptId taskAttemptId,
                              final Schema schema, final TableMeta meta, final Path path)
@@ -119,17 +122,29 @@ public class DirectRawFileWriter extends FileAppender {
 
     if (rowBlock == null) {
       int bufferSize = (int) (conf.getInt(WRITE_BUFFER_SIZE, DEFAULT_BUFFER_SIZE) * OVERFLOW_RATIO);
-      rowBlock = new MemoryRowBlock(SchemaUtil.toDataTypes(schema), bufferSize, true, meta.getDataFormat());
+      rowBlock = new MemoryRowBlock(SchemaUtil.toDataTypes(schema), bufferSize, true, getRowBlockFormat());
     }
 
     tupleConverter = initConverter();
 
+    // the offsets of rows are known only if tuples are added one by one
+    if (!hasExternalBuf && ZoneMap.isEnabled(meta)) {
+      zoneMapWriter = new ZoneMapWriter(schema, meta, false);
+    }
+
     pos = 0;
     super.init();
   }
 
+  /**
+   * @return The data format of row blocks which tuples are written into
+   */
+  protected String getRowBlockFormat() {
+    return meta.getDataFormat();
+  }
+
   public TupleConverter initConverter() {
-    switch (meta.getDataFormat()) {
+    switch (getRowBlockFormat()) {
     case BuiltinStorages.DRAW:
       return getDrawConverter();
     case BuiltinStorages.RAW:
@@ -209,6 +224,9 @@ public class DirectRawFileWriter extends FileAppender {
 
   @Override
   public void addTuple(Tuple t) throws IOException {
+    if (zoneMapWriter != null) {
+      zoneMapWriter.addTuple(getOffset(), t);
+    }
 
     tupleConverter.convert(t, rowBlock.getWriter());
 
@@ -233,6 +251,10 @@ public class DirectRawFileWriter extends FileAppender {
     if (tableStatsEnabled) {
       stats.setNumBytes(getOffset());
     }
+    if (zoneMapWriter != null) {
+      zoneMapWriter.close(path.getFileSystem(conf), path, pos, pos);
+      zoneMapWriter = null;
+    }
     if (LOG.isDebugEnabled()) {
       LOG.debug("RawFileAppender written: " + getOffset() + " bytes, path: " + path);
     }
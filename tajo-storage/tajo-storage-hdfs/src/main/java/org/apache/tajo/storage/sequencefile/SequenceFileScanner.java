@@ -24,6 +24,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.io.*;
 import org.apache.tajo.catalog.Column;
@@ -42,14 +43,19 @@ import org.apache.tajo.storage.text.ByteBufLineReader;
 import org.apache.tajo.storage.text.DelimitedTextFile;
 import org.apache.tajo.storage.text.TextLineDeserializer;
 import org.apache.tajo.storage.text.TextLineParsingError;
+import org.apache.tajo.unit.StorageUnit;
 
 import java.io.IOException;
 
 public class SequenceFileScanner extends FileScanner {
   private static final Log LOG = LogFactory.getLog(SequenceFileScanner.class);
 
+  public static final String READ_BUFFER_SIZE = "tajo.storage.sequencefile.io.read-buffer.bytes";
+  public static final int DEFAULT_BUFFER_SIZE = 128 * StorageUnit.KB;
+
   private FileSystem fs;
   private SequenceFile.Reader reader;
+  private SeekableInputChannel channel;
   private SerializerDeserializer serde;
   private byte[] nullChars;
   private char delimiter;
@@ -95,7 +101,12 @@ public class SequenceFileScanner extends FileScanner {
       fs = FileScanner.getFileSystem((TajoConf)conf, fragment.getPath());
     }
 
-    reader = new SequenceFile.Reader(fs, fragment.getPath(), conf);
+    FSDataInputStream in = fs.open(fragment.getPath());
+    channel = ReadAheadInputChannel.wrap(conf, new FSDataInputChannel(in),
+        conf.getInt(READ_BUFFER_SIZE, DEFAULT_BUFFER_SIZE), fragment.getStartKey(), fragment.getEndKey());
+    reader = new SequenceFile.Reader(conf,
+        SequenceFile.Reader.stream(new FSDataInputStream(new SeekableChannelInputStream(channel, in))),
+        SequenceFile.Reader.length(fs.getFileStatus(fragment.getPath()).getLen()));
 
     // Set value of non-deprecated key for backward compatibility.
     TableMeta tableMeta;
@@ -347,6 +358,9 @@ public class SequenceFileScanner extends FileScanner {
 
   @Override
   public void close() throws IOException {
+    if (LOG.isDebugEnabled() && channel instanceof ReadAheadInputChannel) {
+      LOG.debug(fragment.getPath() + " read-ahead: " + channel);
+    }
     if (reader != null)
       reader.close();
 
@@ -40,7 +40,6 @@ import org.apache.tajo.storage.fragment.AbstractFileFragment;
 import org.apache.tajo.unit.StorageUnit;
 
 import java.io.*;
-import java.nio.channels.FileChannel;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DelimitedLineReader implements Closeable {
@@ -56,6 +55,7 @@ public class DelimitedLineReader implements Closeable {
   private long startOffset, end, pos;
   private boolean eof = true;
   private ByteBufLineReader lineReader;
+  private SeekableInputChannel channel;
   private AtomicInteger lineReadBytes = new AtomicInteger();
   private AbstractFileFragment fragment;
   private Configuration conf;
@@ -112,18 +112,19 @@ public class DelimitedLineReader implements Closeable {
           throw new IOException(iae);
         }
         FileInputStream inputStream = new FileInputStream(file);
-        FileChannel channel = inputStream.getChannel();
-        channel.position(startOffset);
+        inputStream.getChannel().position(startOffset);
         is = inputStream;
-        lineReader = new ByteBufLineReader(new LocalFileInputChannel(inputStream),
-            BufferPool.directBuffer((int) Math.min(bufferSize, fragment.getLength())));
+        channel = new LocalFileInputChannel(inputStream);
       } else {
         fis = fs.open(fragment.getPath());
         fis.seek(startOffset);
         is = fis;
-        lineReader = new ByteBufLineReader(new FSDataInputChannel(fis),
-            BufferPool.directBuffer((int) Math.min(bufferSize, fragment.getLength())));
+        channel = new FSDataInputChannel(fis);
       }
+
+      int readBufferSize = (int) Math.min(bufferSize, fragment.getLength());
+      channel = ReadAheadInputChannel.wrap(conf, channel, readBufferSize, startOffset, end);
+      lineReader = new ByteBufLineReader(channel, BufferPool.directBuffer(readBufferSize));
     }
     eof = false;
   }
@@ -182,7 +183,11 @@ public class DelimitedLineReader implements Closeable {
   @Override
   public void close() throws IOException {
     try {
+      if (LOG.isDebugEnabled() && channel instanceof ReadAheadInputChannel) {
+        LOG.debug(fragment.getPath() + " read-ahead: " + channel);
+      }
       IOUtils.cleanup(LOG, lineReader);
+      channel = null;
       fs = null;
       is = null;
       fis = null;
@@ -34,13 +34,15 @@ import org.apache.tajo.TaskAttemptId;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.TableStats;
-import org.apache.tajo.exception.TajoRuntimeException;
-import org.apache.tajo.exception.UnsupportedException;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.compress.CodecPool;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.storage.rcfile.NonSyncByteArrayOutputStream;
+import org.apache.tajo.storage.zonemap.ZoneCursor;
+import org.apache.tajo.storage.zonemap.ZoneMap;
+import org.apache.tajo.storage.zonemap.ZoneMapFilter;
+import org.apache.tajo.storage.zonemap.ZoneMapWriter;
 import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.ReflectionUtil;
 
@@ -115,6 +117,7 @@ public class DelimitedTextFile {
 
     private NonSyncByteArrayOutputStream os;
     private TextLineSerializer serializer;
+    private ZoneMapWriter zoneMapWriter;
 
     public DelimitedTextFileAppender(Configuration conf, TaskAttemptId taskAttemptId,
                                      final Schema schema, final TableMeta meta, final Path path)
@@ -138,9 +141,17 @@ public class DelimitedTextFile {
       if(serializer != null) {
         serializer.release();
       }
-      serializer = getLineSerde().createSerializer(schema, meta);
+      TextLineSerDe serde = getLineSerde();
+      serializer = serde.createSerializer(schema, meta);
       serializer.init();
 
+      if (ZoneMap.isEnabled(meta)) {
+        zoneMapWriter = new ZoneMapWriter(schema, meta, true);
+        if (serde instanceof CSVLineSerDe) {
+          zoneMapWriter.setTextNullBytes(TextLineSerDe.getNullCharsAsBytes(meta));
+        }
+      }
+
       bufferSize = conf.getInt(WRITE_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
       if (os == null) {
         os = new NonSyncByteArrayOutputStream(bufferSize);
@@ -173,6 +184,10 @@ public class DelimitedTextFile {
 
     @Override
     public void addTuple(Tuple tuple) throws IOException {
+      if (zoneMapWriter != null) {
+        zoneMapWriter.addTuple(pos, tuple);
+      }
+
       // write
       int rowBytes = serializer.serialize(os, tuple);
 
@@ -235,6 +250,12 @@ public class DelimitedTextFile {
           deflateFilter.resetState();
           deflateFilter = null;
         }
+
+        if (zoneMapWriter != null) {
+          // offsets in a compressed file are positions in the uncompressed stream
+          zoneMapWriter.close(fs, compressedPath != null ? compressedPath : path, fos.getPos(), getOffset());
+          zoneMapWriter = null;
+        }
       } finally {
         IOUtils.cleanup(LOG, os, fos);
         if (compressor != null) {
@@ -281,6 +302,13 @@ public class DelimitedTextFile {
 
     private VTuple outTuple;
 
+    private EvalNode filter;
+    /** It is set only if the scan filter can be evaluated with the zone map of the file */
+    private ZoneMap zoneMap;
+    private ZoneCursor zoneCursor;
+    /** True if no row in this fragment can match the filter */
+    private boolean pruned;
+
     public DelimitedTextFileScanner(Configuration conf, final Schema schema, final TableMeta meta,
                                     final Fragment fragment)
         throws IOException {
@@ -307,6 +335,10 @@ public class DelimitedTextFile {
         targets = schema.toArray();
       }
 
+      if (filter != null && ZoneMap.isEnabled(meta)) {
+        zoneMap = ZoneMap.read(fragment.getPath().getFileSystem(conf), fragment.getPath());
+      }
+
       reset();
 
       super.init();
@@ -343,14 +375,37 @@ public class DelimitedTextFile {
 
     @Override
     public Tuple next() throws IOException {
+      Tuple tuple;
+      while ((tuple = readTuple()) != null) {
+        if (filter == null || targets.length == 0 || filter.evalBool(tuple)) {
+          return tuple;
+        }
+      }
+      return null;
+    }
+
+    private Tuple readTuple() throws IOException {
 
-      if (!reader.isReadable()) {
+      if (pruned || !reader.isReadable()) {
         return null;
       }
 
       // this loop will continue until one tuple is build or EOS (end of stream).
       do {
         long offset = reader.getUncompressedPosition();
+
+        // skip the zones which cannot contain any matched row
+        if (zoneCursor != null) {
+          long nextOffset = zoneCursor.nextOffset(offset);
+          if (nextOffset < 0 || nextOffset > endOffset) {
+            // the remaining rows belong to the next fragment
+            return null;
+          } else if (nextOffset > offset) {
+            reader.seek(nextOffset);
+            offset = nextOffset;
+          }
+        }
+
         ByteBuf buf = reader.readLine();
 
         // if no more line, then return EOT (end of tuple)
@@ -416,6 +471,19 @@ public class DelimitedTextFile {
 
       outTuple = new VTuple(targets.length);
 
+      zoneCursor = null;
+      pruned = false;
+      if (zoneMap != null) {
+        ZoneMapFilter zoneMapFilter = new ZoneMapFilter(filter);
+        if (!zoneMap.canMatch(zoneMapFilter, startOffset, fragment.getLength())) {
+          pruned = true;
+          return;
+        }
+        if (splittable) {
+          zoneCursor = new ZoneCursor(zoneMap, zoneMapFilter);
+        }
+      }
+
       // skip first line if it reads from middle of file
       if (startOffset > 0) {
         reader.readLine();
@@ -466,12 +534,15 @@ public class DelimitedTextFile {
 
     @Override
     public boolean isSelectable() {
-      return false;
+      return true;
     }
 
     @Override
     public void setFilter(EvalNode filter) {
-      throw new TajoRuntimeException(new UnsupportedException());
+      if (inited) {
+        throw new IllegalStateException("Should be called before init()");
+      }
+      this.filter = filter;
     }
 
     @Override
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.text;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tajo.util.datetime.DateTimeUtil;
+
+import java.util.TimeZone;
+
+/**
+ * Parses date and time fields in their canonical forms directly from bytes, without decoding them into strings.
+ *
+ * <ul>
+ *   <li>DATE: yyyy-MM-dd</li>
+ *   <li>TIME: HH:mm:ss[.S{1,6}]</li>
+ *   <li>TIMESTAMP: yyyy-MM-dd HH:mm:ss[.S{1,6}]</li>
+ * </ul>
+ *
+ * Each method returns {@link #INVALID} for any other form or an out of range field,
+ * and then the caller should fall back to the general parser of {@link org.apache.tajo.datum.DatumFactory}.
+ */
+final class TextDateTimeParser {
+  static final long INVALID = Long.MIN_VALUE;
+
+  private static final int DATE_LENGTH = 10;  // yyyy-MM-dd
+  private static final int TIME_LENGTH = 8;   // HH:mm:ss
+  private static final int MAX_FRACTION_DIGITS = 6;
+
+  private static final int [] FRACTION_SCALES = {0, 100000, 10000, 1000, 100, 10, 1};
+
+  private TextDateTimeParser() {
+  }
+
+  /**
+   * @return Julian date
+   */
+  static long parseDate(ByteBuf buf) {
+    if (buf.readableBytes() != DATE_LENGTH) {
+      return INVALID;
+    }
+    return parseDate(buf, buf.readerIndex());
+  }
+
+  /**
+   * @return Microseconds of the day
+   */
+  static long parseTime(ByteBuf buf) {
+    return parseTime(buf, buf.readerIndex(), buf.writerIndex());
+  }
+
+  /**
+   * @return Julian timestamp in UTC
+   */
+  static long parseTimestamp(ByteBuf buf, TimeZone tz) {
+    int start = buf.readerIndex();
+    if (buf.readableBytes() < DATE_LENGTH + 1 + TIME_LENGTH || buf.getByte(start + DATE_LENGTH) != ' ') {
+      return INVALID;
+    }
+
+    int year = parseDigits(buf, start, 4);
+    int month = parseDigits(buf, start + 5, 2);
+    int day = parseDigits(buf, start + 8, 2);
+    if (!isValidDate(buf, start, year, month, day)) {
+      return INVALID;
+    }
+
+    long time = parseTime(buf, start + DATE_LENGTH + 1, buf.writerIndex());
+    if (time == INVALID) {
+      return INVALID;
+    }
+
+    long timestamp = DateTimeUtil.toJulianTimestamp(year, month, day, 0, 0, 0, 0) + time;
+    // the same as TimeMeta.convertToUTC()
+    return timestamp - tz.getOffset(DateTimeUtil.julianTimeToJavaTime(timestamp)) * 1000L;
+  }
+
+  private static long parseDate(ByteBuf buf, int start) {
+    int year = parseDigits(buf, start, 4);
+    int month = parseDigits(buf, start + 5, 2);
+    int day = parseDigits(buf, start + 8, 2);
+    if (!isValidDate(buf, start, year, month, day)) {
+      return INVALID;
+    }
+    return DateTimeUtil.date2j(year, month, day);
+  }
+
+  private static boolean isValidDate(ByteBuf buf, int start, int year, int month, int day) {
+    return year > 0 && month >= 1 && month <= 12 && day >= 1
+        && buf.getByte(start + 4) == '-' && buf.getByte(start + 7) == '-'
+        && day <= DateTimeUtil.getDaysInYearMonth(year, month);
+  }
+
+  private static long parseTime(ByteBuf buf, int start, int end) {
+    int length = end - start;
+    if (length < TIME_LENGTH || buf.getByte(start + 2) != ':' || buf.getByte(start + 5) != ':') {
+      return INVALID;
+    }
+
+    int hour = parseDigits(buf, start, 2);
+    int minute = parseDigits(buf, start + 3, 2);
+    int second = parseDigits(buf, start + 6, 2);
+    if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+      return INVALID;
+    }
+
+    int fraction = 0;
+    if (length > TIME_LENGTH) {
+      int digits = length - TIME_LENGTH - 1;
+      if (buf.getByte(start + TIME_LENGTH) != '.' || digits < 1 || digits > MAX_FRACTION_DIGITS) {
+        return INVALID;
+      }
+      fraction = parseDigits(buf, start + TIME_LENGTH + 1, digits);
+      if (fraction < 0) {
+        return INVALID;
+      }
+      fraction *= FRACTION_SCALES[digits];
+    }
+
+    return DateTimeUtil.toTime(hour, minute, second, fraction);
+  }
+
+  /**
+   * @return The value of the digits, or -1 if any byte is not a digit
+   */
+  private static int parseDigits(ByteBuf buf, int start, int length) {
+    int value = 0;
+    for (int i = start; i < start + length; i++) {
+      int digit = buf.getByte(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+}
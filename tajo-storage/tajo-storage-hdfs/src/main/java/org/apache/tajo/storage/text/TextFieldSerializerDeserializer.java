@@ -51,6 +51,7 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
   private final TimeZone tableTimezone;
 
   private Schema schema;
+  private TajoDataTypes.Type [] types;
 
   public TextFieldSerializerDeserializer(TableMeta meta) {
     tableTimezone = TimeZone.getTimeZone(meta.getProperty(StorageConstants.TIMEZONE,
@@ -68,6 +69,10 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
   @Override
   public void init(Schema schema) {
     this.schema = schema;
+    this.types = new TajoDataTypes.Type[schema.size()];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = schema.getColumn(i).getDataType().getType();
+    }
   }
 
   @Override
@@ -156,8 +161,7 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
   public Datum deserialize(int columnIndex, ByteBuf buf, ByteBuf nullChars) throws IOException {
     Datum datum;
 
-    Column col = schema.getColumn(columnIndex);
-    TajoDataTypes.Type type = col.getDataType().getType();
+    TajoDataTypes.Type type = types[columnIndex];
     boolean nullField;
     if (type == TajoDataTypes.Type.TEXT || type == TajoDataTypes.Type.CHAR) {
       nullField = isNullText(buf, nullChars);
@@ -192,6 +196,8 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
           datum = DatumFactory.createInt8(NumberUtil.parseLong(buf));
           break;
         case FLOAT4:
+          // A float is parsed from the text directly. Rounding the parsed double to a float can round twice,
+          // and the byte-level parser does not accept NaN and Infinity.
           datum = DatumFactory.createFloat4(
               decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
           break;
@@ -204,25 +210,43 @@ public class TextFieldSerializerDeserializer implements FieldSerializerDeseriali
           datum = DatumFactory.createText(bytes);
           break;
         }
-        case DATE:
-          datum = DatumFactory.createDate(
-              decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
+        case DATE: {
+          long julianDate = TextDateTimeParser.parseDate(buf);
+          if (julianDate != TextDateTimeParser.INVALID) {
+            datum = DatumFactory.createDate((int) julianDate);
+          } else {
+            datum = DatumFactory.createDate(
+                decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
+          }
           break;
-        case TIME:
-          datum = DatumFactory.createTime(
-              decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
+        }
+        case TIME: {
+          long time = TextDateTimeParser.parseTime(buf);
+          if (time != TextDateTimeParser.INVALID) {
+            datum = DatumFactory.createTime(time);
+          } else {
+            datum = DatumFactory.createTime(
+                decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
+          }
           break;
-        case TIMESTAMP:
+        }
+        case TIMESTAMP: {
           // Convert to UTC by table timezone
-          datum = DatumFactory.createTimestamp(
-              decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString(), tableTimezone);
+          long timestamp = TextDateTimeParser.parseTimestamp(buf, tableTimezone);
+          if (timestamp != TextDateTimeParser.INVALID) {
+            datum = DatumFactory.createTimestamp(timestamp);
+          } else {
+            datum = DatumFactory.createTimestamp(
+                decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString(), tableTimezone);
+          }
           break;
+        }
         case INTERVAL:
           datum = DatumFactory.createInterval(
               decoder.decode(buf.nioBuffer(buf.readerIndex(), buf.readableBytes())).toString());
           break;
         case PROTOBUF: {
-          ProtobufDatumFactory factory = ProtobufDatumFactory.get(col.getDataType());
+          ProtobufDatumFactory factory = ProtobufDatumFactory.get(schema.getColumn(columnIndex).getDataType());
           Message.Builder builder = factory.newBuilder();
           try {
             byte[] bytes = new byte[buf.readableBytes()];
@@ -33,7 +33,9 @@ import org.apache.tajo.catalog.SchemaBuilder;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.storage.fragment.AbstractFileFragment;
+import org.apache.tajo.storage.orc.OrcSearchArgument;
 import org.apache.tajo.storage.thirdparty.orc.TreeReaderFactory.DatumTreeReader;
+import org.apache.tajo.tuple.vector.ColumnBatch;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -66,6 +68,12 @@ public class OrcRecordReader implements Closeable {
   private final MetadataReader metadata;
   private final DataReader dataReader;
   private final Tuple result;
+  private final OrcSearchArgument sarg;
+  // the columns whose row indexes are read when row groups are selected by the search argument
+  private final boolean[] indexColumns;
+  // the row groups of the current stripe to be read. null means all row groups.
+  private boolean[] includedRowGroups = null;
+  private long skippedBytes = 0;
 
   public OrcRecordReader(List<StripeInformation> stripes,
                          FileSystem fileSystem,
@@ -79,6 +87,29 @@ public class OrcRecordReader implements Closeable {
                          Reader.Options options,
                          Configuration conf,
                          TimeZone timeZone) throws IOException {
+    this(stripes, fileSystem, schema, targets, fragment, types, codec, bufferSize, strideRate, options, conf,
+        timeZone, null, null);
+  }
+
+  /**
+   * @param stripeStats Statistics of all stripes in the file
+   * @param sarg Search argument to skip stripes and row groups which cannot contain any matched row.
+   *             If it is null, all rows are read.
+   */
+  public OrcRecordReader(List<StripeInformation> stripes,
+                         FileSystem fileSystem,
+                         Schema schema,
+                         Column[] targets,
+                         AbstractFileFragment fragment,
+                         List<OrcProto.Type> types,
+                         CompressionCodec codec,
+                         int bufferSize,
+                         long strideRate,
+                         Reader.Options options,
+                         Configuration conf,
+                         TimeZone timeZone,
+                         List<OrcProto.StripeStatistics> stripeStats,
+                         OrcSearchArgument sarg) throws IOException {
 
     result = new VTuple(targets.length);
 
@@ -95,16 +126,32 @@ public class OrcRecordReader implements Closeable {
     }
     this.rowIndexStride = strideRate;
     this.metadata = new MetadataReaderImpl(fileSystem, path, codec, bufferSize, types.size());
+    this.sarg = sarg;
+    if (sarg != null && rowIndexStride != 0) {
+      indexColumns = new boolean[types.size()];
+      boolean[] sargColumns = sarg.getColumns();
+      for (int i = 0; i < indexColumns.length; i++) {
+        indexColumns[i] = (i < included.length && included[i]) || sargColumns[i];
+      }
+    } else {
+      indexColumns = null;
+    }
 
     long rows = 0;
     long skippedRows = 0;
     long offset = fragment.getStartKey();
     long maxOffset = fragment.getEndKey();
-    for(StripeInformation stripe: stripes) {
+    for (int i = 0; i < stripes.size(); i++) {
+      StripeInformation stripe = stripes.get(i);
       long stripeStart = stripe.getOffset();
       if (offset > stripeStart) {
         skippedRows += stripe.getNumberOfRows();
       } else if (stripeStart < maxOffset) {
+        if (sarg != null && stripeStats != null && i < stripeStats.size() && !sarg.canMatch(stripeStats.get(i))) {
+          // no row in this stripe can satisfy the search argument
+          skippedBytes += stripe.getLength();
+          continue;
+        }
         this.stripes.add(stripe);
         rows += stripe.getNumberOfRows();
       }
@@ -209,6 +256,23 @@ public class OrcRecordReader implements Closeable {
       throws IOException {
     long nextRowInStripe = nextRow - rowBaseInStripe;
 
+    // skip the row groups which are not selected
+    if (includedRowGroups != null && nextRowInStripe < rowCountInStripe) {
+      int rowGroup = (int) (nextRowInStripe / rowIndexStride);
+      if (!includedRowGroups[rowGroup]) {
+        while (rowGroup < includedRowGroups.length && !includedRowGroups[rowGroup]) {
+          rowGroup += 1;
+        }
+        if (rowGroup >= includedRowGroups.length) {
+          if (canAdvanceStripe) {
+            advanceStripe();
+          }
+          return canAdvanceStripe;
+        }
+        nextRowInStripe = Math.min(rowCountInStripe, rowGroup * rowIndexStride);
+      }
+    }
+
     if (nextRowInStripe >= rowCountInStripe) {
       if (canAdvanceStripe) {
         advanceStripe();
@@ -255,6 +319,42 @@ public class OrcRecordReader implements Closeable {
     }
   }
 
+  /**
+   * Read the next rows into the column batch. The columns of the batch should be in the order of the target columns.
+   * A batch never spans stripes or skipped row groups.
+   *
+   * @param batch The batch to be filled
+   * @return True if any row is read
+   */
+  public boolean nextBatch(ColumnBatch batch) throws IOException {
+    if (!hasNext()) {
+      return false;
+    }
+
+    try {
+      batch.reset();
+      int batchSize = (int) Math.min(batch.capacity(), rowCountInStripe - rowInStripe);
+      if (includedRowGroups != null) {
+        // stop at the end of the current row group because the next one may be skipped
+        long rowGroupEnd = (rowInStripe / rowIndexStride + 1) * rowIndexStride;
+        batchSize = (int) Math.min(batchSize, rowGroupEnd - rowInStripe);
+      }
+
+      for (int i = 0; i < reader.length; i++) {
+        reader[i].nextVector(batch.getColumn(i), batchSize);
+      }
+      batch.setSize(batchSize);
+
+      // find the next row
+      rowInStripe += batchSize;
+      advanceToNextRow(reader, rowInStripe + rowBaseInStripe, true);
+      return true;
+    } catch (IOException e) {
+      // Rethrow exception with file name in log message
+      throw new IOException("Error reading file: " + path, e);
+    }
+  }
+
   /**
    * Read the next stripe until we find a row that we don't skip.
    *
@@ -276,6 +376,17 @@ public class OrcRecordReader implements Closeable {
    */
   private void readStripe() throws IOException {
     StripeInformation stripe = beginReadStripe();
+    includedRowGroups = pickRowGroups(stripe);
+
+    // move forward to the first selected row
+    if (includedRowGroups != null) {
+      while (rowInStripe < rowCountInStripe && !includedRowGroups[(int) (rowInStripe / rowIndexStride)]) {
+        rowInStripe = Math.min(rowCountInStripe, rowInStripe + rowIndexStride);
+      }
+      if (rowInStripe >= rowCountInStripe) {
+        skippedBytes += stripe.getDataLength();
+      }
+    }
 
     // if we haven't skipped the whole stripe, read the data
     if (rowInStripe < rowCountInStripe) {
@@ -296,6 +407,27 @@ public class OrcRecordReader implements Closeable {
     }
   }
 
+  /**
+   * Select the row groups of the current stripe whose statistics can satisfy the search argument.
+   *
+   * @return The selected row groups, or null if every row group should be read
+   */
+  private boolean[] pickRowGroups(StripeInformation stripe) throws IOException {
+    if (indexColumns == null) {
+      return null;
+    }
+
+    readRowIndex(currentStripe, indexColumns);
+    int groupNum = (int) ((stripe.getNumberOfRows() + rowIndexStride - 1) / rowIndexStride);
+    boolean[] result = new boolean[groupNum];
+    boolean hasSkipped = false;
+    for (int i = 0; i < groupNum; i++) {
+      result[i] = sarg.canMatch(indexes, bloomFilterIndices, i);
+      hasSkipped |= !result[i];
+    }
+    return hasSkipped ? result : null;
+  }
+
   private void clearStreams() throws IOException {
     // explicit close of all streams to de-ref ByteBuffers
     for (InStream is : streams.values()) {
@@ -333,6 +465,7 @@ public class OrcRecordReader implements Closeable {
     // reset all of the indexes
     for (int i = 0; i < indexes.length; ++i) {
       indexes[i] = null;
+      bloomFilterIndices[i] = null;
     }
     return stripe;
   }
@@ -381,7 +514,8 @@ public class OrcRecordReader implements Closeable {
       indexes = indexes == null ? this.indexes : indexes;
       bloomFilterIndex = bloomFilterIndex == null ? this.bloomFilterIndices : bloomFilterIndex;
     }
-    return metadata.readRowIndex(stripe, stripeFooter, included, indexes, null,
+    // bloom filters are read only for the columns referred by the search argument
+    return metadata.readRowIndex(stripe, stripeFooter, included, indexes, sarg == null ? null : sarg.getColumns(),
         bloomFilterIndex);
   }
 
@@ -425,6 +559,13 @@ public class OrcRecordReader implements Closeable {
     return ((RecordReaderUtils.DefaultDataReader)dataReader).getReadBytes();
   }
 
+  /**
+   * @return The number of bytes of stripes which were not read because they cannot satisfy the search argument
+   */
+  public long getSkippedBytes() {
+    return skippedBytes;
+  }
+
   @Override
   public void close() throws IOException {
     clearStreams();
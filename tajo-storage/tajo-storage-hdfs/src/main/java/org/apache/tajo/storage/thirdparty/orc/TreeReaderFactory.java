@@ -20,7 +20,6 @@ package org.apache.tajo.storage.thirdparty.orc;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 import org.apache.hadoop.io.Text;
 import org.apache.orc.OrcProto;
 import org.apache.orc.impl.*;
@@ -31,6 +30,10 @@ import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.exception.TajoRuntimeException;
 import org.apache.tajo.exception.UnsupportedException;
+import org.apache.tajo.tuple.vector.BytesColumnVector;
+import org.apache.tajo.tuple.vector.ColumnVector;
+import org.apache.tajo.tuple.vector.DoubleColumnVector;
+import org.apache.tajo.tuple.vector.LongColumnVector;
 import org.apache.tajo.util.datetime.DateTimeConstants;
 import org.apache.tajo.util.datetime.DateTimeUtil;
 
@@ -101,6 +104,36 @@ public class TreeReaderFactory {
     }
   }
 
+  private static final byte[] EMPTY_BYTES = new byte[0];
+
+  /**
+   * Read variable-length values of the present rows into the vector. The null flags should be already filled.
+   *
+   * @param scratch The buffer used to read a value. It is grown if necessary.
+   * @return The scratch buffer which can be reused for the next call
+   */
+  private static byte[] readBytes(InStream stream, IntegerReader lengths, BytesColumnVector vector, int batchSize,
+                                  byte[] scratch) throws IOException {
+    for (int i = 0; i < batchSize; i++) {
+      if (!vector.isNullAt(i)) {
+        int len = (int) lengths.next();
+        if (scratch.length < len) {
+          scratch = new byte[Math.max(scratch.length * 2, len)];
+        }
+        int offset = 0;
+        while (offset < len) {
+          int written = stream.read(scratch, offset, len - offset);
+          if (written < 0) {
+            throw new EOFException("Can't finish byte read from " + stream);
+          }
+          offset += written;
+        }
+        vector.setVal(i, scratch, 0, len);
+      }
+    }
+    return scratch;
+  }
+
   public abstract static class TreeReader {
     protected final int columnId;
     protected BitFieldReader present = null;
@@ -188,6 +221,19 @@ public class TreeReaderFactory {
 
     abstract void skipRows(long rows) throws IOException;
 
+    /**
+     * Read the presence of the next values into the null flags of the vector.
+     */
+    protected void nextNulls(ColumnVector vector, int batchSize) throws IOException {
+      if (present != null) {
+        for (int i = 0; i < batchSize; i++) {
+          if (present.next() != 1) {
+            vector.setNull(i);
+          }
+        }
+      }
+    }
+
     public BitFieldReader getPresent() {
       return present;
     }
@@ -209,6 +255,16 @@ public class TreeReaderFactory {
       }
       return NullDatum.get();
     }
+
+    /**
+     * Read the next values into a column vector without creating any Datum.
+     *
+     * @param vector The vector whose first batchSize values are filled
+     * @param batchSize The number of values to read
+     */
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      nextNulls(vector, batchSize);
+    }
   }
 
   public abstract static class RawStringTreeReader extends TreeReader {
@@ -226,6 +282,11 @@ public class TreeReaderFactory {
       }
       return null;
     }
+
+    /**
+     * Read the next values into a bytes column vector without creating any Datum.
+     */
+    abstract void nextVector(BytesColumnVector vector, int batchSize) throws IOException;
   }
 
   public static class BooleanTreeReader extends DatumTreeReader {
@@ -272,6 +333,17 @@ public class TreeReaderFactory {
       super.next();
       return valuePresent ? DatumFactory.createBool(reader.next() == 1) : NullDatum.get();
     }
+
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = reader.next();
+        }
+      }
+    }
   }
 
   public static class ByteTreeReader extends DatumTreeReader {
@@ -312,6 +384,17 @@ public class TreeReaderFactory {
       return valuePresent ? DatumFactory.createBit(reader.next()) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = reader.next();
+        }
+      }
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skip(countNonNulls(items));
@@ -372,6 +455,17 @@ public class TreeReaderFactory {
       return valuePresent ? DatumFactory.createInt2((short) reader.next()) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = (short) reader.next();
+        }
+      }
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skip(countNonNulls(items));
@@ -432,6 +526,17 @@ public class TreeReaderFactory {
       return valuePresent ? DatumFactory.createInt4((int) reader.next()) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = (int) reader.next();
+        }
+      }
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skip(countNonNulls(items));
@@ -493,6 +598,17 @@ public class TreeReaderFactory {
       return valuePresent ? DatumFactory.createInt8(reader.next()) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = reader.next();
+        }
+      }
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skip(countNonNulls(items));
@@ -540,6 +656,17 @@ public class TreeReaderFactory {
       return valuePresent ? DatumFactory.createFloat4(utils.readFloat(stream)) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      double[] values = ((DoubleColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = utils.readFloat(stream);
+        }
+      }
+    }
+
     @Override
     protected void skipRows(long items) throws IOException {
       items = countNonNulls(items);
@@ -591,6 +718,17 @@ public class TreeReaderFactory {
       return valuePresent ? DatumFactory.createFloat8(utils.readDouble(stream)) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      double[] values = ((DoubleColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = utils.readDouble(stream);
+        }
+      }
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       items = countNonNulls(items);
@@ -604,8 +742,7 @@ public class TreeReaderFactory {
   public static class BinaryTreeReader extends DatumTreeReader {
     protected InStream stream;
     protected IntegerReader lengths = null;
-    protected final LongColumnVector scratchlcv;
-
+    private byte[] scratch = EMPTY_BYTES;
     BinaryTreeReader(int columnId) throws IOException {
       this(columnId, null, null, null, null);
     }
@@ -613,7 +750,6 @@ public class TreeReaderFactory {
     protected BinaryTreeReader(int columnId, InStream present, InStream data, InStream length,
                                OrcProto.ColumnEncoding encoding) throws IOException {
       super(columnId, present);
-      scratchlcv = new LongColumnVector();
       this.stream = data;
       if (length != null && encoding != null) {
         checkEncoding(encoding);
@@ -676,6 +812,12 @@ public class TreeReaderFactory {
       }
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      scratch = readBytes(stream, lengths, (BytesColumnVector) vector, batchSize, scratch);
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       items = countNonNulls(items);
@@ -798,6 +940,17 @@ public class TreeReaderFactory {
       }
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = DateTimeUtil.javaTimeToJulianTime(decodeTimestamp(data.next(), nanos.next(), base_timestamp));
+        }
+      }
+    }
+
     private static int parseNanos(long serialized) {
       int zeros = 7 & (int) serialized;
       int result = (int) (serialized >>> 3);
@@ -888,6 +1041,17 @@ public class TreeReaderFactory {
           DatumFactory.createDate((int) reader.next() + DateTimeConstants.UNIX_EPOCH_JDATE) : NullDatum.get();
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      super.nextVector(vector, batchSize);
+      long[] values = ((LongColumnVector) vector).vector;
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          values[i] = (int) reader.next() + DateTimeConstants.UNIX_EPOCH_JDATE;
+        }
+      }
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skip(countNonNulls(items));
@@ -971,6 +1135,12 @@ public class TreeReaderFactory {
       return bytes == null ? NullDatum.get() : DatumFactory.createText(bytes);
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      // the present stream is read by the internal reader
+      reader.nextVector((BytesColumnVector) vector, batchSize);
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skipRows(items);
@@ -1008,8 +1178,7 @@ public class TreeReaderFactory {
     protected InStream stream;
     protected BasicTextReaderShim data;
     protected IntegerReader lengths;
-    private final LongColumnVector scratchlcv;
-
+    private byte[] scratch = EMPTY_BYTES;
     StringDirectTreeReader(int columnId) throws IOException {
       this(columnId, null, null, null, null);
     }
@@ -1017,7 +1186,6 @@ public class TreeReaderFactory {
     protected StringDirectTreeReader(int columnId, InStream present, InStream data,
                                      InStream length, OrcProto.ColumnEncoding.Kind encoding) throws IOException {
       super(columnId, present);
-      this.scratchlcv = new LongColumnVector();
       this.stream = data;
       if (length != null && encoding != null) {
         this.lengths = createIntegerReader(encoding, length, false, false);
@@ -1064,8 +1232,14 @@ public class TreeReaderFactory {
     @Override
     byte[] next() throws IOException {
       super.next();
-      int len = (int) lengths.next();
-      return valuePresent ? data.read(len) : null;
+      // the length stream has entries only for present values
+      return valuePresent ? data.read((int) lengths.next()) : null;
+    }
+
+    @Override
+    void nextVector(BytesColumnVector vector, int batchSize) throws IOException {
+      nextNulls(vector, batchSize);
+      scratch = readBytes(stream, lengths, vector, batchSize, scratch);
     }
 
     @Override
@@ -1100,7 +1274,6 @@ public class TreeReaderFactory {
     protected IntegerReader reader;
 
     private byte[] dictionaryBufferInBytesCache = null;
-    private final LongColumnVector scratchlcv;
     private final Text result = new Text();
 
     StringDictionaryTreeReader(int columnId) throws IOException {
@@ -1111,7 +1284,6 @@ public class TreeReaderFactory {
                                          InStream length, InStream dictionary, OrcProto.ColumnEncoding encoding)
         throws IOException {
       super(columnId, present);
-      scratchlcv = new LongColumnVector();
       if (data != null && encoding != null) {
         this.reader = createIntegerReader(encoding.getKind(), data, false, false);
       }
@@ -1223,6 +1395,27 @@ public class TreeReaderFactory {
       }
     }
 
+    @Override
+    void nextVector(BytesColumnVector vector, int batchSize) throws IOException {
+      nextNulls(vector, batchSize);
+      if (dictionaryBuffer != null && dictionaryBufferInBytesCache == null) {
+        dictionaryBufferInBytesCache = dictionaryBuffer.get();
+      }
+      for (int i = 0; i < batchSize; i++) {
+        if (!vector.isNullAt(i)) {
+          int entry = (int) reader.next();
+          int offset = dictionaryOffsets[entry];
+          int length = getDictionaryEntryLength(entry, offset);
+          if (dictionaryBuffer != null) {
+            // values refer to the dictionary of the stripe without copy
+            vector.setRef(i, dictionaryBufferInBytesCache, offset, length);
+          } else {
+            vector.setRef(i, EMPTY_BYTES, 0, 0);
+          }
+        }
+      }
+    }
+
     int getDictionaryEntryLength(int entry, int offset) {
       final int length;
       // if it isn't the last entry, subtract the offsets otherwise use
@@ -1329,6 +1522,12 @@ public class TreeReaderFactory {
       return DatumFactory.createChar(bytes);
     }
 
+    @Override
+    void nextVector(ColumnVector vector, int batchSize) throws IOException {
+      // the present stream is read by the internal reader
+      reader.nextVector((BytesColumnVector) vector, batchSize);
+    }
+
     @Override
     void skipRows(long items) throws IOException {
       reader.skipRows(items);
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.thirdparty.parquet;
+
+import com.google.common.primitives.Longs;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.orc.*;
+import org.apache.orc.impl.*;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.Operators.*;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.io.api.Binary;
+
+import java.util.*;
+
+/**
+ * Drops row groups whose bloom filters tell that they do not contain any value searched by an equality predicate.
+ * IN predicates are converted into disjunctions of equality predicates, so they are also handled.
+ *
+ * parquet-mr-1.8.1 cannot write bloom filters, so Tajo writes them into the key-value metadata of the footer.
+ * The bloom filters of a column are kept in an entry whose key is {@link #METADATA_KEY_PREFIX} followed by
+ * the column name, and whose value is a base64-encoded ORC bloom filter index having one bloom filter per row group.
+ * A row group whose column has too many distinct values has an empty bloom filter, which cannot drop it.
+ */
+public class BloomFilterRowGroupFilter implements FilterPredicate.Visitor<Boolean> {
+  private static final Log LOG = LogFactory.getLog(BloomFilterRowGroupFilter.class);
+
+  public static final String METADATA_KEY_PREFIX = "tajo.bloom.filter.";
+
+  private final Map<String, String> keyValueMetaData;
+  private final Map<String, OrcProto.BloomFilterIndex> indexes = new HashMap<String, OrcProto.BloomFilterIndex>();
+  private final Map<String, BloomFilterIO> bloomFilters = new HashMap<String, BloomFilterIO>();
+  private int rowGroup;
+
+  private BloomFilterRowGroupFilter(Map<String, String> keyValueMetaData) {
+    this.keyValueMetaData = keyValueMetaData;
+  }
+
+  /**
+   * @param predicate Filter predicate which is already validated against the file schema
+   * @param blocks All row groups of a file in order
+   * @param keyValueMetaData Key-value metadata of the file footer
+   * @return Row groups which may contain rows satisfying the predicate
+   */
+  public static List<BlockMetaData> filterRowGroups(FilterPredicate predicate, List<BlockMetaData> blocks,
+                                                    Map<String, String> keyValueMetaData) {
+    if (blocks.isEmpty() || !hasBloomFilter(keyValueMetaData)) {
+      return blocks;
+    }
+
+    FilterPredicate rewritten = LogicalInverseRewriter.rewrite(predicate);
+    BloomFilterRowGroupFilter bloomFilter = new BloomFilterRowGroupFilter(keyValueMetaData);
+    List<BlockMetaData> filtered = new ArrayList<BlockMetaData>(blocks.size());
+    for (int i = 0; i < blocks.size(); i++) {
+      bloomFilter.rowGroup = i;
+      bloomFilter.bloomFilters.clear();
+      if (!rewritten.accept(bloomFilter)) {
+        filtered.add(blocks.get(i));
+      }
+    }
+    return filtered;
+  }
+
+  private static boolean hasBloomFilter(Map<String, String> keyValueMetaData) {
+    for (String key : keyValueMetaData.keySet()) {
+      if (key.startsWith(METADATA_KEY_PREFIX)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param bloomFilters Bloom filters of a column, one per row group
+   * @return The value of the key-value metadata entry for the bloom filters
+   */
+  public static String encode(List<OrcProto.BloomFilter> bloomFilters) {
+    OrcProto.BloomFilterIndex index = OrcProto.BloomFilterIndex.newBuilder().addAllBloomFilter(bloomFilters).build();
+    return Base64.getEncoder().encodeToString(index.toByteArray());
+  }
+
+  /**
+   * @param bloomFilter Bloom filter which contains all values of a column in a row group,
+   *                    or null if the values are not tracked
+   */
+  public static OrcProto.BloomFilter toProto(BloomFilterIO bloomFilter) {
+    OrcProto.BloomFilter.Builder builder = OrcProto.BloomFilter.newBuilder();
+    if (bloomFilter != null) {
+      builder.setNumHashFunctions(bloomFilter.getNumHashFunctions());
+      builder.addAllBitset(Longs.asList(bloomFilter.getBitSet()));
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return The bloom filter of a column in the current row group, or null if it is not available
+   */
+  private BloomFilterIO getBloomFilter(Column<?> column) {
+    String name = column.getColumnPath().toDotString();
+    if (bloomFilters.containsKey(name)) {
+      return bloomFilters.get(name);
+    }
+
+    OrcProto.BloomFilterIndex index = getIndex(name);
+    BloomFilterIO bloomFilter = null;
+    if (index != null && rowGroup < index.getBloomFilterCount()
+        && index.getBloomFilter(rowGroup).getBitsetCount() > 0) {
+      bloomFilter = new BloomFilterIO(index.getBloomFilter(rowGroup));
+    }
+    bloomFilters.put(name, bloomFilter);
+    return bloomFilter;
+  }
+
+  private OrcProto.BloomFilterIndex getIndex(String name) {
+    if (indexes.containsKey(name)) {
+      return indexes.get(name);
+    }
+
+    OrcProto.BloomFilterIndex index = null;
+    String encoded = keyValueMetaData.get(METADATA_KEY_PREFIX + name);
+    if (encoded != null) {
+      try {
+        index = OrcProto.BloomFilterIndex.parseFrom(Base64.getDecoder().decode(encoded));
+      } catch (InvalidProtocolBufferException | IllegalArgumentException e) {
+        // bloom filters are optional hints to drop row groups
+        LOG.warn("Failed to read the bloom filters of column " + name + ": " + e.getMessage());
+      }
+    }
+    indexes.put(name, index);
+    return index;
+  }
+
+  /**
+   * Tests a value in the same way as TajoWriteSupport adds the values of a column.
+   */
+  private static boolean mightContain(BloomFilterIO bloomFilter, Object value) {
+    if (value instanceof Integer || value instanceof Long) {
+      return bloomFilter.testLong(((Number) value).longValue());
+    } else if (value instanceof Float || value instanceof Double) {
+      return bloomFilter.testDouble(((Number) value).doubleValue());
+    } else if (value instanceof Binary) {
+      return bloomFilter.testBytes(((Binary) value).getBytes());
+    }
+    return true;
+  }
+
+  // Each visit method returns true if the row group can be dropped.
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(Eq<T> eq) {
+    T value = eq.getValue();
+    if (value == null) {
+      // a bloom filter does not tell whether there are null values
+      return false;
+    }
+    BloomFilterIO bloomFilter = getBloomFilter(eq.getColumn());
+    return bloomFilter != null && !mightContain(bloomFilter, value);
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(NotEq<T> notEq) {
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(Lt<T> lt) {
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(LtEq<T> ltEq) {
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(Gt<T> gt) {
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(GtEq<T> gtEq) {
+    return false;
+  }
+
+  @Override
+  public Boolean visit(And and) {
+    return and.getLeft().accept(this) || and.getRight().accept(this);
+  }
+
+  @Override
+  public Boolean visit(Or or) {
+    return or.getLeft().accept(this) && or.getRight().accept(this);
+  }
+
+  @Override
+  public Boolean visit(Not not) {
+    throw new IllegalArgumentException(
+        "This predicate contains a not! Did you forget to run this predicate through LogicalInverseRewriter? " + not);
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(UserDefined<T, U> udp) {
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(
+      LogicalNotUserDefined<T, U> udp) {
+    return false;
+  }
+}
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.thirdparty.parquet;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.compress.CodecPool;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.Operators.*;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Drops row groups whose dictionaries do not contain any value satisfying a filter predicate.
+ *
+ * Column chunk statistics keep only min and max values, so they cannot drop a row group when a searched value falls
+ * between the min and the max. If every page of a column chunk is dictionary-encoded, the dictionary holds all
+ * distinct non-null values of the column chunk, so a row group can be dropped exactly.
+ *
+ * parquet-mr-1.8.1 does not provide this filter, so the dictionary page is read and decoded here.
+ */
+public class DictionaryRowGroupFilter implements FilterPredicate.Visitor<Boolean> {
+  private static final Log LOG = LogFactory.getLog(DictionaryRowGroupFilter.class);
+
+  // encodings which can appear in a column chunk whose data pages are all dictionary-encoded
+  private static final Set<Encoding> DICTIONARY_ENCODINGS = EnumSet.of(
+      Encoding.PLAIN_DICTIONARY, Encoding.RLE_DICTIONARY, Encoding.RLE, Encoding.BIT_PACKED);
+
+  private final Configuration conf;
+  private final FSDataInputStream in;
+  private final MessageType fileSchema;
+  private final Map<ColumnPath, ColumnChunkMetaData> columns = new HashMap<ColumnPath, ColumnChunkMetaData>();
+  private final Map<ColumnPath, Set<?>> dictionaries = new HashMap<ColumnPath, Set<?>>();
+
+  private DictionaryRowGroupFilter(Configuration conf, FSDataInputStream in, MessageType fileSchema,
+                                   BlockMetaData block) {
+    this.conf = conf;
+    this.in = in;
+    this.fileSchema = fileSchema;
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      columns.put(column.getPath(), column);
+    }
+  }
+
+  /**
+   * @param predicate Filter predicate which is already validated against the file schema
+   * @return Row groups which may contain rows satisfying the predicate
+   */
+  public static List<BlockMetaData> filterRowGroups(FilterPredicate predicate, List<BlockMetaData> blocks,
+                                                    MessageType fileSchema, Configuration conf, Path file)
+      throws IOException {
+    if (blocks.isEmpty()) {
+      return blocks;
+    }
+
+    FilterPredicate rewritten = LogicalInverseRewriter.rewrite(predicate);
+    List<BlockMetaData> filtered = new ArrayList<BlockMetaData>(blocks.size());
+    FSDataInputStream in = file.getFileSystem(conf).open(file);
+    try {
+      for (BlockMetaData block : blocks) {
+        if (!rewritten.accept(new DictionaryRowGroupFilter(conf, in, fileSchema, block))) {
+          filtered.add(block);
+        }
+      }
+    } finally {
+      in.close();
+    }
+    return filtered;
+  }
+
+  /**
+   * @return The set of values in the dictionary of a column, or null if the column chunk is not fully
+   * dictionary-encoded.
+   */
+  @SuppressWarnings("unchecked")
+  private <T extends Comparable<T>> Set<T> getDictionary(Column<T> column) {
+    ColumnPath path = column.getColumnPath();
+    if (dictionaries.containsKey(path)) {
+      return (Set<T>) dictionaries.get(path);
+    }
+
+    Set<T> values = null;
+    ColumnChunkMetaData chunk = columns.get(path);
+    if (chunk != null && isFullyDictionaryEncoded(chunk)) {
+      try {
+        values = (Set<T>) readDictionary(chunk);
+      } catch (IOException e) {
+        // the dictionary is an optional hint to drop the row group
+        LOG.warn("Failed to read the dictionary of column " + path.toDotString() + ": " + e.getMessage());
+      }
+    }
+    dictionaries.put(path, values);
+    return values;
+  }
+
+  private static boolean isFullyDictionaryEncoded(ColumnChunkMetaData chunk) {
+    Set<Encoding> encodings = chunk.getEncodings();
+    if (!encodings.contains(Encoding.PLAIN_DICTIONARY) && !encodings.contains(Encoding.RLE_DICTIONARY)) {
+      return false;
+    }
+    // any other encoding means that the writer fell back to a non-dictionary encoding for some pages
+    for (Encoding encoding : encodings) {
+      if (!DICTIONARY_ENCODINGS.contains(encoding)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Set<?> readDictionary(ColumnChunkMetaData chunk) throws IOException {
+    in.seek(chunk.getStartingPos());
+    PageHeader header = Util.readPageHeader(in);
+    if (header.getType() != PageType.DICTIONARY_PAGE) {
+      return null;
+    }
+
+    byte[] compressed = new byte[header.getCompressed_page_size()];
+    in.readFully(compressed);
+    byte[] bytes = decompress(chunk, compressed, header.getUncompressed_page_size());
+
+    ColumnDescriptor descriptor = fileSchema.getColumnDescription(chunk.getPath().toArray());
+    Encoding encoding = Encoding.valueOf(header.getDictionary_page_header().getEncoding().name());
+    Dictionary dictionary = encoding.initDictionary(descriptor,
+        new DictionaryPage(BytesInput.from(bytes), header.getDictionary_page_header().getNum_values(), encoding));
+
+    Set<Object> values = new HashSet<Object>();
+    for (int id = 0; id <= dictionary.getMaxId(); id++) {
+      switch (descriptor.getType()) {
+      case INT32:
+        values.add(dictionary.decodeToInt(id));
+        break;
+      case INT64:
+        values.add(dictionary.decodeToLong(id));
+        break;
+      case FLOAT:
+        values.add(dictionary.decodeToFloat(id));
+        break;
+      case DOUBLE:
+        values.add(dictionary.decodeToDouble(id));
+        break;
+      case BINARY:
+        values.add(dictionary.decodeToBinary(id));
+        break;
+      default:
+        return null;
+      }
+    }
+    return values;
+  }
+
+  private byte[] decompress(ColumnChunkMetaData chunk, byte[] compressed, int uncompressedSize) throws IOException {
+    String codecClassName = chunk.getCodec().getHadoopCompressionCodecClassName();
+    if (codecClassName == null) {
+      return compressed;
+    }
+
+    CompressionCodec codec;
+    try {
+      codec = (CompressionCodec) ReflectionUtils.newInstance(conf.getClassByName(codecClassName), conf);
+    } catch (ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+
+    byte[] bytes = new byte[uncompressedSize];
+    Decompressor decompressor = CodecPool.getDecompressor(codec);
+    try {
+      InputStream decompressed = codec.createInputStream(new ByteArrayInputStream(compressed), decompressor);
+      IOUtils.readFully(decompressed, bytes, 0, uncompressedSize);
+    } finally {
+      CodecPool.returnDecompressor(decompressor);
+    }
+    return bytes;
+  }
+
+  // Each visit method returns true if the row group can be dropped.
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(Eq<T> eq) {
+    T value = eq.getValue();
+    if (value == null) {
+      // a dictionary does not tell whether there are null values
+      return false;
+    }
+    Set<T> dictionary = getDictionary(eq.getColumn());
+    return dictionary != null && !dictionary.contains(value);
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(NotEq<T> notEq) {
+    // null values satisfy 'not equal' predicates of Parquet, and a dictionary does not contain them
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(Lt<T> lt) {
+    Set<T> dictionary = getDictionary(lt.getColumn());
+    if (dictionary == null) {
+      return false;
+    }
+    for (T value : dictionary) {
+      if (value.compareTo(lt.getValue()) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(LtEq<T> ltEq) {
+    Set<T> dictionary = getDictionary(ltEq.getColumn());
+    if (dictionary == null) {
+      return false;
+    }
+    for (T value : dictionary) {
+      if (value.compareTo(ltEq.getValue()) <= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(Gt<T> gt) {
+    Set<T> dictionary = getDictionary(gt.getColumn());
+    if (dictionary == null) {
+      return false;
+    }
+    for (T value : dictionary) {
+      if (value.compareTo(gt.getValue()) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(GtEq<T> gtEq) {
+    Set<T> dictionary = getDictionary(gtEq.getColumn());
+    if (dictionary == null) {
+      return false;
+    }
+    for (T value : dictionary) {
+      if (value.compareTo(gtEq.getValue()) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Boolean visit(And and) {
+    return and.getLeft().accept(this) || and.getRight().accept(this);
+  }
+
+  @Override
+  public Boolean visit(Or or) {
+    return or.getLeft().accept(this) && or.getRight().accept(this);
+  }
+
+  @Override
+  public Boolean visit(Not not) {
+    throw new IllegalArgumentException(
+        "This predicate contains a not! Did you forget to run this predicate through LogicalInverseRewriter? " + not);
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(UserDefined<T, U> udp) {
+    return false;
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(
+      LogicalNotUserDefined<T, U> udp) {
+    return false;
+  }
+}
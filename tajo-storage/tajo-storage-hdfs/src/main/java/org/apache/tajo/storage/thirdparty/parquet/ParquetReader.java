@@ -27,18 +27,25 @@ import org.apache.parquet.filter.UnboundRecordFilter;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.Footer;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
 import org.apache.parquet.schema.MessageType;
+import org.apache.tajo.storage.FileFooterCache;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.parquet.Preconditions.checkNotNull;
 
@@ -56,6 +63,8 @@ public class ParquetReader<T> implements Closeable {
 
   private InternalParquetRecordReader<T> reader;
   private long totalRowCount;
+  /** The compressed size of row groups dropped by the filter */
+  private long skippedBytes;
 
   /**
    * @param file the file to read
@@ -105,17 +114,27 @@ public class ParquetReader<T> implements Closeable {
     this(conf, file, readSupport, FilterCompat.get(unboundRecordFilter));
   }
 
-  private ParquetReader(Configuration conf,
-                        Path file,
-                        ReadSupport<T> readSupport,
-                        Filter filter) throws IOException {
+  /**
+   * @param conf the configuration
+   * @param file the file to read
+   * @param readSupport to materialize records
+   * @param filter the filter to use to filter row groups and records
+   * @throws IOException
+   */
+  protected ParquetReader(Configuration conf,
+                          Path file,
+                          ReadSupport<T> readSupport,
+                          Filter filter) throws IOException {
     this.readSupport = readSupport;
     this.filter = checkNotNull(filter, "filter");
     this.conf = conf;
 
     FileSystem fs = file.getFileSystem(conf);
     List<FileStatus> statuses = Arrays.asList(fs.listStatus(file, HiddenFileFilter.INSTANCE));
-    List<Footer> footers = ParquetFileReader.readAllFootersInParallelUsingSummaryFiles(conf, statuses, false);
+    List<Footer> footers = new ArrayList<Footer>(statuses.size());
+    for (FileStatus status : statuses) {
+      footers.add(new Footer(status.getPath(), readFooter(conf, status)));
+    }
     this.footersIterator = footers.iterator();
 
     for (Footer footer : footers) {
@@ -154,8 +173,9 @@ public class ParquetReader<T> implements Closeable {
 
       MessageType fileSchema = footer.getParquetMetadata().getFileMetaData().getSchema();
 
-      List<BlockMetaData> filteredBlocks = RowGroupFilter.filterRowGroups(
-          filter, blocks, fileSchema);
+      List<BlockMetaData> filteredBlocks = filterRowGroups(filter, blocks, fileSchema,
+          footer.getParquetMetadata().getFileMetaData().getKeyValueMetaData(), conf, footer.getFile());
+      skippedBytes += getCompressedSize(blocks) - getCompressedSize(filteredBlocks);
 
       reader = new InternalParquetRecordReader<T>(readSupport, filter);
       reader.initialize(footer.getParquetMetadata().getFileMetaData(),
@@ -186,6 +206,74 @@ public class ParquetReader<T> implements Closeable {
     return totalRowCount;
   }
 
+  /**
+   * @return the compressed size of row groups which have been dropped by the filter so far
+   */
+  public long getSkippedBytes() {
+    return skippedBytes;
+  }
+
+  /**
+   * Drop row groups by column chunk statistics, bloom filters and dictionaries.
+   *
+   * @param blocks all row groups of the file
+   * @param keyValueMetaData key-value metadata of the file footer, which may contain bloom filters
+   * @return row groups which may contain records satisfying the filter
+   */
+  public static List<BlockMetaData> filterRowGroups(Filter filter, List<BlockMetaData> blocks,
+                                                    MessageType fileSchema, Map<String, String> keyValueMetaData,
+                                                    Configuration conf, Path file)
+      throws IOException {
+    if (!(filter instanceof FilterCompat.FilterPredicateCompat)) {
+      return RowGroupFilter.filterRowGroups(filter, blocks, fileSchema);
+    }
+
+    FilterPredicate predicate = ((FilterCompat.FilterPredicateCompat) filter).getFilterPredicate();
+    // bloom filters are looked up by the ordinal of a row group, so they are applied to all row groups first.
+    List<BlockMetaData> filteredBlocks = BloomFilterRowGroupFilter.filterRowGroups(predicate, blocks,
+        keyValueMetaData);
+    filteredBlocks = RowGroupFilter.filterRowGroups(filter, filteredBlocks, fileSchema);
+    // dictionaries are read from the file, so they are tried last.
+    return DictionaryRowGroupFilter.filterRowGroups(predicate, filteredBlocks, fileSchema, conf, file);
+  }
+
+  /**
+   * Reads the footer of a file. Footers are cached in a process, so a file is not read again by each fragment.
+   */
+  public static ParquetMetadata readFooter(final Configuration conf, final FileStatus file) throws IOException {
+    return FileFooterCache.getFooter(conf, "parquet", file, new FileFooterCache.Loader<ParquetMetadata>() {
+      @Override
+      public FileFooterCache.Footer<ParquetMetadata> load() throws IOException {
+        ParquetMetadata footer = ParquetFileReader.readFooter(conf, file, ParquetMetadataConverter.NO_FILTER);
+        return new FileFooterCache.Footer<ParquetMetadata>(footer, estimateSize(footer));
+      }
+    });
+  }
+
+  /**
+   * Estimates the size of a parsed footer, which is mostly taken by the metadata of column chunks.
+   */
+  private static long estimateSize(ParquetMetadata footer) {
+    long size = 1024 + footer.getFileMetaData().getSchema().getColumns().size() * 128L;
+    for (BlockMetaData block : footer.getBlocks()) {
+      size += 128 + block.getColumns().size() * 256L;
+    }
+    for (Map.Entry<String, String> entry : footer.getFileMetaData().getKeyValueMetaData().entrySet()) {
+      size += (entry.getKey().length() + entry.getValue().length()) * 2L;
+    }
+    return size;
+  }
+
+  public static long getCompressedSize(List<BlockMetaData> blocks) {
+    long size = 0;
+    for (BlockMetaData block : blocks) {
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        size += column.getTotalSize();
+      }
+    }
+    return size;
+  }
+
   public static <T> Builder<T> builder(ReadSupport<T> readSupport, Path path) {
     return new Builder<T>(readSupport, path);
   }
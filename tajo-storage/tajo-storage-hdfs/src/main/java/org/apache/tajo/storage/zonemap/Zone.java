@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.zonemap;
+
+import org.apache.tajo.catalog.statistics.ColumnStats;
+import org.apache.tajo.catalog.statistics.TableStats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A zone is a range of consecutive rows in a file. It keeps the byte range of the rows and the statistics of columns.
+ */
+public class Zone {
+  private final long startOffset;
+  private final long endOffset;
+  private final TableStats stats;
+  private final Map<String, ColumnStats> columnStats = new HashMap<>();
+
+  /**
+   * @param startOffset The offset of the first row
+   * @param endOffset The offset next to the last row
+   * @param stats The number of rows and the column statistics of the zone
+   */
+  public Zone(long startOffset, long endOffset, TableStats stats) {
+    this.startOffset = startOffset;
+    this.endOffset = endOffset;
+    this.stats = stats;
+    for (ColumnStats eachStats : stats.getColumnStats()) {
+      columnStats.put(eachStats.getColumn().getSimpleName(), eachStats);
+    }
+  }
+
+  public long getStartOffset() {
+    return startOffset;
+  }
+
+  public long getEndOffset() {
+    return endOffset;
+  }
+
+  public long getNumRows() {
+    return stats.getNumRows();
+  }
+
+  public TableStats getStats() {
+    return stats;
+  }
+
+  /**
+   * @param name The simple name of a column
+   * @return The statistics of the column, or null if the column is not tracked in the zone
+   */
+  public ColumnStats getColumnStats(String name) {
+    return columnStats.get(name);
+  }
+
+  @Override
+  public String toString() {
+    return "zone [" + startOffset + ", " + endOffset + "), rows: " + getNumRows();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.zonemap;
+
+import java.util.List;
+
+/**
+ * ZoneCursor walks the zones of a data file in the order of offsets while the file is scanned,
+ * and it finds out where the next row which can match a filter starts.
+ */
+public class ZoneCursor {
+  private final List<Zone> zones;
+  private final boolean[] matched;
+  private int current = 0;
+
+  public ZoneCursor(ZoneMap zoneMap, ZoneMapFilter filter) {
+    this.zones = zoneMap.getZones();
+    this.matched = new boolean[zones.size()];
+    for (int i = 0; i < matched.length; i++) {
+      matched[i] = filter.canMatch(zones.get(i));
+    }
+  }
+
+  /**
+   * @param offset The offset of the next row to be read. It should not decrease between calls.
+   * @return The given offset if its zone can match the filter, the start offset of the next zone which can match,
+   *         or -1 if no remaining zone can match
+   */
+  public long nextOffset(long offset) {
+    while (current < zones.size() && zones.get(current).getEndOffset() <= offset) {
+      current++;
+    }
+    while (current < zones.size() && !matched[current]) {
+      current++;
+    }
+    if (current == zones.size()) {
+      return -1;
+    }
+    return Math.max(offset, zones.get(current).getStartOffset());
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.zonemap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.TableStatsProto;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.storage.StorageConstants;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A zone map keeps min/max values and null counts of columns for every zone of rows in a data file.
+ * It is stored in a hidden sidecar file next to the data file, so that splits and zones which cannot contain
+ * any row matched with a scan filter are skipped without reading the data file.
+ *
+ * The sidecar file consists of a magic number, the length of the data file, the number of zones, and each zone
+ * which is a pair of the start and end offsets followed by a length-delimited {@link TableStatsProto}.
+ * A zone map whose data file length is different from the actual one is regarded as stale, and it is ignored.
+ */
+public class ZoneMap {
+  private static final Log LOG = LogFactory.getLog(ZoneMap.class);
+
+  private static final int MAGIC = 0x5a4d4150; // "ZMAP"
+  private static final String PREFIX = ".";
+  private static final String SUFFIX = ".zonemap";
+
+  private final long fileLength;
+  private final List<Zone> zones;
+
+  public ZoneMap(long fileLength, List<Zone> zones) {
+    this.fileLength = fileLength;
+    this.zones = Collections.unmodifiableList(zones);
+  }
+
+  public static boolean isEnabled(TableMeta meta) {
+    return Boolean.parseBoolean(meta.getProperty(StorageConstants.ZONEMAP_ENABLED,
+        StorageConstants.DEFAULT_ZONEMAP_ENABLED));
+  }
+
+  /**
+   * @return The path of the zone map file of a data file
+   */
+  public static Path getZoneMapPath(Path dataFile) {
+    return new Path(dataFile.getParent(), PREFIX + dataFile.getName() + SUFFIX);
+  }
+
+  public static boolean isZoneMapFile(Path path) {
+    String name = path.getName();
+    return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+  }
+
+  /**
+   * @return The length of the data file when the zone map was written
+   */
+  public long getFileLength() {
+    return fileLength;
+  }
+
+  public List<Zone> getZones() {
+    return zones;
+  }
+
+  /**
+   * @param filter Zone map filter
+   * @param start The start offset of a byte range
+   * @param length The length of a byte range
+   * @return False if no row starting in the byte range can match the filter
+   */
+  public boolean canMatch(ZoneMapFilter filter, long start, long length) {
+    // The offsets of a compressed file are positions in the uncompressed stream, so only a whole file can be pruned.
+    boolean wholeFile = start == 0 && length >= fileLength;
+    long end = start + length;
+    for (Zone zone : zones) {
+      if ((wholeFile || (zone.getStartOffset() <= end && zone.getEndOffset() > start)) && filter.canMatch(zone)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public void write(FileSystem fs, Path dataFile) throws IOException {
+    try (FSDataOutputStream out = fs.create(getZoneMapPath(dataFile), true)) {
+      out.writeInt(MAGIC);
+      out.writeLong(fileLength);
+      out.writeInt(zones.size());
+      for (Zone zone : zones) {
+        out.writeLong(zone.getStartOffset());
+        out.writeLong(zone.getEndOffset());
+        zone.getStats().getProto().writeDelimitedTo(out);
+      }
+    }
+  }
+
+  /**
+   * Read the zone map of a data file.
+   *
+   * @return The zone map, or null if the data file has no valid zone map
+   */
+  public static ZoneMap read(FileSystem fs, Path dataFile) throws IOException {
+    FileStatus status;
+    try {
+      status = fs.getFileStatus(dataFile);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+    return read(fs, status);
+  }
+
+  /**
+   * Read the zone map of a data file.
+   *
+   * @return The zone map, or null if the data file has no valid zone map
+   */
+  public static ZoneMap read(FileSystem fs, FileStatus dataFile) throws IOException {
+    Path zoneMapPath = getZoneMapPath(dataFile.getPath());
+    FSDataInputStream in;
+    try {
+      in = fs.open(zoneMapPath);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+
+    try {
+      if (in.readInt() != MAGIC) {
+        LOG.warn("Invalid zone map file: " + zoneMapPath);
+        return null;
+      }
+      long fileLength = in.readLong();
+      if (fileLength != dataFile.getLen()) {
+        LOG.warn("Ignore a stale zone map file: " + zoneMapPath);
+        return null;
+      }
+
+      int zoneNum = in.readInt();
+      List<Zone> zones = new ArrayList<>(zoneNum);
+      for (int i = 0; i < zoneNum; i++) {
+        long startOffset = in.readLong();
+        long endOffset = in.readLong();
+        TableStatsProto stats = TableStatsProto.parseDelimitedFrom(in);
+        if (stats == null) {
+          throw new EOFException("Unexpected end of zone map");
+        }
+        zones.add(new Zone(startOffset, endOffset, new TableStats(stats)));
+      }
+      return new ZoneMap(fileLength, zones);
+    } catch (IOException e) {
+      LOG.warn("Cannot read a zone map file: " + zoneMapPath, e);
+      return null;
+    } finally {
+      in.close();
+    }
+  }
+}
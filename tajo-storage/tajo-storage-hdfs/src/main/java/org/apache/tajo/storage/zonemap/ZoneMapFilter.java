@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.zonemap;
+
+import org.apache.tajo.catalog.statistics.ColumnStats;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.plan.expr.*;
+
+/**
+ * ZoneMapFilter evaluates a scan filter against the column statistics of zones to find out the zones
+ * which cannot contain any matched row.
+ *
+ * Only comparisons, BETWEEN, IN and IS NULL predicates between a column and constants are evaluated,
+ * and they can be combined with AND and OR. Any other expression is regarded as being able to match any row.
+ * Columns are identified by their simple names, so the filter can be given in any qualifier.
+ */
+public class ZoneMapFilter {
+  private final EvalNode filter;
+
+  public ZoneMapFilter(EvalNode filter) {
+    this.filter = filter;
+  }
+
+  /**
+   * @return False if the zone cannot contain any row matched with the filter
+   */
+  public boolean canMatch(Zone zone) {
+    return canMatch(filter, zone);
+  }
+
+  private static boolean canMatch(EvalNode node, Zone zone) {
+    switch (node.getType()) {
+    case AND:
+      return canMatch(node.getChild(0), zone) && canMatch(node.getChild(1), zone);
+    case OR:
+      return canMatch(node.getChild(0), zone) || canMatch(node.getChild(1), zone);
+    case EQUAL:
+    case NOT_EQUAL:
+    case LTH:
+    case LEQ:
+    case GTH:
+    case GEQ:
+      return canMatchComparison((BinaryEval) node, zone);
+    case BETWEEN:
+      return canMatchBetween((BetweenPredicateEval) node, zone);
+    case IN:
+      return canMatchIn((InEval) node, zone);
+    case IS_NULL:
+      return canMatchIsNull((IsNullEval) node, zone);
+    default:
+      return true;
+    }
+  }
+
+  private static boolean canMatchComparison(BinaryEval node, Zone zone) {
+    EvalType type = node.getType();
+    EvalNode field = node.getLeftExpr();
+    EvalNode constant = node.getRightExpr();
+    if (field.getType() == EvalType.CONST) {
+      field = node.getRightExpr();
+      constant = node.getLeftExpr();
+      type = flip(type);
+    }
+
+    ColumnStats stats = getColumnStats(field, zone);
+    if (stats == null || constant.getType() != EvalType.CONST) {
+      return true;
+    }
+    return canMatch(type, stats, ((ConstEval) constant).getValue());
+  }
+
+  private static EvalType flip(EvalType type) {
+    switch (type) {
+    case LTH:
+      return EvalType.GTH;
+    case LEQ:
+      return EvalType.GEQ;
+    case GTH:
+      return EvalType.LTH;
+    case GEQ:
+      return EvalType.LEQ;
+    default:
+      return type;
+    }
+  }
+
+  private static boolean canMatchBetween(BetweenPredicateEval node, Zone zone) {
+    ColumnStats stats = getColumnStats(node.getPredicand(), zone);
+    if (stats == null || node.isNot() ||
+        node.getBegin().getType() != EvalType.CONST || node.getEnd().getType() != EvalType.CONST) {
+      return true;
+    }
+
+    Datum begin = ((ConstEval) node.getBegin()).getValue();
+    Datum end = ((ConstEval) node.getEnd()).getValue();
+    if (node.isSymmetric() && isComparable(begin, end) && begin.compareTo(end) > 0) {
+      Datum tmp = begin;
+      begin = end;
+      end = tmp;
+    }
+    return canMatch(EvalType.GEQ, stats, begin) && canMatch(EvalType.LEQ, stats, end);
+  }
+
+  private static boolean canMatchIn(InEval node, Zone zone) {
+    ColumnStats stats = getColumnStats(node.getLeftExpr(), zone);
+    if (stats == null || node.isNot() || !(node.getRightExpr() instanceof ValueSetEval)) {
+      return true;
+    }
+
+    for (Datum value : ((ValueSetEval) node.getRightExpr()).getValues()) {
+      if (canMatch(EvalType.EQUAL, stats, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean canMatchIsNull(IsNullEval node, Zone zone) {
+    ColumnStats stats = getColumnStats(node.getChild(), zone);
+    if (stats == null || stats.getNumNulls() == null) {
+      return true;
+    }
+    return node.isNot() ? stats.getNumNulls() < zone.getNumRows() : stats.getNumNulls() > 0;
+  }
+
+  /**
+   * @return The statistics of the column referred by a field, or null if the node is not a tracked column
+   */
+  private static ColumnStats getColumnStats(EvalNode node, Zone zone) {
+    if (node.getType() != EvalType.FIELD) {
+      return null;
+    }
+    return zone.getColumnStats(((FieldEval) node).getColumnRef().getSimpleName());
+  }
+
+  /**
+   * Check if any value in the range of the statistics can satisfy a comparison with a constant.
+   */
+  private static boolean canMatch(EvalType type, ColumnStats stats, Datum value) {
+    Datum min = stats.getMinValue();
+    Datum max = stats.getMaxValue();
+    if (min == null || max == null) {
+      // all values are null, so no comparison can be true
+      return false;
+    }
+    if (!isComparable(min, value)) {
+      return true;
+    }
+
+    switch (type) {
+    case EQUAL:
+      return min.compareTo(value) <= 0 && max.compareTo(value) >= 0;
+    case NOT_EQUAL:
+      return min.compareTo(value) != 0 || max.compareTo(value) != 0;
+    case LTH:
+      return min.compareTo(value) < 0;
+    case LEQ:
+      return min.compareTo(value) <= 0;
+    case GTH:
+      return max.compareTo(value) > 0;
+    case GEQ:
+      return max.compareTo(value) >= 0;
+    default:
+      return true;
+    }
+  }
+
+  private static boolean isComparable(Datum stat, Datum value) {
+    if (value.isNull()) {
+      return false;
+    }
+    return stat.kind() == value.kind() || (isNumeric(stat.kind()) && isNumeric(value.kind()));
+  }
+
+  private static boolean isNumeric(Type type) {
+    switch (type) {
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return filter.toString();
+  }
+}
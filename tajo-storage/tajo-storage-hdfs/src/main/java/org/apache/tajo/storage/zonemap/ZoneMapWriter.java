@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.zonemap;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.statistics.ColumnStats;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.StorageConstants;
+import org.apache.tajo.storage.Tuple;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ZoneMapWriter collects the statistics of columns for every zone of rows while a data file is written.
+ * An appender should call {@link #addTuple(long, Tuple)} with the offset of each row,
+ * and {@link #close(FileSystem, Path, long, long)} after the data file is closed.
+ *
+ * This class is not thread-safe.
+ */
+public class ZoneMapWriter {
+  private final Schema schema;
+  private final int zoneRows;
+  // the columns whose statistics are collected
+  private final boolean[] tracked;
+  // the bytes which a text serializer writes for null values. It is null if values are written as they are.
+  private byte[] textNullBytes;
+
+  private final List<Zone> zones = new ArrayList<>();
+  private long zoneStart = -1;
+  private long numRows;
+  private final Datum[] minValues;
+  private final Datum[] maxValues;
+  private final long[] numNulls;
+
+  /**
+   * @param schema The schema of the data file
+   * @param meta The table meta of the data file
+   * @param textual True if values are written as texts. Otherwise, values should be written as they are.
+   */
+  public ZoneMapWriter(Schema schema, TableMeta meta, boolean textual) {
+    this.schema = schema;
+    this.zoneRows = Integer.parseInt(meta.getProperty(StorageConstants.ZONEMAP_ROWS,
+        StorageConstants.DEFAULT_ZONEMAP_ROWS));
+    if (zoneRows <= 0) {
+      throw new IllegalArgumentException(StorageConstants.ZONEMAP_ROWS + " must be positive: " + zoneRows);
+    }
+
+    this.tracked = new boolean[schema.size()];
+    for (int i = 0; i < schema.size(); i++) {
+      tracked[i] = isSupported(schema.getColumn(i).getDataType().getType(), textual);
+    }
+    this.minValues = new Datum[schema.size()];
+    this.maxValues = new Datum[schema.size()];
+    this.numNulls = new long[schema.size()];
+  }
+
+  /**
+   * Some values are not read back as they are written. A text serializer truncates fractional seconds,
+   * and char values are padded.
+   */
+  private static boolean isSupported(Type type, boolean textual) {
+    switch (type) {
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+    case DATE:
+    case TEXT:
+      return true;
+    case TIME:
+    case TIMESTAMP:
+      return !textual;
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * A text serializer writes null texts as the null bytes, so a text equal to the null bytes is read as null,
+   * and a null text is read as an empty text if the null bytes are empty. The statistics of texts follow the values
+   * which are read back if the null bytes are given.
+   */
+  public void setTextNullBytes(byte[] textNullBytes) {
+    this.textNullBytes = textNullBytes;
+  }
+
+  /**
+   * @param offset The offset of the row in the data file
+   * @param tuple The row
+   */
+  public void addTuple(long offset, Tuple tuple) {
+    if (zoneStart < 0) {
+      zoneStart = offset;
+    } else if (numRows == zoneRows) {
+      finishZone(offset);
+      zoneStart = offset;
+    }
+
+    for (int i = 0; i < tracked.length; i++) {
+      if (tracked[i]) {
+        analyzeField(i, tuple);
+      }
+    }
+    numRows++;
+  }
+
+  private void analyzeField(int idx, Tuple tuple) {
+    Datum datum = tuple.isBlankOrNull(idx) ? null : tuple.asDatum(idx);
+
+    if (textNullBytes != null && schema.getColumn(idx).getDataType().getType() == Type.TEXT) {
+      if (datum == null) {
+        datum = textNullBytes.length == 0 ? DatumFactory.createText("") : null;
+      } else if (textNullBytes.length > 0 && Arrays.equals(datum.asTextBytes(), textNullBytes)) {
+        datum = null;
+      }
+    }
+
+    if (datum == null) {
+      numNulls[idx]++;
+      return;
+    }
+    if (datum.kind() != schema.getColumn(idx).getDataType().getType()) {
+      // a value of another type cannot be stored as the statistics of the column
+      tracked[idx] = false;
+      return;
+    }
+
+    if (maxValues[idx] == null || maxValues[idx].compareTo(datum) < 0) {
+      maxValues[idx] = datum;
+    }
+    if (minValues[idx] == null || minValues[idx].compareTo(datum) > 0) {
+      minValues[idx] = datum;
+    }
+  }
+
+  private void finishZone(long endOffset) {
+    TableStats stats = new TableStats();
+    stats.setNumRows(numRows);
+    stats.setNumBytes(endOffset - zoneStart);
+
+    for (int i = 0; i < tracked.length; i++) {
+      if (tracked[i]) {
+        Column column = schema.getColumn(i);
+        ColumnStats columnStats = new ColumnStats(column);
+        columnStats.setNumNulls(numNulls[i]);
+        columnStats.setMinValue(minValues[i]);
+        columnStats.setMaxValue(maxValues[i]);
+        stats.addColumnStat(columnStats);
+      }
+    }
+    zones.add(new Zone(zoneStart, endOffset, stats));
+
+    numRows = 0;
+    Arrays.fill(minValues, null);
+    Arrays.fill(maxValues, null);
+    Arrays.fill(numNulls, 0);
+  }
+
+  /**
+   * Write the zone map file of a data file.
+   *
+   * @param fs The file system of the data file
+   * @param dataFile The path of the data file
+   * @param fileLength The length of the closed data file
+   * @param endOffset The offset next to the last row
+   */
+  public void close(FileSystem fs, Path dataFile, long fileLength, long endOffset) throws IOException {
+    if (numRows > 0) {
+      finishZone(endOffset);
+    }
+    new ZoneMap(fileLength, zones).write(fs, dataFile);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TestFileFooterCache {
+
+  private static FileStatus newStatus(String path, long length, long modificationTime) {
+    return new FileStatus(length, false, 1, 1024, modificationTime, new Path(path));
+  }
+
+  private static FileFooterCache.Loader<String> newLoader(final String footer, final int size,
+                                                          final AtomicInteger loads) {
+    return new FileFooterCache.Loader<String>() {
+      @Override
+      public FileFooterCache.Footer<String> load() throws IOException {
+        loads.incrementAndGet();
+        return new FileFooterCache.Footer<>(footer, size);
+      }
+    };
+  }
+
+  @Test
+  public void testGet() throws IOException {
+    FileFooterCache cache = new FileFooterCache(1024 * 1024);
+    AtomicInteger loads = new AtomicInteger();
+
+    FileStatus file = newStatus("/table/file1", 100, 1);
+    assertEquals("footer1", cache.get("orc", file, newLoader("footer1", 10, loads)));
+    assertEquals("footer1", cache.get("orc", file, newLoader("footer2", 10, loads)));
+    assertEquals(1, loads.get());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(10, cache.getSize());
+
+    // a rewritten file is read again
+    assertEquals("footer2", cache.get("orc", newStatus("/table/file1", 100, 2), newLoader("footer2", 10, loads)));
+    assertEquals("footer3", cache.get("orc", newStatus("/table/file1", 200, 2), newLoader("footer3", 10, loads)));
+    assertEquals(3, loads.get());
+    assertEquals(3, cache.getMissCount());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.getEntryCount());
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testEviction() throws IOException {
+    FileFooterCache cache = new FileFooterCache(1000);
+    AtomicInteger loads = new AtomicInteger();
+
+    for (int i = 0; i < 100; i++) {
+      cache.get("parquet", newStatus("/table/file" + i, 100, 1), newLoader("footer" + i, 100, loads));
+    }
+    assertTrue(cache.getEvictionCount() > 0);
+    assertTrue(cache.getSize() <= 1000);
+    assertEquals(cache.getEntryCount() * 100, cache.getSize());
+  }
+
+  @Test(expected = IOException.class)
+  public void testLoadFailure() throws IOException {
+    FileFooterCache cache = new FileFooterCache(1000);
+    cache.get("orc", newStatus("/table/file", 100, 1), new FileFooterCache.Loader<String>() {
+      @Override
+      public FileFooterCache.Footer<String> load() throws IOException {
+        throw new IOException("Malformed ORC file");
+      }
+    });
+  }
+}
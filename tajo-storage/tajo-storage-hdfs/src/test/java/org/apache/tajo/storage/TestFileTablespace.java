@@ -21,6 +21,7 @@ package org.apache.tajo.storage;
 import com.google.common.collect.Lists;
 import net.minidev.json.JSONObject;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.*;
@@ -174,6 +175,112 @@ public class TestFileTablespace {
     }
   }
 
+  @Test(timeout = 120000)
+  public void testGetSplitsInInputOrder() throws Exception {
+    final Configuration hdfsConf = getTestHdfsConfiguration();
+    final MiniDFSCluster cluster = new MiniDFSCluster.Builder(hdfsConf)
+        .numDataNodes(1).format(true).build();
+
+    int partitionNum = 30;
+    int fileNum = 3;
+    Path tablePath = new Path("/testGetSplitsInInputOrder");
+    try {
+      DistributedFileSystem fs = cluster.getFileSystem();
+
+      // partitions are given in a different order from their names
+      List<Path> partitions = Lists.newArrayList();
+      for (int i = partitionNum - 1; i >= 0; i--) {
+        Path partition = new Path(tablePath, String.valueOf(i));
+        for (int j = 0; j < fileNum; j++) {
+          DFSTestUtil.createFile(fs, new Path(partition, "file" + j + ".dat"), 10, (short) 1, 0xDEADDEADl);
+        }
+        partitions.add(partition);
+      }
+
+      TajoConf tajoConf = new TajoConf(conf);
+      tajoConf.setIntVar(TajoConf.ConfVars.SPLIT_GENERATION_THREAD_NUM, 4);
+      FileTablespace space = new FileTablespace("testGetSplitsInInputOrder", fs.getUri(), null);
+      space.init(tajoConf);
+
+      Schema schema = SchemaBuilder.builder()
+          .add("id", Type.INT4)
+          .add("name", Type.TEXT)
+          .build();
+      TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.TEXT, conf);
+
+      List<Fragment> splits =
+          space.getSplits("data", meta, schema, true, partitions.toArray(new Path[partitions.size()]));
+      assertEquals(partitionNum * fileNum, splits.size());
+      for (int i = 0; i < splits.size(); i++) {
+        Path path = ((FileFragment) splits.get(i)).getPath();
+        assertEquals(partitions.get(i / fileNum).getName(), path.getParent().getName());
+        assertEquals("file" + (i % fileNum) + ".dat", path.getName());
+        assertEquals(1, splits.get(i).getHostNames().size());
+      }
+
+      space.close();
+      fs.close();
+    } finally {
+      cluster.shutdown();
+    }
+  }
+
+  @Test
+  public void testMetadataCache() throws Exception {
+    Path tablePath = StorageUtil.concatPath(testDir, "testMetadataCache");
+    for (int i = 0; i < 2; i++) {
+      writeFile(new Path(tablePath, "file" + i + ".dat"));
+    }
+    // a directory modified just now is not cached
+    long oldTime = System.currentTimeMillis() - 60 * 1000;
+    localFs.setTimes(tablePath, oldTime, oldTime);
+
+    FileTablespace space = TablespaceManager.getLocalFs();
+    FileMetadataCache cache = FileMetadataCache.get(conf, localFs);
+    assertNotNull(cache);
+
+    // file systems without reliable directory modification times are not cached
+    TajoConf objectStoreConf = new TajoConf(conf);
+    objectStoreConf.setVar(TajoConf.ConfVars.METADATA_CACHE_SCHEMES, "hdfs");
+    assertNull(FileMetadataCache.get(objectStoreConf, localFs));
+
+    Schema schema = SchemaBuilder.builder().add("id", Type.INT4).build();
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.TEXT, conf);
+
+    long hits = cache.getHitCount();
+    List<Fragment> splits = space.getSplits("t1", meta, schema, true, tablePath);
+    assertEquals(2, splits.size());
+    assertEquals(hits, cache.getHitCount());
+
+    // cached splits are given with the new table name
+    List<Fragment> cachedSplits = space.getSplits("t2", meta, schema, true, tablePath);
+    assertEquals(hits + 1, cache.getHitCount());
+    assertEquals(splits.size(), cachedSplits.size());
+    for (int i = 0; i < splits.size(); i++) {
+      assertEquals("t2", cachedSplits.get(i).getInputSourceId());
+      assertEquals(((FileFragment) splits.get(i)).getPath(), ((FileFragment) cachedSplits.get(i)).getPath());
+      assertEquals(splits.get(i).getLength(), cachedSplits.get(i).getLength());
+    }
+
+    // adding a file changes the modification time of the directory
+    writeFile(new Path(tablePath, "file2.dat"));
+    localFs.setTimes(tablePath, oldTime + 1000, oldTime + 1000);
+    assertEquals(3, space.getSplits("t1", meta, schema, true, tablePath).size());
+
+    // files removed without changing the modification time are found after the invalidation
+    localFs.delete(new Path(tablePath, "file2.dat"), false);
+    localFs.setTimes(tablePath, oldTime + 1000, oldTime + 1000);
+    assertEquals(3, space.getSplits("t1", meta, schema, true, tablePath).size());
+    space.invalidateMetadataCache(tablePath);
+    assertEquals(2, space.getSplits("t1", meta, schema, true, tablePath).size());
+  }
+
+  private void writeFile(Path path) throws IOException {
+    FSDataOutputStream out = localFs.create(path);
+    out.write("1\n2\n".getBytes());
+    out.close();
+  }
+
   @Test(timeout = 120000)
   public void testZeroLengthSplit() throws Exception {
     final Configuration hdfsConf = getTestHdfsConfiguration();
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TestReadAheadInputChannel {
+  private static String TEST_PATH = "target/test-data/TestReadAheadInputChannel";
+  private static final int FILE_SIZE = 100000;
+
+  private TajoConf conf;
+  private FileSystem fs;
+  private Path filePath;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws Exception {
+    conf = new TajoConf();
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+    fs = testDir.getFileSystem(conf);
+    filePath = new Path(testDir, "data.dat");
+
+    FSDataOutputStream out = fs.create(filePath, true);
+    for (int i = 0; i < FILE_SIZE; i++) {
+      out.write(valueAt(i));
+    }
+    out.close();
+
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    fs.delete(filePath, false);
+  }
+
+  private static byte valueAt(long pos) {
+    return (byte) (pos % 251);
+  }
+
+  private ReadAheadInputChannel open(long start, long limit) throws IOException {
+    FileInputStream inputStream = new FileInputStream(new File(filePath.toUri().getPath()));
+    return new ReadAheadInputChannel(new LocalFileInputChannel(inputStream), executor, 4096, 3, start, limit);
+  }
+
+  private static void assertRead(ReadAheadInputChannel channel, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    long pos = channel.position();
+    while (buffer.hasRemaining()) {
+      assertTrue(channel.read(buffer) > 0);
+    }
+    buffer.flip();
+    for (int i = 0; i < length; i++) {
+      assertEquals(valueAt(pos + i), buffer.get(i));
+    }
+    assertEquals(pos + length, channel.position());
+  }
+
+  @Test
+  public void testReadAcrossReadAheadRange() throws IOException {
+    // bytes before the start and after the limit are read directly
+    ReadAheadInputChannel channel = open(1000, 50000);
+    ByteBuffer buffer = ByteBuffer.allocate(777);
+
+    long pos = 0;
+    int readBytes;
+    while ((readBytes = channel.read(buffer)) >= 0) {
+      buffer.flip();
+      for (int i = 0; i < readBytes; i++) {
+        assertEquals(valueAt(pos + i), buffer.get(i));
+      }
+      pos += readBytes;
+      buffer.clear();
+    }
+    assertEquals(FILE_SIZE, pos);
+    assertEquals(FILE_SIZE, channel.position());
+    assertTrue(channel.getFetchedChunks() > 0);
+    channel.close();
+  }
+
+  @Test
+  public void testSeek() throws IOException {
+    ReadAheadInputChannel channel = open(0, FILE_SIZE);
+
+    assertRead(channel, 5000);
+    // within the current buffer
+    channel.seek(4500);
+    assertRead(channel, 100);
+    // out of the prefetched buffers
+    channel.seek(70000);
+    assertRead(channel, 10000);
+    channel.seek(10);
+    assertRead(channel, 20000);
+
+    channel.seek(FILE_SIZE - 10);
+    assertRead(channel, 10);
+    assertEquals(-1, channel.read(ByteBuffer.allocate(10)));
+    channel.close();
+  }
+
+  @Test
+  public void testSeekAndCloseWhileFetching() throws IOException {
+    FileInputStream inputStream = new FileInputStream(new File(filePath.toUri().getPath()));
+    SlowInputChannel slowChannel = new SlowInputChannel(new LocalFileInputChannel(inputStream));
+    ReadAheadInputChannel channel = new ReadAheadInputChannel(slowChannel, executor, 4096, 3, 0, FILE_SIZE);
+
+    assertRead(channel, 100);
+    // the following buffers are being fetched
+    channel.seek(60000);
+    assertEquals(0, slowChannel.inFlight.get());
+    assertRead(channel, 10000);
+
+    channel.seek(20000);
+    assertRead(channel, 5000);
+    channel.close();
+    assertEquals(0, slowChannel.inFlight.get());
+  }
+
+  /**
+   * A channel which reads slowly, and counts the reads in progress
+   */
+  private static class SlowInputChannel extends SeekableInputChannel {
+    private final SeekableInputChannel channel;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    SlowInputChannel(SeekableInputChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      inFlight.incrementAndGet();
+      try {
+        Thread.sleep(20);
+        return channel.read(dst);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    @Override
+    public void seek(long offset) throws IOException {
+      channel.seek(offset);
+    }
+
+    @Override
+    public long position() throws IOException {
+      return channel.position();
+    }
+
+    @Override
+    public long size() throws IOException {
+      return channel.size();
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.json;
+
+import com.google.common.collect.ImmutableMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.Bytes;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class TestJsonProjectionParser {
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  private static final String [] PATHS = {"id", "name", "score", "flag", "user/address/city", "user/age"};
+  private static final Map<String, Type> TYPES = ImmutableMap.<String, Type>builder()
+      .put("id", Type.INT8)
+      .put("name", Type.TEXT)
+      .put("score", Type.FLOAT8)
+      .put("flag", Type.BOOLEAN)
+      .put("user", Type.RECORD)
+      .put("user/address", Type.RECORD)
+      .put("user/address/city", Type.TEXT)
+      .put("user/age", Type.INT4)
+      .build();
+
+  private static ByteBuf buf(String line) {
+    return Unpooled.wrappedBuffer(line.getBytes(Bytes.UTF8_CHARSET));
+  }
+
+  private static JsonProjectionParser createParser() {
+    JsonProjectionParser parser = JsonProjectionParser.create(PATHS, TYPES, UTC);
+    assertNotNull(parser);
+    return parser;
+  }
+
+  @Test
+  public void testProjection() {
+    JsonProjectionParser parser = createParser();
+    Tuple tuple = new VTuple(PATHS.length);
+
+    String line = "{\"skip1\": [1, 2.5e3, {\"a\": \"x\"}, null], \"id\": 123, \"name\": \"tajo\", " +
+        "\"user\": {\"age\": 30, \"skip2\": {\"age\": 1}, \"address\": {\"city\": \"Seoul\"}}, \"score\": -1.5, " +
+        "\"flag\": true, \"skip3\": \"\\\"quoted\\\"\"}";
+    assertTrue(parser.parse(buf(line), tuple));
+    assertEquals(DatumFactory.createInt8(123), tuple.asDatum(0));
+    assertEquals(DatumFactory.createText("tajo"), tuple.asDatum(1));
+    assertEquals(DatumFactory.createFloat8(-1.5), tuple.asDatum(2));
+    assertEquals(DatumFactory.createBool(true), tuple.asDatum(3));
+    assertEquals(DatumFactory.createText("Seoul"), tuple.asDatum(4));
+    assertEquals(DatumFactory.createInt4(30), tuple.asDatum(5));
+
+    // missing fields and null values
+    assertTrue(parser.parse(buf("{\"id\": null, \"user\": {\"address\": null}}"), tuple));
+    for (int i = 0; i < PATHS.length; i++) {
+      assertEquals(NullDatum.get(), tuple.asDatum(i));
+    }
+  }
+
+  @Test
+  public void testValueConversion() {
+    JsonProjectionParser parser = createParser();
+    Tuple tuple = new VTuple(PATHS.length);
+
+    assertTrue(parser.parse(buf("{\"name\": \"a\\tb\\u00e9\\ud83d\\ude00\\/\", \"flag\": \"true\", \"score\": 7}"),
+        tuple));
+    assertEquals(DatumFactory.createText("a\tb\u00e9\ud83d\ude00/"), tuple.asDatum(1));
+    assertEquals(DatumFactory.createBool(true), tuple.asDatum(3));
+    assertEquals(DatumFactory.createFloat8(7), tuple.asDatum(2));
+
+    assertTrue(parser.parse(buf("{\"name\": \"\ud55c\uae00\", \"flag\": \"yes\", \"id\": -9223372036854775808}"),
+        tuple));
+    assertEquals(DatumFactory.createText("\ud55c\uae00"), tuple.asDatum(1));
+    assertEquals(DatumFactory.createBool(false), tuple.asDatum(3));
+    assertEquals(DatumFactory.createInt8(Long.MIN_VALUE), tuple.asDatum(0));
+
+    assertTrue(parser.parse(buf("{\"name\": false}"), tuple));
+    assertEquals(DatumFactory.createText("false"), tuple.asDatum(1));
+  }
+
+  @Test
+  public void testDuplicatedKeys() {
+    JsonProjectionParser parser = createParser();
+    Tuple tuple = new VTuple(PATHS.length);
+
+    // the last value wins
+    assertTrue(parser.parse(buf("{\"id\": 1, \"user\": {\"age\": 2}, \"id\": 3, \"user\": {\"address\": {}}}"), tuple));
+    assertEquals(DatumFactory.createInt8(3), tuple.asDatum(0));
+    assertEquals(NullDatum.get(), tuple.asDatum(5));
+  }
+
+  @Test
+  public void testFallback() {
+    JsonProjectionParser parser = createParser();
+    Tuple tuple = new VTuple(PATHS.length);
+
+    String [] lines = {
+        "",
+        "[1, 2]",
+        "{\"id\": 1,}",                         // useless comma
+        "{\"id\": 1} trailing",                 // trailing data
+        "{\"id\": 01}",                         // leading zero
+        "{\"id\": 1",                           // truncated
+        "{\"skip\": \"abc",                     // truncated string
+        "{'id': 1}",                            // single quotes
+        "{\"skip\": \"\\x\"}",                  // invalid escape
+        "{\"skip\": \"a\u0001b\"}",             // control character
+        "{\"id\": \"1\"}",                      // number in a string
+        "{\"id\": 1.5}",                        // fraction for an integer
+        "{\"id\": 9223372036854775808}",        // beyond long
+        "{\"name\": 1}",                        // number for a text
+        "{\"name\": {\"a\": 1}}",               // object for a text
+        "{\"name\": \"\\ud83d\"}",              // lone surrogate
+        "{\"user\": 1}",                        // number for a record
+        "{\"n\\u0061me\": \"tajo\"}",           // escaped key
+    };
+    for (String line : lines) {
+      assertFalse(line, parser.parse(buf(line), tuple));
+    }
+
+    // invalid UTF-8 in a skipped value
+    byte [] invalidUtf8 = {'{', '"', 's', '"', ':', '"', (byte) 0xc3, '"', '}'};
+    assertFalse(parser.parse(Unpooled.wrappedBuffer(invalidUtf8), tuple));
+  }
+
+  @Test
+  public void testUnsupportedProjection() {
+    // the same path twice
+    assertNull(JsonProjectionParser.create(new String[] {"id", "id"}, TYPES, UTC));
+    // a record as a leaf
+    assertNull(JsonProjectionParser.create(new String[] {"user"}, TYPES, UTC));
+    // unknown type
+    assertNull(JsonProjectionParser.create(new String[] {"unknown"}, TYPES, UTC));
+  }
+}
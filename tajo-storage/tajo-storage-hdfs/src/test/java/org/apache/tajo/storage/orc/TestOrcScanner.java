@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.orc;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaBuilder;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.tuple.vector.ColumnBatch;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestOrcScanner {
+  private static final int ROW_NUM = 100000;
+
+  private TajoConf conf;
+  private Path testDir;
+  private FileSystem fs;
+  private Schema schema;
+  private TableMeta meta;
+  private FileFragment fragment;
+
+  @Before
+  public void setUp() throws IOException {
+    conf = new TajoConf();
+    testDir = CommonTestingUtil.getTestDir("target/test-data/TestOrcScanner");
+    fs = testDir.getFileSystem(conf);
+
+    schema = SchemaBuilder.builder()
+        .add("id", Type.INT4)
+        .add("name", Type.TEXT)
+        .build();
+    meta = CatalogUtil.newTableMeta(BuiltinStorages.ORC, conf);
+
+    // ids are sorted, so each row group of 10000 rows has a disjoint range of ids
+    Path tablePath = new Path(testDir, "sorted.orc");
+    Appender appender = TablespaceManager.getLocalFs().getAppender(meta, schema, tablePath);
+    appender.init();
+    VTuple tuple = new VTuple(2);
+    for (int i = 0; i < ROW_NUM; i++) {
+      tuple.put(0, DatumFactory.createInt4(i));
+      tuple.put(1, DatumFactory.createText("name_" + i));
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileStatus status = fs.getFileStatus(tablePath);
+    fragment = new FileFragment("sorted", tablePath, 0, status.getLen());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    fs.delete(testDir, true);
+  }
+
+  private static EvalNode field(String name, Type type) {
+    return new FieldEval(new Column(name, type));
+  }
+
+  private static EvalNode constant(Datum datum) {
+    return new ConstEval(datum);
+  }
+
+  private Scanner createScanner(EvalNode filter) throws IOException {
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, fragment, schema);
+    assertTrue(scanner.isSelectable());
+    scanner.setFilter(filter);
+    filter.bind(new EvalContext(), schema);
+    scanner.init();
+    return scanner;
+  }
+
+  @Test
+  public void testRowGroupSkipping() throws IOException {
+    EvalNode filter = new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(DatumFactory.createInt4(95000)));
+    Scanner scanner = createScanner(filter);
+
+    int count = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertTrue(tuple.getInt4(0) >= 95000);
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(5000, count);
+    // only the last row group is read
+    assertEquals(10000, scanner.getInputStats().getNumRows().longValue());
+  }
+
+  @Test
+  public void testStripeSkipping() throws IOException {
+    // (0 > id) OR (name = 'unknown')
+    EvalNode filter = new BinaryEval(EvalType.OR,
+        new BinaryEval(EvalType.GTH, constant(DatumFactory.createInt4(0)), field("id", Type.INT4)),
+        new BinaryEval(EvalType.EQUAL, field("name", Type.TEXT), constant(DatumFactory.createText("unknown"))));
+    Scanner scanner = createScanner(filter);
+
+    assertNull(scanner.next());
+    scanner.close();
+
+    assertEquals(0, scanner.getInputStats().getNumRows().longValue());
+    assertTrue(scanner.getInputStats().getSkippedBytes() > 0);
+  }
+
+  @Test
+  public void testUntranslatableFilter() throws IOException {
+    // id BETWEEN 100 AND 199 AND name LIKE '%5'
+    EvalNode filter = new BinaryEval(EvalType.AND,
+        new BetweenPredicateEval(false, false, field("id", Type.INT4),
+            constant(DatumFactory.createInt4(100)), constant(DatumFactory.createInt4(199))),
+        new LikePredicateEval(false, field("name", Type.TEXT), new ConstEval(DatumFactory.createText("%5")), false));
+    Scanner scanner = createScanner(filter);
+
+    int count = 0;
+    while (scanner.next() != null) {
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(10, count);
+    assertEquals(10000, scanner.getInputStats().getNumRows().longValue());
+  }
+
+  @Test
+  public void testBloomFilter() throws IOException {
+    TableMeta bloomMeta = CatalogUtil.newTableMeta(BuiltinStorages.ORC, conf);
+    bloomMeta.putProperty("orc.bloom.filter.columns", "id");
+
+    // ids are shuffled, so the statistics of every row group cover almost all ids
+    Path tablePath = new Path(testDir, "shuffled.orc");
+    Appender appender = TablespaceManager.getLocalFs().getAppender(bloomMeta, schema, tablePath);
+    appender.init();
+    VTuple tuple = new VTuple(2);
+    for (int i = 0; i < ROW_NUM; i++) {
+      int id = (int) ((i * 7919L) % ROW_NUM);
+      tuple.put(0, DatumFactory.createInt4(id));
+      tuple.put(1, DatumFactory.createText("name_" + id));
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileFragment shuffled = new FileFragment("shuffled", tablePath, 0, fs.getFileStatus(tablePath).getLen());
+    // id IN (7919, 57919), which are in the first and the sixth row groups
+    EvalNode filter = new InEval(field("id", Type.INT4), new RowConstantEval(
+        new Datum[] {DatumFactory.createInt4(7919), DatumFactory.createInt4(57919)}), false);
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(bloomMeta, schema, shuffled, schema);
+    scanner.setFilter(filter);
+    filter.bind(new EvalContext(), schema);
+    scanner.init();
+
+    int count = 0;
+    Tuple result;
+    while ((result = scanner.next()) != null) {
+      assertTrue(result.getInt4(0) == 7919 || result.getInt4(0) == 57919);
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(2, count);
+    long readRows = scanner.getInputStats().getNumRows();
+    assertTrue(readRows >= 20000 && readRows < ROW_NUM);
+  }
+
+  @Test
+  public void testVectorizedRead() throws IOException {
+    Schema allTypes = SchemaBuilder.builder()
+        .add("col_bool", Type.BOOLEAN)
+        .add("col_int2", Type.INT2)
+        .add("col_int4", Type.INT4)
+        .add("col_int8", Type.INT8)
+        .add("col_float4", Type.FLOAT4)
+        .add("col_float8", Type.FLOAT8)
+        .add("col_date", Type.DATE)
+        .add("col_timestamp", Type.TIMESTAMP)
+        .add("col_dict_text", Type.TEXT)
+        .add("col_direct_text", Type.TEXT)
+        .add("col_blob", Type.BLOB)
+        .build();
+
+    Path tablePath = new Path(testDir, "all_types.orc");
+    Appender appender = TablespaceManager.getLocalFs().getAppender(meta, allTypes, tablePath);
+    appender.init();
+    VTuple tuple = new VTuple(allTypes.size());
+    for (int i = 0; i < ROW_NUM; i++) {
+      if (i % 7 == 0) {
+        for (int j = 0; j < allTypes.size(); j++) {
+          tuple.put(j, NullDatum.get());
+        }
+      } else {
+        tuple.put(0, DatumFactory.createBool(i % 2 == 0));
+        tuple.put(1, DatumFactory.createInt2((short) i));
+        tuple.put(2, DatumFactory.createInt4(i));
+        tuple.put(3, DatumFactory.createInt8((long) i * i));
+        tuple.put(4, DatumFactory.createFloat4(i / 3.0f));
+        tuple.put(5, DatumFactory.createFloat8(i / 3.0));
+        tuple.put(6, DatumFactory.createDate(2457000 + i % 1000));
+        tuple.put(7, DatumFactory.createTimestampDatumWithJavaMillis(1420070400000L + i * 1000L));
+        // low cardinality values are dictionary-encoded, and high cardinality ones are direct-encoded
+        tuple.put(8, DatumFactory.createText("text_" + (i % 100)));
+        tuple.put(9, DatumFactory.createText("text_" + i));
+        tuple.put(10, DatumFactory.createBlob(("blob_" + i).getBytes()));
+      }
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileFragment allTypesFragment = new FileFragment("all_types", tablePath, 0, fs.getFileStatus(tablePath).getLen());
+    TableMeta rowMeta = CatalogUtil.newTableMeta(BuiltinStorages.ORC, conf);
+    rowMeta.putProperty(StorageConstants.ORC_VECTORIZED_READ, "false");
+
+    Scanner rowScanner = TablespaceManager.getLocalFs().getScanner(rowMeta, allTypes, allTypesFragment, allTypes);
+    rowScanner.init();
+    assertFalse(((ColumnBatchScanner) rowScanner).isColumnBatchSupported());
+
+    Scanner vectorizedScanner = TablespaceManager.getLocalFs().getScanner(meta, allTypes, allTypesFragment, allTypes);
+    vectorizedScanner.init();
+    assertTrue(((ColumnBatchScanner) vectorizedScanner).isColumnBatchSupported());
+
+    int count = 0;
+    Tuple expected;
+    while ((expected = rowScanner.next()) != null) {
+      Tuple actual = vectorizedScanner.next();
+      assertNotNull(actual);
+      assertArrayEquals(expected.getValues(), actual.getValues());
+      count++;
+    }
+    assertNull(vectorizedScanner.next());
+    assertEquals(ROW_NUM, count);
+
+    rowScanner.close();
+    vectorizedScanner.close();
+  }
+
+  @Test
+  public void testNextBatch() throws IOException {
+    EvalNode filter = new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(DatumFactory.createInt4(95000)));
+    ColumnBatchScanner scanner = (ColumnBatchScanner) createScanner(filter);
+    assertTrue(scanner.isColumnBatchSupported());
+
+    int count = 0;
+    ColumnBatch batch;
+    while ((batch = scanner.nextBatch()) != null) {
+      assertTrue(batch.isSelectedInUse());
+      for (int i = 0; i < batch.size(); i++) {
+        Tuple row = batch.getRow(batch.getRowId(i));
+        assertTrue(row.getInt4(0) >= 95000);
+        assertEquals("name_" + row.getInt4(0), row.getText(1));
+        count++;
+      }
+    }
+    scanner.close();
+
+    assertEquals(5000, count);
+    assertEquals(10000, scanner.getInputStats().getNumRows().longValue());
+  }
+}
@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.parquet;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.hadoop.ParquetOutputFormat;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaBuilder;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.tuple.vector.ColumnBatch;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestParquetScanner {
+  private static final int ROW_NUM = 100000;
+
+  private TajoConf conf;
+  private Path testDir;
+  private FileSystem fs;
+  private Schema schema;
+  private TableMeta meta;
+  private FileFragment fragment;
+
+  @Before
+  public void setUp() throws IOException {
+    conf = new TajoConf();
+    testDir = CommonTestingUtil.getTestDir("target/test-data/TestParquetScanner");
+    fs = testDir.getFileSystem(conf);
+
+    schema = SchemaBuilder.builder()
+        .add("id", Type.INT4)
+        .add("code", Type.INT8)
+        .add("name", Type.TEXT)
+        .build();
+    meta = CatalogUtil.newTableMeta(BuiltinStorages.PARQUET, conf);
+    // small row groups to get many row groups
+    meta.putProperty(ParquetOutputFormat.BLOCK_SIZE, Integer.toString(64 * 1024));
+
+    // ids are sorted, so each row group has a disjoint range of ids.
+    // codes are only 0 or 10, so every row group has the same min and max codes.
+    Path tablePath = new Path(testDir, "sorted.parquet");
+    Appender appender = TablespaceManager.getLocalFs().getAppender(meta, schema, tablePath);
+    appender.init();
+    VTuple tuple = new VTuple(3);
+    for (int i = 0; i < ROW_NUM; i++) {
+      tuple.put(0, DatumFactory.createInt4(i));
+      tuple.put(1, DatumFactory.createInt8(i % 2 == 0 ? 0 : 10));
+      tuple.put(2, DatumFactory.createText("name_" + i));
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileStatus status = fs.getFileStatus(tablePath);
+    fragment = new FileFragment("sorted", tablePath, 0, status.getLen());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    fs.delete(testDir, true);
+  }
+
+  private static EvalNode field(String name, Type type) {
+    return new FieldEval(new Column(name, type));
+  }
+
+  private static EvalNode constant(Datum datum) {
+    return new ConstEval(datum);
+  }
+
+  private Scanner createScanner(EvalNode filter) throws IOException {
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, fragment, schema);
+    assertTrue(scanner.isSelectable());
+    scanner.setFilter(filter);
+    filter.bind(new EvalContext(), schema);
+    scanner.init();
+    return scanner;
+  }
+
+  @Test
+  public void testStatisticsFilter() throws IOException {
+    EvalNode filter = new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(DatumFactory.createInt4(95000)));
+    Scanner scanner = createScanner(filter);
+
+    int count = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertTrue(tuple.getInt4(0) >= 95000);
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(5000, count);
+    assertTrue(scanner.getInputStats().getSkippedBytes() > 0);
+  }
+
+  @Test
+  public void testDictionaryFilter() throws IOException {
+    // statistics cannot drop any row group because 5 is between the min and the max codes
+    EvalNode filter = new BinaryEval(EvalType.EQUAL, field("code", Type.INT8), constant(DatumFactory.createInt8(5)));
+    Scanner scanner = createScanner(filter);
+
+    assertNull(scanner.next());
+    scanner.close();
+
+    assertTrue(scanner.getInputStats().getSkippedBytes() > 0);
+  }
+
+  @Test
+  public void testBloomFilter() throws IOException {
+    TableMeta bloomMeta = CatalogUtil.newTableMeta(BuiltinStorages.PARQUET, conf);
+    bloomMeta.putProperty(ParquetOutputFormat.BLOCK_SIZE, Integer.toString(64 * 1024));
+    // dictionaries would drop row groups without bloom filters
+    bloomMeta.putProperty(ParquetOutputFormat.ENABLE_DICTIONARY, "false");
+    bloomMeta.putProperty(StorageConstants.PARQUET_BLOOM_FILTER_COLUMNS, "id,name");
+
+    // ids are shuffled, so the statistics of every row group cover almost all ids
+    Path tablePath = new Path(testDir, "shuffled.parquet");
+    Appender appender = TablespaceManager.getLocalFs().getAppender(bloomMeta, schema, tablePath);
+    appender.init();
+    VTuple tuple = new VTuple(3);
+    for (int i = 0; i < ROW_NUM; i++) {
+      int id = (int) ((i * 7919L) % ROW_NUM);
+      tuple.put(0, DatumFactory.createInt4(id));
+      tuple.put(1, DatumFactory.createInt8(i % 2 == 0 ? 0 : 10));
+      tuple.put(2, DatumFactory.createText("name_" + id));
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileFragment shuffled = new FileFragment("shuffled", tablePath, 0, fs.getFileStatus(tablePath).getLen());
+    EvalNode[] filters = new EvalNode[] {
+        new BinaryEval(EvalType.EQUAL, field("id", Type.INT4), constant(DatumFactory.createInt4(7919))),
+        new InEval(field("name", Type.TEXT), new RowConstantEval(
+            new Datum[] {DatumFactory.createText("name_7919"), DatumFactory.createText("unknown")}), false)
+    };
+
+    for (EvalNode filter : filters) {
+      Scanner scanner = TablespaceManager.getLocalFs().getScanner(bloomMeta, schema, shuffled, schema);
+      scanner.setFilter(filter);
+      filter.bind(new EvalContext(), schema);
+      scanner.init();
+
+      Tuple result = scanner.next();
+      assertNotNull(result);
+      assertEquals(7919, result.getInt4(0));
+      assertNull(scanner.next());
+      scanner.close();
+
+      assertTrue(scanner.getInputStats().getSkippedBytes() > 0);
+    }
+  }
+
+  @Test
+  public void testRecordFilter() throws IOException {
+    // 10 > id OR code IN (5, 7)
+    EvalNode filter = new BinaryEval(EvalType.OR,
+        new BinaryEval(EvalType.GTH, constant(DatumFactory.createInt4(10)), field("id", Type.INT4)),
+        new InEval(field("code", Type.INT8),
+            new RowConstantEval(new Datum[] {DatumFactory.createInt8(5), DatumFactory.createInt8(7)}), false));
+    Scanner scanner = createScanner(filter);
+
+    int count = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertTrue(tuple.getInt4(0) < 10);
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(10, count);
+  }
+
+  @Test
+  public void testUntranslatableFilter() throws IOException {
+    // id BETWEEN 100 AND 199 AND name LIKE '%5'
+    EvalNode filter = new BinaryEval(EvalType.AND,
+        new BetweenPredicateEval(false, false, field("id", Type.INT4),
+            constant(DatumFactory.createInt4(100)), constant(DatumFactory.createInt4(199))),
+        new LikePredicateEval(false, field("name", Type.TEXT), new ConstEval(DatumFactory.createText("%5")), false));
+    Scanner scanner = createScanner(filter);
+
+    int count = 0;
+    while (scanner.next() != null) {
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(10, count);
+    assertTrue(scanner.getInputStats().getSkippedBytes() > 0);
+  }
+
+  @Test
+  public void testConvertFilter() {
+    TajoFilterConverter converter = new TajoFilterConverter(schema);
+
+    // NOT (name LIKE '%5') cannot be relaxed
+    assertNull(converter.convert(new NotEval(
+        new LikePredicateEval(false, field("name", Type.TEXT), new ConstEval(DatumFactory.createText("%5")), false))));
+    // text ranges are not converted because of the signed order of binary statistics
+    assertNull(converter.convert(
+        new BinaryEval(EvalType.LTH, field("name", Type.TEXT), constant(DatumFactory.createText("a")))));
+    assertNotNull(converter.convert(
+        new BinaryEval(EvalType.EQUAL, field("name", Type.TEXT), constant(DatumFactory.createText("a")))));
+    // int4 columns cannot be compared with out-of-range constants
+    assertNull(converter.convert(
+        new BinaryEval(EvalType.LTH, field("id", Type.INT4), constant(DatumFactory.createInt8(Long.MAX_VALUE)))));
+  }
+
+  @Test
+  public void testVectorizedRead() throws IOException {
+    Schema allTypes = SchemaBuilder.builder()
+        .add("col_bool", Type.BOOLEAN)
+        .add("col_int2", Type.INT2)
+        .add("col_int4", Type.INT4)
+        .add("col_int8", Type.INT8)
+        .add("col_float4", Type.FLOAT4)
+        .add("col_float8", Type.FLOAT8)
+        .add("col_date", Type.DATE)
+        .add("col_text", Type.TEXT)
+        .add("col_blob", Type.BLOB)
+        .build();
+
+    Path tablePath = new Path(testDir, "all_types.parquet");
+    Appender appender = TablespaceManager.getLocalFs().getAppender(meta, allTypes, tablePath);
+    appender.init();
+    VTuple tuple = new VTuple(allTypes.size());
+    for (int i = 0; i < ROW_NUM; i++) {
+      if (i % 7 == 0) {
+        for (int j = 0; j < allTypes.size(); j++) {
+          tuple.put(j, NullDatum.get());
+        }
+      } else {
+        tuple.put(0, DatumFactory.createBool(i % 2 == 0));
+        tuple.put(1, DatumFactory.createInt2((short) i));
+        tuple.put(2, DatumFactory.createInt4(i));
+        tuple.put(3, DatumFactory.createInt8((long) i * i));
+        tuple.put(4, DatumFactory.createFloat4(i / 3.0f));
+        tuple.put(5, DatumFactory.createFloat8(i / 3.0));
+        tuple.put(6, DatumFactory.createDate(2457000 + i % 1000));
+        // low cardinality values are dictionary-encoded, and high cardinality ones fall back to plain encoding
+        tuple.put(7, DatumFactory.createText("text_" + (i % 100)));
+        tuple.put(8, DatumFactory.createBlob(("blob_" + i).getBytes()));
+      }
+      appender.addTuple(tuple);
+    }
+    appender.close();
+
+    FileFragment allTypesFragment = new FileFragment("all_types", tablePath, 0, fs.getFileStatus(tablePath).getLen());
+    TableMeta recordMeta = CatalogUtil.newTableMeta(BuiltinStorages.PARQUET, conf);
+    recordMeta.putProperty(StorageConstants.PARQUET_VECTORIZED_READ, "false");
+
+    Scanner recordScanner = TablespaceManager.getLocalFs().getScanner(recordMeta, allTypes, allTypesFragment, allTypes);
+    recordScanner.init();
+    assertFalse(((ColumnBatchScanner) recordScanner).isColumnBatchSupported());
+
+    Scanner vectorizedScanner = TablespaceManager.getLocalFs().getScanner(meta, allTypes, allTypesFragment, allTypes);
+    vectorizedScanner.init();
+    assertTrue(((ColumnBatchScanner) vectorizedScanner).isColumnBatchSupported());
+
+    int count = 0;
+    Tuple expected;
+    while ((expected = recordScanner.next()) != null) {
+      Tuple actual = vectorizedScanner.next();
+      assertNotNull(actual);
+      assertArrayEquals(expected.getValues(), actual.getValues());
+      count++;
+    }
+    assertNull(vectorizedScanner.next());
+    assertEquals(ROW_NUM, count);
+
+    recordScanner.close();
+    vectorizedScanner.close();
+  }
+
+  @Test
+  public void testUnsupportedEncoding() throws IOException {
+    // the version 2 writer encodes non-dictionary values in DELTA_* encodings, which cannot be read into vectors
+    Path tablePath = new Path(testDir, "delta.parquet");
+    ParquetWriter<Tuple> writer = new ParquetWriter<Tuple>(tablePath, new TajoWriteSupport(schema),
+        CompressionCodecName.UNCOMPRESSED, ParquetWriter.DEFAULT_BLOCK_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE,
+        ParquetWriter.DEFAULT_PAGE_SIZE, false, false, WriterVersion.PARQUET_2_0, conf);
+    VTuple tuple = new VTuple(3);
+    for (int i = 0; i < ROW_NUM; i++) {
+      tuple.put(0, DatumFactory.createInt4(i));
+      tuple.put(1, DatumFactory.createInt8(i % 2 == 0 ? 0 : 10));
+      tuple.put(2, DatumFactory.createText("name_" + i));
+      writer.write(tuple);
+    }
+    writer.close();
+
+    FileFragment delta = new FileFragment("delta", tablePath, 0, fs.getFileStatus(tablePath).getLen());
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, delta, schema);
+    scanner.init();
+    assertFalse(((ColumnBatchScanner) scanner).isColumnBatchSupported());
+
+    int count = 0;
+    Tuple actual;
+    while ((actual = scanner.next()) != null) {
+      assertEquals(count, actual.getInt4(0));
+      assertEquals(count % 2 == 0 ? 0 : 10, actual.getInt8(1));
+      assertEquals("name_" + count, actual.getText(2));
+      count++;
+    }
+    scanner.close();
+
+    assertEquals(ROW_NUM, count);
+  }
+
+  @Test
+  public void testNextBatch() throws IOException {
+    EvalNode filter = new BinaryEval(EvalType.LTH, field("id", Type.INT4), constant(DatumFactory.createInt4(1500)));
+    ColumnBatchScanner scanner = (ColumnBatchScanner) createScanner(filter);
+    assertTrue(scanner.isColumnBatchSupported());
+
+    int count = 0;
+    ColumnBatch batch;
+    while ((batch = scanner.nextBatch()) != null) {
+      assertTrue(batch.isSelectedInUse());
+      for (int i = 0; i < batch.size(); i++) {
+        assertEquals(count, batch.getRow(batch.getRowId(i)).getInt4(0));
+        count++;
+      }
+    }
+    scanner.close();
+
+    assertEquals(1500, count);
+    assertTrue(scanner.getInputStats().getSkippedBytes() > 0);
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.raw;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaBuilder;
+import org.apache.tajo.catalog.SchemaUtil;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.StorageConstants;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.rawfile.ColumnarRawFileScanner;
+import org.apache.tajo.storage.rawfile.ColumnarRawFileWriter;
+import org.apache.tajo.tuple.memory.MemoryRowBlock;
+import org.apache.tajo.tuple.memory.RowWriter;
+import org.apache.tajo.unit.StorageUnit;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestColumnarRawFile {
+  private static final String TEST_PATH = "target/test-data/TestColumnarRawFile";
+
+  private TajoConf conf;
+  private Path testDir;
+
+  @Before
+  public void setUp() throws IOException {
+    conf = new TajoConf();
+    testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    CommonTestingUtil.cleanupTestDir(TEST_PATH);
+  }
+
+  private TableMeta createMeta(String codec) {
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.CRAW, conf);
+    meta.putProperty(StorageConstants.CRAW_COMPRESSION_CODEC, codec);
+    return meta;
+  }
+
+  private ColumnarRawFileScanner openScanner(Schema schema, TableMeta meta, Path path, long start, long length)
+      throws IOException {
+    FileFragment fragment = new FileFragment("test", path, start, length);
+    ColumnarRawFileScanner scanner = new ColumnarRawFileScanner(conf, schema, meta, fragment);
+    scanner.init();
+    return scanner;
+  }
+
+  @Test
+  public void testRWForAllTypes() throws IOException {
+    int rowNum = 10000;
+    TableMeta meta = createMeta("snappy");
+    Path path = new Path(testDir, "all_types.craw");
+
+    MemoryRowBlock rowBlock = TestDirectRawFile.createRowBlock(rowNum);
+    ColumnarRawFileWriter writer = new ColumnarRawFileWriter(conf, null, TestDirectRawFile.schema, meta, path);
+    writer.enableStats();
+    writer.init();
+    writer.writeRowBlock(rowBlock);
+    writer.writeRowBlock(rowBlock);
+    writer.close();
+    rowBlock.release();
+
+    assertEquals(rowNum * 2, writer.getStats().getNumRows().longValue());
+    long fileLength = FileSystem.getLocal(conf).getFileStatus(path).getLen();
+    assertEquals(fileLength, writer.getStats().getNumBytes().longValue());
+
+    ColumnarRawFileScanner scanner = openScanner(TestDirectRawFile.schema, meta, path, 0, fileLength);
+    int j = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      TestDirectRawFile.validateTupleResult(j % rowNum, tuple);
+      j++;
+    }
+    assertEquals(rowNum * 2, j);
+    assertNull(scanner.next());
+
+    scanner.reset();
+    j = 0;
+    while (scanner.next() != null) {
+      j++;
+    }
+    assertEquals(rowNum * 2, j);
+    scanner.close();
+  }
+
+  @Test
+  public void testNullValues() throws IOException {
+    int rowNum = 1000;
+    TableMeta meta = createMeta("none");
+    Path path = new Path(testDir, "nulls.craw");
+
+    MemoryRowBlock rowBlock = new MemoryRowBlock(SchemaUtil.toDataTypes(TestDirectRawFile.schema));
+    for (int i = 0; i < rowNum; i++) {
+      TestDirectRawFile.fillRowBlockWithNull(i, rowBlock.getWriter());
+    }
+    ColumnarRawFileWriter writer = new ColumnarRawFileWriter(conf, null, TestDirectRawFile.schema, meta, path);
+    writer.init();
+    writer.writeRowBlock(rowBlock);
+    writer.close();
+    rowBlock.release();
+
+    long fileLength = FileSystem.getLocal(conf).getFileStatus(path).getLen();
+    ColumnarRawFileScanner scanner = openScanner(TestDirectRawFile.schema, meta, path, 0, fileLength);
+    int j = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      TestDirectRawFile.validateNullity(j, tuple);
+      j++;
+    }
+    assertEquals(rowNum, j);
+    scanner.close();
+  }
+
+  @Test
+  public void testLowCardinalityColumns() throws IOException {
+    Schema schema = SchemaBuilder.builder()
+        .add("id", Type.INT4)
+        .add("flag", Type.INT4)
+        .add("category", Type.TEXT)
+        .build();
+    int rowNum = 10000;
+
+    MemoryRowBlock rowBlock = new MemoryRowBlock(SchemaUtil.toDataTypes(schema), StorageUnit.KB * 128);
+    RowWriter rowWriter = rowBlock.getWriter();
+    for (int i = 0; i < rowNum; i++) {
+      rowWriter.startRow();
+      rowWriter.putInt4(i);
+      rowWriter.putInt4(i / 1000);
+      rowWriter.putText(("category_" + (i % 7)).getBytes());
+      rowWriter.endRow();
+    }
+    int rowBlockLength = rowBlock.usedMem();
+
+    // without compression, only RLE and dictionary encodings make the file smaller
+    TableMeta meta = createMeta("none");
+    Path path = new Path(testDir, "low_cardinality.craw");
+    ColumnarRawFileWriter writer = new ColumnarRawFileWriter(conf, null, schema, meta, path);
+    writer.init();
+    writer.writeRowBlock(rowBlock);
+    writer.close();
+    rowBlock.release();
+
+    long fileLength = FileSystem.getLocal(conf).getFileStatus(path).getLen();
+    assertTrue(fileLength + " should be less than half of " + rowBlockLength, fileLength * 2 < rowBlockLength);
+
+    ColumnarRawFileScanner scanner = openScanner(schema, meta, path, 0, fileLength);
+    int j = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertEquals(j, tuple.getInt4(0));
+      assertEquals(j / 1000, tuple.getInt4(1));
+      assertEquals("category_" + (j % 7), tuple.getText(2));
+      j++;
+    }
+    assertEquals(rowNum, j);
+    scanner.close();
+  }
+
+  @Test
+  public void testAddTupleAndReadPages() throws IOException {
+    Schema schema = SchemaBuilder.builder()
+        .add("id", Type.INT8)
+        .add("name", Type.TEXT)
+        .build();
+    int rowNum = 50000;
+    TableMeta meta = createMeta("snappy");
+    Path path = new Path(testDir, "add_tuple.craw");
+
+    ColumnarRawFileWriter writer = new ColumnarRawFileWriter(conf, null, schema, meta, path);
+    writer.init();
+    VTuple tuple = new VTuple(2);
+    long firstPageEnd = -1;
+    int firstPageRows = -1;
+    for (int i = 0; i < rowNum; i++) {
+      tuple.put(0, DatumFactory.createInt8(i));
+      tuple.put(1, i % 10 == 0 ? NullDatum.get() : DatumFactory.createText("name_" + i));
+      writer.addTuple(tuple);
+
+      if (firstPageEnd < 0 && i == rowNum / 2) {
+        writer.flush();
+        firstPageEnd = writer.getOffset();
+        firstPageRows = i + 1;
+      }
+    }
+    writer.close();
+
+    // each page ends at a block boundary, so it can be read by itself
+    long fileLength = FileSystem.getLocal(conf).getFileStatus(path).getLen();
+    ColumnarRawFileScanner scanner = openScanner(schema, meta, path, firstPageEnd, fileLength - firstPageEnd);
+    int j = firstPageRows;
+    Tuple t;
+    while ((t = scanner.next()) != null) {
+      assertEquals(j, t.getInt8(0));
+      if (j % 10 == 0) {
+        assertTrue(t.isBlankOrNull(1));
+      } else {
+        assertEquals("name_" + j, t.getText(1));
+      }
+      j++;
+    }
+    assertEquals(rowNum, j);
+    scanner.close();
+
+    scanner = openScanner(schema, meta, path, 0, firstPageEnd);
+    j = 0;
+    while (scanner.next() != null) {
+      j++;
+    }
+    assertEquals(firstPageRows, j);
+    scanner.close();
+  }
+}
@@ -262,6 +262,141 @@ public class TestDirectRawFile {
     reader.close();
   }
 
+  @Test
+  public void testScanWithSmallMappedWindows() throws IOException {
+    int rowNum = 1000;
+
+    MemoryRowBlock rowBlock = createRowBlock(rowNum);
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.DRAW, tajoConf);
+    FileStatus outputFile = writeRowBlock(tajoConf, meta, rowBlock);
+    rowBlock.release();
+
+    // a window smaller than a row makes rows span windows, and the window is enlarged
+    TajoConf conf = new TajoConf(tajoConf);
+    conf.setInt(DirectRawFileScanner.MMAP_WINDOW_SIZE, 16);
+
+    FileFragment fragment =
+        new FileFragment("testScanWithSmallMappedWindows", outputFile.getPath(), 0, outputFile.getLen());
+    DirectRawFileScanner reader = new DirectRawFileScanner(conf, schema, meta, fragment);
+    reader.init();
+
+    for (int i = 0; i < 2; i++) {
+      int j = 0;
+      Tuple tuple;
+      while ((tuple = reader.next()) != null) {
+        validateTupleResult(j, tuple);
+        j++;
+      }
+      assertEquals(rowNum, j);
+      assertEquals(outputFile.getLen(), reader.getNextOffset());
+      reader.reset();
+    }
+    reader.close();
+  }
+
+  @Test
+  public void testSeekWithMmap() throws IOException {
+    int rowNum = 1000;
+
+    MemoryRowBlock rowBlock = createRowBlock(rowNum);
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.DRAW, tajoConf);
+    FileStatus outputFile = writeRowBlock(tajoConf, meta, rowBlock);
+    rowBlock.release();
+
+    TajoConf conf = new TajoConf(tajoConf);
+    conf.setInt(DirectRawFileScanner.MMAP_WINDOW_SIZE, 1024);
+
+    FileFragment fragment =
+        new FileFragment("testSeekWithMmap", outputFile.getPath(), 0, outputFile.getLen());
+    DirectRawFileScanner reader = new DirectRawFileScanner(conf, schema, meta, fragment);
+    reader.init();
+    // no window is mapped yet
+    assertEquals(0, reader.getNextOffset());
+
+    long[] offsets = new long[rowNum];
+    for (int i = 0; i < rowNum; i++) {
+      offsets[i] = reader.getNextOffset();
+      assertNotNull(reader.next());
+    }
+    assertNull(reader.next());
+    reader.close();
+
+    // the BST index seeks a new scanner to the offsets of rows
+    reader = new DirectRawFileScanner(conf, schema, meta, fragment);
+    reader.init();
+    for (int i : new int[] {rowNum / 2, 0, rowNum - 1}) {
+      reader.seek(offsets[i]);
+      assertEquals(offsets[i], reader.getNextOffset());
+      validateTupleResult(i, reader.next());
+      assertEquals(i + 1 < rowNum ? offsets[i + 1] : outputFile.getLen(), reader.getNextOffset());
+    }
+    reader.close();
+  }
+
+  @Test
+  public void testScanWithoutMmap() throws IOException {
+    int rowNum = 1000;
+
+    MemoryRowBlock rowBlock = createRowBlock(rowNum);
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.DRAW, tajoConf);
+    FileStatus outputFile = writeRowBlock(tajoConf, meta, rowBlock);
+    rowBlock.release();
+
+    // files larger than the max file size are read through buffered reads
+    TajoConf conf = new TajoConf(tajoConf);
+    conf.setLong(DirectRawFileScanner.MMAP_MAX_FILE_SIZE, 1);
+
+    FileFragment fragment =
+        new FileFragment("testScanWithoutMmap", outputFile.getPath(), 0, outputFile.getLen());
+    DirectRawFileScanner reader = new DirectRawFileScanner(conf, schema, meta, fragment);
+    reader.init();
+
+    int j = 0;
+    Tuple tuple;
+    while ((tuple = reader.next()) != null) {
+      validateTupleResult(j, tuple);
+      j++;
+    }
+    assertEquals(rowNum, j);
+    reader.close();
+  }
+
+  @Test
+  public void testNextRowBlockWithMmap() throws IOException {
+    int rowNum = 10;
+
+    MemoryRowBlock rowBlock = createRowBlock(rowNum);
+    TableMeta meta = CatalogUtil.newTableMeta(BuiltinStorages.DRAW, tajoConf);
+    FileStatus outputFile = writeRowBlock(tajoConf, meta, rowBlock);
+
+    FileFragment fragment =
+        new FileFragment("testNextRowBlockWithMmap", outputFile.getPath(), 0, outputFile.getLen());
+    DirectRawFileScanner reader = new DirectRawFileScanner(tajoConf, schema, meta, fragment);
+    reader.init();
+
+    // there is no channel to copy rows from in the mapped mode, which is used only for local files
+    if (isLocal) {
+      rowBlock.clear();
+      try {
+        reader.next(rowBlock);
+        fail();
+      } catch (IOException e) {
+        assertTrue(e.getMessage(), e.getMessage().contains(DirectRawFileScanner.MMAP_ENABLED));
+      }
+    }
+    rowBlock.release();
+
+    // the scanner can still read rows through the mapped windows
+    int j = 0;
+    Tuple tuple;
+    while ((tuple = reader.next()) != null) {
+      validateTupleResult(j, tuple);
+      j++;
+    }
+    assertEquals(rowNum, j);
+    reader.close();
+  }
+
   public static MemoryRowBlock createRowBlock(int rowNum) {
     long allocateStart = System.currentTimeMillis();
     MemoryRowBlock rowBlock = new MemoryRowBlock(SchemaUtil.toDataTypes(schema), StorageUnit.KB * 128);
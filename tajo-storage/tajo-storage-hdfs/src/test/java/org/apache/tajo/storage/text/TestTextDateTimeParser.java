@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.text;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.util.Bytes;
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestTextDateTimeParser {
+
+  private static ByteBuf buf(String str) {
+    // a slice of a larger array, so that the field does not start at the beginning of the array
+    byte[] bytes = ("||" + str + "||").getBytes(Bytes.UTF8_CHARSET);
+    return Unpooled.wrappedBuffer(bytes, 2, bytes.length - 4);
+  }
+
+  @Test
+  public void testDate() {
+    for (String str : new String[] {"2015-01-01", "1970-12-31", "2016-02-29", "0001-01-01", "9999-12-31"}) {
+      assertEquals(str, DatumFactory.createDate(str).asInt4(), TextDateTimeParser.parseDate(buf(str)));
+    }
+
+    for (String str : new String[] {"2015-1-01", "2015-13-01", "2015-02-29", "2015/01/01", "2015-01-01 ", "20150101"}) {
+      assertEquals(str, TextDateTimeParser.INVALID, TextDateTimeParser.parseDate(buf(str)));
+    }
+  }
+
+  @Test
+  public void testTime() {
+    for (String str : new String[] {"00:00:00", "10:11:12", "23:59:59", "10:11:12.5", "10:11:12.123456"}) {
+      assertEquals(str, DatumFactory.createTime(str).asInt8(), TextDateTimeParser.parseTime(buf(str)));
+    }
+
+    for (String str : new String[] {"24:00:00", "10:60:00", "10:11", "10:11:12.", "10:11:12.1234567", "1:11:12"}) {
+      assertEquals(str, TextDateTimeParser.INVALID, TextDateTimeParser.parseTime(buf(str)));
+    }
+  }
+
+  @Test
+  public void testTimestamp() {
+    String [] timestamps = {
+        "2015-01-01 00:00:00", "1980-04-01 01:50:30.01", "2016-03-27 02:30:00", "2016-10-30 02:30:00.123456"
+    };
+    for (String tzId : new String[] {"UTC", "Asia/Seoul", "Europe/Berlin", "America/Los_Angeles"}) {
+      TimeZone tz = TimeZone.getTimeZone(tzId);
+      for (String str : timestamps) {
+        assertEquals(tzId + " " + str, DatumFactory.createTimestamp(str, tz).asInt8(),
+            TextDateTimeParser.parseTimestamp(buf(str), tz));
+      }
+    }
+
+    TimeZone tz = TimeZone.getTimeZone("UTC");
+    for (String str : new String[] {"2015-01-01T00:00:00", "2015-01-01 00:00:00+09", "2015-01-01", "2015-01-01 1:00:00"}) {
+      assertEquals(str, TextDateTimeParser.INVALID, TextDateTimeParser.parseTimestamp(buf(str), tz));
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.text;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaBuilder;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestTextFieldSerializerDeserializer {
+  private static final ByteBuf NULL_CHARS = Unpooled.wrappedBuffer("\\N".getBytes(Bytes.UTF8_CHARSET));
+
+  private TextFieldSerializerDeserializer serde;
+
+  @Before
+  public void setUp() {
+    Schema schema = SchemaBuilder.builder().add("col1", Type.FLOAT4).build();
+    serde = new TextFieldSerializerDeserializer(CatalogUtil.newTableMeta(BuiltinStorages.TEXT, new TajoConf()));
+    serde.init(schema);
+  }
+
+  private Datum roundTrip(float value) throws IOException {
+    VTuple tuple = new VTuple(1);
+    tuple.put(0, DatumFactory.createFloat4(value));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serde.serialize(0, tuple, out, NULL_CHARS.array());
+    return serde.deserialize(0, Unpooled.wrappedBuffer(out.toByteArray()), NULL_CHARS);
+  }
+
+  @Test
+  public void testFloat4RoundTrip() throws IOException {
+    for (float value : new float[] {0.0f, -0.0f, 1.1f, -3.14f, Float.MIN_VALUE, Float.MAX_VALUE,
+        Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY}) {
+      assertEquals(Float.floatToIntBits(value), Float.floatToIntBits(roundTrip(value).asFloat4()));
+    }
+  }
+
+  @Test
+  public void testFloat4Parsing() throws IOException {
+    // the nearest double of the first value is halfway between two floats, so rounding it again to a float
+    // gives the larger one while the nearest float is the smaller one
+    for (String str : new String[] {"1.00000017881393432617187499", "NaN", "Infinity", "-Infinity", "1e-45"}) {
+      Datum datum = serde.deserialize(0, Unpooled.wrappedBuffer(str.getBytes(Bytes.UTF8_CHARSET)), NULL_CHARS);
+      assertEquals(str, Float.floatToIntBits(Float.parseFloat(str)), Float.floatToIntBits(datum.asFloat4()));
+    }
+  }
+}
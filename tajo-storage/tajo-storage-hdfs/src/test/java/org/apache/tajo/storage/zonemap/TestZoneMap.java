@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.zonemap;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.BuiltinStorages;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SchemaBuilder;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestZoneMap {
+  private static final int ROW_NUM = 10000;
+  private static final int ZONE_ROWS = 1000;
+
+  private TajoConf conf;
+  private Path testDir;
+  private FileSystem fs;
+  private Schema schema;
+
+  @Before
+  public void setUp() throws IOException {
+    conf = new TajoConf();
+    testDir = CommonTestingUtil.getTestDir("target/test-data/TestZoneMap");
+    fs = testDir.getFileSystem(conf);
+
+    schema = SchemaBuilder.builder()
+        .add("id", Type.INT4)
+        .add("name", Type.TEXT)
+        .build();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    fs.delete(testDir, true);
+  }
+
+  private TableMeta createMeta(String storeType) {
+    TableMeta meta = CatalogUtil.newTableMeta(storeType, conf);
+    meta.putProperty(StorageConstants.ZONEMAP_ENABLED, "true");
+    meta.putProperty(StorageConstants.ZONEMAP_ROWS, String.valueOf(ZONE_ROWS));
+    // otherwise, a null text is read back as an empty string from a text file
+    meta.putProperty(StorageConstants.TEXT_NULL, "\\N");
+    return meta;
+  }
+
+  /**
+   * Writes a file of sorted ids. Every 7th name is null.
+   */
+  private Path writeFile(TableMeta meta, Path path, int startId, int rowNum) throws IOException {
+    Appender appender = TablespaceManager.getLocalFs().getAppender(meta, schema, path);
+    appender.init();
+    VTuple tuple = new VTuple(2);
+    for (int i = startId; i < startId + rowNum; i++) {
+      tuple.put(0, DatumFactory.createInt4(i));
+      tuple.put(1, i % 7 == 0 ? DatumFactory.createNullDatum() : DatumFactory.createText("name_" + i));
+      appender.addTuple(tuple);
+    }
+    appender.close();
+    return path;
+  }
+
+  private static EvalNode field(String name, Type type) {
+    return new FieldEval(new Column(name, type));
+  }
+
+  private static EvalNode constant(int value) {
+    return new ConstEval(DatumFactory.createInt4(value));
+  }
+
+  private int scan(TableMeta meta, Path path, long start, long length, EvalNode filter) throws IOException {
+    FileFragment fragment = new FileFragment("t", path, start, length);
+    Scanner scanner = TablespaceManager.getLocalFs().getScanner(meta, schema, fragment, schema);
+    assertTrue(scanner.isSelectable());
+    scanner.setFilter(filter);
+    filter.bind(new EvalContext(), schema);
+    scanner.init();
+
+    int count = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      assertTrue(filter.evalBool(tuple));
+      count++;
+    }
+    scanner.close();
+    return count;
+  }
+
+  private void testZoneSkipping(String storeType) throws IOException {
+    TableMeta meta = createMeta(storeType);
+    Path path = writeFile(meta, new Path(testDir, "data"), 0, ROW_NUM);
+    FileStatus status = fs.getFileStatus(path);
+
+    assertTrue(fs.exists(ZoneMap.getZoneMapPath(path)));
+    ZoneMap zoneMap = ZoneMap.read(fs, path);
+    assertNotNull(zoneMap);
+    assertEquals(status.getLen(), zoneMap.getFileLength());
+    assertEquals(ROW_NUM / ZONE_ROWS, zoneMap.getZones().size());
+
+    Zone first = zoneMap.getZones().get(0);
+    assertEquals(ZONE_ROWS, first.getNumRows());
+    assertEquals(0, first.getColumnStats("id").getMinValue().asInt4());
+    assertEquals(ZONE_ROWS - 1, first.getColumnStats("id").getMaxValue().asInt4());
+    assertEquals(ZONE_ROWS / 7 + 1, first.getColumnStats("name").getNumNulls().longValue());
+
+    // rows in the middle and at the end of the file
+    EvalNode filter = new BinaryEval(EvalType.AND,
+        new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(4500)),
+        new BinaryEval(EvalType.LTH, field("id", Type.INT4), constant(5500)));
+    assertEquals(1000, scan(meta, path, 0, status.getLen(), filter));
+
+    filter = new BinaryEval(EvalType.OR,
+        new BinaryEval(EvalType.LTH, field("id", Type.INT4), constant(10)),
+        new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(ROW_NUM - 10)));
+    assertEquals(20, scan(meta, path, 0, status.getLen(), filter));
+
+    // no zone matches
+    filter = new BinaryEval(EvalType.GTH, field("id", Type.INT4), constant(ROW_NUM));
+    assertEquals(0, scan(meta, path, 0, status.getLen(), filter));
+  }
+
+  @Test
+  public void testTextZoneSkipping() throws IOException {
+    testZoneSkipping(BuiltinStorages.TEXT);
+  }
+
+  @Test
+  public void testJsonZoneSkipping() throws IOException {
+    testZoneSkipping(BuiltinStorages.JSON);
+  }
+
+  @Test
+  public void testRawZoneSkipping() throws IOException {
+    testZoneSkipping(BuiltinStorages.RAW);
+  }
+
+  @Test
+  public void testTextSplitBoundary() throws IOException {
+    TableMeta meta = createMeta(BuiltinStorages.TEXT);
+    Path path = writeFile(meta, new Path(testDir, "data"), 0, ROW_NUM);
+    long length = fs.getFileStatus(path).getLen();
+
+    // a line crossing the boundary of two fragments is read by the former one
+    EvalNode filter = new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(0));
+    long half = length / 2;
+    assertEquals(ROW_NUM, scan(meta, path, 0, half, filter) + scan(meta, path, half, length - half, filter));
+
+    filter = new BinaryEval(EvalType.LTH, field("id", Type.INT4), constant(100));
+    assertEquals(100, scan(meta, path, 0, half, filter));
+    assertEquals(0, scan(meta, path, half, length - half, filter));
+  }
+
+  @Test
+  public void testSplitPruning() throws IOException {
+    TableMeta meta = createMeta(BuiltinStorages.TEXT);
+    Path tableDir = new Path(testDir, "table");
+    writeFile(meta, new Path(tableDir, "part-0-00000"), 0, ROW_NUM);
+    writeFile(meta, new Path(tableDir, "part-0-00001"), ROW_NUM, ROW_NUM);
+
+    FileTablespace space = TablespaceManager.getLocalFs();
+    // zone map files are not listed as data files
+    assertEquals(2, space.getSplits("t", meta, schema, false, tableDir).size());
+
+    EvalNode filter = new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(ROW_NUM + 10));
+    List<Fragment> splits = space.getSplits("t", meta, schema, false, filter, tableDir);
+    assertEquals(1, splits.size());
+    assertEquals("part-0-00001", ((FileFragment) splits.get(0)).getPath().getName());
+
+    filter = new BinaryEval(EvalType.LTH, field("id", Type.INT4), constant(0));
+    assertEquals(0, space.getSplits("t", meta, schema, false, filter, tableDir).size());
+
+    // both files have null names
+    filter = new IsNullEval(false, field("name", Type.TEXT));
+    assertEquals(2, space.getSplits("t", meta, schema, false, filter, tableDir).size());
+  }
+
+  @Test
+  public void testStaleZoneMap() throws IOException {
+    TableMeta meta = createMeta(BuiltinStorages.TEXT);
+    Path path = writeFile(meta, new Path(testDir, "data"), 0, ROW_NUM);
+    assertNotNull(ZoneMap.read(fs, path));
+
+    // rewrite the data file without its zone map
+    TableMeta plainMeta = CatalogUtil.newTableMeta(BuiltinStorages.TEXT, conf);
+    fs.delete(path, false);
+    writeFile(plainMeta, path, ROW_NUM, ROW_NUM / 2);
+    assertTrue(fs.exists(ZoneMap.getZoneMapPath(path)));
+    assertNull(ZoneMap.read(fs, path));
+
+    // the stale zone map must not prune any row
+    EvalNode filter = new BinaryEval(EvalType.GEQ, field("id", Type.INT4), constant(ROW_NUM));
+    assertEquals(ROW_NUM / 2, scan(meta, path, 0, fs.getFileStatus(path).getLen(), filter));
+  }
+}
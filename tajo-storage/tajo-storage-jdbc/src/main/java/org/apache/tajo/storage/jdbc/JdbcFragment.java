@@ -22,22 +22,52 @@ import org.apache.tajo.TajoConstants;
 import org.apache.tajo.storage.fragment.BuiltinFragmentKinds;
 import org.apache.tajo.storage.fragment.Fragment;
 
+import javax.annotation.Nullable;
 import java.net.URI;
 import java.util.List;
 
 /**
  * Fragment for the systems which connects to Tajo via the JDBC interface.
+ *
+ * A fragment may cover a range of the split column. Its start key is inclusive and its end key is exclusive.
+ * A null key means that the range is unbounded on the side. A date key is the number of days since the epoch,
+ * and a timestamp key is the milliseconds since the epoch. Rows whose split column is null belong to the fragment
+ * which has no start key.
  */
 public class JdbcFragment extends Fragment<Long> {
+  private String splitColumn;
 
-  // TODO: set start and end keys properly
   public JdbcFragment(String inputSourceId, URI uri) {
     super(BuiltinFragmentKinds.JDBC, uri, inputSourceId, null, null, TajoConstants.UNKNOWN_LENGTH, extractHosts(uri));
   }
 
+  public JdbcFragment(String inputSourceId, URI uri, String splitColumn, @Nullable Long startKey,
+                      @Nullable Long endKey) {
+    super(BuiltinFragmentKinds.JDBC, uri, inputSourceId, startKey, endKey, TajoConstants.UNKNOWN_LENGTH,
+        extractHosts(uri));
+    this.splitColumn = splitColumn;
+  }
+
   public JdbcFragment(String inputSourceId, URI uri, List<String> hostNames) {
-    super(BuiltinFragmentKinds.JDBC, uri, inputSourceId, null, null, TajoConstants.UNKNOWN_LENGTH,
+    this(inputSourceId, uri, hostNames, null, null, null);
+  }
+
+  public JdbcFragment(String inputSourceId, URI uri, List<String> hostNames, @Nullable String splitColumn,
+                      @Nullable Long startKey, @Nullable Long endKey) {
+    super(BuiltinFragmentKinds.JDBC, uri, inputSourceId, startKey, endKey, TajoConstants.UNKNOWN_LENGTH,
         hostNames.toArray(new String[hostNames.size()]));
+    this.splitColumn = splitColumn;
+  }
+
+  /**
+   * @return True if this fragment covers a range of the split column rather than the whole table
+   */
+  public boolean hasRange() {
+    return splitColumn != null;
+  }
+
+  public String getSplitColumn() {
+    return splitColumn;
   }
 
   private static String[] extractHosts(URI uri) {
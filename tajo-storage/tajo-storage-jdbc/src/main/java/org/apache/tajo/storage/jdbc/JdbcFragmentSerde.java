@@ -33,15 +33,28 @@ public class JdbcFragmentSerde implements FragmentSerde<JdbcFragment, JdbcFragme
 
   @Override
   public JdbcFragmentProto serialize(JdbcFragment fragment) {
-    return JdbcFragmentProto.newBuilder()
+    JdbcFragmentProto.Builder builder = JdbcFragmentProto.newBuilder()
         .setInputSourceId(fragment.getInputSourceId())
         .setUri(fragment.getUri().toASCIIString())
-        .addAllHosts(fragment.getHostNames())
-        .build();
+        .addAllHosts(fragment.getHostNames());
+
+    if (fragment.hasRange()) {
+      builder.setSplitColumn(fragment.getSplitColumn());
+      if (fragment.getStartKey() != null) {
+        builder.setStartKey(fragment.getStartKey());
+      }
+      if (fragment.getEndKey() != null) {
+        builder.setEndKey(fragment.getEndKey());
+      }
+    }
+    return builder.build();
   }
 
   @Override
   public JdbcFragment deserialize(JdbcFragmentProto proto) {
-    return new JdbcFragment(proto.getInputSourceId(), URI.create(proto.getUri()), proto.getHostsList());
+    return new JdbcFragment(proto.getInputSourceId(), URI.create(proto.getUri()), proto.getHostsList(),
+        proto.hasSplitColumn() ? proto.getSplitColumn() : null,
+        proto.hasStartKey() ? proto.getStartKey() : null,
+        proto.hasEndKey() ? proto.getEndKey() : null);
   }
 }
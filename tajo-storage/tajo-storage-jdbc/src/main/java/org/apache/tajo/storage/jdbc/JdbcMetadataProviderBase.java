@@ -37,10 +37,12 @@ import org.apache.tajo.util.Pair;
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.sql.*;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.TimeZone;
 
 import static org.apache.tajo.catalog.CatalogUtil.newSimpleDataType;
 
@@ -253,5 +255,58 @@ public abstract class JdbcMetadataProviderBase implements MetadataProvider {
     }
   }
 
+  /**
+   * Returns the primary key column of a table, which is used to split the table by default.
+   *
+   * @param schemaName The schema name
+   * @param tableName The table name
+   * @return The column name if the table has a single-column primary key. Otherwise, null.
+   */
+  public @Nullable String getPrimaryKeyColumn(@Nullable String schemaName, String tableName) {
+    List<String> keyColumns = Lists.newArrayList();
+    try (ResultSet res = connection.getMetaData().getPrimaryKeys(databaseName, schemaName, tableName)) {
+      while (res.next()) {
+        keyColumns.add(res.getString("COLUMN_NAME"));
+      }
+    } catch (SQLException e) {
+      throw new TajoInternalError(e);
+    }
+
+    return keyColumns.size() == 1 ? keyColumns.get(0) : null;
+  }
+
+  /**
+   * Returns the minimum and maximum values of a column, which are used to split a table into ranges.
+   * A date value is given as the number of days since the epoch, and a timestamp value is given as the milliseconds
+   * since the epoch.
+   *
+   * @param tableName The table name
+   * @param column The integer, date, or timestamp column
+   * @return A pair of MIN and MAX values, or null if the column has no value
+   */
+  public @Nullable Pair<Long, Long> getColumnRange(String tableName, Column column) {
+    String sql = "SELECT MIN(" + column.getSimpleName() + "), MAX(" + column.getSimpleName() + ") FROM " + tableName;
+
+    try (Statement stmt = connection.createStatement();
+         ResultSet res = stmt.executeQuery(sql)) {
+      if (!res.next() || res.getObject(1) == null) {
+        return null;
+      }
+
+      switch (column.getDataType().getType()) {
+      case DATE:
+        return new Pair<>(res.getDate(1).toLocalDate().toEpochDay(), res.getDate(2).toLocalDate().toEpochDay());
+      case TIMESTAMP:
+        // timestamps are read as UTC, so the keys do not depend on the default time zone of the JVM
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        return new Pair<>(res.getTimestamp(1, utc).getTime(), res.getTimestamp(2, utc).getTime());
+      default:
+        return new Pair<>(res.getLong(1), res.getLong(2));
+      }
+    } catch (SQLException e) {
+      throw new TajoInternalError(e);
+    }
+  }
+
   protected abstract String getJdbcDriverName();
 }
@@ -26,6 +26,7 @@ import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.datum.TimeDatum;
 import org.apache.tajo.exception.TajoInternalError;
 import org.apache.tajo.exception.TajoRuntimeException;
@@ -60,6 +61,7 @@ public abstract class JdbcScanner implements Scanner {
   protected Column [] targets;
   protected EvalNode filter;
   protected Long limit;
+  protected int fetchSize = JdbcTablespace.DEFAULT_FETCH_SIZE;
   protected LogicalNode planPart;
   protected VTuple outTuple;
   protected String generatedSql;
@@ -104,11 +106,32 @@ public abstract class JdbcScanner implements Scanner {
     }
     outTuple = new VTuple(targets.length);
 
+    String rangeQual = null;
+    if (fragment.hasRange()) {
+      rangeQual = builder.generateRangePredicate(getSplitColumn(), fragment.getStartKey(), fragment.getEndKey());
+    }
+
     if (planPart == null) {
-      generatedSql = builder.build(tableName, targets, filter, limit);
+      generatedSql = builder.build(tableName, targets, filter, rangeQual, limit);
     } else {
-      generatedSql = builder.build(planPart);
+      generatedSql = builder.build(tableName, planPart, rangeQual);
+    }
+  }
+
+  private Column getSplitColumn() {
+    for (Column column : schema.getRootColumns()) {
+      if (column.getSimpleName().equalsIgnoreCase(fragment.getSplitColumn())) {
+        return column;
+      }
     }
+    throw new TajoInternalError("No such split column: " + fragment.getSplitColumn());
+  }
+
+  /**
+   * Sets the number of rows fetched at a time, so that rows are streamed instead of being buffered in the driver.
+   */
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
   }
 
   @Override
@@ -138,6 +161,10 @@ public abstract class JdbcScanner implements Scanner {
     }
   }
 
+  /**
+   * Pushes down the operators which {@link SQLBuilder#isPushable(LogicalNode)} accepts. Then, the scanner returns
+   * tuples in the output schema of the plan part, so the output schema should be given as the targets.
+   */
   @Override
   public void pushOperators(LogicalNode planPart) {
     this.planPart = planPart;
@@ -220,35 +247,54 @@ public abstract class JdbcScanner implements Scanner {
           tuple.put(column_idx, DatumFactory.createFloat8(resultSet.getDouble(resultIdx)));
           break;
         case CHAR:
-          tuple.put(column_idx, DatumFactory.createText(resultSet.getString(resultIdx)));
+          final String chars = resultSet.getString(resultIdx);
+          if (chars != null) {
+            tuple.put(column_idx, DatumFactory.createText(chars));
+          }
           break;
         case VARCHAR:
         case TEXT:
           // TODO - trim is unnecessary in many cases, so we can use it for certain cases
-          tuple.put(column_idx, DatumFactory.createText(resultSet.getString(resultIdx).trim()));
+          final String text = resultSet.getString(resultIdx);
+          if (text != null) {
+            tuple.put(column_idx, DatumFactory.createText(text.trim()));
+          }
           break;
         case DATE:
           final Date date = resultSet.getDate(resultIdx);
-          tuple.put(column_idx, DatumFactory.createDate(1900 + date.getYear(), 1 + date.getMonth(), date.getDate()));
+          if (date != null) {
+            tuple.put(column_idx, DatumFactory.createDate(1900 + date.getYear(), 1 + date.getMonth(), date.getDate()));
+          }
           break;
         case TIME:
           final Time time = resultSet.getTime(resultIdx);
-          tuple.put(column_idx, new TimeDatum(
-              DateTimeUtil.toTime(time.getHours(), time.getMinutes(), time.getSeconds(), 0)));
+          if (time != null) {
+            tuple.put(column_idx, new TimeDatum(
+                DateTimeUtil.toTime(time.getHours(), time.getMinutes(), time.getSeconds(), 0)));
+          }
           break;
         case TIMESTAMP:
-          tuple.put(column_idx,
-              DatumFactory.createTimestampDatumWithJavaMillis(resultSet.getTimestamp(resultIdx).getTime()));
+          final Timestamp timestamp = resultSet.getTimestamp(resultIdx);
+          if (timestamp != null) {
+            tuple.put(column_idx, DatumFactory.createTimestampDatumWithJavaMillis(timestamp.getTime()));
+          }
           break;
         case BINARY:
         case VARBINARY:
         case BLOB:
-          tuple.put(column_idx,
-              DatumFactory.createBlob(resultSet.getBytes(resultIdx)));
+          final byte [] bytes = resultSet.getBytes(resultIdx);
+          if (bytes != null) {
+            tuple.put(column_idx, DatumFactory.createBlob(bytes));
+          }
           break;
         default:
           throw new TajoInternalError(new UnsupportedDataTypeException(c.getDataType().getType().name()));
         }
+
+        // e.g., the sum of a group whose values are all null
+        if (resultSet.wasNull()) {
+          tuple.put(column_idx, NullDatum.get());
+        }
       }
     } catch (SQLException s) {
       throw new TajoInternalError(s);
@@ -259,7 +305,10 @@ public abstract class JdbcScanner implements Scanner {
     try {
       LOG.info("Generated SQL: " + generatedSql);
       Connection conn = DriverManager.getConnection(fragment.getUri().toASCIIString(), connProperties);
-      Statement statement = conn.createStatement();
+      // Some drivers, such as PostgreSQL, fetch rows by a cursor only if auto-commit is off.
+      conn.setAutoCommit(false);
+      Statement statement = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
       ResultSet resultset = statement.executeQuery(generatedSql);
       return new ResultSetIterator((resultset));
     } catch (SQLException s) {
@@ -324,7 +373,13 @@ public abstract class JdbcScanner implements Scanner {
     @Override
     public void close() throws IOException {
       try {
+        Statement statement = resultSet.getStatement();
         resultSet.close();
+        if (statement != null) {
+          Connection conn = statement.getConnection();
+          statement.close();
+          conn.close();
+        }
       } catch (SQLException e) {
         LOG.warn(e);
       }
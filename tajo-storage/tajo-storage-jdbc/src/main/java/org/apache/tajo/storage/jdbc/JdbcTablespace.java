@@ -18,6 +18,7 @@
 
 package org.apache.tajo.storage.jdbc;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import net.minidev.json.JSONObject;
@@ -27,6 +28,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.OverridableConf;
 import org.apache.tajo.catalog.*;
+import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.exception.NotImplementedException;
 import org.apache.tajo.exception.TajoInternalError;
 import org.apache.tajo.exception.TajoRuntimeException;
@@ -36,10 +38,12 @@ import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.plan.logical.LogicalNode;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.util.Pair;
 import org.apache.tajo.util.UriUtil;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.URI;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -67,17 +71,43 @@ public abstract class JdbcTablespace extends Tablespace {
    * optional configuration
    */
   public static final String CONFIG_KEY_CONN_PROPERTIES = "connection_properties";
+  /**
+   * optional configuration: the number of rows fetched from a database at a time
+   */
+  public static final String CONFIG_KEY_FETCH_SIZE = "fetch_size";
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+  /**
+   * optional configuration: the number of splits of a table which has a split column
+   */
+  public static final String CONFIG_KEY_SPLIT_NUM = "split_num";
+  public static final int DEFAULT_SPLIT_NUM = 8;
+
+  /**
+   * table properties to split a table by the value range of an integer, date, or timestamp column.
+   * If no split column is given, the single-column primary key of the table is used.
+   */
+  public static final String SPLIT_COLUMN = "jdbc.split.column";
+  public static final String SPLIT_NUM = "jdbc.split.num";
 
   public static final String URI_PARAM_KEY_TABLE = "table";
 
   protected Connection conn;
   protected String database;
   protected Properties connProperties = new Properties();
+  protected int fetchSize;
+  protected int splitNum;
+
+  // metadata provider to get split columns and their ranges. It is created on demand.
+  private MetadataProvider splitMetadataProvider;
 
   public JdbcTablespace(String name, URI uri, JSONObject config) {
     super(name, uri, config);
     setDatabase();
     setJdbcProperties();
+    fetchSize = config.containsKey(CONFIG_KEY_FETCH_SIZE) ?
+        Integer.parseInt(config.getAsString(CONFIG_KEY_FETCH_SIZE)) : DEFAULT_FETCH_SIZE;
+    splitNum = config.containsKey(CONFIG_KEY_SPLIT_NUM) ?
+        Integer.parseInt(config.getAsString(CONFIG_KEY_SPLIT_NUM)) : DEFAULT_SPLIT_NUM;
   }
 
   private void setDatabase() {
@@ -124,9 +154,95 @@ public abstract class JdbcTablespace extends Tablespace {
                                   TableDesc tableDesc,
                                   boolean requireSorted,
                                   @Nullable EvalNode filterCondition) throws IOException {
+    int num = Integer.parseInt(tableDesc.getMeta().getProperty(SPLIT_NUM, String.valueOf(splitNum)));
+    JdbcMetadataProviderBase provider = getSplitMetadataProvider();
+    Column splitColumn = num > 1 && provider != null ? getSplitColumn(provider, tableDesc) : null;
+
+    if (splitColumn != null) {
+      String tableName = ConnectionInfo.fromURI(tableDesc.getUri()).tableName;
+      Pair<Long, Long> range = provider.getColumnRange(tableName, splitColumn);
+      if (range != null) {
+        return splitRange(inputSourceId, tableDesc.getUri(), splitColumn.getSimpleName(),
+            range.getFirst(), range.getSecond(), num);
+      }
+    }
+
     return Lists.newArrayList((Fragment)new JdbcFragment(inputSourceId, tableDesc.getUri()));
   }
 
+  /**
+   * Finds the column to split a table. It is given by the table property, or it is the primary key of the table.
+   *
+   * @return The split column, or null if the table cannot be split
+   */
+  private @Nullable Column getSplitColumn(JdbcMetadataProviderBase provider, TableDesc tableDesc) {
+    String columnName = tableDesc.getMeta().getProperty(SPLIT_COLUMN);
+    if (columnName == null) {
+      columnName = provider.getPrimaryKeyColumn(null, ConnectionInfo.fromURI(tableDesc.getUri()).tableName);
+      if (columnName == null) {
+        return null;
+      }
+    }
+
+    for (Column column : tableDesc.getSchema().getRootColumns()) {
+      if (column.getSimpleName().equalsIgnoreCase(columnName)) {
+        if (isSplittable(column.getDataType().getType())) {
+          return column;
+        }
+        LOG.warn("Column " + columnName + " of " + tableDesc.getName() + " cannot split the table. " +
+            "Its type is " + column.getDataType().getType());
+        return null;
+      }
+    }
+
+    LOG.warn("No such split column " + columnName + " in " + tableDesc.getName());
+    return null;
+  }
+
+  private static boolean isSplittable(TajoDataTypes.Type type) {
+    switch (type) {
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case DATE:
+    case TIMESTAMP:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  private synchronized @Nullable JdbcMetadataProviderBase getSplitMetadataProvider() {
+    if (splitMetadataProvider == null) {
+      splitMetadataProvider = getMetadataProvider();
+    }
+    return splitMetadataProvider instanceof JdbcMetadataProviderBase ?
+        (JdbcMetadataProviderBase) splitMetadataProvider : null;
+  }
+
+  /**
+   * Splits [min, max] of a column into ranges of an equal width. The first range has no start key, and the last
+   * range has no end key, so that the fragments cover the rows written after the range is taken.
+   */
+  @VisibleForTesting
+  static List<Fragment> splitRange(String inputSourceId, URI uri, String splitColumn, long min, long max,
+                                   int splitNum) {
+    BigInteger start = BigInteger.valueOf(min);
+    BigInteger width = BigInteger.valueOf(max).subtract(start).add(BigInteger.ONE);
+    int num = width.min(BigInteger.valueOf(splitNum)).intValue();
+
+    List<Fragment> fragments = Lists.newArrayList();
+    Long startKey = null;
+    for (int i = 1; i <= num; i++) {
+      Long endKey = i < num ?
+          start.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(num))).longValue() : null;
+      fragments.add(new JdbcFragment(inputSourceId, uri, splitColumn, startKey, endKey));
+      startKey = endKey;
+    }
+    return fragments;
+  }
+
   @Override
   public StorageProperty getProperty() {
     return STORAGE_PROPERTY;
@@ -201,6 +317,19 @@ public abstract class JdbcTablespace extends Tablespace {
                             Fragment fragment,
                             @Nullable Schema target) throws IOException;
 
+  @Override
+  public boolean canPushOperators(LogicalNode planPart) {
+    return getSQLBuilder().isPushable(planPart);
+  }
+
+  /**
+   * @return The SQL builder for the dialect of the database
+   */
+  protected SQLBuilder getSQLBuilder() {
+    DatabaseMetaData dbMetaData = getDatabaseMetaData();
+    return new SQLBuilder(dbMetaData, new SQLExpressionGenerator(dbMetaData));
+  }
+
   public DatabaseMetaData getDatabaseMetaData() {
     try {
       return conn.getMetaData();
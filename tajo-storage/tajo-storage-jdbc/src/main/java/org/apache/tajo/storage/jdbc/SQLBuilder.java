@@ -20,15 +20,26 @@ package org.apache.tajo.storage.jdbc;
 
 import com.google.common.base.Function;
 import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
+import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.exception.TajoRuntimeException;
 import org.apache.tajo.exception.UnsupportedException;
 import org.apache.tajo.plan.Target;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
 import org.apache.tajo.plan.expr.EvalNode;
+import org.apache.tajo.plan.expr.EvalType;
+import org.apache.tajo.plan.expr.FieldEval;
 import org.apache.tajo.plan.logical.*;
 import org.apache.tajo.util.StringUtils;
 
 import javax.annotation.Nullable;
 import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
 
@@ -36,12 +47,20 @@ import java.util.Stack;
  * Generator to build a SQL statement from a plan fragment
  */
 public class SQLBuilder {
+  private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
   @SuppressWarnings("unused")
   private final DatabaseMetaData dbMetaData;
   private final SQLExpressionGenerator sqlExprGen;
 
   public static class SQLBuilderContext {
     StringBuilder sb;
+    // the select list, which is given by the topmost operator that changes the output schema
+    String selectList;
+    // the table name in the remote database
+    String tableName;
+    // the split column range of a fragment
+    String rangeQual;
   }
 
   public SQLBuilder(DatabaseMetaData dbMetaData, SQLExpressionGenerator exprGen) {
@@ -50,6 +69,11 @@ public class SQLBuilder {
   }
 
   public String build(String tableName, Column [] targets, @Nullable EvalNode filter, @Nullable Long limit) {
+    return build(tableName, targets, filter, null, limit);
+  }
+
+  public String build(String tableName, Column [] targets, @Nullable EvalNode filter, @Nullable String rangeQual,
+                      @Nullable Long limit) {
 
     StringBuilder selectClause = new StringBuilder("SELECT ");
     if (targets.length > 0) {
@@ -68,9 +92,15 @@ public class SQLBuilder {
     fromClause.append(tableName).append(" ");
 
     StringBuilder whereClause = null;
-    if (filter != null) {
+    if (filter != null || rangeQual != null) {
       whereClause = new StringBuilder("WHERE ");
-      whereClause.append(sqlExprGen.generate(filter)).append(" ");
+      if (filter != null && rangeQual != null) {
+        whereClause.append("(").append(sqlExprGen.generate(filter)).append(") AND ").append(rangeQual).append(" ");
+      } else if (filter != null) {
+        whereClause.append(sqlExprGen.generate(filter)).append(" ");
+      } else {
+        whereClause.append(rangeQual).append(" ");
+      }
     }
 
     StringBuilder limitClause = null;
@@ -94,9 +124,221 @@ public class SQLBuilder {
   }
 
   public String build(LogicalNode planPart) {
+    return build(null, planPart, null);
+  }
+
+  /**
+   * Builds a SQL statement from a plan part pushed down into the storage.
+   *
+   * @param tableName The table name in the remote database, or null to use the table name of the scan
+   * @param planPart The plan part
+   * @param rangeQual The split column range of a fragment
+   * @return The SQL statement whose result is in the output schema of the plan part
+   */
+  public String build(@Nullable String tableName, LogicalNode planPart, @Nullable String rangeQual) {
     SQLBuilderContext context = new SQLBuilderContext();
+    context.sb = new StringBuilder();
+    context.tableName = tableName;
+    context.rangeQual = rangeQual;
     visit(context, planPart, new Stack<LogicalNode>());
-    return context.sb.toString();
+    return "SELECT " + context.selectList + " " + context.sb.toString();
+  }
+
+  /**
+   * Checks if a plan part can be pushed down into the storage. The plan part consists of an optional limit,
+   * an optional sort and an optional first phase aggregation over a single scan, and it is evaluated for each
+   * fragment. So, the aggregation must be the first phase one, whose partial results are merged later.
+   *
+   * @param planPart The plan part
+   * @return True if the SQL statement built from the plan part returns the same result as the plan part
+   */
+  public boolean isPushable(LogicalNode planPart) {
+    LogicalNode node = planPart;
+    if (node.getType() == NodeType.LIMIT) {
+      node = ((LimitNode) node).getChild();
+    }
+
+    SortNode sort = null;
+    if (node.getType() == NodeType.SORT) {
+      sort = (SortNode) node;
+      node = sort.getChild();
+    }
+
+    GroupbyNode groupby = null;
+    if (node.getType() == NodeType.GROUP_BY) {
+      groupby = (GroupbyNode) node;
+      node = groupby.getChild();
+    }
+
+    if (node.getType() != NodeType.SCAN || node == planPart) {
+      return false;
+    }
+    ScanNode scan = (ScanNode) node;
+
+    // the columns referred by the other operators should be the columns of the table
+    if (scan.hasTargets()) {
+      for (Target target : scan.getTargets()) {
+        if (target.getEvalTree().getType() != EvalType.FIELD) {
+          return false;
+        }
+      }
+    }
+    if (scan.hasQual()) {
+      try {
+        sqlExprGen.generate(scan.getQual());
+      } catch (TajoRuntimeException e) {
+        return false;
+      }
+    }
+
+    if (groupby != null) {
+      if (sort != null || groupby.hasGroupingSets() || groupby.isDistinct() || groupby.isForDistinctBlock()
+          || groupby.getOutSchema().size() != groupby.groupingKeyNum() + groupby.aggregationFunctionNum()) {
+        return false;
+      }
+      for (Column column : groupby.getGroupingColumns()) {
+        if (!scan.getInSchema().contains(column)) {
+          return false;
+        }
+      }
+      if (groupby.hasAggFunctions()) {
+        for (AggregationFunctionCallEval func : groupby.getAggFunctions()) {
+          if (!isPushableAggregation(scan, func)) {
+            return false;
+          }
+        }
+      }
+    }
+
+    if (sort != null) {
+      for (SortSpec sortSpec : sort.getSortKeys()) {
+        if (!scan.getInSchema().contains(sortSpec.getSortKey()) || !isOrderable(sortSpec.getSortKey())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean isPushableAggregation(ScanNode scan, AggregationFunctionCallEval func) {
+    if (func.getFuncDesc().getFuncType() != FunctionType.AGGREGATION || !func.isFirstPhase() || func.isLastPhase()) {
+      return false;
+    }
+
+    EvalNode [] args = func.getArgs();
+    if (args.length == 0) {
+      return func.getName().equalsIgnoreCase("count");
+    }
+    if (args.length > 1 || args[0].getType() != EvalType.FIELD) {
+      return false;
+    }
+    Column column = ((FieldEval) args[0]).getColumnRef();
+    return scan.getInSchema().contains(column) && isPushableAggregation(func.getName().toLowerCase(), column);
+  }
+
+  /**
+   * Checks if an aggregation function of a column returns the same partial result as that of Tajo.
+   *
+   * @param funcName The lower case name of an aggregation function
+   * @param column The argument column
+   */
+  protected boolean isPushableAggregation(String funcName, Column column) {
+    switch (funcName) {
+    case "count":
+      return true;
+    case "sum":
+      // the sum of FLOAT4 values is computed in the single precision by some databases
+      return column.getDataType().getType() != TajoDataTypes.Type.FLOAT4 && isNumeric(column);
+    case "min":
+    case "max":
+      return isOrderable(column);
+    default:
+      return false;
+    }
+  }
+
+  private static boolean isNumeric(Column column) {
+    switch (column.getDataType().getType()) {
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * Checks if the values of a column are ordered in the same way as Tajo. Strings are not orderable by default
+   * because the order of strings depends on the collation of a database.
+   */
+  protected boolean isOrderable(Column column) {
+    switch (column.getDataType().getType()) {
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return true;
+    default:
+      return isNumeric(column);
+    }
+  }
+
+  /**
+   * Generates a column reference which is compared in the same way as Tajo. It is used for sort keys and
+   * the arguments of min and max.
+   */
+  protected String generateOrderedColumn(Column column) {
+    return generateColumn(column);
+  }
+
+  protected String generateColumn(Column column) {
+    return sqlExprGen.generate(new FieldEval(column)).trim();
+  }
+
+  protected String generateSortSpec(SortSpec sortSpec) {
+    return generateOrderedColumn(sortSpec.getSortKey()) + (sortSpec.isAscending() ? " ASC" : " DESC") +
+        (sortSpec.isNullsFirst() ? " NULLS FIRST" : " NULLS LAST");
+  }
+
+  /**
+   * Generates the predicate for the split column range of a fragment.
+   *
+   * @param column The split column
+   * @param startKey The inclusive start key, or null if the range has no lower bound
+   * @param endKey The exclusive end key, or null if the range has no upper bound
+   * @return The predicate, or null if the range covers all rows
+   */
+  public @Nullable String generateRangePredicate(Column column, @Nullable Long startKey, @Nullable Long endKey) {
+    if (startKey == null && endKey == null) {
+      return null;
+    }
+
+    String name = column.getSimpleName();
+    if (startKey == null) {
+      // rows of null values are read by the first range
+      return "(" + name + " < " + convertKeyToSQLLiteral(column, endKey) + " OR " + name + " IS NULL)";
+    } else if (endKey == null) {
+      return name + " >= " + convertKeyToSQLLiteral(column, startKey);
+    } else {
+      return name + " >= " + convertKeyToSQLLiteral(column, startKey) +
+          " AND " + name + " < " + convertKeyToSQLLiteral(column, endKey);
+    }
+  }
+
+  private String convertKeyToSQLLiteral(Column column, long key) {
+    switch (column.getDataType().getType()) {
+    case DATE:
+      return "DATE " + sqlExprGen.quote(LocalDate.ofEpochDay(key).toString());
+    case TIMESTAMP:
+      // the keys are UTC millis computed by the planner, which must not be shifted by the time zone of a worker
+      return "TIMESTAMP " +
+          sqlExprGen.quote(TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(key).atOffset(ZoneOffset.UTC)));
+    default:
+      return String.valueOf(key);
+    }
   }
 
   public void visit(SQLBuilderContext context, LogicalNode node, Stack<LogicalNode> stack) {
@@ -111,6 +353,14 @@ public class SQLBuilder {
       visitGroupBy(context, (GroupbyNode) node, stack);
       break;
 
+    case SORT:
+      visitSort(context, (SortNode) node, stack);
+      break;
+
+    case LIMIT:
+      visitLimit(context, (LimitNode) node, stack);
+      break;
+
     case SELECTION:
       visitFilter(context, (SelectionNode) node, stack);
       break;
@@ -143,7 +393,57 @@ public class SQLBuilder {
 
   public void visitGroupBy(SQLBuilderContext ctx, GroupbyNode groupby, Stack<LogicalNode> stack) {
     visit(ctx, groupby.getChild(), stack);
-    ctx.sb.append("GROUP BY ").append(StringUtils.join(groupby.getGroupingColumns(), ",", 0)).append(" ");
+
+    // An aggregation operator outputs the grouping keys followed by the aggregation functions.
+    List<String> selectList = new ArrayList<>();
+    for (Column column : groupby.getGroupingColumns()) {
+      selectList.add(generateColumn(column));
+    }
+    if (groupby.hasAggFunctions()) {
+      for (AggregationFunctionCallEval func : groupby.getAggFunctions()) {
+        selectList.add(generateAggregation(func));
+      }
+    }
+    ctx.selectList = StringUtils.join(selectList, ",");
+
+    if (groupby.groupingKeyNum() > 0) {
+      ctx.sb.append("GROUP BY ").append(StringUtils.join(groupby.getGroupingColumns(), ",",
+          new Function<Column, String>() {
+            @Override
+            public String apply(@Nullable Column column) {
+              return generateColumn(column);
+            }
+          })).append(" ");
+    }
+  }
+
+  private String generateAggregation(AggregationFunctionCallEval func) {
+    String funcName = func.getName().toUpperCase();
+    if (func.getArgs().length == 0) {
+      return funcName + "(*)";
+    }
+
+    Column column = ((FieldEval) func.getArgs()[0]).getColumnRef();
+    if (funcName.equals("MIN") || funcName.equals("MAX")) {
+      return funcName + "(" + generateOrderedColumn(column) + ")";
+    } else {
+      return funcName + "(" + generateColumn(column) + ")";
+    }
+  }
+
+  public void visitSort(SQLBuilderContext ctx, SortNode sort, Stack<LogicalNode> stack) {
+    visit(ctx, sort.getChild(), stack);
+    ctx.sb.append("ORDER BY ").append(StringUtils.join(sort.getSortKeys(), ",", new Function<SortSpec, String>() {
+      @Override
+      public String apply(@Nullable SortSpec sortSpec) {
+        return generateSortSpec(sortSpec);
+      }
+    })).append(" ");
+  }
+
+  public void visitLimit(SQLBuilderContext ctx, LimitNode limit, Stack<LogicalNode> stack) {
+    visit(ctx, limit.getChild(), stack);
+    ctx.sb.append("LIMIT ").append(limit.getFetchFirstNum()).append(" ");
   }
 
   public void visitFilter(SQLBuilderContext ctx, SelectionNode filter, Stack<LogicalNode> stack) {
@@ -153,23 +453,31 @@ public class SQLBuilder {
 
   public void visitScan(SQLBuilderContext ctx, ScanNode scan, Stack<LogicalNode> stack) {
 
-    StringBuilder selectClause = new StringBuilder("SELECT ");
-    if (scan.getTargets().size() > 0) {
-      selectClause.append(generateTargetList(scan.getTargets()));
+    if (!scan.hasTargets()) {
+      ctx.selectList = StringUtils.join(scan.getOutSchema().getRootColumns(), ",", new Function<Column, String>() {
+        @Override
+        public String apply(@Nullable Column column) {
+          return generateColumn(column);
+        }
+      });
+    } else if (scan.getTargets().size() > 0) {
+      ctx.selectList = generateTargetList(scan.getTargets());
     } else {
-      selectClause.append("1");
+      ctx.selectList = "1";
     }
 
-    selectClause.append(" ");
-
-    ctx.sb.append("FROM ").append(scan.getTableName()).append(" ");
+    ctx.sb.append("FROM ").append(ctx.tableName != null ? ctx.tableName : scan.getTableName()).append(" ");
 
     if (scan.hasAlias()) {
       ctx.sb.append("AS ").append(scan.getAlias()).append(" ");
     }
 
-    if (scan.hasQual()) {
-      ctx.sb.append("WHERE " + sqlExprGen.generate(scan.getQual()));
+    if (scan.hasQual() && ctx.rangeQual != null) {
+      ctx.sb.append("WHERE (" + sqlExprGen.generate(scan.getQual()) + ") AND " + ctx.rangeQual + " ");
+    } else if (scan.hasQual()) {
+      ctx.sb.append("WHERE " + sqlExprGen.generate(scan.getQual()) + " ");
+    } else if (ctx.rangeQual != null) {
+      ctx.sb.append("WHERE " + ctx.rangeQual + " ");
     }
   }
 
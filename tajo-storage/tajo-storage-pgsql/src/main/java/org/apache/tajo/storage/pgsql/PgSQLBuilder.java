@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.pgsql;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.storage.jdbc.SQLBuilder;
+import org.apache.tajo.storage.jdbc.SQLExpressionGenerator;
+
+import java.sql.DatabaseMetaData;
+
+/**
+ * SQL builder for PostgreSQL. Strings are compared in the "C" collation, which orders them by their bytes
+ * as Tajo does. So, sort keys and the arguments of min and max can be strings.
+ */
+public class PgSQLBuilder extends SQLBuilder {
+
+  public PgSQLBuilder(DatabaseMetaData dbMetaData, SQLExpressionGenerator exprGen) {
+    super(dbMetaData, exprGen);
+  }
+
+  @Override
+  protected boolean isOrderable(Column column) {
+    return isString(column) || super.isOrderable(column);
+  }
+
+  @Override
+  protected String generateOrderedColumn(Column column) {
+    if (isString(column)) {
+      return super.generateOrderedColumn(column) + " COLLATE \"C\"";
+    } else {
+      return super.generateOrderedColumn(column);
+    }
+  }
+
+  private static boolean isString(Column column) {
+    switch (column.getDataType().getType()) {
+    case VARCHAR:
+    case TEXT:
+      return true;
+    default:
+      return false;
+    }
+  }
+}
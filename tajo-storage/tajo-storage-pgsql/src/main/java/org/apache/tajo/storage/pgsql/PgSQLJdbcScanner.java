@@ -22,6 +22,7 @@ import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.storage.jdbc.JdbcFragment;
 import org.apache.tajo.storage.jdbc.JdbcScanner;
+import org.apache.tajo.storage.jdbc.SQLBuilder;
 
 import java.sql.DatabaseMetaData;
 import java.util.Properties;
@@ -35,4 +36,9 @@ public class PgSQLJdbcScanner extends JdbcScanner {
                           JdbcFragment fragment) {
     super(dbMetaData, connProperties, tableSchema, tableMeta, fragment);
   }
+
+  @Override
+  protected SQLBuilder getSQLBuilder() {
+    return new PgSQLBuilder(dbMetaData, getSQLExprBuilder());
+  }
 }
@@ -29,11 +29,15 @@ import org.apache.tajo.storage.NullScanner;
 import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.storage.jdbc.JdbcFragment;
+import org.apache.tajo.storage.jdbc.JdbcScanner;
 import org.apache.tajo.storage.jdbc.JdbcTablespace;
+import org.apache.tajo.storage.jdbc.SQLBuilder;
+import org.apache.tajo.storage.jdbc.SQLExpressionGenerator;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.net.URI;
+import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -69,12 +73,21 @@ public class PgSQLTablespace extends JdbcTablespace {
     if (fragment.isEmpty()) {
       scanner = new NullScanner(conf, schema, meta, fragment);
     } else {
-      scanner = new PgSQLJdbcScanner(getDatabaseMetaData(), connProperties, schema, meta, (JdbcFragment) fragment);
+      JdbcScanner jdbcScanner =
+          new PgSQLJdbcScanner(getDatabaseMetaData(), connProperties, schema, meta, (JdbcFragment) fragment);
+      jdbcScanner.setFetchSize(fetchSize);
+      scanner = jdbcScanner;
     }
     scanner.setTarget(target.toArray());
     return scanner;
   }
 
+  @Override
+  protected SQLBuilder getSQLBuilder() {
+    DatabaseMetaData dbMetaData = getDatabaseMetaData();
+    return new PgSQLBuilder(dbMetaData, new SQLExpressionGenerator(dbMetaData));
+  }
+
   @Override
   public int hashCode() {
     throw new UnsupportedOperationException();
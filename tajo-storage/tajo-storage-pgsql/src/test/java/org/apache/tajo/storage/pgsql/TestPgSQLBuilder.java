@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.pgsql;
+
+import org.apache.tajo.LocalTajoTestingUtility;
+import org.apache.tajo.QueryTestCaseBase;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.engine.planner.PhysicalPlannerImpl;
+import org.apache.tajo.engine.planner.enforce.Enforcer;
+import org.apache.tajo.engine.planner.global.ExecutionBlock;
+import org.apache.tajo.engine.planner.global.ExecutionBlockCursor;
+import org.apache.tajo.engine.planner.global.GlobalPlanner;
+import org.apache.tajo.engine.planner.global.MasterPlan;
+import org.apache.tajo.engine.planner.physical.PhysicalExec;
+import org.apache.tajo.engine.planner.physical.PushdownScanExec;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.logical.LogicalNode;
+import org.apache.tajo.plan.logical.NodeType;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.plan.util.PlannerUtil;
+import org.apache.tajo.storage.TablespaceManager;
+import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.storage.jdbc.JdbcTablespace;
+import org.apache.tajo.storage.jdbc.SQLBuilder;
+import org.apache.tajo.storage.jdbc.SQLExpressionGenerator;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.apache.tajo.worker.TaskAttemptContext;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestPgSQLBuilder extends QueryTestCaseBase {
+  @SuppressWarnings("unused")
+  // This should be invoked for initializing PgSQLTestServer
+  private static final String jdbcUrl = PgSQLTestServer.getInstance().getJdbcUrl();
+
+  private static SQLBuilder defaultBuilder;
+  private static SQLBuilder pgsqlBuilder;
+
+  public TestPgSQLBuilder() {
+    super(PgSQLTestServer.DATABASE_NAME);
+  }
+
+  @BeforeClass
+  public static void setUp() {
+    QueryTestCaseBase.testingCluster.getMaster().refresh();
+
+    DatabaseMetaData dbMetaData =
+        ((JdbcTablespace) TablespaceManager.getByName(PgSQLTestServer.SPACENAME)).getDatabaseMetaData();
+    defaultBuilder = new SQLBuilder(dbMetaData, new SQLExpressionGenerator(dbMetaData));
+    pgsqlBuilder = new PgSQLBuilder(dbMetaData, new SQLExpressionGenerator(dbMetaData));
+  }
+
+  private static MasterPlan buildMasterPlan(String sql) throws Exception {
+    LogicalPlan logicalPlan = planner.createPlan(LocalTajoTestingUtility.createDummyContext(conf), sqlParser.parse(sql));
+    optimizer.optimize(logicalPlan);
+    QueryContext queryContext = new QueryContext(conf);
+    MasterPlan masterPlan = new MasterPlan(LocalTajoTestingUtility.newQueryId(), queryContext, logicalPlan);
+    new GlobalPlanner(conf, catalog).build(queryContext, masterPlan);
+    return masterPlan;
+  }
+
+  /**
+   * @return The plan of the first execution block which contains a node of the given type
+   */
+  private static LogicalNode getBlockPlan(MasterPlan masterPlan, boolean leaf, NodeType type) {
+    for (ExecutionBlock block : new ExecutionBlockCursor(masterPlan)) {
+      if (masterPlan.isLeaf(block) == leaf && block.getPlan() != null
+          && PlannerUtil.findTopNode(block.getPlan(), type) != null) {
+        return block.getPlan();
+      }
+    }
+    fail("No execution block has " + type);
+    return null;
+  }
+
+  /**
+   * @return The plan of the leaf execution block, which is evaluated for each fragment of the JDBC table
+   */
+  private static LogicalNode getLeafPlan(String sql, NodeType type) throws Exception {
+    return getBlockPlan(buildMasterPlan(sql), true, type);
+  }
+
+  private static Column getColumn(LogicalNode planPart, String name) {
+    ScanNode scan = PlannerUtil.findTopNode(planPart, NodeType.SCAN);
+    return scan.getTableDesc().getLogicalSchema().getColumn(name);
+  }
+
+  @Test
+  public void testGroupBy() throws Exception {
+    LogicalNode planPart = getLeafPlan(
+        "select l_returnflag, l_linestatus, count(*), sum(l_orderkey), min(l_shipdate) " +
+        "from tpch.lineitem group by l_returnflag, l_linestatus", NodeType.GROUP_BY);
+    assertEquals(NodeType.GROUP_BY, planPart.getType());
+    assertTrue(defaultBuilder.isPushable(planPart));
+
+    assertEquals("SELECT lineitem.l_returnflag,lineitem.l_linestatus," +
+        "COUNT(*),SUM(lineitem.l_orderkey),MIN(lineitem.l_shipdate) " +
+        "FROM lineitem GROUP BY lineitem.l_returnflag,lineitem.l_linestatus",
+        defaultBuilder.build("lineitem", planPart, null).trim());
+  }
+
+  @Test
+  public void testGroupByWithRange() throws Exception {
+    LogicalNode planPart = getLeafPlan(
+        "select l_returnflag, count(*) from tpch.lineitem where l_linenumber > 1 group by l_returnflag",
+        NodeType.GROUP_BY);
+    assertTrue(defaultBuilder.isPushable(planPart));
+
+    Column orderKey = getColumn(planPart, "l_orderkey");
+    // the range predicate of a fragment is combined with the pushed down filter
+    assertEquals("SELECT lineitem.l_returnflag,COUNT(*) " +
+        "FROM lineitem WHERE (lineitem.l_linenumber > 1 ) AND l_orderkey >= 1 AND l_orderkey < 3 " +
+        "GROUP BY lineitem.l_returnflag",
+        defaultBuilder.build("lineitem", planPart, defaultBuilder.generateRangePredicate(orderKey, 1L, 3L)).trim());
+    // the first range also reads the rows of null keys
+    assertEquals("SELECT lineitem.l_returnflag,COUNT(*) " +
+        "FROM lineitem WHERE (lineitem.l_linenumber > 1 ) AND (l_orderkey < 3 OR l_orderkey IS NULL) " +
+        "GROUP BY lineitem.l_returnflag",
+        defaultBuilder.build("lineitem", planPart, defaultBuilder.generateRangePredicate(orderKey, null, 3L)).trim());
+  }
+
+  @Test
+  public void testSortLimit() throws Exception {
+    LogicalNode planPart = getLeafPlan(
+        "select l_orderkey, l_linenumber from tpch.lineitem " +
+        "order by l_orderkey desc nulls last, l_linenumber asc nulls first limit 3", NodeType.SORT);
+    assertEquals(NodeType.LIMIT, planPart.getType());
+    assertTrue(defaultBuilder.isPushable(planPart));
+
+    String sql = defaultBuilder.build("lineitem", planPart, null).trim();
+    assertTrue(sql, sql.startsWith("SELECT "));
+    assertTrue(sql, sql.endsWith("FROM lineitem " +
+        "ORDER BY lineitem.l_orderkey DESC NULLS LAST,lineitem.l_linenumber ASC NULLS FIRST LIMIT 3"));
+
+    Column orderKey = getColumn(planPart, "l_orderkey");
+    sql = defaultBuilder.build("lineitem", planPart, defaultBuilder.generateRangePredicate(orderKey, 3L, null)).trim();
+    assertTrue(sql, sql.endsWith("FROM lineitem WHERE l_orderkey >= 3 " +
+        "ORDER BY lineitem.l_orderkey DESC NULLS LAST,lineitem.l_linenumber ASC NULLS FIRST LIMIT 3"));
+  }
+
+  @Test
+  public void testStringSort() throws Exception {
+    LogicalNode planPart = getLeafPlan(
+        "select l_orderkey, l_shipmode from tpch.lineitem order by l_shipmode desc nulls first", NodeType.SORT);
+
+    // the order of strings depends on the collation of a database
+    assertFalse(defaultBuilder.isPushable(planPart));
+    assertTrue(pgsqlBuilder.isPushable(planPart));
+
+    String sql = pgsqlBuilder.build("lineitem", planPart, null).trim();
+    assertTrue(sql, sql.endsWith("FROM lineitem ORDER BY lineitem.l_shipmode COLLATE \"C\" DESC NULLS FIRST"));
+  }
+
+  @Test
+  public void testStringMinMax() throws Exception {
+    LogicalNode planPart = getLeafPlan(
+        "select l_returnflag, max(l_shipmode) from tpch.lineitem group by l_returnflag", NodeType.GROUP_BY);
+
+    assertFalse(defaultBuilder.isPushable(planPart));
+    assertTrue(pgsqlBuilder.isPushable(planPart));
+    assertEquals("SELECT lineitem.l_returnflag,MAX(lineitem.l_shipmode COLLATE \"C\") " +
+        "FROM lineitem GROUP BY lineitem.l_returnflag",
+        pgsqlBuilder.build("lineitem", planPart, null).trim());
+  }
+
+  @Test
+  public void testDistinctAggregationNotPushable() throws Exception {
+    LogicalNode planPart = getLeafPlan(
+        "select l_returnflag, count(distinct l_orderkey) from tpch.lineitem group by l_returnflag",
+        NodeType.SCAN);
+
+    assertFalse(defaultBuilder.isPushable(planPart));
+    assertFalse(pgsqlBuilder.isPushable(planPart));
+  }
+
+  @Test
+  public void testSecondPhaseAggregationNotPushable() throws Exception {
+    MasterPlan masterPlan = buildMasterPlan(
+        "select l_returnflag, count(*), sum(l_orderkey) from tpch.lineitem group by l_returnflag");
+
+    assertTrue(defaultBuilder.isPushable(getBlockPlan(masterPlan, true, NodeType.GROUP_BY)));
+    // the second phase merges the partial results of all fragments
+    LogicalNode secondPhase = PlannerUtil.findTopNode(
+        getBlockPlan(masterPlan, false, NodeType.GROUP_BY), NodeType.GROUP_BY);
+    assertFalse(defaultBuilder.isPushable(secondPhase));
+    assertFalse(pgsqlBuilder.isPushable(secondPhase));
+  }
+
+  /**
+   * Creates the physical plan of a task which scans the first fragment of the table the given times.
+   */
+  private static PhysicalExec createPhysicalPlan(LogicalNode planPart, int fragmentNum) throws Exception {
+    ScanNode scan = PlannerUtil.findTopNode(planPart, NodeType.SCAN);
+    List<Fragment> splits = TablespaceManager.get(scan.getTableDesc().getUri())
+        .getSplits(scan.getCanonicalName(), scan.getTableDesc(), false, null);
+    Fragment[] fragments = new Fragment[fragmentNum];
+    Arrays.fill(fragments, splits.get(0));
+
+    TaskAttemptContext ctx = new TaskAttemptContext(new QueryContext(conf),
+        LocalTajoTestingUtility.newTaskAttemptId(), fragments, CommonTestingUtil.getTestDir());
+    ctx.setEnforcer(new Enforcer());
+    return new PhysicalPlannerImpl(conf).createPlan(ctx, planPart);
+  }
+
+  @Test
+  public void testPushdownScanExec() throws Exception {
+    LogicalNode groupby = getLeafPlan(
+        "select l_returnflag, count(*), max(l_shipmode) from tpch.lineitem group by l_returnflag",
+        NodeType.GROUP_BY);
+    assertTrue(createPhysicalPlan(groupby, 1) instanceof PushdownScanExec);
+
+    LogicalNode sortLimit = getLeafPlan(
+        "select l_orderkey, l_shipmode from tpch.lineitem order by l_shipmode, l_orderkey limit 3", NodeType.SORT);
+    PhysicalExec exec = createPhysicalPlan(sortLimit, 1);
+    assertTrue(exec instanceof PushdownScanExec);
+    assertEquals(sortLimit, ((PushdownScanExec) exec).getPlanPart());
+
+    // the operators are evaluated for each fragment, so they are not pushed down if a task has many fragments
+    assertFalse(createPhysicalPlan(groupby, 2) instanceof PushdownScanExec);
+  }
+}
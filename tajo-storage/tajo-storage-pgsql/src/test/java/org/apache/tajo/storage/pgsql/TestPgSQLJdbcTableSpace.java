@@ -26,9 +26,11 @@ import org.apache.tajo.exception.TajoException;
 import org.apache.tajo.exception.TajoRuntimeException;
 import org.apache.tajo.exception.UndefinedTablespaceException;
 import org.apache.tajo.exception.UnsupportedException;
+import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.Tablespace;
 import org.apache.tajo.storage.TablespaceManager;
 import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.storage.jdbc.JdbcFragment;
 import org.apache.tajo.storage.jdbc.JdbcTablespace;
 import org.junit.Test;
 import org.postgresql.util.PSQLException;
@@ -79,6 +81,41 @@ public class TestPgSQLJdbcTableSpace {
     assertEquals(1, fragments.size());
   }
 
+  @Test
+  public void testGetRangeSplits() throws IOException, TajoException {
+    Tablespace space = TablespaceManager.getByName("pgsql_cluster");
+    MetadataProvider provider = space.getMetadataProvider();
+    TableDesc table = provider.getTableDesc(null, "nation");
+    List<Fragment> whole = space.getSplits("nation", table, false, null);
+    assertEquals(1, whole.size());
+
+    table.getMeta().putProperty(JdbcTablespace.SPLIT_COLUMN, "n_nationkey");
+    table.getMeta().putProperty(JdbcTablespace.SPLIT_NUM, "4");
+    List<Fragment> fragments = space.getSplits("nation", table, false, null);
+    assertEquals(4, fragments.size());
+
+    long rowNum = 0;
+    for (Fragment fragment : fragments) {
+      assertTrue(((JdbcFragment) fragment).hasRange());
+      rowNum += countRows(space, table, fragment);
+    }
+    assertEquals(countRows(space, table, whole.get(0)), rowNum);
+  }
+
+  private static long countRows(Tablespace space, TableDesc table, Fragment fragment) throws IOException {
+    Scanner scanner = space.getScanner(table.getMeta(), table.getSchema(), fragment, null);
+    long rowNum = 0;
+    try {
+      scanner.init();
+      while (scanner.next() != null) {
+        rowNum++;
+      }
+    } finally {
+      scanner.close();
+    }
+    return rowNum;
+  }
+
   @Test
   public void testConnProperties() throws Exception {
     Map<String, String> connProperties = new HashMap<>();
@@ -183,6 +183,21 @@ public class TestPgSQLQueryTests extends QueryTestCaseBase {
     runSimpleTests();
   }
 
+  // Pushdown ---------------------------------------------------------------
+
+  @SimpleTest
+  @Test
+  @Option(sort = true)
+  public void testAggregationPushdown() throws Exception {
+    runSimpleTests();
+  }
+
+  @SimpleTest
+  @Test
+  public void testSortLimitPushdown() throws Exception {
+    runSimpleTests();
+  }
+
   @SimpleTest
   @Test
   @Option(sort = true)
@@ -0,0 +1,12 @@
+SELECT
+  l_returnflag,
+  l_linestatus,
+  count(*) AS cnt,
+  sum(l_orderkey) AS sum_orderkey,
+  min(l_shipdate) AS min_shipdate,
+  max(l_shipmode) AS max_shipmode
+FROM
+  lineitem
+GROUP BY
+  l_returnflag,
+  l_linestatus;
\ No newline at end of file
@@ -0,0 +1 @@
+SELECT l_orderkey, l_linenumber, l_shipmode FROM lineitem ORDER BY l_shipmode DESC, l_orderkey LIMIT 3;
\ No newline at end of file